@@ -0,0 +1,27 @@
+package org.monarchinitiative.hpotextmining.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Run the benchmarks with the GC profiler reporting the allocation rates. The arguments are the standard JMH command
+ * line options, e.g. a regexp selecting the benchmarks to run:
+ * <pre>
+ * java -jar hpotextmining-benchmarks/target/benchmarks.jar SciGraphBenchmark -p docSize=10000
+ * </pre>
+ * Use <code>-l</code> to list the benchmarks and <code>-h</code> to see all the options.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        arguments.add("-prof");
+        arguments.add("gc");
+        org.openjdk.jmh.Main.main(arguments.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,71 @@
+package org.monarchinitiative.hpotextmining.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates synthetic clinical notes and the positions of the terms mined from them.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public final class Documents {
+
+    private static final String[] WORDS = {"the", "proband", "presented", "with", "generalized", "hypotonia", "and",
+            "myopathy", "at", "age", "of", "years", "mother", "reports", "oligohydramnios", "breech", "presentation",
+            "during", "pregnancy", "no", "seizures", "were", "noted", "patellar", "dislocation", "ß-thalassemia"};
+
+    private Documents() {
+        // static utility class
+    }
+
+    /**
+     * @param size number of characters of the document
+     * @param seed seed of the random generator
+     * @return document with sentences made of random words
+     */
+    public static String document(int size, long seed) {
+        Random random = new Random(seed);
+        StringBuilder builder = new StringBuilder(size + 20);
+        boolean sentenceStart = true;
+        while (builder.length() < size) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            if (sentenceStart) {
+                word = Character.toUpperCase(word.charAt(0)) + word.substring(1);
+            }
+            builder.append(word);
+            sentenceStart = random.nextInt(12) == 0;
+            builder.append(sentenceStart ? ". " : " ");
+        }
+        builder.setLength(size);
+        return builder.toString();
+    }
+
+    /**
+     * Spread <code>count</code> spans evenly over the document.
+     *
+     * @param size  number of characters of the document
+     * @param count number of the spans
+     * @return list of <code>[begin, end)</code> spans
+     */
+    public static List<int[]> spans(int size, int count) {
+        List<int[]> spans = new ArrayList<>(count);
+        int step = Math.max(1, size / count);
+        int length = Math.max(1, Math.min(20, step - 1));
+        for (int i = 0; i < count; i++) {
+            int begin = (i * step) % Math.max(1, size - length);
+            spans.add(new int[]{begin, begin + length});
+        }
+        return spans;
+    }
+
+    /**
+     * @param i index of the term
+     * @return HPO term id of the <code>i</code>-th term
+     */
+    public static String termId(int i) {
+        return String.format("HP:%07d", 1000 + i);
+    }
+}
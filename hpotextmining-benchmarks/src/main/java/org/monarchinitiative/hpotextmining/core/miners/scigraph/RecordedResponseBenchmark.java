@@ -0,0 +1,51 @@
+package org.monarchinitiative.hpotextmining.core.miners.scigraph;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Decoding of a response recorded from the SciGraph server (<code>sciGraphJsonResponse.json</code>).
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecordedResponseBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private byte[] response;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream is = RecordedResponseBenchmark.class.getResourceAsStream("/sciGraphJsonResponse.json")) {
+            response = is.readAllBytes();
+        }
+    }
+
+    @Benchmark
+    public Set<MinedTerm> decodeStreaming() throws IOException {
+        return SciGraphResponseDecoder.decode(response);
+    }
+
+    @Benchmark
+    public Set<MinedTerm> decodeObjectMapper() throws IOException {
+        return Arrays.stream(objectMapper.readValue(response, SciGraphResult[].class))
+                .map(sgr -> MinedTerm.of(sgr.getStart(), sgr.getEnd(), sgr.getToken().getId(), true))
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,116 @@
+package org.monarchinitiative.hpotextmining.core.miners.scigraph;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.monarchinitiative.hpotextmining.benchmarks.Documents;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmarks of encoding the SciGraph request and decoding the response.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SciGraphBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Param({"1000", "10000", "100000"})
+    public int docSize;
+
+    @Param({"10", "100", "1000"})
+    public int termCount;
+
+    private String document;
+
+    private byte[] response;
+
+    private SciGraphResult[] results;
+
+    private final byte[] chunk = new byte[16 * 1024];
+
+    @Setup
+    public void setUp() throws IOException {
+        document = Documents.document(docSize, 42);
+
+        // the same structure as the real responses
+        StringBuilder json = new StringBuilder("[");
+        List<int[]> spans = Documents.spans(docSize, termCount);
+        for (int i = 0; i < spans.size(); i++) {
+            int[] span = spans.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(String.format("{\"token\":{\"id\":\"%s\",\"categories\":[\"Phenotype\"],\"terms\":[\"%s\"]},\"start\":%d,\"end\":%d}",
+                    Documents.termId(i), document.substring(span[0], span[1]).replace("\"", ""), span[0], span[1]));
+        }
+        response = json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+        results = objectMapper.readValue(response, SciGraphResult[].class);
+    }
+
+    /**
+     * The streaming decoder used by {@link SciGraphTermMiner}.
+     */
+    @Benchmark
+    public Set<MinedTerm> decodeStreaming() throws IOException {
+        return SciGraphResponseDecoder.decode(response);
+    }
+
+    /**
+     * Mapping to {@link SciGraphResult} objects and then to {@link MinedTerm}s, as done before the streaming decoder.
+     */
+    @Benchmark
+    public Set<MinedTerm> decodeObjectMapper() throws IOException {
+        return Arrays.stream(objectMapper.readValue(new String(response, StandardCharsets.UTF_8), SciGraphResult[].class))
+                .map(sgr -> MinedTerm.of(sgr.getStart(), sgr.getEnd(), sgr.getToken().getId(), true))
+                .collect(Collectors.toSet());
+    }
+
+    @Benchmark
+    public void toBiolarkResult(Blackhole blackhole) {
+        for (SciGraphResult result : results) {
+            blackhole.consume(SciGraphResult.toBiolarkResult(result, document));
+        }
+    }
+
+    /**
+     * The streaming form encoding used by {@link SciGraphTermMiner}, read in chunks like by the HTTP client.
+     */
+    @Benchmark
+    public void encodeFormStreaming(Blackhole blackhole) {
+        FormEncoder.FormInputStream is = new FormEncoder.FormInputStream(document);
+        int n;
+        while ((n = is.read(chunk, 0, chunk.length)) >= 0) {
+            blackhole.consume(n);
+        }
+    }
+
+    /**
+     * Joining the {@link URLEncoder}-encoded parameters and encoding the form, as done before the streaming encoding.
+     */
+    @Benchmark
+    public byte[] encodeFormUrlEncoder() {
+        StringBuilder form = new StringBuilder();
+        form.append("includeCat=phenotype&content=")
+                .append(URLEncoder.encode(document, StandardCharsets.UTF_8))
+                .append("&includeAcronym=true&");
+        return form.substring(0, form.length() - 1).getBytes(StandardCharsets.UTF_8);
+    }
+}
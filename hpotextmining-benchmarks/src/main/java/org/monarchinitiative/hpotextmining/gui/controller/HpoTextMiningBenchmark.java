@@ -0,0 +1,75 @@
+package org.monarchinitiative.hpotextmining.gui.controller;
+
+import org.monarchinitiative.hpotextmining.benchmarks.Documents;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.phenol.ontology.data.*;
+import org.monarchinitiative.phenol.ontology.data.impl.SimpleMinimalOntology;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmark of mapping the {@link MinedTerm}s to {@link Main.PhenotypeTerm}s, as done by {@link HpoTextMining} before
+ * presenting the results.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HpoTextMiningBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int docSize;
+
+    @Param({"10", "100", "1000"})
+    public int termCount;
+
+    private List<MinedTerm> minedTerms;
+
+    private Function<MinedTerm, Main.PhenotypeTerm> mapping;
+
+    @Setup
+    public void setUp() {
+        TermId rootId = TermId.of("HP:0000001");
+        List<Term> terms = new ArrayList<>();
+        List<Relationship> relationships = new ArrayList<>();
+        terms.add(Term.of(rootId, "All"));
+        for (int i = 0; i < termCount; i++) {
+            TermId id = TermId.of(Documents.termId(i));
+            terms.add(Term.of(id, "Term " + i));
+            relationships.add(new Relationship(id, rootId, i + 1, RelationshipType.IS_A));
+        }
+        MinimalOntology ontology = SimpleMinimalOntology.builder()
+                .terms(terms)
+                .relationships(relationships)
+                .build();
+        mapping = HpoTextMining.minedTermToPhenotypeTerm(ontology);
+
+        minedTerms = new ArrayList<>();
+        List<int[]> spans = Documents.spans(docSize, termCount);
+        for (int i = 0; i < spans.size(); i++) {
+            int[] span = spans.get(i);
+            minedTerms.add(MinedTerm.of(span[0], span[1], Documents.termId(i), i % 10 != 0));
+        }
+    }
+
+    @Benchmark
+    public Set<Main.PhenotypeTerm> minedTermToPhenotypeTerm() {
+        return minedTerms.stream()
+                .map(mapping)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+}
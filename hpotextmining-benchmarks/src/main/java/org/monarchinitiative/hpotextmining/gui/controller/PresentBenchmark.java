@@ -0,0 +1,59 @@
+package org.monarchinitiative.hpotextmining.gui.controller;
+
+import org.monarchinitiative.hpotextmining.benchmarks.Documents;
+import org.monarchinitiative.phenol.ontology.data.Term;
+import org.monarchinitiative.phenol.ontology.data.TermId;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of rendering the mining results in the {@link Present} view.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PresentBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int docSize;
+
+    @Param({"10", "100", "1000"})
+    public int termCount;
+
+    private String document;
+
+    private List<Main.PhenotypeTerm> terms;
+
+    @Setup
+    public void setUp() {
+        document = Documents.document(docSize, 42);
+        List<int[]> spans = Documents.spans(docSize, termCount);
+        terms = new ArrayList<>(spans.size());
+        for (int i = 0; i < spans.size(); i++) {
+            int[] span = spans.get(i);
+            // every term is mentioned twice on average, like in the real documents
+            Term term = Term.of(TermId.of(Documents.termId(i / 2)), "Term " + i / 2);
+            terms.add(new Main.PhenotypeTerm(term, span[0], span[1], i % 10 != 0));
+        }
+    }
+
+    @Benchmark
+    public String colorizeHTML4ciGraph() {
+        return Present.colorizeHTML4ciGraph(terms, document);
+    }
+
+    @Benchmark
+    public List<Main.PhenotypeTerm> deduplicate() {
+        return Present.deduplicate(terms);
+    }
+}
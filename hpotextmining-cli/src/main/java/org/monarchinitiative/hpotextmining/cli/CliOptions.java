@@ -0,0 +1,126 @@
+package org.monarchinitiative.hpotextmining.cli;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Command line options of the batch mining tool.
+ *
+ * @param input       directory of text files or a JSONL file with the documents
+ * @param output      file to write the results to, or <code>null</code> to write to STDOUT
+ * @param format      format of the results
+ * @param scigraph    URL of the SciGraph <code>annotations/complete</code> endpoint
+ * @param ontology    path to <code>hp.json</code> or to its snapshot to mine locally, or <code>null</code> to use the
+ *                    SciGraph
+ * @param parallelism number of the documents being mined at once
+ * @param queueSize   capacity of the queues between the pipeline stages
+ * @param idField     name of the JSONL field with the document id
+ * @param textField   name of the JSONL field with the document text
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public record CliOptions(Path input,
+                         Path output,
+                         ResultWriter.OutputFormat format,
+                         URL scigraph,
+                         Path ontology,
+                         int parallelism,
+                         int queueSize,
+                         String idField,
+                         String textField) {
+
+    static final String DEFAULT_SCIGRAPH_URL = "https://scigraph-ontology.monarchinitiative.org/scigraph/annotations/complete";
+
+    static final String USAGE = String.join("\n",
+            "Usage: hpotextmining-cli [options] <input>",
+            "",
+            "Mine HPO terms from a directory of text files or a JSONL corpus.",
+            "",
+            "  <input>                directory of UTF-8 text files, or a JSONL file with one document per line",
+            "  -o, --output <file>    write the results to the file instead of STDOUT",
+            "  -f, --format <format>  format of the results, tsv (default) or jsonl",
+            "  --scigraph <url>       SciGraph annotations/complete endpoint (default Monarch SciGraph)",
+            "  --ontology <hp.json>   mine locally using the ontology or its snapshot instead of SciGraph",
+            "  -p, --parallelism <n>  number of documents being mined at once (default 4)",
+            "  --queue-size <n>       capacity of the queues between the stages (default 64)",
+            "  --id-field <name>      JSONL field with the document id (default id)",
+            "  --text-field <name>    JSONL field with the document text (default text)",
+            "  -h, --help             print this help");
+
+    /**
+     * @param args command line arguments
+     * @return parsed {@link CliOptions} or <code>null</code> if help was requested
+     * @throws IllegalArgumentException if the arguments are invalid
+     */
+    static CliOptions parse(String... args) {
+        Path input = null, output = null, ontology = null;
+        ResultWriter.OutputFormat format = ResultWriter.OutputFormat.TSV;
+        String scigraph = DEFAULT_SCIGRAPH_URL, idField = "id", textField = "text";
+        int parallelism = 4, queueSize = 64;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "-h", "--help" -> {
+                    return null;
+                }
+                case "-o", "--output" -> output = Path.of(value(args, ++i, arg));
+                case "-f", "--format" -> {
+                    String value = value(args, ++i, arg);
+                    try {
+                        format = ResultWriter.OutputFormat.valueOf(value.toUpperCase(Locale.ROOT));
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Unknown format '" + value + "'");
+                    }
+                }
+                case "--scigraph" -> scigraph = value(args, ++i, arg);
+                case "--ontology" -> ontology = Path.of(value(args, ++i, arg));
+                case "-p", "--parallelism" -> parallelism = positive(value(args, ++i, arg), arg);
+                case "--queue-size" -> queueSize = positive(value(args, ++i, arg), arg);
+                case "--id-field" -> idField = value(args, ++i, arg);
+                case "--text-field" -> textField = value(args, ++i, arg);
+                default -> {
+                    if (arg.startsWith("-")) {
+                        throw new IllegalArgumentException("Unknown option '" + arg + "'");
+                    } else if (input != null) {
+                        throw new IllegalArgumentException("Only one input is allowed");
+                    }
+                    input = Path.of(arg);
+                }
+            }
+        }
+        if (input == null) {
+            throw new IllegalArgumentException("Missing input");
+        }
+
+        URL url;
+        try {
+            url = new URL(scigraph);
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Invalid SciGraph URL '" + scigraph + "'");
+        }
+        return new CliOptions(input, output, format, url, ontology, parallelism, queueSize, idField, textField);
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value of option '" + option + "'");
+        }
+        return args[index];
+    }
+
+    private static int positive(String value, String option) {
+        try {
+            int number = Integer.parseInt(value);
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Value of option '" + option + "' must be a positive number: " + value);
+    }
+}
@@ -0,0 +1,54 @@
+package org.monarchinitiative.hpotextmining.cli;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Reads the regular files of a directory and its subdirectories as UTF-8 documents. The document id is the path of the
+ * file relative to the directory. Hidden files are skipped.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+class DirectoryDocumentSource implements DocumentSource {
+
+    private final Path directory;
+
+    private final Stream<Path> paths;
+
+    private final Iterator<Path> iterator;
+
+    DirectoryDocumentSource(Path directory) throws IOException {
+        this.directory = directory;
+        // the directory tree is walked lazily
+        this.paths = Files.walk(directory)
+                .filter(Files::isRegularFile)
+                .filter(path -> !path.getFileName().toString().startsWith("."));
+        this.iterator = paths.iterator();
+    }
+
+    @Override
+    public Document next() throws IOException {
+        try {
+            if (!iterator.hasNext()) {
+                return null;
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        Path path = iterator.next();
+        String id = directory.relativize(path).toString().replace(path.getFileSystem().getSeparator(), "/");
+        return new Document(id, Files.readString(path, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void close() {
+        paths.close();
+    }
+}
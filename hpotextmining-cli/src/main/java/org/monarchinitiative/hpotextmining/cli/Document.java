@@ -0,0 +1,13 @@
+package org.monarchinitiative.hpotextmining.cli;
+
+/**
+ * A document of the corpus about to be mined.
+ *
+ * @param id   identifier of the document, e.g. path of the file relative to the corpus directory
+ * @param text text of the document
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public record Document(String id, String text) {
+}
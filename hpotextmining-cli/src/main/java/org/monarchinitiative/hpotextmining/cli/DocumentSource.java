@@ -0,0 +1,38 @@
+package org.monarchinitiative.hpotextmining.cli;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Source of the documents of a corpus. The documents are read one by one, hence the corpus is never held in memory.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public interface DocumentSource extends Closeable {
+
+    /**
+     * Open the corpus at given <code>path</code>, which is either a directory of text files, or a JSONL file.
+     *
+     * @param path      path to the directory or the JSONL file
+     * @param idField   name of the JSONL field with the document id
+     * @param textField name of the JSONL field with the document text
+     * @return {@link DocumentSource} reading the corpus
+     * @throws IOException if the corpus cannot be opened
+     */
+    static DocumentSource open(Path path, String idField, String textField) throws IOException {
+        if (Files.isDirectory(path)) {
+            return new DirectoryDocumentSource(path);
+        }
+        return new JsonlDocumentSource(Files.newBufferedReader(path), idField, textField);
+    }
+
+    /**
+     * @return the next {@link Document} or <code>null</code> if there are no more documents
+     * @throws IOException if the document cannot be read
+     */
+    Document next() throws IOException;
+}
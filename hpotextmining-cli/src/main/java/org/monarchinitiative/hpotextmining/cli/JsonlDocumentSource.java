@@ -0,0 +1,66 @@
+package org.monarchinitiative.hpotextmining.cli;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Reads documents from JSON Lines, one JSON object per line, e.g. <code>{"id": "PMID:123", "text": "..."}</code>.
+ * Blank lines are skipped. Objects without the text field are rejected, the line number is used as the id of the
+ * objects without the id field.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+class JsonlDocumentSource implements DocumentSource {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final BufferedReader reader;
+
+    private final String idField;
+
+    private final String textField;
+
+    private int lineNumber;
+
+    JsonlDocumentSource(BufferedReader reader, String idField, String textField) {
+        this.reader = reader;
+        this.idField = idField;
+        this.textField = textField;
+    }
+
+    @Override
+    public Document next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new IOException("Invalid JSON on line " + lineNumber, e);
+        }
+        JsonNode text = node.get(textField);
+        if (text == null || !text.isTextual()) {
+            throw new IOException("Missing text field '" + textField + "' on line " + lineNumber);
+        }
+        JsonNode id = node.get(idField);
+        return new Document(id == null || id.isNull() ? String.valueOf(lineNumber) : id.asText(), text.textValue());
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,53 @@
+package org.monarchinitiative.hpotextmining.cli;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes the records as JSON Lines, e.g.
+ * <code>{"documentId":"note.txt","begin":0,"end":9,"termId":"HP:0001252","present":true}</code>.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+class JsonlResultWriter implements ResultWriter {
+
+    private final JsonGenerator generator;
+
+    private boolean empty = true;
+
+    JsonlResultWriter(Writer writer) throws IOException {
+        this.generator = new JsonFactory().createGenerator(writer);
+        generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+    }
+
+    @Override
+    public void write(String documentId, List<MinedTerm> terms) throws IOException {
+        for (MinedTerm term : terms) {
+            generator.writeStartObject();
+            generator.writeStringField("documentId", documentId);
+            generator.writeNumberField("begin", term.getBegin());
+            generator.writeNumberField("end", term.getEnd());
+            generator.writeStringField("termId", term.getTermId());
+            generator.writeBooleanField("present", term.isPresent());
+            generator.writeEndObject();
+            empty = false;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!empty) {
+            // the pretty printer separates the records, the last line must be terminated too
+            generator.writeRaw('\n');
+        }
+        generator.close();
+    }
+}
@@ -0,0 +1,96 @@
+package org.monarchinitiative.hpotextmining.cli;
+
+import org.monarchinitiative.hpotextmining.core.miners.TermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiners;
+import org.monarchinitiative.hpotextmining.core.ontology.OntologySnapshot;
+import org.monarchinitiative.phenol.io.MinimalOntologyLoader;
+import org.monarchinitiative.phenol.ontology.data.MinimalOntology;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Headless batch mining of a directory of text files or a JSONL corpus. Run with <code>--help</code> to see the
+ * options.
+ * <p>
+ * The exit status is <code>0</code> if all the documents were mined, <code>1</code> if any document could not be
+ * mined, <code>2</code> for invalid arguments, and <code>3</code> if the corpus could not be read or the results
+ * could not be written.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class Main {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Main.class);
+
+    private Main() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    static int run(String... args) {
+        CliOptions options;
+        try {
+            options = CliOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(CliOptions.USAGE);
+            return 2;
+        }
+        if (options == null) {
+            System.out.println(CliOptions.USAGE);
+            return 0;
+        }
+
+        try {
+            TermMiner miner = createMiner(options);
+            MiningPipeline pipeline = new MiningPipeline(miner, options.parallelism(), options.queueSize());
+            MiningPipeline.Summary summary;
+            try (DocumentSource source = DocumentSource.open(options.input(), options.idField(), options.textField());
+                 ResultWriter writer = ResultWriter.of(options.format(), openOutput(options))) {
+                summary = pipeline.run(source, writer);
+            }
+            LOGGER.info("Mined {} terms from {} documents in {}s, {} documents failed",
+                    summary.terms(), summary.documents(), summary.elapsed().toSeconds(), summary.failed());
+            return summary.failed() == 0 ? 0 : 1;
+        } catch (IOException e) {
+            LOGGER.error("Batch mining failed: {}", e.getMessage(), e);
+            return 3;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.error("Batch mining was interrupted");
+            return 3;
+        }
+    }
+
+    private static TermMiner createMiner(CliOptions options) throws IOException {
+        if (options.ontology() == null) {
+            LOGGER.info("Mining using SciGraph at {}", options.scigraph());
+            return TermMiners.scigraph(options.scigraph());
+        }
+        if (OntologySnapshot.isSnapshot(options.ontology())) {
+            OntologySnapshot snapshot = OntologySnapshot.open(options.ontology());
+            LOGGER.info("Using snapshot of ontology {} at {}", snapshot.version(), options.ontology());
+            return TermMiners.local(snapshot);
+        }
+        LOGGER.info("Loading ontology from {}", options.ontology());
+        try (InputStream is = Files.newInputStream(options.ontology())) {
+            MinimalOntology ontology = MinimalOntologyLoader.loadOntology(is);
+            return TermMiners.local(ontology);
+        }
+    }
+
+    private static Writer openOutput(CliOptions options) throws IOException {
+        if (options.output() == null) {
+            return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8));
+        }
+        return Files.newBufferedWriter(options.output(), StandardCharsets.UTF_8);
+    }
+}
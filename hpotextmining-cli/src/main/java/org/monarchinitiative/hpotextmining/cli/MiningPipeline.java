@@ -0,0 +1,185 @@
+package org.monarchinitiative.hpotextmining.cli;
+
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.TermMinerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mines a corpus in three stages connected by bounded queues: a reader thread reading the documents, a pool of
+ * workers mining the documents, and the calling thread writing the results. A stage is blocked while the queue in
+ * front of the next stage is full, hence the memory use depends on the queue size and not on the corpus size.
+ * <p>
+ * The results are written in the order the mining finishes, which is not necessarily the order of the documents.
+ * Failure to mine a document is logged and counted, while failure to read the corpus or to write the results aborts
+ * the whole run.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class MiningPipeline {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MiningPipeline.class);
+
+    /**
+     * Marks the end of the input queue, each worker takes one.
+     */
+    private static final Document END_OF_DOCUMENTS = new Document("", "");
+
+    /**
+     * Marks the end of the output queue, each worker puts one.
+     */
+    private static final Result END_OF_RESULTS = new Result("", List.of());
+
+    private final TermMiner miner;
+
+    private final int parallelism;
+
+    private final int queueSize;
+
+    /**
+     * @param miner       {@link TermMiner} to mine the documents, must be thread-safe
+     * @param parallelism number of the documents being mined at once
+     * @param queueSize   capacity of the queue of documents waiting to be mined and of the queue of results waiting
+     *                    to be written
+     */
+    public MiningPipeline(TermMiner miner, int parallelism, int queueSize) {
+        this.miner = Objects.requireNonNull(miner, "Miner must not be null");
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("Queue size must be positive: " + queueSize);
+        }
+        this.parallelism = parallelism;
+        this.queueSize = queueSize;
+    }
+
+    private static ExecutorService newExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "mining-pipeline-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Mine all the documents of the <code>source</code> and write the results to the <code>writer</code>. The
+     * <code>source</code> and the <code>writer</code> are not closed.
+     *
+     * @param source {@link DocumentSource} with the documents to mine
+     * @param writer {@link ResultWriter} to write the mined terms to
+     * @return {@link Summary} of the run
+     * @throws IOException          if the corpus cannot be read or the results cannot be written
+     * @throws InterruptedException if interrupted while waiting for the results
+     */
+    public Summary run(DocumentSource source, ResultWriter writer) throws IOException, InterruptedException {
+        BlockingQueue<Document> documents = new ArrayBlockingQueue<>(queueSize);
+        BlockingQueue<Result> results = new ArrayBlockingQueue<>(queueSize);
+        AtomicReference<IOException> readFailure = new AtomicReference<>();
+        LongAdder failed = new LongAdder();
+        long start = System.nanoTime();
+
+        ExecutorService executor = newExecutor(parallelism + 1);
+        try {
+            executor.execute(() -> read(source, documents, readFailure));
+            for (int i = 0; i < parallelism; i++) {
+                executor.execute(() -> mine(documents, results, failed));
+            }
+
+            long documentCount = 0, termCount = 0;
+            int finishedWorkers = 0;
+            while (finishedWorkers < parallelism) {
+                Result result = results.take();
+                if (result == END_OF_RESULTS) {
+                    finishedWorkers++;
+                    continue;
+                }
+                writer.write(result.documentId(), result.terms());
+                documentCount++;
+                termCount += result.terms().size();
+            }
+
+            IOException failure = readFailure.get();
+            if (failure != null) {
+                throw failure;
+            }
+            return new Summary(documentCount + failed.sum(), failed.sum(), termCount,
+                    Duration.ofNanos(System.nanoTime() - start));
+        } finally {
+            // stops the stages blocked on a full queue if the writing fails
+            executor.shutdownNow();
+        }
+    }
+
+    private void read(DocumentSource source, BlockingQueue<Document> documents, AtomicReference<IOException> failure) {
+        try {
+            Document document;
+            while ((document = source.next()) != null) {
+                documents.put(document);
+            }
+        } catch (IOException e) {
+            failure.set(e);
+        } catch (RuntimeException e) {
+            failure.set(new IOException("Unable to read the documents", e));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            for (int i = 0; i < parallelism; i++) {
+                documents.put(END_OF_DOCUMENTS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void mine(BlockingQueue<Document> documents, BlockingQueue<Result> results, LongAdder failed) {
+        try {
+            Document document;
+            while ((document = documents.take()) != END_OF_DOCUMENTS) {
+                List<MinedTerm> terms;
+                try {
+                    terms = new ArrayList<>(miner.doMining(document.text()));
+                } catch (TermMinerException | RuntimeException e) {
+                    LOGGER.warn("Unable to mine document '{}': {}", document.id(), e.getMessage());
+                    failed.increment();
+                    continue;
+                }
+                terms.sort(ResultWriter.TERM_ORDER);
+                results.put(new Result(document.id(), terms));
+            }
+            results.put(END_OF_RESULTS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Result(String documentId, List<MinedTerm> terms) {
+    }
+
+    /**
+     * Outcome of a {@link MiningPipeline} run.
+     *
+     * @param documents number of the documents read
+     * @param failed    number of the documents that could not be mined
+     * @param terms     number of the terms written
+     * @param elapsed   duration of the run
+     */
+    public record Summary(long documents, long failed, long terms, Duration elapsed) {
+    }
+}
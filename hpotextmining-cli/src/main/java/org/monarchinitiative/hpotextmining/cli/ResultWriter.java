@@ -0,0 +1,49 @@
+package org.monarchinitiative.hpotextmining.cli;
+
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Writes the terms mined from the documents, one record per term with the document id, begin, end, term id and
+ * presence. The terms of a document are written in the order of their position in the document.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public interface ResultWriter extends Closeable {
+
+    Comparator<MinedTerm> TERM_ORDER = Comparator.comparingInt(MinedTerm::getBegin)
+            .thenComparingInt(MinedTerm::getEnd)
+            .thenComparing(MinedTerm::getTermId)
+            .thenComparing(MinedTerm::isPresent);
+
+    /**
+     * @param format output format
+     * @param writer {@link Writer} to write to, closed when the {@link ResultWriter} is closed
+     * @return {@link ResultWriter} writing the records in the <code>format</code>
+     * @throws IOException if the header cannot be written
+     */
+    static ResultWriter of(OutputFormat format, Writer writer) throws IOException {
+        return switch (format) {
+            case TSV -> new TsvResultWriter(writer);
+            case JSONL -> new JsonlResultWriter(writer);
+        };
+    }
+
+    /**
+     * @param documentId id of the mined document
+     * @param terms      terms in the order of {@link #TERM_ORDER}
+     * @throws IOException in case of I/O error
+     */
+    void write(String documentId, List<MinedTerm> terms) throws IOException;
+
+    enum OutputFormat {
+        TSV, JSONL
+    }
+}
@@ -0,0 +1,109 @@
+package org.monarchinitiative.hpotextmining.cli;
+
+import org.monarchinitiative.hpotextmining.core.ontology.OntologySnapshot;
+import org.monarchinitiative.phenol.io.MinimalOntologyLoader;
+import org.monarchinitiative.phenol.ontology.data.MinimalOntology;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Compile <code>hp.json</code> into an {@link OntologySnapshot}, which is then memory-mapped instead of parsing the
+ * JSON, e.g. by <code>hpotextmining-cli --ontology</code>.
+ * <p>
+ * The exit status is <code>0</code> if the snapshot was written, <code>2</code> for invalid arguments, and
+ * <code>3</code> if the ontology could not be read or the snapshot could not be written.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class SnapshotCompiler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SnapshotCompiler.class);
+
+    static final String USAGE = String.join("\n",
+            "Usage: java -cp hpotextmining-cli.jar " + SnapshotCompiler.class.getName() + " [options] <hp.json> <output>",
+            "",
+            "Compile the ontology into a binary snapshot.",
+            "",
+            "  <hp.json>              ontology in the obographs JSON format",
+            "  <output>               snapshot file, or a directory to write hp-<version>.snapshot into",
+            "  --version <version>    version to store in the snapshot (default version of the ontology JSON)",
+            "  -h, --help             print this help");
+
+    private SnapshotCompiler() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    static int run(String... args) {
+        Path json = null, output = null;
+        String version = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-h", "--help" -> {
+                    System.out.println(USAGE);
+                    return 0;
+                }
+                case "--version" -> {
+                    if (++i == args.length) {
+                        return invalid("Missing value of option '--version'");
+                    }
+                    version = args[i];
+                }
+                default -> {
+                    if (args[i].startsWith("-")) {
+                        return invalid("Unknown option '" + args[i] + "'");
+                    } else if (json == null) {
+                        json = Path.of(args[i]);
+                    } else if (output == null) {
+                        output = Path.of(args[i]);
+                    } else {
+                        return invalid("Too many arguments");
+                    }
+                }
+            }
+        }
+        if (output == null) {
+            return invalid("Missing " + (json == null ? "ontology" : "output"));
+        }
+
+        try {
+            if (version == null) {
+                try (InputStream is = Files.newInputStream(json)) {
+                    version = OntologySnapshot.jsonVersion(is);
+                }
+                if (version == null) {
+                    return invalid("The ontology does not have a version, use --version");
+                }
+            }
+            Path snapshot = Files.isDirectory(output) ? OntologySnapshot.resolve(output, version) : output;
+
+            LOGGER.info("Loading ontology {} from {}", version, json);
+            MinimalOntology ontology;
+            try (InputStream is = Files.newInputStream(json)) {
+                ontology = MinimalOntologyLoader.loadOntology(is);
+            }
+            OntologySnapshot.write(ontology, version, snapshot);
+            LOGGER.info("Wrote snapshot of {} terms ({} bytes) to {}",
+                    ontology.getTerms().size(), Files.size(snapshot), snapshot);
+            return 0;
+        } catch (IOException e) {
+            LOGGER.error("Compiling the snapshot failed: {}", e.getMessage(), e);
+            return 3;
+        }
+    }
+
+    private static int invalid(String message) {
+        System.err.println(message);
+        System.err.println(USAGE);
+        return 2;
+    }
+}
@@ -0,0 +1,50 @@
+package org.monarchinitiative.hpotextmining.cli;
+
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes the records as tab-separated values with a header line. Tabs and line breaks in the document ids are replaced
+ * by spaces.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+class TsvResultWriter implements ResultWriter {
+
+    static final String HEADER = "document_id\tbegin\tend\tterm_id\tpresent";
+
+    private final Writer writer;
+
+    TsvResultWriter(Writer writer) throws IOException {
+        this.writer = writer;
+        writer.write(HEADER);
+        writer.write('\n');
+    }
+
+    @Override
+    public void write(String documentId, List<MinedTerm> terms) throws IOException {
+        String id = documentId.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+        for (MinedTerm term : terms) {
+            writer.write(id);
+            writer.write('\t');
+            writer.write(Integer.toString(term.getBegin()));
+            writer.write('\t');
+            writer.write(Integer.toString(term.getEnd()));
+            writer.write('\t');
+            writer.write(term.getTermId());
+            writer.write('\t');
+            writer.write(term.isPresent() ? "true" : "false");
+            writer.write('\n');
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
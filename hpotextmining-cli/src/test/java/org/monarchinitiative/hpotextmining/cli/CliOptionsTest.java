@@ -0,0 +1,61 @@
+package org.monarchinitiative.hpotextmining.cli;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class CliOptionsTest {
+
+    @Test
+    public void defaults() {
+        CliOptions options = CliOptions.parse("corpus");
+
+        assertThat(options.input(), is(Path.of("corpus")));
+        assertThat(options.output(), is(nullValue()));
+        assertThat(options.format(), is(ResultWriter.OutputFormat.TSV));
+        assertThat(options.scigraph().toString(), is(CliOptions.DEFAULT_SCIGRAPH_URL));
+        assertThat(options.ontology(), is(nullValue()));
+        assertThat(options.parallelism(), is(4));
+    }
+
+    @Test
+    public void allOptions() {
+        CliOptions options = CliOptions.parse("-f", "jsonl", "-o", "out.jsonl", "--ontology", "hp.json",
+                "-p", "16", "--queue-size", "8", "--id-field", "pmid", "--text-field", "abstract", "corpus.jsonl");
+
+        assertThat(options.input(), is(Path.of("corpus.jsonl")));
+        assertThat(options.output(), is(Path.of("out.jsonl")));
+        assertThat(options.format(), is(ResultWriter.OutputFormat.JSONL));
+        assertThat(options.ontology(), is(Path.of("hp.json")));
+        assertThat(options.parallelism(), is(16));
+        assertThat(options.queueSize(), is(8));
+        assertThat(options.idField(), is("pmid"));
+        assertThat(options.textField(), is("abstract"));
+    }
+
+    @Test
+    public void helpIsRequested() {
+        assertThat(CliOptions.parse("corpus", "--help"), is(nullValue()));
+    }
+
+    @Test
+    public void invalidArguments() {
+        assertThat(assertThrows(IllegalArgumentException.class, CliOptions::parse).getMessage(),
+                is("Missing input"));
+        assertThat(assertThrows(IllegalArgumentException.class, () -> CliOptions.parse("-p", "0", "corpus")).getMessage(),
+                is("Value of option '-p' must be a positive number: 0"));
+        assertThat(assertThrows(IllegalArgumentException.class, () -> CliOptions.parse("-f", "xml", "corpus")).getMessage(),
+                is("Unknown format 'xml'"));
+        assertThat(assertThrows(IllegalArgumentException.class, () -> CliOptions.parse("corpus", "--output")).getMessage(),
+                is("Missing value of option '--output'"));
+    }
+}
@@ -0,0 +1,151 @@
+package org.monarchinitiative.hpotextmining.cli;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.TermMinerException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class MiningPipelineTest {
+
+    /**
+     * Finds "hypotonia" and fails on queries containing "fail".
+     */
+    private static final TermMiner MINER = query -> {
+        if (query.contains("fail")) {
+            throw new TermMinerException("Unable to mine");
+        }
+        Set<MinedTerm> terms = new HashSet<>();
+        int begin = -1;
+        while ((begin = query.indexOf("hypotonia", begin + 1)) >= 0) {
+            terms.add(MinedTerm.of(begin, begin + 9, "HP:0001252", true));
+        }
+        return terms;
+    };
+
+    @TempDir
+    public Path corpus;
+
+    private static List<String> sortedLines(StringWriter writer) {
+        List<String> lines = new ArrayList<>(Arrays.asList(writer.toString().split("\n")));
+        Collections.sort(lines);
+        return lines;
+    }
+
+    @Test
+    public void directoryIsMinedToTsv() throws Exception {
+        Files.writeString(corpus.resolve("a.txt"), "hypotonia and hypotonia");
+        Files.createDirectory(corpus.resolve("sub"));
+        Files.writeString(corpus.resolve("sub").resolve("b.txt"), "no findings, hypotonia");
+        Files.writeString(corpus.resolve("c.txt"), "fail");
+        Files.writeString(corpus.resolve(".hidden"), "hypotonia");
+
+        StringWriter output = new StringWriter();
+        MiningPipeline.Summary summary;
+        try (DocumentSource source = DocumentSource.open(corpus, "id", "text");
+             ResultWriter writer = ResultWriter.of(ResultWriter.OutputFormat.TSV, output)) {
+            summary = new MiningPipeline(MINER, 2, 1).run(source, writer);
+        }
+
+        assertThat(summary.documents(), is(3L));
+        assertThat(summary.failed(), is(1L));
+        assertThat(summary.terms(), is(3L));
+        assertThat(sortedLines(output), is(List.of(
+                "a.txt\t0\t9\tHP:0001252\ttrue",
+                "a.txt\t14\t23\tHP:0001252\ttrue",
+                "document_id\tbegin\tend\tterm_id\tpresent",
+                "sub/b.txt\t13\t22\tHP:0001252\ttrue")));
+    }
+
+    @Test
+    public void jsonlIsMinedToJsonl() throws Exception {
+        String corpus = "{\"pmid\": \"PMID:1\", \"abstract\": \"hypotonia\"}\n" +
+                "\n" +
+                "{\"abstract\": \"mild hypotonia\"}\n";
+
+        StringWriter output = new StringWriter();
+        try (DocumentSource source = new JsonlDocumentSource(new BufferedReader(new StringReader(corpus)), "pmid", "abstract");
+             ResultWriter writer = ResultWriter.of(ResultWriter.OutputFormat.JSONL, output)) {
+            new MiningPipeline(MINER, 1, 4).run(source, writer);
+        }
+
+        assertThat(sortedLines(output), is(List.of(
+                "{\"documentId\":\"3\",\"begin\":5,\"end\":14,\"termId\":\"HP:0001252\",\"present\":true}",
+                "{\"documentId\":\"PMID:1\",\"begin\":0,\"end\":9,\"termId\":\"HP:0001252\",\"present\":true}")));
+        assertThat(output.toString(), endsWith("}\n"));
+    }
+
+    @Test
+    public void invalidJsonlFailsTheRun() {
+        String corpus = "{\"id\": \"1\", \"text\": \"hypotonia\"}\n{\"id\": \"2\"}\n";
+
+        IOException e = assertThrows(IOException.class, () -> {
+            try (DocumentSource source = new JsonlDocumentSource(new BufferedReader(new StringReader(corpus)), "id", "text");
+                 ResultWriter writer = ResultWriter.of(ResultWriter.OutputFormat.TSV, new StringWriter())) {
+                new MiningPipeline(MINER, 2, 4).run(source, writer);
+            }
+        });
+        assertThat(e.getMessage(), is("Missing text field 'text' on line 2"));
+    }
+
+    @Test
+    public void readerDoesNotRunAheadOfWriter() throws Exception {
+        int queueSize = 4, parallelism = 3;
+        AtomicInteger read = new AtomicInteger();
+        AtomicInteger written = new AtomicInteger();
+        AtomicInteger maxAhead = new AtomicInteger();
+
+        DocumentSource source = new DocumentSource() {
+            @Override
+            public Document next() {
+                int count = read.incrementAndGet();
+                maxAhead.accumulateAndGet(count - written.get(), Math::max);
+                return count > 1000 ? null : new Document(String.valueOf(count), "hypotonia");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        ResultWriter writer = new ResultWriter() {
+            @Override
+            public void write(String documentId, List<MinedTerm> terms) throws IOException {
+                written.incrementAndGet();
+                try {
+                    Thread.sleep(0, 100_000);
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        MiningPipeline.Summary summary = new MiningPipeline(MINER, parallelism, queueSize).run(source, writer);
+
+        assertThat(summary.documents(), is(1000L));
+        assertThat(written.get(), is(1000));
+        // documents in the input queue, the workers, the output queue and the one being written
+        assertThat(maxAhead.get(), lessThanOrEqualTo(2 * queueSize + parallelism + 2));
+    }
+}
@@ -0,0 +1,39 @@
+package org.monarchinitiative.hpotextmining.cli;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class SnapshotCompilerTest {
+
+    @TempDir
+    public Path directory;
+
+    @Test
+    public void invalidArguments() {
+        assertThat(SnapshotCompiler.run("--help"), is(0));
+        assertThat(SnapshotCompiler.run(), is(2));
+        assertThat(SnapshotCompiler.run("hp.json"), is(2));
+        assertThat(SnapshotCompiler.run("hp.json", "hp.snapshot", "extra"), is(2));
+        assertThat(SnapshotCompiler.run("--version"), is(2));
+        assertThat(SnapshotCompiler.run("--unknown", "hp.json", "hp.snapshot"), is(2));
+    }
+
+    @Test
+    public void ontologyWithoutVersionIsRejected() throws Exception {
+        Path json = Files.writeString(directory.resolve("hp.json"), "{\"graphs\": [{\"meta\": {}, \"nodes\": []}]}");
+
+        assertThat(SnapshotCompiler.run(json.toString(), directory.toString()), is(2));
+        assertThat(SnapshotCompiler.run(directory.resolve("missing.json").toString(), directory.toString()), is(3));
+    }
+}
@@ -0,0 +1,61 @@
+package org.monarchinitiative.hpotextmining.core.miners;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+/**
+ * {@link TermMiner} that is able to mine the <code>query</code> without blocking the calling thread.
+ * <p>
+ * The returned {@link CompletableFuture} is completed with the mined terms, or exceptionally with
+ * {@link TermMinerException} if the mining fails. Cancelling the future should abort the mining, if possible.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public interface AsyncTermMiner extends TermMiner {
+
+    /**
+     * Start mining of the <code>query</code> and return immediately.
+     *
+     * @param query {@link String} containing text about to be searched for HPO terms
+     * @return {@link CompletableFuture} completed with {@link MinedTerm}s representing HPO terms and their positions in
+     * the <code>query</code> text, or exceptionally with {@link TermMinerException}
+     */
+    CompletableFuture<Collection<MinedTerm>> doMiningAsync(final String query);
+
+    /**
+     * Mine the <code>query</code> and block until the results are available. The mining is cancelled if the calling
+     * thread is interrupted while waiting.
+     */
+    @Override
+    default Collection<MinedTerm> doMining(final String query) throws TermMinerException {
+        CompletableFuture<Collection<MinedTerm>> future = doMiningAsync(query);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new TermMinerException("Interrupted while waiting for the mining results", e);
+        } catch (ExecutionException e) {
+            throw Futures.asTermMinerException(e);
+        }
+    }
+
+    /**
+     * Mine the batch by keeping at most <code>maxConcurrency</code> documents in flight using
+     * {@link #doMiningAsync(String)}. No thread is occupied while waiting for the results, hence the
+     * <code>executor</code> is not used.
+     */
+    @Override
+    default <K> Map<K, Collection<MinedTerm>> doMiningBatch(Map<K, String> queries,
+                                                            Executor executor,
+                                                            int maxConcurrency,
+                                                            BiConsumer<? super K, ? super TermMinerException> onFailure) {
+        return BatchMining.mineAsync(this, queries, maxConcurrency, onFailure);
+    }
+}
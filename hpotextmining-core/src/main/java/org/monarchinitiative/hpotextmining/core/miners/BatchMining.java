@@ -0,0 +1,163 @@
+package org.monarchinitiative.hpotextmining.core.miners;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Default implementations of {@link TermMiner#doMiningBatch(Map, Executor, int, BiConsumer)}. The documents are mined
+ * either on the provided {@link Executor}, or using {@link AsyncTermMiner#doMiningAsync(String)}, while at most
+ * <code>maxConcurrency</code> documents are being mined at once.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+final class BatchMining {
+
+    /**
+     * Default number of documents mined at once.
+     */
+    static final int DEFAULT_CONCURRENCY = 8;
+
+    private BatchMining() {
+        // static utility class
+    }
+
+    static <K> Map<K, Collection<MinedTerm>> mine(TermMiner miner,
+                                                   Map<K, String> queries,
+                                                   Executor executor,
+                                                   int maxConcurrency,
+                                                   BiConsumer<? super K, ? super TermMinerException> onFailure) {
+        Objects.requireNonNull(executor, "Executor must not be null");
+        checkArguments(queries, maxConcurrency, onFailure);
+
+        Map<K, Collection<MinedTerm>> mined = new ConcurrentHashMap<>();
+        Map<K, TermMinerException> failures = new ConcurrentHashMap<>();
+        Semaphore permits = new Semaphore(maxConcurrency);
+        CountDownLatch done = new CountDownLatch(queries.size());
+
+        boolean interrupted = false;
+        try {
+            for (Map.Entry<K, String> entry : queries.entrySet()) {
+                permits.acquire();
+                K key = entry.getKey();
+                String query = entry.getValue();
+                try {
+                    executor.execute(() -> {
+                        try {
+                            Collection<MinedTerm> terms = miner.doMining(query);
+                            if (terms == null) {
+                                failures.put(key, new TermMinerException("Mining returned null"));
+                            } else {
+                                mined.put(key, terms);
+                            }
+                        } catch (TermMinerException e) {
+                            failures.put(key, e);
+                        } catch (RuntimeException e) {
+                            failures.put(key, new TermMinerException("Error occurred during mining", e));
+                        } finally {
+                            permits.release();
+                            done.countDown();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    failures.put(key, new TermMinerException("Mining task was rejected by the executor", e));
+                    permits.release();
+                    done.countDown();
+                }
+            }
+            done.await();
+        } catch (InterruptedException e) {
+            interrupted = true;
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return collect(queries, mined, failures, onFailure);
+    }
+
+    static <K> Map<K, Collection<MinedTerm>> mineAsync(AsyncTermMiner miner,
+                                                        Map<K, String> queries,
+                                                        int maxConcurrency,
+                                                        BiConsumer<? super K, ? super TermMinerException> onFailure) {
+        checkArguments(queries, maxConcurrency, onFailure);
+
+        Map<K, Collection<MinedTerm>> mined = new ConcurrentHashMap<>();
+        Map<K, TermMinerException> failures = new ConcurrentHashMap<>();
+        Semaphore permits = new Semaphore(maxConcurrency);
+        CountDownLatch done = new CountDownLatch(queries.size());
+        Collection<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+
+        boolean interrupted = false;
+        try {
+            for (Map.Entry<K, String> entry : queries.entrySet()) {
+                permits.acquire();
+                K key = entry.getKey();
+                CompletableFuture<Collection<MinedTerm>> future;
+                try {
+                    future = Objects.requireNonNull(miner.doMiningAsync(entry.getValue()), "Mining returned null future");
+                } catch (RuntimeException e) {
+                    failures.put(key, new TermMinerException("Error occurred during mining", e));
+                    permits.release();
+                    done.countDown();
+                    continue;
+                }
+                inFlight.add(future);
+                future.whenComplete((terms, throwable) -> {
+                    try {
+                        if (throwable != null) {
+                            failures.put(key, Futures.asTermMinerException(throwable));
+                        } else if (terms == null) {
+                            failures.put(key, new TermMinerException("Mining returned null"));
+                        } else {
+                            mined.put(key, terms);
+                        }
+                    } finally {
+                        inFlight.remove(future);
+                        permits.release();
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        } catch (InterruptedException e) {
+            interrupted = true;
+            inFlight.forEach(future -> future.cancel(true));
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return collect(queries, mined, failures, onFailure);
+    }
+
+    private static void checkArguments(Map<?, String> queries, int maxConcurrency, BiConsumer<?, ?> onFailure) {
+        Objects.requireNonNull(queries, "Queries must not be null");
+        Objects.requireNonNull(onFailure, "Failure handler must not be null");
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be positive: " + maxConcurrency);
+        }
+    }
+
+    /**
+     * Report the results in the order of the queries, and the failures on the calling thread.
+     */
+    private static <K> Map<K, Collection<MinedTerm>> collect(Map<K, String> queries,
+                                                             Map<K, Collection<MinedTerm>> mined,
+                                                             Map<K, TermMinerException> failures,
+                                                             BiConsumer<? super K, ? super TermMinerException> onFailure) {
+        Map<K, Collection<MinedTerm>> results = new LinkedHashMap<>();
+        for (K key : queries.keySet()) {
+            Collection<MinedTerm> terms = mined.get(key);
+            if (terms != null) {
+                results.put(key, terms);
+            } else {
+                TermMinerException failure = failures.get(key);
+                onFailure.accept(key, failure != null ? failure : new TermMinerException("Batch mining was interrupted"));
+            }
+        }
+        return results;
+    }
+}
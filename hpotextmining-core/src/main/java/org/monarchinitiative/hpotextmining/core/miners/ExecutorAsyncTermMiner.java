@@ -0,0 +1,63 @@
+package org.monarchinitiative.hpotextmining.core.miners;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiConsumer;
+
+/**
+ * Adapter running a blocking {@link TermMiner} on an {@link Executor} in order to provide the {@link AsyncTermMiner}
+ * API.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+class ExecutorAsyncTermMiner implements AsyncTermMiner {
+
+    private final TermMiner miner;
+
+    private final Executor executor;
+
+    ExecutorAsyncTermMiner(TermMiner miner, Executor executor) {
+        this.miner = miner;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Collection<MinedTerm>> doMiningAsync(String query) {
+        CompletableFuture<Collection<MinedTerm>> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                if (future.isDone()) { // cancelled before we even started
+                    return;
+                }
+                try {
+                    future.complete(miner.doMining(query));
+                } catch (TermMinerException e) {
+                    future.completeExceptionally(e);
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(new TermMinerException("Error occurred during mining", e));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new TermMinerException("Mining task was rejected by the executor", e));
+        }
+        return future;
+    }
+
+    @Override
+    public Collection<MinedTerm> doMining(String query) throws TermMinerException {
+        return miner.doMining(query);
+    }
+
+    @Override
+    public <K> Map<K, Collection<MinedTerm>> doMiningBatch(Map<K, String> queries,
+                                                           Executor executor,
+                                                           int maxConcurrency,
+                                                           BiConsumer<? super K, ? super TermMinerException> onFailure) {
+        return miner.doMiningBatch(queries, executor, maxConcurrency, onFailure);
+    }
+}
@@ -0,0 +1,39 @@
+package org.monarchinitiative.hpotextmining.core.miners;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Static utility methods for working with futures of the {@link AsyncTermMiner}s.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+final class Futures {
+
+    private Futures() {
+        // static utility class
+    }
+
+    /**
+     * Strip the {@link CompletionException} and {@link ExecutionException} wrappers and represent the failure as
+     * {@link TermMinerException}.
+     *
+     * @param throwable failure of a future
+     * @return {@link TermMinerException} representing the failure
+     */
+    static TermMinerException asTermMinerException(Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof TermMinerException) {
+            return (TermMinerException) cause;
+        } else if (cause instanceof CancellationException) {
+            return new TermMinerException("Mining was cancelled", cause);
+        }
+        return new TermMinerException("Error occurred during mining", cause);
+    }
+}
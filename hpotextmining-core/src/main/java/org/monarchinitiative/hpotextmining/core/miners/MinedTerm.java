@@ -1,9 +1,21 @@
 package org.monarchinitiative.hpotextmining.core.miners;
 
+/**
+ * A term identified in a region of the mined text.
+ * <p>
+ * Two {@link MinedTerm}s are equal if they have the same coordinates, term id and presence, regardless of the
+ * implementation. The implementations must be consistent with {@link #of(int, int, String, boolean)} in
+ * <code>equals</code> and <code>hashCode</code>, which compare the {@link #getTermIdCode()} instead of the term id
+ * String.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2
+ */
 public interface MinedTerm {
 
     static MinedTerm of(int begin, int end, String termId, boolean isPresent) {
-        return new SimpleMinedTerm(begin, end, termId, isPresent);
+        return new SimpleMinedTerm(begin, end, termId, TermIdCodec.encode(termId), isPresent);
     }
 
     /**
@@ -23,6 +35,24 @@ public interface MinedTerm {
      */
     String getTermId();
 
+    /**
+     * The implementations are encouraged to compute the code once and to store it along with the term.
+     *
+     * @return {@link TermIdCodec} code of the term id, equal codes denote equal term ids
+     * @since 0.2.9
+     */
+    default long getTermIdCode() {
+        return TermIdCodec.encode(getTermId());
+    }
+
+    /**
+     * @return <code>true</code> if the term id is a HPO term id, e.g. <code>HP:0001250</code>
+     * @since 0.2.9
+     */
+    default boolean isHpoTerm() {
+        return TermIdCodec.isHpo(getTermIdCode());
+    }
+
     /**
      * @return <code>true</code>, if the <code>term</code> is present in the patient's phenotype
      */
@@ -0,0 +1,373 @@
+package org.monarchinitiative.hpotextmining.core.miners;
+
+import java.util.*;
+
+/**
+ * Compact {@link Collection} of {@link MinedTerm}s storing the terms in parallel primitive arrays.
+ * <p>
+ * The begin and end coordinates, codes of the term ids and the presence flags are stored in <code>int</code> arrays
+ * and a bit set, the term ids are interned in a per-buffer table. Hence, a term takes ~13 bytes instead of the object
+ * header, fields and hash bucket of a {@link MinedTerm} held in a {@link HashSet}. Use
+ * {@link TermMiner#doMining(String, MinedTermBuffer)} to let a miner fill the buffer directly.
+ * <p>
+ * The elements returned by {@link #get(int)} and by the iterator are lightweight views of the buffer rows, they are
+ * equal to the {@link MinedTerm}s with the same values. The views are not retained by the buffer, and they reflect the
+ * buffer content, so they must not be used after the buffer is {@link #clear()}ed. Use
+ * {@link #forEach(TermConsumer)} to visit the terms without allocating the views at all.
+ * <p>
+ * A <em>distinct</em> buffer ignores the terms that are already present, like a {@link Set}. The buffer is not
+ * thread-safe, and removal of individual terms is not supported.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public final class MinedTermBuffer extends AbstractCollection<MinedTerm> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final boolean distinct;
+
+    private int[] begins;
+
+    private int[] ends;
+
+    private int[] codes;
+
+    private long[] present;
+
+    private int size;
+
+    /**
+     * Interned term ids, indexed by code.
+     */
+    private String[] termIds = new String[8];
+
+    /**
+     * {@link TermIdCodec} codes of the interned term ids, indexed by code.
+     */
+    private long[] termIdCodes = new long[8];
+
+    private final Map<String, Integer> internedTermIds = new HashMap<>();
+
+    /**
+     * Open-addressing table of row indices for {@link #distinct} buffers, <code>-1</code> marks an empty slot.
+     */
+    private int[] table;
+
+    public MinedTermBuffer() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * @param capacity initial number of terms the buffer can hold without growing
+     * @param distinct ignore the terms that are already present if <code>true</code>
+     */
+    public MinedTermBuffer(int capacity, boolean distinct) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+        capacity = Math.max(capacity, 1);
+        this.distinct = distinct;
+        this.begins = new int[capacity];
+        this.ends = new int[capacity];
+        this.codes = new int[capacity];
+        this.present = new long[(capacity + 63) >>> 6];
+        if (distinct) {
+            this.table = newTable(capacity);
+        }
+    }
+
+    /**
+     * @return a new buffer ignoring the terms that are already present
+     */
+    public static MinedTermBuffer distinct() {
+        return new MinedTermBuffer(DEFAULT_CAPACITY, true);
+    }
+
+    private static int[] newTable(int capacity) {
+        int[] table = new int[Integer.highestOneBit(Math.max(capacity, 4) * 2 - 1) << 1];
+        Arrays.fill(table, -1);
+        return table;
+    }
+
+    /**
+     * @param begin     begin coordinate of the text region
+     * @param end       end coordinate of the text region
+     * @param termId    term id, e.g. <code>HP:0001250</code>
+     * @param isPresent <code>true</code> if the term is present in the patient's phenotype
+     * @return <code>true</code> if the term was added, <code>false</code> if the buffer is distinct and the term is
+     * already present
+     */
+    public boolean add(int begin, int end, String termId, boolean isPresent) {
+        int code = intern(Objects.requireNonNull(termId, "Term id must not be null"));
+        int slot = -1;
+        if (distinct) {
+            slot = find(begin, end, code, isPresent);
+            if (table[slot] >= 0) {
+                return false;
+            }
+        }
+        if (size == begins.length) {
+            grow();
+            if (distinct) {
+                // the table has been rebuilt
+                slot = find(begin, end, code, isPresent);
+            }
+        }
+        begins[size] = begin;
+        ends[size] = end;
+        codes[size] = code;
+        if (isPresent) {
+            present[size >>> 6] |= 1L << size;
+        } else {
+            present[size >>> 6] &= ~(1L << size);
+        }
+        if (distinct) {
+            table[slot] = size;
+        }
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean add(MinedTerm term) {
+        return add(term.getBegin(), term.getEnd(), term.getTermId(), term.isPresent());
+    }
+
+    private int intern(String termId) {
+        Integer code = internedTermIds.get(termId);
+        if (code != null) {
+            return code;
+        }
+        int next = internedTermIds.size();
+        if (next == termIds.length) {
+            termIds = Arrays.copyOf(termIds, next * 2);
+            termIdCodes = Arrays.copyOf(termIdCodes, next * 2);
+        }
+        termIds[next] = termId;
+        termIdCodes[next] = TermIdCodec.encode(termId);
+        internedTermIds.put(termId, next);
+        return next;
+    }
+
+    private static int hash(int begin, int end, int code, boolean isPresent) {
+        int h = begin;
+        h = 31 * h + end;
+        h = 31 * h + code;
+        h = 31 * h + (isPresent ? 1 : 0);
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * @return slot of the table with the row of the term, or the empty slot where the row should be put
+     */
+    private int find(int begin, int end, int code, boolean isPresent) {
+        int mask = table.length - 1;
+        int slot = hash(begin, end, code, isPresent) & mask;
+        int row;
+        while ((row = table[slot]) >= 0) {
+            if (begins[row] == begin && ends[row] == end && codes[row] == code && isPresent(row) == isPresent) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        int capacity = begins.length + (begins.length >> 1) + 1;
+        begins = Arrays.copyOf(begins, capacity);
+        ends = Arrays.copyOf(ends, capacity);
+        codes = Arrays.copyOf(codes, capacity);
+        present = Arrays.copyOf(present, (capacity + 63) >>> 6);
+        if (distinct) {
+            table = newTable(capacity);
+            int mask = table.length - 1;
+            for (int row = 0; row < size; row++) {
+                int slot = hash(begins[row], ends[row], codes[row], isPresent(row)) & mask;
+                while (table[slot] >= 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = row;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void checkIndex(int index) {
+        Objects.checkIndex(index, size);
+    }
+
+    public int getBegin(int index) {
+        checkIndex(index);
+        return begins[index];
+    }
+
+    public int getEnd(int index) {
+        checkIndex(index);
+        return ends[index];
+    }
+
+    public String getTermId(int index) {
+        checkIndex(index);
+        return termIds[codes[index]];
+    }
+
+    /**
+     * @return {@link TermIdCodec} code of the term id of the term at the <code>index</code>
+     */
+    public long getTermIdCode(int index) {
+        checkIndex(index);
+        return termIdCodes[codes[index]];
+    }
+
+    public boolean isPresent(int index) {
+        checkIndex(index);
+        return (present[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * @param index index of the term, in the order of addition
+     * @return view of the term at the <code>index</code>
+     */
+    public MinedTerm get(int index) {
+        checkIndex(index);
+        return new View(index);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof MinedTerm)) {
+            return false;
+        }
+        MinedTerm term = (MinedTerm) o;
+        Integer code = internedTermIds.get(term.getTermId());
+        if (code == null) {
+            return false;
+        }
+        if (distinct) {
+            return table[find(term.getBegin(), term.getEnd(), code, term.isPresent())] >= 0;
+        }
+        for (int i = 0; i < size; i++) {
+            if (begins[i] == term.getBegin() && ends[i] == term.getEnd() && codes[i] == code
+                    && isPresent(i) == term.isPresent()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Remove all the terms. The capacity and the interned term ids are retained, so the buffer can be reused.
+     */
+    @Override
+    public void clear() {
+        size = 0;
+        if (distinct) {
+            Arrays.fill(table, -1);
+        }
+    }
+
+    /**
+     * Visit all the terms in the order of addition, without allocating.
+     *
+     * @param consumer {@link TermConsumer} receiving the values of each term
+     */
+    public void forEach(TermConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.accept(begins[i], ends[i], termIds[codes[i]], (present[i >>> 6] & (1L << i)) != 0);
+        }
+    }
+
+    @Override
+    public Iterator<MinedTerm> iterator() {
+        return new Iterator<>() {
+
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public MinedTerm next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return new View(next++);
+            }
+        };
+    }
+
+    /**
+     * Receives the values of a {@link MinedTerm}, e.g. from {@link MinedTermBuffer#forEach(TermConsumer)}.
+     */
+    @FunctionalInterface
+    public interface TermConsumer {
+
+        void accept(int begin, int end, String termId, boolean isPresent);
+    }
+
+    /**
+     * {@link MinedTerm} backed by a row of the buffer.
+     */
+    private final class View implements MinedTerm {
+
+        private final int index;
+
+        private View(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public int getBegin() {
+            return begins[index];
+        }
+
+        @Override
+        public int getEnd() {
+            return ends[index];
+        }
+
+        @Override
+        public String getTermId() {
+            return termIds[codes[index]];
+        }
+
+        @Override
+        public long getTermIdCode() {
+            return termIdCodes[codes[index]];
+        }
+
+        @Override
+        public boolean isPresent() {
+            return (present[index >>> 6] & (1L << index)) != 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return SimpleMinedTerm.hashCode(this);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || o instanceof MinedTerm && SimpleMinedTerm.equals(this, (MinedTerm) o);
+        }
+
+        @Override
+        public String toString() {
+            return "MinedTerm{" +
+                    "begin=" + getBegin() +
+                    ", end=" + getEnd() +
+                    ", termId='" + getTermId() + '\'' +
+                    ", present=" + isPresent() +
+                    '}';
+        }
+    }
+}
@@ -4,11 +4,11 @@ package org.monarchinitiative.hpotextmining.core.miners;
  * This class is a POJO for representation of a <code>termId</code> identified by text-mining.
  *
  * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
- * @version 0.2.1
+ * @version 0.2.9
  * @see TermMiner
  * @since 0.2
  */
-record SimpleMinedTerm(int begin, int end, String termId, boolean present) implements MinedTerm {
+record SimpleMinedTerm(int begin, int end, String termId, long termIdCode, boolean present) implements MinedTerm {
 
     @Override
     public int getBegin() {
@@ -25,31 +25,48 @@ record SimpleMinedTerm(int begin, int end, String termId, boolean present) imple
         return termId;
     }
 
+    @Override
+    public long getTermIdCode() {
+        return termIdCode;
+    }
+
     @Override
     public boolean isPresent() {
         return present;
     }
 
+    /**
+     * Hash code of a {@link MinedTerm} consistent with {@link #equals(MinedTerm, MinedTerm)}, shared by the
+     * {@link MinedTerm} implementations.
+     */
+    static int hashCode(MinedTerm term) {
+        int result = term.getBegin();
+        result = 31 * result + term.getEnd();
+        result = 31 * result + Long.hashCode(term.getTermIdCode());
+        result = 31 * result + (term.isPresent() ? 1 : 0);
+        return result;
+    }
+
+    /**
+     * @return <code>true</code> if the terms have the same coordinates, term id and presence
+     */
+    static boolean equals(MinedTerm a, MinedTerm b) {
+        return a.getBegin() == b.getBegin()
+                && a.getEnd() == b.getEnd()
+                && a.isPresent() == b.isPresent()
+                && a.getTermIdCode() == b.getTermIdCode();
+    }
+
     @Override
     public int hashCode() {
-        int result = begin;
-        result = 31 * result + end;
-        result = 31 * result + termId.hashCode();
-        result = 31 * result + (present ? 1 : 0);
-        return result;
+        return hashCode(this);
     }
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-
-        SimpleMinedTerm minedTerm = (SimpleMinedTerm) o;
-
-        if (begin != minedTerm.begin) return false;
-        if (end != minedTerm.end) return false;
-        if (present != minedTerm.present) return false;
-        return termId.equals(minedTerm.termId);
+        if (!(o instanceof MinedTerm)) return false;
+        return equals(this, (MinedTerm) o);
     }
 
     @Override
@@ -0,0 +1,197 @@
+package org.monarchinitiative.hpotextmining.core.miners;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps ontology term ids such as <code>HP:0001250</code> to <code>long</code> codes and back.
+ * <p>
+ * A term id with a numeric local id of up to 12 digits is packed into the code: the prefix is interned into a 16-bit
+ * prefix code, and the local id is stored as a number along with its width, so that the leading zeros are retained.
+ * Other term ids (e.g. <code>CHEBI:foo</code> or ids without a prefix) are interned in a dictionary and their code
+ * refers to the dictionary entry. Hence two term ids are equal if and only if their codes are equal, and
+ * {@link #decode(long)} restores the original term id.
+ * <p>
+ * Encoding a term id that has been seen before does not allocate. The prefix <code>HP</code> is always known, the
+ * other prefixes and the dictionary entries are registered on the first use. The codes are valid within the running
+ * JVM only, they must not be persisted. The class is thread-safe.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public final class TermIdCodec {
+
+    /**
+     * Prefix code of the HPO term ids.
+     */
+    public static final int HP_PREFIX = 0;
+
+    /**
+     * Set in the codes referring to the dictionary.
+     */
+    private static final long DICTIONARY_FLAG = 1L << 63;
+
+    private static final int LOCAL_BITS = 40;
+
+    private static final long LOCAL_MASK = (1L << LOCAL_BITS) - 1;
+
+    private static final int PREFIX_SHIFT = LOCAL_BITS;
+
+    private static final int PREFIX_MASK = 0xFFFF;
+
+    private static final int WIDTH_SHIFT = 56;
+
+    /**
+     * 10^12 - 1 is the largest number of 12 digits, it fits into {@link #LOCAL_BITS}.
+     */
+    private static final int MAX_WIDTH = 12;
+
+    private static final Object LOCK = new Object();
+
+    private static volatile String[] prefixes = {"HP"};
+
+    private static final Map<String, Long> DICTIONARY_CODES = new ConcurrentHashMap<>();
+
+    private static volatile String[] dictionary = new String[16];
+
+    private TermIdCodec() {
+        // static utility class
+    }
+
+    /**
+     * @param termId term id, e.g. <code>HP:0001250</code>
+     * @return code of the <code>termId</code>
+     */
+    public static long encode(String termId) {
+        int colon = termId.indexOf(':');
+        int width = termId.length() - colon - 1;
+        if (colon > 0 && width > 0 && width <= MAX_WIDTH) {
+            long local = 0;
+            for (int i = colon + 1; i < termId.length(); i++) {
+                char c = termId.charAt(i);
+                if (c < '0' || c > '9') {
+                    return dictionaryCode(termId);
+                }
+                local = local * 10 + (c - '0');
+            }
+            int prefix = prefixCode(termId, colon);
+            if (prefix >= 0) {
+                return (long) width << WIDTH_SHIFT | (long) prefix << PREFIX_SHIFT | local;
+            }
+        }
+        return dictionaryCode(termId);
+    }
+
+    /**
+     * @param code code obtained from {@link #encode(String)}
+     * @return the term id with the <code>code</code>
+     * @throws IllegalArgumentException if the <code>code</code> is not a valid code
+     */
+    public static String decode(long code) {
+        if ((code & DICTIONARY_FLAG) != 0) {
+            long index = code & ~DICTIONARY_FLAG;
+            String[] entries = dictionary;
+            if (index < entries.length && entries[(int) index] != null) {
+                return entries[(int) index];
+            }
+            throw new IllegalArgumentException("Unknown term id code " + code);
+        }
+        int prefix = prefixCode(code);
+        int width = (int) (code >>> WIDTH_SHIFT);
+        String[] known = prefixes;
+        if (prefix >= known.length || width == 0 || width > MAX_WIDTH) {
+            throw new IllegalArgumentException("Unknown term id code " + code);
+        }
+        String digits = Long.toString(localId(code));
+        StringBuilder builder = new StringBuilder(known[prefix].length() + 1 + width).append(known[prefix]).append(':');
+        for (int i = digits.length(); i < width; i++) {
+            builder.append('0');
+        }
+        return builder.append(digits).toString();
+    }
+
+    /**
+     * @param code term id code
+     * @return <code>true</code> if the <code>code</code> represents a term id with a numeric local id
+     */
+    public static boolean isNumeric(long code) {
+        return (code & DICTIONARY_FLAG) == 0;
+    }
+
+    /**
+     * @param code term id code
+     * @return <code>true</code> if the <code>code</code> represents a HPO term id such as <code>HP:0001250</code>
+     */
+    public static boolean isHpo(long code) {
+        return isNumeric(code) && prefixCode(code) == HP_PREFIX;
+    }
+
+    /**
+     * @param code code of a term id with a numeric local id
+     * @return prefix code, e.g. {@link #HP_PREFIX}
+     */
+    public static int prefixCode(long code) {
+        return (int) (code >>> PREFIX_SHIFT) & PREFIX_MASK;
+    }
+
+    /**
+     * @param code code of a term id with a numeric local id
+     * @return the numeric local id, e.g. <code>1250</code> for <code>HP:0001250</code>
+     */
+    public static long localId(long code) {
+        return code & LOCAL_MASK;
+    }
+
+    /**
+     * @return code of the prefix of the <code>termId</code> or <code>-1</code> if there are too many prefixes
+     */
+    private static int prefixCode(String termId, int length) {
+        String[] known = prefixes;
+        for (int i = 0; i < known.length; i++) {
+            if (known[i].length() == length && termId.regionMatches(0, known[i], 0, length)) {
+                return i;
+            }
+        }
+        synchronized (LOCK) {
+            known = prefixes;
+            for (int i = 0; i < known.length; i++) {
+                if (known[i].length() == length && termId.regionMatches(0, known[i], 0, length)) {
+                    return i;
+                }
+            }
+            if (known.length > PREFIX_MASK) {
+                return -1;
+            }
+            String[] updated = Arrays.copyOf(known, known.length + 1);
+            updated[known.length] = termId.substring(0, length);
+            prefixes = updated;
+            return known.length;
+        }
+    }
+
+    private static long dictionaryCode(String termId) {
+        Long code = DICTIONARY_CODES.get(termId);
+        if (code != null) {
+            return code;
+        }
+        synchronized (LOCK) {
+            code = DICTIONARY_CODES.get(termId);
+            if (code != null) {
+                return code;
+            }
+            int index = DICTIONARY_CODES.size();
+            String[] entries = dictionary;
+            if (index == entries.length) {
+                entries = Arrays.copyOf(entries, index * 2);
+            }
+            entries[index] = termId;
+            // publish the entry before the code is handed out
+            dictionary = entries;
+            code = DICTIONARY_FLAG | index;
+            DICTIONARY_CODES.put(termId, code);
+            return code;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package org.monarchinitiative.hpotextmining.core.miners;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
 
 /**
  * Classes implementing this interface are able to mine a set of {@link MinedTerm}s from given <code>query</code>.
@@ -12,7 +15,7 @@ import java.util.Set;
  * further approval/rejection.
  *
  * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
- * @version 0.2.1
+ * @version 0.2.9
  * @since 0.2
  */
 public interface TermMiner {
@@ -30,4 +33,67 @@ public interface TermMiner {
      * @throws TermMinerException if there is any problem with HPO mining
      */
     Collection<MinedTerm> doMining(final String query) throws TermMinerException;
+
+    /**
+     * Mine the <code>query</code> and add the mined terms to the <code>buffer</code>.
+     * <p>
+     * The default implementation copies the result of {@link #doMining(String)}. The implementors are encouraged to
+     * override this method to fill the buffer directly, without creating the intermediate collection.
+     *
+     * @param query  {@link String} containing text about to be searched for HPO terms
+     * @param buffer {@link MinedTermBuffer} to add the mined terms to
+     * @throws TermMinerException if there is any problem with HPO mining. Some terms might have been added to the
+     *                            <code>buffer</code> in that case
+     * @since 0.2.9
+     */
+    default void doMining(final String query, MinedTermBuffer buffer) throws TermMinerException {
+        buffer.addAll(doMining(query));
+    }
+
+    /**
+     * Mine a batch of documents. The documents are mined in parallel on the <code>executor</code>, using the default
+     * concurrency limit.
+     * <p>
+     * Failure to mine a document does not fail the whole batch, the document is just missing in the returned map. Use
+     * {@link #doMiningBatch(Map, Executor, int, BiConsumer)} to learn about the cause of the failures.
+     *
+     * @param queries  {@link Map} with documents to mine, keyed by an arbitrary document id
+     * @param executor {@link Executor} to run the mining on
+     * @param <K>      type of the document id
+     * @return {@link Map} with the mined terms of the successfully mined documents, in the order of the
+     * <code>queries</code>
+     * @see #doMiningBatch(Map, Executor, int, BiConsumer)
+     * @since 0.2.9
+     */
+    default <K> Map<K, Collection<MinedTerm>> doMiningBatch(Map<K, String> queries, Executor executor) {
+        return doMiningBatch(queries, executor, BatchMining.DEFAULT_CONCURRENCY, (key, e) -> {
+        });
+    }
+
+    /**
+     * Mine a batch of documents in parallel, while mining at most <code>maxConcurrency</code> documents at once.
+     * <p>
+     * The default implementation runs {@link #doMining(String)} for each document on the <code>executor</code>. The
+     * implementors are encouraged to override this method if a more efficient strategy for mining multiple documents
+     * exists.
+     * <p>
+     * The method blocks until all the documents are processed. Failure to mine a document does not fail the whole batch.
+     * The failures are reported to the <code>onFailure</code> handler on the calling thread, after all the documents
+     * have been processed.
+     *
+     * @param queries        {@link Map} with documents to mine, keyed by an arbitrary document id
+     * @param executor       {@link Executor} to run the mining on
+     * @param maxConcurrency maximum number of documents being mined at once
+     * @param onFailure      handler receiving id of each document that could not be mined along with the cause
+     * @param <K>            type of the document id
+     * @return {@link Map} with the mined terms of the successfully mined documents, in the order of the
+     * <code>queries</code>
+     * @since 0.2.9
+     */
+    default <K> Map<K, Collection<MinedTerm>> doMiningBatch(Map<K, String> queries,
+                                                            Executor executor,
+                                                            int maxConcurrency,
+                                                            BiConsumer<? super K, ? super TermMinerException> onFailure) {
+        return BatchMining.mine(this, queries, executor, maxConcurrency, onFailure);
+    }
 }
@@ -1,16 +1,27 @@
 package org.monarchinitiative.hpotextmining.core.miners;
 
 import org.monarchinitiative.hpotextmining.core.miners.biolark.BiolarkTermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.cache.CacheSpec;
+import org.monarchinitiative.hpotextmining.core.miners.cache.CachingTermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.cache.CoalescingTermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.cache.DiskCache;
+import org.monarchinitiative.hpotextmining.core.miners.cache.DiskCachingTermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.chunking.ChunkingTermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.local.LocalTermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.metrics.InstrumentedTermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.metrics.MetricsRegistry;
 import org.monarchinitiative.hpotextmining.core.miners.scigraph.SciGraphTermMiner;
+import org.monarchinitiative.hpotextmining.core.ontology.OntologySnapshot;
+import org.monarchinitiative.phenol.ontology.data.MinimalOntology;
 
-import java.io.IOException;
 import java.net.URL;
+import java.util.concurrent.Executor;
 
 public class TermMiners {
 
     private TermMiners() {}
 
-    public static TermMiner biolark(URL biolarkService) throws IOException {
+    public static TermMiner biolark(URL biolarkService) {
         return new BiolarkTermMiner(biolarkService);
     }
 
@@ -18,4 +29,93 @@ public class TermMiners {
         return new SciGraphTermMiner(scigraphService);
     }
 
+    /**
+     * @param ontology {@link MinimalOntology} with term names and synonyms to mine
+     * @return {@link TermMiner} that mines the query locally, without sending it to a remote service
+     */
+    public static TermMiner local(MinimalOntology ontology) {
+        return new LocalTermMiner(ontology);
+    }
+
+    /**
+     * @param snapshot {@link OntologySnapshot} with the names and synonyms of the terms to mine
+     * @return {@link TermMiner} that mines the query locally, without re-hydrating the ontology terms
+     */
+    public static TermMiner local(OntologySnapshot snapshot) {
+        return new LocalTermMiner(snapshot, true);
+    }
+
+    /**
+     * Get {@link AsyncTermMiner} API for given <code>miner</code>.
+     *
+     * @param miner    {@link TermMiner} to adapt
+     * @param executor {@link Executor} to run the blocking mining on, if the <code>miner</code> does not support
+     *                 the non-blocking mining natively
+     * @return the <code>miner</code> if it is an {@link AsyncTermMiner} already, or an adapter running the mining on
+     * the <code>executor</code>
+     */
+    public static AsyncTermMiner async(TermMiner miner, Executor executor) {
+        if (miner instanceof AsyncTermMiner) {
+            return (AsyncTermMiner) miner;
+        }
+        return new ExecutorAsyncTermMiner(miner, executor);
+    }
+
+    /**
+     * Cache the results of the <code>miner</code> in memory.
+     *
+     * @param miner {@link TermMiner} to decorate
+     * @param spec  {@link CacheSpec} with the cache configuration
+     * @return {@link CachingTermMiner} answering the repeated queries from the cache
+     */
+    public static CachingTermMiner cached(TermMiner miner, CacheSpec spec) {
+        return new CachingTermMiner(miner, spec);
+    }
+
+    /**
+     * Store the results of the <code>miner</code> in the persistent <code>cache</code>.
+     *
+     * @param miner {@link TermMiner} to decorate
+     * @param cache opened {@link DiskCache}
+     * @return {@link TermMiner} answering the queries stored in the <code>cache</code> without mining
+     */
+    public static TermMiner cached(TermMiner miner, DiskCache cache) {
+        return new DiskCachingTermMiner(miner, cache);
+    }
+
+    /**
+     * Split long queries into chunks mined concurrently on the <code>executor</code>, using the default chunk length
+     * and overlap. Use {@link ChunkingTermMiner#builder(TermMiner, Executor)} to configure the chunking.
+     *
+     * @param miner    {@link TermMiner} to mine the chunks
+     * @param executor {@link Executor} to mine the chunks on
+     * @return {@link TermMiner} mining long queries in chunks
+     */
+    public static TermMiner chunked(TermMiner miner, Executor executor) {
+        return ChunkingTermMiner.builder(miner, executor).build();
+    }
+
+    /**
+     * Share a single mining by the concurrent callers asking for the same query.
+     *
+     * @param miner    {@link TermMiner} to decorate
+     * @param executor {@link Executor} to run the blocking mining on, if the <code>miner</code> does not support
+     *                 the non-blocking mining natively
+     * @return {@link CoalescingTermMiner} coalescing the identical queries in flight
+     */
+    public static CoalescingTermMiner coalescing(TermMiner miner, Executor executor) {
+        return new CoalescingTermMiner(miner, executor);
+    }
+
+    /**
+     * Record latency, size and failures of the mining.
+     *
+     * @param miner    {@link TermMiner} to decorate
+     * @param registry {@link MetricsRegistry} to record the metrics to
+     * @return {@link InstrumentedTermMiner} recording the metrics of the <code>miner</code>
+     */
+    public static InstrumentedTermMiner instrumented(TermMiner miner, MetricsRegistry registry) {
+        return new InstrumentedTermMiner(miner, registry);
+    }
+
 }
@@ -0,0 +1,157 @@
+package org.monarchinitiative.hpotextmining.core.miners.biolark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTermBuffer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Decodes the JSON response of the Biolark <code>annotate</code> endpoint directly into {@link MinedTerm}s.
+ * <p>
+ * The response is an array of objects like
+ * <code>{"start_offset":823,"end_offset":841,"termId":{"uri":"HP:0001373", ...},"negated":true, ...}</code>. We use
+ * the streaming {@link JsonParser} to pull only the offsets, the term <code>uri</code> and the <code>negated</code>
+ * flag, hence neither the whole response nor the {@link BiolarkResult} and {@link BiolarkToken} objects are
+ * materialized. A negated result is mined as a term that is not present. The term object is accepted under both
+ * <code>termId</code> and <code>term</code> keys, and the OBO PURLs such as
+ * <code>http://purl.obolibrary.org/obo/HP_0001373</code> are converted to the CURIEs.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+final class BiolarkResponseDecoder {
+
+    /**
+     * {@link JsonFactory} is thread safe and the parsers created by a shared instance reuse the symbol tables and
+     * buffers. The parsers do not close the response stream, the caller does.
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory().disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+    private BiolarkResponseDecoder() {
+        // static utility class
+    }
+
+    /**
+     * Decode the response. The <code>is</code> is read till the end of the JSON array, but it is not closed.
+     *
+     * @param is {@link InputStream} with the response body
+     * @return {@link Set} of {@link MinedTerm}s
+     * @throws IOException if the response cannot be read or if it is not a valid Biolark response
+     */
+    static Set<MinedTerm> decode(InputStream is) throws IOException {
+        Set<MinedTerm> terms = new HashSet<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(is)) {
+            decode(parser, (begin, end, termId, isPresent) -> terms.add(MinedTerm.of(begin, end, termId, isPresent)));
+        }
+        return terms;
+    }
+
+    /**
+     * Decode the response into the <code>buffer</code>. The <code>is</code> is read till the end of the JSON array,
+     * but it is not closed.
+     *
+     * @param is     {@link InputStream} with the response body
+     * @param buffer {@link MinedTermBuffer} to add the {@link MinedTerm}s to
+     * @throws IOException if the response cannot be read or if it is not a valid Biolark response
+     */
+    static void decode(InputStream is, MinedTermBuffer buffer) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(is)) {
+            decode(parser, buffer::add);
+        }
+    }
+
+    private static void decode(JsonParser parser, MinedTermBuffer.TermConsumer consumer) throws IOException {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "Expected array of Biolark results");
+        }
+
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+            decodeResult(parser, consumer);
+        }
+        if (token != JsonToken.END_ARRAY) {
+            throw new JsonParseException(parser, "Expected Biolark result object but got " + token);
+        }
+    }
+
+    /**
+     * Decode a single result object and pass it to the <code>consumer</code>, unless the result has no term
+     * <code>uri</code>. The parser must be positioned at the {@link JsonToken#START_OBJECT} and it is left at the
+     * corresponding {@link JsonToken#END_OBJECT}.
+     */
+    private static void decodeResult(JsonParser parser, MinedTermBuffer.TermConsumer consumer) throws IOException {
+        String id = null;
+        int start = -1, end = -1;
+        boolean negated = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "start_offset":
+                    start = parser.getValueAsInt(-1);
+                    break;
+                case "end_offset":
+                    end = parser.getValueAsInt(-1);
+                    break;
+                case "negated":
+                    negated = parser.getValueAsBoolean();
+                    break;
+                case "termId":
+                case "term":
+                    if (value == JsonToken.START_OBJECT) {
+                        id = decodeTermUri(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        if (id == null) {
+            return;
+        }
+        if (start < 0 || end < start) {
+            throw new JsonParseException(parser, String.format("Invalid coordinates [%d, %d) of %s", start, end, id));
+        }
+        consumer.accept(start, end, id, !negated);
+    }
+
+    private static String decodeTermUri(JsonParser parser) throws IOException {
+        String uri = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (field.equals("uri")) {
+                uri = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return uri == null ? null : toCurie(uri);
+    }
+
+    /**
+     * @return <code>HP:0001373</code> for <code>http://purl.obolibrary.org/obo/HP_0001373</code>, other values are
+     * returned unchanged
+     */
+    static String toCurie(String uri) {
+        int slash = uri.lastIndexOf('/');
+        if (slash < 0) {
+            return uri;
+        }
+        int underscore = uri.indexOf('_', slash);
+        return underscore < 0
+                ? uri
+                : uri.substring(slash + 1, underscore) + ':' + uri.substring(underscore + 1);
+    }
+}
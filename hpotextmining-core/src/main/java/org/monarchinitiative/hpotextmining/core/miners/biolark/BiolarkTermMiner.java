@@ -1,124 +1,253 @@
 package org.monarchinitiative.hpotextmining.core.miners.biolark;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTermBuffer;
 import org.monarchinitiative.hpotextmining.core.miners.TermMiner;
 import org.monarchinitiative.hpotextmining.core.miners.TermMinerException;
 import org.monarchinitiative.hpotextmining.core.miners.scigraph.SciGraphTermMiner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.net.ssl.HttpsURLConnection;
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
+import java.io.InputStream;
 import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
-import java.util.HashSet;
+import java.time.Duration;
+import java.util.Objects;
 import java.util.Set;
 
 /**
  * This {@link TermMiner} uses <em>Biolark</em> web API to discover positions of HPO terms within provided query.
  * <p>
+ * Each query is sent in its own request through a {@link HttpClient}, which keeps the connections alive and reuses
+ * them for subsequent requests. By default, the client is shared with the other remote miners, see
+ * {@link SciGraphTermMiner.ConnectionFactory#sharedHttpClient()}. Use {@link #builder(URL)} to configure the client
+ * and timeouts. The instance is thread-safe and it can serve any number of queries.
+ * <p>
+ * The response is decoded into {@link MinedTerm}s while being read from the connection, the <em>negated</em> results
+ * are mined as the terms that are not present.
+ * <p>
  * <b>Warning</b>This Miner might not be working properly at the moment since the Biolark API is not running. Use
  * {@link SciGraphTermMiner} instead
  *
  * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
- * @version 0.2.1
+ * @version 0.2.9
  * @since 0.2
  */
 public class BiolarkTermMiner implements TermMiner {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BiolarkTermMiner.class);
 
-    private final URLConnection connection;
+    static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(30);
+
+    private final Transport transport;
+
+    /**
+     * @param server {@link URL} of the Biolark <code>annotate</code> endpoint
+     * @throws IllegalArgumentException if the <code>server</code> cannot be converted to {@link URI}
+     */
+    public BiolarkTermMiner(URL server) {
+        this(new Transport(server, SciGraphTermMiner.ConnectionFactory.sharedHttpClient(), DEFAULT_READ_TIMEOUT));
+    }
 
+    /**
+     * @param connection connection to the Biolark <code>annotate</code> endpoint, only its {@link URLConnection#getURL()}
+     *                   is used
+     * @throws IllegalArgumentException if the URL cannot be converted to {@link URI}
+     * @deprecated each query is sent in its own request, use {@link #BiolarkTermMiner(URL)} or {@link #builder(URL)}
+     */
+    @Deprecated(since = "0.2.9", forRemoval = true)
     public BiolarkTermMiner(URLConnection connection) {
-        this.connection = connection;
+        this(connection.getURL());
     }
 
-    public BiolarkTermMiner(URL server) throws IOException {
-        this(server.openConnection());
+    BiolarkTermMiner(Transport transport) {
+        this.transport = transport;
     }
 
+    /**
+     * @param server {@link URL} of the Biolark <code>annotate</code> endpoint
+     * @return builder for configuring the {@link BiolarkTermMiner}
+     * @since 0.2.9
+     */
+    public static Builder builder(URL server) {
+        return new Builder(server);
+    }
 
     /**
      * Performs mining of the provided text using Biolark service; <code>query</code> String is sent to the Biolark
-     * API and the Thread is blocked until a <em>JSON</em> response is received. The response is then decoded into
-     * {@link MinedTerm}s.
+     * API and the Thread is blocked until a <em>JSON</em> response is received. The response is decoded into
+     * {@link MinedTerm}s while being read from the connection.
      *
      * @param query String with text to be mined for HPO terms
-     * @return {@link Set} of {@link MinedTerm}s representing identified HPO terms. The set is empty, if I/O error
-     * occurs or if URL/query are invalid
+     * @return {@link Set} of {@link MinedTerm}s representing identified HPO terms
+     * @throws TermMinerException if the query is invalid, or if the request or parsing of the response fails
      */
     @Override
     public Set<MinedTerm> doMining(final String query) throws TermMinerException {
+        return send(query, BiolarkResponseDecoder::decode);
+    }
+
+    /**
+     * Performs mining of the provided text like {@link #doMining(String)}, but the response is decoded directly into
+     * the <code>buffer</code>. Duplicate results are retained, unless the <code>buffer</code> is distinct.
+     *
+     * @param query  String with text to be mined for HPO terms
+     * @param buffer {@link MinedTermBuffer} to add the identified HPO terms to
+     * @throws TermMinerException if the query is invalid, or if the request or parsing of the response fails
+     * @since 0.2.9
+     */
+    @Override
+    public void doMining(String query, MinedTermBuffer buffer) throws TermMinerException {
+        Objects.requireNonNull(buffer, "Buffer must not be null");
+        send(query, is -> {
+            BiolarkResponseDecoder.decode(is, buffer);
+            return null;
+        });
+    }
+
+    private <T> T send(String query, ResponseDecoder<T> decoder) throws TermMinerException {
         if (query == null) {
             throw new TermMinerException("Query must not be null");
         }
-        final StringBuilder jsonStringBuilder = new StringBuilder();
 
         try {
-            String protocol = connection.getURL().getProtocol();
-
-            switch (protocol) {
-                case "http":
-                    ((HttpURLConnection) connection).setRequestMethod("POST");
-                    break;
-                case "https":
-                    ((HttpsURLConnection) connection).setRequestMethod("POST");
-                    break;
-                default:
-                    break;
-            }
-
-            connection.setDoInput(true);
-            connection.setDoOutput(true);
-            connection.setRequestProperty("Accept", "application/json");
-            connection.setRequestProperty("Content-Type", "application/json; charset=UTF-8");
-            try (OutputStreamWriter writer = new
-                    OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8)) {
-                writer.write(query);
-            }
-
-            try (BufferedReader br = new BufferedReader(new InputStreamReader(connection.getInputStream()))) {
-                String line;
-                while ((line = br.readLine()) != null) {
-                    jsonStringBuilder.append(line);
+            HttpResponse<InputStream> response = transport.send(query);
+            try (InputStream is = response.body()) {
+                if (response.statusCode() != HttpURLConnection.HTTP_OK) {
+                    throw new TermMinerException("Server responded with status " + response.statusCode());
                 }
+                return decoder.decode(is);
             }
-
-//            connection.disconnect();
-
+        } catch (JsonProcessingException e) {
+            throw new TermMinerException("Error occurred during parsing response from the server", e);
         } catch (IOException e) {
+            LOGGER.warn("I/O error occurred: {}", e.getMessage());
             throw new TermMinerException("Error occurred during the connection", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TermMinerException("Interrupted while waiting for the server response", e);
         }
+    }
 
-        return decodePayload(jsonStringBuilder.toString());
+    @FunctionalInterface
+    private interface ResponseDecoder<T> {
 
+        T decode(InputStream is) throws IOException;
     }
 
-
     /**
-     * Parse JSON string into set of intermediate result objects.
+     * Builder for {@link BiolarkTermMiner}.
      *
-     * @param jsonResponse JSON string to be parsed
-     * @return possibly empty set of {@link MinedTerm} objects
+     * @since 0.2.9
      */
-    private Set<MinedTerm> decodePayload(String jsonResponse) {
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            CollectionType javaType = mapper.getTypeFactory().constructCollectionType(Set.class, BiolarkResult.class);
-            Set<BiolarkResult> results = mapper.readValue(jsonResponse, javaType);
-            return new HashSet<>();
-        } catch (IOException e) {
-            LOGGER.warn(e.getMessage(), e);
-            return new HashSet<>();
+    public static final class Builder {
+
+        private final URL server;
+
+        private HttpClient httpClient;
+
+        private Duration connectTimeout;
+
+        private Duration readTimeout = DEFAULT_READ_TIMEOUT;
+
+        private Builder(URL server) {
+            this.server = Objects.requireNonNull(server, "Server URL must not be null");
+        }
+
+        /**
+         * @param httpClient {@link HttpClient} to use for sending the requests. The client is shared by all the
+         *                   remote miners by default
+         * @return this {@link Builder} instance
+         */
+        public Builder httpClient(HttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        /**
+         * @param connectTimeout fail if the connection is not established within the timeout (5s by default). Setting
+         *                       the timeout creates a new {@link HttpClient}, it is ignored if a client is provided via
+         *                       {@link #httpClient(HttpClient)}
+         * @return this {@link Builder} instance
+         */
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        /**
+         * @param readTimeout fail if the response is not received within the timeout (30s by default)
+         * @return this {@link Builder} instance
+         */
+        public Builder readTimeout(Duration readTimeout) {
+            this.readTimeout = Objects.requireNonNull(readTimeout, "Read timeout must not be null");
+            return this;
+        }
+
+        /**
+         * @return a new {@link BiolarkTermMiner} instance
+         * @throws IllegalArgumentException if the server URL cannot be converted to {@link URI}
+         */
+        public BiolarkTermMiner build() {
+            HttpClient client;
+            if (httpClient != null) {
+                client = httpClient;
+            } else if (connectTimeout != null) {
+                client = SciGraphTermMiner.ConnectionFactory.newHttpClient(connectTimeout);
+            } else {
+                client = SciGraphTermMiner.ConnectionFactory.sharedHttpClient();
+            }
+            return new BiolarkTermMiner(new Transport(server, client, readTimeout));
         }
     }
 
+    /**
+     * Sends each query in a new request using the {@link HttpClient}. The client maintains a pool of keep-alive
+     * connections, hence the connection is reused if possible.
+     */
+    static class Transport {
+
+        private final URI uri;
+
+        private final HttpClient httpClient;
+
+        private final Duration readTimeout;
+
+        Transport(URL url, HttpClient httpClient, Duration readTimeout) {
+            try {
+                this.uri = url.toURI();
+            } catch (URISyntaxException e) {
+                throw new IllegalArgumentException("Invalid server URL " + url, e);
+            }
+            this.httpClient = Objects.requireNonNull(httpClient, "HTTP client must not be null");
+            this.readTimeout = readTimeout;
+        }
+
+        /**
+         * Send the <code>query</code> to the server and block until the response headers are received.
+         *
+         * @param query text to be mined, sent as the request body
+         * @return {@link HttpResponse} with the body to be read
+         * @throws IOException          in case of I/O error
+         * @throws InterruptedException if interrupted while waiting for the response
+         */
+        HttpResponse<InputStream> send(String query) throws IOException, InterruptedException {
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .timeout(readTimeout)
+                    .header("Accept", "application/json")
+                    .header("Content-Type", "application/json; charset=UTF-8")
+                    .POST(HttpRequest.BodyPublishers.ofString(query, StandardCharsets.UTF_8))
+                    .build();
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        }
+    }
 }
@@ -0,0 +1,76 @@
+package org.monarchinitiative.hpotextmining.core.miners.cache;
+
+/**
+ * Configuration of the cache of the mining results.
+ * <p>
+ * The size of the cache is limited by the total <em>weight</em> of the cached results. The weight is an estimate of
+ * the number of bytes occupied by the cached {@link org.monarchinitiative.hpotextmining.core.miners.MinedTerm}s on
+ * the heap. The least recently used results are evicted when the limit is exceeded.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public final class CacheSpec {
+
+    /**
+     * Default maximum weight of the cache - 32 MiB.
+     */
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 32L * 1024 * 1024;
+
+    private static final CacheSpec DEFAULT = builder().build();
+
+    private final long maximumWeight;
+
+    private CacheSpec(Builder builder) {
+        this.maximumWeight = builder.maximumWeight;
+    }
+
+    /**
+     * @return {@link CacheSpec} with default settings
+     */
+    public static CacheSpec defaultSpec() {
+        return DEFAULT;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return maximum total weight of the cached results in bytes
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheSpec{maximumWeight=" + maximumWeight + '}';
+    }
+
+    public static final class Builder {
+
+        private long maximumWeight = DEFAULT_MAXIMUM_WEIGHT;
+
+        private Builder() {
+        }
+
+        /**
+         * @param maximumWeight maximum total weight of the cached results in bytes. Use <code>0</code> to disable
+         *                      caching
+         * @return this {@link Builder} instance
+         */
+        public Builder maximumWeight(long maximumWeight) {
+            if (maximumWeight < 0) {
+                throw new IllegalArgumentException("Maximum weight must not be negative: " + maximumWeight);
+            }
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        public CacheSpec build() {
+            return new CacheSpec(this);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.monarchinitiative.hpotextmining.core.miners.cache;
+
+/**
+ * Snapshot of the cache statistics.
+ *
+ * @param hitCount      number of queries answered from the cache
+ * @param missCount     number of queries that had to be mined by the decorated miner
+ * @param evictionCount number of results evicted from the cache due to the weight limit
+ * @param size          number of results present in the cache
+ * @param weight        total weight of the results present in the cache, in bytes
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public record CacheStats(long hitCount, long missCount, long evictionCount, long size, long weight) {
+
+    /**
+     * @return ratio of queries answered from the cache, or <code>1.</code> if there were no queries yet
+     */
+    public double hitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1. : (double) hitCount / requests;
+    }
+}
@@ -0,0 +1,158 @@
+package org.monarchinitiative.hpotextmining.core.miners.cache;
+
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.TermMinerException;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link TermMiner} decorator that caches the results of the decorated miner in memory.
+ * <p>
+ * The results are keyed by the SHA-256 digest of the query, hence the query strings are not retained. The total weight
+ * of the cached results is limited by {@link CacheSpec#getMaximumWeight()} and the least recently used results are
+ * evicted first. Failed mining is not cached.
+ * <p>
+ * The miner is thread-safe. Concurrent misses of the same query are all passed to the decorated miner.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class CachingTermMiner implements TermMiner {
+
+    /**
+     * Estimated heap size of a cache entry, the key, and the list holding the terms.
+     */
+    private static final int ENTRY_WEIGHT = 64 + QueryHash.WEIGHT + 16;
+
+    /**
+     * Estimated heap size of a {@link MinedTerm}, excluding the characters of the term id.
+     */
+    private static final int TERM_WEIGHT = 32 + 24 + 16 + 8;
+
+    private final TermMiner miner;
+
+    private final long maximumWeight;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Entries in access order. Guarded by {@link #lock}.
+     */
+    private final LinkedHashMap<QueryHash, Entry> cache = new LinkedHashMap<>(16, .75f, true);
+
+    /**
+     * Guarded by {@link #lock}.
+     */
+    private long weight;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    public CachingTermMiner(TermMiner miner, CacheSpec spec) {
+        this.miner = Objects.requireNonNull(miner, "Miner must not be null");
+        this.maximumWeight = Objects.requireNonNull(spec, "Cache spec must not be null").getMaximumWeight();
+    }
+
+    /**
+     * Estimate heap size of the cached <code>terms</code>.
+     */
+    static long weigh(Collection<MinedTerm> terms) {
+        long weight = ENTRY_WEIGHT;
+        for (MinedTerm term : terms) {
+            weight += TERM_WEIGHT + term.getTermId().length();
+        }
+        return weight;
+    }
+
+    @Override
+    public Collection<MinedTerm> doMining(String query) throws TermMinerException {
+        if (query == null) {
+            throw new TermMinerException("Query must not be null");
+        }
+        QueryHash key = QueryHash.of(query);
+
+        Collection<MinedTerm> cached = get(key);
+        if (cached != null) {
+            hitCount.increment();
+            return cached;
+        }
+        missCount.increment();
+
+        Collection<MinedTerm> terms = List.copyOf(miner.doMining(query));
+        put(key, terms);
+        return terms;
+    }
+
+    private Collection<MinedTerm> get(QueryHash key) {
+        lock.lock();
+        try {
+            Entry entry = cache.get(key);
+            return entry == null ? null : entry.terms;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(QueryHash key, Collection<MinedTerm> terms) {
+        long entryWeight = weigh(terms);
+        if (entryWeight > maximumWeight) {
+            return;
+        }
+        lock.lock();
+        try {
+            Entry previous = cache.put(key, new Entry(terms, entryWeight));
+            if (previous != null) {
+                weight -= previous.weight;
+            }
+            weight += entryWeight;
+
+            Iterator<Entry> eldest = cache.values().iterator();
+            while (weight > maximumWeight) {
+                Entry evicted = eldest.next();
+                eldest.remove();
+                weight -= evicted.weight;
+                evictionCount.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove all the results from the cache. The statistics are retained.
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            cache.clear();
+            weight = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return snapshot of the cache statistics
+     */
+    public CacheStats stats() {
+        long size, currentWeight;
+        lock.lock();
+        try {
+            size = cache.size();
+            currentWeight = weight;
+        } finally {
+            lock.unlock();
+        }
+        return new CacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), size, currentWeight);
+    }
+
+    private record Entry(Collection<MinedTerm> terms, long weight) {
+    }
+}
@@ -0,0 +1,176 @@
+package org.monarchinitiative.hpotextmining.core.miners.cache;
+
+import org.monarchinitiative.hpotextmining.core.miners.AsyncTermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.TermMinerException;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiners;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link TermMiner} decorator that coalesces the concurrent mining of the same query into a single request
+ * (<em>single flight</em>).
+ * <p>
+ * The first caller starts the mining by the decorated miner, the callers asking for the same query while the mining is
+ * in flight wait for the same result. Each caller receives its own future, hence cancelling the future stops waiting
+ * of the caller only. The shared mining is cancelled when all the callers give up. The callers receive the same
+ * unmodifiable copy of the mined terms, hence a caller cannot change the result of the others.
+ * <p>
+ * The queries are identified by their SHA-256 digest. The results are not retained after the mining finishes, use
+ * {@link CachingTermMiner} for that.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class CoalescingTermMiner implements AsyncTermMiner {
+
+    private final AsyncTermMiner miner;
+
+    private final ConcurrentMap<QueryHash, Flight> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder requestCount = new LongAdder();
+
+    private final LongAdder coalescedCount = new LongAdder();
+
+    /**
+     * @param miner    {@link TermMiner} to decorate
+     * @param executor {@link Executor} to run the miner on, if the miner does not implement {@link AsyncTermMiner}
+     */
+    public CoalescingTermMiner(TermMiner miner, Executor executor) {
+        this.miner = TermMiners.async(miner, executor);
+    }
+
+    @Override
+    public CompletableFuture<Collection<MinedTerm>> doMiningAsync(String query) {
+        if (query == null) {
+            return CompletableFuture.failedFuture(new TermMinerException("Query must not be null"));
+        }
+        requestCount.increment();
+        QueryHash key = QueryHash.of(query);
+
+        Flight flight;
+        boolean first;
+        while (true) {
+            Flight candidate = new Flight();
+            flight = inFlight.putIfAbsent(key, candidate);
+            if (flight == null) {
+                flight = candidate;
+                first = true;
+                break;
+            } else if (flight.join()) {
+                first = false;
+                coalescedCount.increment();
+                break;
+            }
+            // the flight has been abandoned by all its waiters in the meantime
+            inFlight.remove(key, flight);
+        }
+
+        CompletableFuture<Collection<MinedTerm>> waiter = new CompletableFuture<>();
+        Flight current = flight;
+        current.shared.whenComplete((terms, throwable) -> {
+            if (throwable == null) {
+                waiter.complete(terms);
+            } else {
+                waiter.completeExceptionally(throwable instanceof CompletionException && throwable.getCause() != null
+                        ? throwable.getCause()
+                        : throwable);
+            }
+        });
+        waiter.whenComplete((terms, throwable) -> {
+            if (waiter.isCancelled() && current.leave()) {
+                inFlight.remove(key, current);
+                current.shared.cancel(true);
+            }
+        });
+
+        if (first) {
+            start(key, query, current);
+        }
+        return waiter;
+    }
+
+    private void start(QueryHash key, String query, Flight flight) {
+        CompletableFuture<Collection<MinedTerm>> mining;
+        try {
+            mining = miner.doMiningAsync(query);
+        } catch (RuntimeException e) {
+            mining = CompletableFuture.failedFuture(new TermMinerException("Error occurred during mining", e));
+        }
+        CompletableFuture<Collection<MinedTerm>> request = mining;
+        request.whenComplete((terms, throwable) -> {
+            // no new waiter can join once the flight is removed
+            inFlight.remove(key, flight);
+            if (throwable != null) {
+                flight.shared.completeExceptionally(throwable);
+            } else if (terms == null) {
+                flight.shared.completeExceptionally(new TermMinerException("Mining returned null"));
+            } else {
+                try {
+                    // copied once per flight
+                    flight.shared.complete(terms instanceof Set ? Set.copyOf(terms) : List.copyOf(terms));
+                } catch (RuntimeException e) {
+                    flight.shared.completeExceptionally(new TermMinerException("Error occurred during mining", e));
+                }
+            }
+        });
+        // abort the request when all the waiters give up
+        flight.shared.whenComplete((terms, throwable) -> {
+            if (flight.shared.isCancelled()) {
+                request.cancel(true);
+            }
+        });
+    }
+
+    /**
+     * @return number of the mining requests
+     */
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * @return number of the requests that joined the mining in flight
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    /**
+     * Mining of a single query, shared by the waiters.
+     */
+    private static final class Flight {
+
+        private final CompletableFuture<Collection<MinedTerm>> shared = new CompletableFuture<>();
+
+        /**
+         * Number of the waiters, guarded by `this`. The flight is abandoned when the count drops to zero.
+         */
+        private int waiters = 1;
+
+        synchronized boolean join() {
+            if (waiters == 0) {
+                return false;
+            }
+            waiters++;
+            return true;
+        }
+
+        /**
+         * @return <code>true</code> if the last waiter left
+         */
+        synchronized boolean leave() {
+            return --waiters == 0;
+        }
+    }
+}
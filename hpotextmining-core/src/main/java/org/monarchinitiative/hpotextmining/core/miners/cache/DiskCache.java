@@ -0,0 +1,551 @@
+package org.monarchinitiative.hpotextmining.core.miners.cache;
+
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent store of the mining results.
+ * <p>
+ * The results are appended to a log file <code>results.log</code> in the cache directory. Each record consists of the
+ * SHA-256 digest of the query and of the compactly encoded {@link MinedTerm}s. The index of the records is kept in
+ * memory, and the records are read from a {@link MappedByteBuffer}, hence the lookup of a cached result does not
+ * need any system call. The writer maps the log ahead of the last record in large steps, and writes the records
+ * into the mapping, hence the file is zero-filled past the last record.
+ * <p>
+ * The file header contains a <em>version tag</em>, e.g. version of the miner or of the ontology. The results stored
+ * with a different tag are ignored, and the log is reset when the cache is opened for writing with a new tag.
+ * <p>
+ * When the log grows above the maximum size, the log is compacted: only the most recently written results that fit
+ * into half of the maximum size are retained. The compacted log replaces the original file atomically.
+ * <p>
+ * The cache can be opened for writing by a single process, while any number of processes can open it
+ * {@link Builder#readOnly(boolean) read-only}. The readers pick up the results written by the writer, and the
+ * replacement of the log after compaction or reset, when a lookup misses.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class DiskCache implements Closeable {
+
+    /**
+     * Default maximum size of the log - 256 MiB.
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 256L * 1024 * 1024;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DiskCache.class);
+
+    private static final String LOG_NAME = "results.log";
+
+    private static final String LOCK_NAME = "results.lock";
+
+    /**
+     * <code>HTMC</code> in ASCII.
+     */
+    private static final int MAGIC = 0x48544D43;
+
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Record length and CRC32 of the record payload.
+     */
+    private static final int RECORD_HEADER_BYTES = 2 * Integer.BYTES;
+
+    private static final int PRESENT = 1;
+
+    /**
+     * Minimal growth of the mapping of the writer - 1 MiB.
+     */
+    private static final long MAPPING_STEP = 1024 * 1024;
+
+    private final Path log;
+
+    private final String versionTag;
+
+    private final long maximumSize;
+
+    private final boolean readOnly;
+
+    /**
+     * Exclusive lock of the writer, <code>null</code> if read-only.
+     */
+    private final FileChannel lockChannel;
+
+    private final FileLock writerLock;
+
+    /**
+     * Maps the query hash to offset of the record in the log.
+     */
+    private final Map<QueryHash, Integer> index = new ConcurrentHashMap<>();
+
+    /**
+     * Snapshot of the mapped log. The buffer is replaced whenever the log grows past the mapping, while the buffer is
+     * only accessed using absolute methods, hence it can be read by multiple threads at once.
+     */
+    private volatile MappedByteBuffer mapped;
+
+    // the fields below are guarded by `this`
+
+    private FileChannel channel;
+
+    private Object fileKey;
+
+    /**
+     * Offset after the last valid record, <code>-1</code> if the log has a different version tag.
+     */
+    private long end;
+
+    private boolean closed;
+
+    private DiskCache(Builder builder) throws IOException {
+        this.log = builder.directory.resolve(LOG_NAME);
+        this.versionTag = builder.versionTag;
+        this.maximumSize = builder.maximumSize;
+        this.readOnly = builder.readOnly;
+
+        if (readOnly) {
+            lockChannel = null;
+            writerLock = null;
+        } else {
+            Files.createDirectories(builder.directory);
+            lockChannel = FileChannel.open(builder.directory.resolve(LOCK_NAME), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock lock;
+            try {
+                lock = lockChannel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                lock = null;
+            }
+            if (lock == null) {
+                lockChannel.close();
+                throw new IOException("Cache at " + builder.directory + " is opened for writing by another process");
+            }
+            writerLock = lock;
+        }
+
+        synchronized (this) {
+            try {
+                open();
+                if (!readOnly && end < 0) {
+                    LOGGER.info("Resetting cache at {} with version tag '{}'", log, versionTag);
+                    rewrite(List.of());
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * @param directory path to directory where the cache is stored
+     * @return builder for opening the cache
+     */
+    public static Builder builder(Path directory) {
+        return new Builder(directory);
+    }
+
+    private static void putVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int getVarInt(ByteBuffer buffer, int[] position) {
+        int pos = position[0];
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buffer.get(pos++);
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                break;
+            }
+        }
+        position[0] = pos;
+        return value;
+    }
+
+    private static int crc(ByteBuffer buffer, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private static Object fileKey(Path path) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        // not all file systems provide the file key
+        return attributes.fileKey() != null ? attributes.fileKey() : attributes.creationTime();
+    }
+
+    /**
+     * Encode the record of the query <code>hash</code> and its <code>terms</code>.
+     */
+    static ByteBuffer encode(QueryHash hash, Collection<MinedTerm> terms) {
+        List<byte[]> ids = new ArrayList<>(terms.size());
+        // digest, term count, and for each term begin, length, flags and term id
+        int capacity = RECORD_HEADER_BYTES + QueryHash.BYTES + 5;
+        for (MinedTerm term : terms) {
+            byte[] id = term.getTermId().getBytes(StandardCharsets.UTF_8);
+            ids.add(id);
+            capacity += 5 + 5 + 1 + 5 + id.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(capacity);
+        buffer.position(RECORD_HEADER_BYTES);
+        buffer.putLong(hash.h0()).putLong(hash.h1()).putLong(hash.h2()).putLong(hash.h3());
+        putVarInt(buffer, terms.size());
+        int i = 0;
+        for (MinedTerm term : terms) {
+            byte[] id = ids.get(i++);
+            putVarInt(buffer, term.getBegin());
+            putVarInt(buffer, term.getEnd() - term.getBegin());
+            buffer.put((byte) (term.isPresent() ? PRESENT : 0));
+            putVarInt(buffer, id.length);
+            buffer.put(id);
+        }
+        int length = buffer.position() - RECORD_HEADER_BYTES;
+        buffer.putInt(0, length);
+        buffer.putInt(Integer.BYTES, crc(buffer, RECORD_HEADER_BYTES, length));
+        return buffer.flip();
+    }
+
+    /**
+     * Decode {@link MinedTerm}s of the record at <code>offset</code>.
+     */
+    static List<MinedTerm> decode(ByteBuffer buffer, int offset) {
+        int[] position = {offset + RECORD_HEADER_BYTES + QueryHash.BYTES};
+        int count = getVarInt(buffer, position);
+        MinedTerm[] terms = new MinedTerm[count];
+        for (int i = 0; i < count; i++) {
+            int begin = getVarInt(buffer, position);
+            int end = begin + getVarInt(buffer, position);
+            boolean present = (buffer.get(position[0]++) & PRESENT) != 0;
+            byte[] id = new byte[getVarInt(buffer, position)];
+            buffer.get(position[0], id);
+            position[0] += id.length;
+            terms[i] = MinedTerm.of(begin, end, new String(id, StandardCharsets.UTF_8), present);
+        }
+        return List.of(terms);
+    }
+
+    private static QueryHash hashOf(ByteBuffer buffer, int offset) {
+        int pos = offset + RECORD_HEADER_BYTES;
+        return new QueryHash(buffer.getLong(pos), buffer.getLong(pos + 8), buffer.getLong(pos + 16), buffer.getLong(pos + 24));
+    }
+
+    private ByteBuffer header() {
+        byte[] tag = versionTag.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer header = ByteBuffer.allocate(3 * Integer.BYTES + tag.length);
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(tag.length).put(tag);
+        return header.flip();
+    }
+
+    /**
+     * Open the log, map it, and index the records.
+     */
+    private void open() throws IOException {
+        index.clear();
+        mapped = null;
+        end = -1;
+        if (!Files.exists(log)) {
+            fileKey = null;
+            return;
+        }
+        channel = readOnly
+                ? FileChannel.open(log, StandardOpenOption.READ)
+                : FileChannel.open(log, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        fileKey = fileKey(log);
+
+        ByteBuffer expected = header();
+        if (channel.size() < expected.remaining()) {
+            return;
+        }
+        ByteBuffer actual = ByteBuffer.allocate(expected.remaining());
+        channel.read(actual, 0);
+        if (!actual.flip().equals(expected)) {
+            LOGGER.debug("Ignoring cache at {} with a different version tag or format", log);
+            return;
+        }
+        end = expected.remaining();
+        scan();
+    }
+
+    /**
+     * Index the records written after {@link #end}, the log is remapped only if it grew past the mapping. An
+     * incomplete or corrupted record, or the zero-filled space past the last record, terminates the scan.
+     */
+    private void scan() throws IOException {
+        long size = channel.size();
+        if (mapped == null || size > mapped.capacity()) {
+            map(size);
+        }
+        MappedByteBuffer buffer = mapped;
+        int limit = buffer.capacity();
+        int offset = (int) end;
+        while (offset + RECORD_HEADER_BYTES <= limit) {
+            int length = buffer.getInt(offset);
+            if (length < QueryHash.BYTES || (long) offset + RECORD_HEADER_BYTES + length > limit
+                    || buffer.getInt(offset + Integer.BYTES) != crc(buffer, offset + RECORD_HEADER_BYTES, length)) {
+                break;
+            }
+            index.put(hashOf(buffer, offset), offset);
+            offset += RECORD_HEADER_BYTES + length;
+        }
+        end = offset;
+    }
+
+    /**
+     * Map the first <code>size</code> bytes of the log. The mapping of the writer extends the file if necessary.
+     */
+    private void map(long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Cache log " + log + " is too large: " + size);
+        }
+        mapped = channel.map(readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    /**
+     * Pick up the records written by the writer since the last refresh, or reopen the log if it was replaced.
+     *
+     * @return <code>true</code> if anything might have changed
+     */
+    private synchronized boolean refresh() throws IOException {
+        if (closed) {
+            return false;
+        }
+        Object currentKey = Files.exists(log) ? fileKey(log) : null;
+        if (!Objects.equals(currentKey, fileKey)) {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+            open();
+            return true;
+        } else if (channel != null && end >= 0) {
+            long previousEnd = end;
+            scan();
+            return end != previousEnd;
+        }
+        return false;
+    }
+
+    /**
+     * @param query query text
+     * @return cached {@link MinedTerm}s or <code>null</code> if the query is not present in the cache
+     */
+    public List<MinedTerm> get(String query) throws IOException {
+        return get(QueryHash.of(query));
+    }
+
+    List<MinedTerm> get(QueryHash hash) throws IOException {
+        List<MinedTerm> terms = lookup(hash);
+        if (terms == null && readOnly && refresh()) {
+            terms = lookup(hash);
+        }
+        return terms;
+    }
+
+    private List<MinedTerm> lookup(QueryHash hash) {
+        // read the buffer first, the index always points into the last mapped buffer or to the older records
+        MappedByteBuffer buffer = mapped;
+        Integer offset = index.get(hash);
+        if (offset == null || buffer == null || offset >= buffer.limit()) {
+            return null;
+        }
+        // the log might have been replaced in between, hence verify the digest
+        return hash.equals(hashOf(buffer, offset)) ? decode(buffer, offset) : null;
+    }
+
+    /**
+     * Store the <code>terms</code> mined from the <code>query</code>.
+     *
+     * @param query query text
+     * @param terms {@link MinedTerm}s mined from the <code>query</code>
+     * @throws IOException if the cache is read-only or in case of I/O error
+     */
+    public void put(String query, Collection<MinedTerm> terms) throws IOException {
+        put(QueryHash.of(query), terms);
+    }
+
+    synchronized void put(QueryHash hash, Collection<MinedTerm> terms) throws IOException {
+        if (readOnly) {
+            throw new IOException("Cache at " + log + " is read-only");
+        } else if (closed) {
+            throw new IOException("Cache at " + log + " is closed");
+        }
+        ByteBuffer record = encode(hash, terms);
+        if (record.remaining() > maximumSize / 2) {
+            return;
+        }
+        if (end + record.remaining() > maximumSize) {
+            compact(record.remaining());
+        }
+        int offset = (int) end, length = record.remaining();
+        long capacity = mapped.capacity();
+        if (offset + length > capacity) {
+            // grow in large steps rather than remapping the whole log for each record
+            map(Math.max(offset + length, Math.min(maximumSize, Math.max(2 * capacity, capacity + MAPPING_STEP))));
+        }
+        mapped.put(offset, record, 0, length);
+        index.put(hash, offset);
+        end = offset + length;
+    }
+
+    /**
+     * Rewrite the log to retain the most recently written records that fit into half of the maximum size, including
+     * the <code>reserve</code>d bytes.
+     */
+    private void compact(int reserve) throws IOException {
+        MappedByteBuffer buffer = mapped;
+        List<Integer> offsets = new ArrayList<>(index.values());
+        offsets.sort(Comparator.reverseOrder());
+
+        long budget = maximumSize / 2 - header().remaining() - reserve;
+        List<ByteBuffer> retained = new ArrayList<>();
+        for (int offset : offsets) {
+            int length = RECORD_HEADER_BYTES + buffer.getInt(offset);
+            budget -= length;
+            if (budget < 0) {
+                break;
+            }
+            retained.add(buffer.slice(offset, length));
+        }
+        Collections.reverse(retained);
+        LOGGER.debug("Compacting cache at {}, retaining {} of {} results", log, retained.size(), offsets.size());
+        rewrite(retained);
+    }
+
+    /**
+     * Atomically replace the log with a log containing the header and the <code>records</code>.
+     */
+    private void rewrite(List<ByteBuffer> records) throws IOException {
+        Path tmp = Files.createTempFile(log.getParent(), LOG_NAME, ".tmp");
+        try {
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                out.write(header());
+                for (ByteBuffer record : records) {
+                    ByteBuffer duplicate = record.duplicate();
+                    while (duplicate.hasRemaining()) {
+                        out.write(duplicate);
+                    }
+                }
+                out.force(true);
+            }
+            Files.move(tmp, log, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        if (channel != null) {
+            channel.close();
+        }
+        open();
+    }
+
+    /**
+     * @return number of results in the cache
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * @return size of the log in bytes, excluding the zero-filled space past the last record
+     */
+    public synchronized long sizeInBytes() {
+        return Math.max(end, 0);
+    }
+
+    public String getVersionTag() {
+        return versionTag;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        index.clear();
+        mapped = null;
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } finally {
+            if (writerLock != null) {
+                writerLock.release();
+                lockChannel.close();
+            }
+        }
+    }
+
+    public static final class Builder {
+
+        private final Path directory;
+
+        private String versionTag = "";
+
+        private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+        private boolean readOnly;
+
+        private Builder(Path directory) {
+            this.directory = Objects.requireNonNull(directory, "Directory must not be null");
+        }
+
+        /**
+         * @param versionTag version of the miner or of the ontology. The cached results stored under a different tag
+         *                   are ignored
+         * @return this {@link Builder} instance
+         */
+        public Builder versionTag(String versionTag) {
+            this.versionTag = Objects.requireNonNull(versionTag, "Version tag must not be null");
+            return this;
+        }
+
+        /**
+         * @param maximumSize maximum size of the log in bytes, at most {@link Integer#MAX_VALUE}
+         * @return this {@link Builder} instance
+         */
+        public Builder maximumSize(long maximumSize) {
+            if (maximumSize < 0 || maximumSize > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Maximum size must be in [0, " + Integer.MAX_VALUE + "]: " + maximumSize);
+            }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * @param readOnly open the cache for reading only. Any number of processes can read the cache at once
+         * @return this {@link Builder} instance
+         */
+        public Builder readOnly(boolean readOnly) {
+            this.readOnly = readOnly;
+            return this;
+        }
+
+        /**
+         * @return opened {@link DiskCache}
+         * @throws IOException in case of I/O error, or if the cache is opened for writing by another process
+         */
+        public DiskCache open() throws IOException {
+            return new DiskCache(this);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.monarchinitiative.hpotextmining.core.miners.cache;
+
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.TermMinerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@link TermMiner} decorator that stores the results of the decorated miner in a {@link DiskCache}.
+ * <p>
+ * The I/O errors of the cache are logged and the query is mined by the decorated miner, as if it was not cached.
+ * The decorator does not close the cache. Use {@link CachingTermMiner} on top of this decorator to keep the most
+ * recent results in memory.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class DiskCachingTermMiner implements TermMiner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DiskCachingTermMiner.class);
+
+    private final TermMiner miner;
+
+    private final DiskCache cache;
+
+    public DiskCachingTermMiner(TermMiner miner, DiskCache cache) {
+        this.miner = Objects.requireNonNull(miner, "Miner must not be null");
+        this.cache = Objects.requireNonNull(cache, "Cache must not be null");
+    }
+
+    @Override
+    public Collection<MinedTerm> doMining(String query) throws TermMinerException {
+        if (query == null) {
+            throw new TermMinerException("Query must not be null");
+        }
+        QueryHash key = QueryHash.of(query);
+
+        try {
+            List<MinedTerm> cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read the cache: {}", e.getMessage());
+        }
+
+        Collection<MinedTerm> terms = miner.doMining(query);
+        try {
+            cache.put(key, terms);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to write to the cache: {}", e.getMessage());
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,56 @@
+package org.monarchinitiative.hpotextmining.core.miners.cache;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 digest of the query text, used as the cache key instead of the query itself. The probability of a collision
+ * is negligible, while the key occupies a constant amount of memory regardless of the query length.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+record QueryHash(long h0, long h1, long h2, long h3) {
+
+    /**
+     * Number of bytes of the digest.
+     */
+    static final int BYTES = 4 * Long.BYTES;
+
+    /**
+     * Estimate of the heap size of the instance.
+     */
+    static final int WEIGHT = 16 + BYTES;
+
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    });
+
+    static QueryHash of(String query) {
+        MessageDigest digest = DIGEST.get();
+        digest.reset();
+        return of(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * @param digest array with at least {@link #BYTES} bytes
+     */
+    static QueryHash of(byte[] digest) {
+        ByteBuffer buffer = ByteBuffer.wrap(digest);
+        return new QueryHash(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+
+    @Override
+    public int hashCode() {
+        // the digest is uniformly distributed already
+        return (int) h0;
+    }
+}
@@ -0,0 +1,158 @@
+package org.monarchinitiative.hpotextmining.core.miners.chunking;
+
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.TermMinerException;
+
+import java.util.*;
+import java.util.concurrent.Executor;
+
+/**
+ * {@link TermMiner} decorator for mining of long texts.
+ * <p>
+ * The query is split into overlapping chunks at paragraph or sentence boundaries, and the chunks are mined concurrently
+ * by the decorated miner using {@link TermMiner#doMiningBatch(Map, Executor, int, java.util.function.BiConsumer)}.
+ * The coordinates of the mined terms are shifted back to the coordinates of the query, and the terms found twice in
+ * the overlap of the adjacent chunks are reported once. Mining fails if any of the chunks fails.
+ * <p>
+ * The queries shorter than the maximum chunk length are passed to the decorated miner as they are.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class ChunkingTermMiner implements TermMiner {
+
+    /**
+     * Default maximum number of characters of a chunk.
+     */
+    public static final int DEFAULT_MAX_CHUNK_LENGTH = 4000;
+
+    /**
+     * Default number of characters shared by the adjacent chunks.
+     */
+    public static final int DEFAULT_OVERLAP = 200;
+
+    /**
+     * Default number of chunks mined at once.
+     */
+    public static final int DEFAULT_CONCURRENCY = 4;
+
+    private final TermMiner miner;
+
+    private final Executor executor;
+
+    private final TextChunker chunker;
+
+    private final int maxChunkLength;
+
+    private final int maxConcurrency;
+
+    private ChunkingTermMiner(Builder builder) {
+        this.miner = builder.miner;
+        this.executor = builder.executor;
+        this.maxChunkLength = builder.maxChunkLength;
+        this.maxConcurrency = builder.maxConcurrency;
+        this.chunker = new TextChunker(builder.maxChunkLength, builder.overlap);
+    }
+
+    /**
+     * @param miner    {@link TermMiner} to mine the chunks
+     * @param executor {@link Executor} to mine the chunks on
+     * @return builder for configuring the {@link ChunkingTermMiner}
+     */
+    public static Builder builder(TermMiner miner, Executor executor) {
+        return new Builder(miner, executor);
+    }
+
+    @Override
+    public Collection<MinedTerm> doMining(String query) throws TermMinerException {
+        if (query == null) {
+            throw new TermMinerException("Query must not be null");
+        }
+        if (query.length() <= maxChunkLength) {
+            return miner.doMining(query);
+        }
+
+        List<TextChunker.Chunk> chunks = chunker.split(query);
+        Map<Integer, String> queries = new LinkedHashMap<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            TextChunker.Chunk chunk = chunks.get(i);
+            queries.put(i, query.substring(chunk.start(), chunk.end()));
+        }
+
+        List<TermMinerException> failures = new ArrayList<>(1);
+        Map<Integer, Collection<MinedTerm>> mined = miner.doMiningBatch(queries, executor, maxConcurrency,
+                (i, e) -> failures.add(e));
+        if (!failures.isEmpty()) {
+            throw failures.get(0);
+        }
+
+        // LinkedHashSet removes the terms found in the overlap regions twice
+        Set<MinedTerm> terms = new LinkedHashSet<>();
+        for (Map.Entry<Integer, Collection<MinedTerm>> entry : mined.entrySet()) {
+            int offset = chunks.get(entry.getKey()).start();
+            for (MinedTerm term : entry.getValue()) {
+                terms.add(MinedTerm.of(term.getBegin() + offset, term.getEnd() + offset, term.getTermId(), term.isPresent()));
+            }
+        }
+        return terms;
+    }
+
+    public static final class Builder {
+
+        private final TermMiner miner;
+
+        private final Executor executor;
+
+        private int maxChunkLength = DEFAULT_MAX_CHUNK_LENGTH;
+
+        private int overlap = DEFAULT_OVERLAP;
+
+        private int maxConcurrency = DEFAULT_CONCURRENCY;
+
+        private Builder(TermMiner miner, Executor executor) {
+            this.miner = Objects.requireNonNull(miner, "Miner must not be null");
+            this.executor = Objects.requireNonNull(executor, "Executor must not be null");
+        }
+
+        /**
+         * @param maxChunkLength maximum number of characters of a chunk
+         * @return this {@link Builder} instance
+         */
+        public Builder maxChunkLength(int maxChunkLength) {
+            this.maxChunkLength = maxChunkLength;
+            return this;
+        }
+
+        /**
+         * @param overlap number of characters shared by the adjacent chunks, at most half of the max chunk length. The
+         *                terms spanning the chunk boundary are found if they are shorter than the overlap
+         * @return this {@link Builder} instance
+         */
+        public Builder overlap(int overlap) {
+            this.overlap = overlap;
+            return this;
+        }
+
+        /**
+         * @param maxConcurrency maximum number of chunks of a query mined at once
+         * @return this {@link Builder} instance
+         */
+        public Builder maxConcurrency(int maxConcurrency) {
+            if (maxConcurrency < 1) {
+                throw new IllegalArgumentException("Max concurrency must be positive: " + maxConcurrency);
+            }
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * @return a new {@link ChunkingTermMiner} instance
+         * @throws IllegalArgumentException if the max chunk length or the overlap are invalid
+         */
+        public ChunkingTermMiner build() {
+            return new ChunkingTermMiner(this);
+        }
+    }
+}
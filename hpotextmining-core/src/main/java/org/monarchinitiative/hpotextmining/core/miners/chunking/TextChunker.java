@@ -0,0 +1,111 @@
+package org.monarchinitiative.hpotextmining.core.miners.chunking;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a text into overlapping chunks of limited length.
+ * <p>
+ * The chunk end is placed at a paragraph boundary if there is one in the second half of the chunk, then at a sentence
+ * boundary, then at a whitespace. The text is cut in the middle of a word only if there is no whitespace in the second
+ * half of the chunk. The next chunk starts <code>overlap</code> characters before the end of the previous chunk,
+ * moved forward to the nearest sentence boundary or whitespace within the overlap window.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+class TextChunker {
+
+    private final int maxChunkLength;
+
+    private final int overlap;
+
+    /**
+     * @param maxChunkLength maximum number of characters of a chunk
+     * @param overlap        number of characters shared by the adjacent chunks, half of the
+     *                       <code>maxChunkLength</code> at most
+     */
+    TextChunker(int maxChunkLength, int overlap) {
+        if (maxChunkLength < 1) {
+            throw new IllegalArgumentException("Max chunk length must be positive: " + maxChunkLength);
+        }
+        if (overlap < 0 || overlap > maxChunkLength / 2) {
+            throw new IllegalArgumentException("Overlap must be in [0, " + maxChunkLength / 2 + "]: " + overlap);
+        }
+        this.maxChunkLength = maxChunkLength;
+        this.overlap = overlap;
+    }
+
+    private static boolean isParagraphBreak(CharSequence text, int i) {
+        // blank line
+        return i > 0 && text.charAt(i) == '\n' && text.charAt(i - 1) == '\n';
+    }
+
+    private static boolean isSentenceBreak(CharSequence text, int i) {
+        if (i == 0 || !Character.isWhitespace(text.charAt(i))) {
+            return false;
+        }
+        char previous = text.charAt(i - 1);
+        return previous == '.' || previous == '!' || previous == '?' || previous == ';' || text.charAt(i) == '\n';
+    }
+
+    /**
+     * @param text text to split
+     * @return list of chunks covering the whole <code>text</code>
+     */
+    List<Chunk> split(CharSequence text) {
+        List<Chunk> chunks = new ArrayList<>();
+        int length = text.length();
+        int start = 0;
+        while (true) {
+            if (length - start <= maxChunkLength) {
+                chunks.add(new Chunk(start, length));
+                return chunks;
+            }
+            int end = findEnd(text, start);
+            chunks.add(new Chunk(start, end));
+            start = findNextStart(text, end);
+        }
+    }
+
+    /**
+     * @return end of the chunk starting at <code>start</code>, exclusive. The text is known to be longer than
+     * <code>start + maxChunkLength</code>
+     */
+    private int findEnd(CharSequence text, int start) {
+        int limit = start + maxChunkLength;
+        int min = start + maxChunkLength / 2;
+        int sentence = -1, space = -1;
+        // the character at the chunk end (limit) is not part of the chunk, it might be the boundary
+        for (int i = limit; i > min; i--) {
+            if (isParagraphBreak(text, i)) {
+                return i;
+            } else if (sentence < 0 && isSentenceBreak(text, i)) {
+                sentence = i;
+            } else if (space < 0 && Character.isWhitespace(text.charAt(i))) {
+                space = i;
+            }
+        }
+        return sentence > 0 ? sentence : space > 0 ? space : limit;
+    }
+
+    private int findNextStart(CharSequence text, int end) {
+        int start = end - overlap;
+        int space = -1;
+        for (int i = start; i < end; i++) {
+            if (isSentenceBreak(text, i)) {
+                return i + 1;
+            } else if (space < 0 && Character.isWhitespace(text.charAt(i))) {
+                space = i + 1;
+            }
+        }
+        return space > 0 ? space : start;
+    }
+
+    /**
+     * Region of the text, <code>end</code> is exclusive.
+     */
+    record Chunk(int start, int end) {
+    }
+}
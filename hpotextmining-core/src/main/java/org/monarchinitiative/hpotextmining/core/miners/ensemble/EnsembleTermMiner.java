@@ -0,0 +1,191 @@
+package org.monarchinitiative.hpotextmining.core.miners.ensemble;
+
+import org.monarchinitiative.hpotextmining.core.miners.AsyncTermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.TermMinerException;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiners;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * {@link TermMiner} that sends the query to several miners at once and merges their results using a
+ * {@link MergeStrategy}.
+ * <p>
+ * Each delegate has a deadline. The mining of a delegate that does not deliver the results until its deadline is
+ * cancelled, and the results are merged from the delegates that succeeded in time. The ensemble mining fails only if
+ * none of the delegates succeeds.
+ * <p>
+ * The delegates that do not implement {@link AsyncTermMiner} are run on the executor provided to the
+ * {@link #builder(Executor)}.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class EnsembleTermMiner implements AsyncTermMiner {
+
+    /**
+     * Default time given to a delegate to deliver its results.
+     */
+    public static final Duration DEFAULT_DEADLINE = Duration.ofSeconds(30);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EnsembleTermMiner.class);
+
+    private final List<Delegate> delegates;
+
+    private final MergeStrategy strategy;
+
+    private EnsembleTermMiner(Builder builder) {
+        this.delegates = List.copyOf(builder.delegates);
+        this.strategy = builder.strategy;
+    }
+
+    /**
+     * @param executor {@link Executor} to run the blocking delegates on
+     * @return builder for configuring the {@link EnsembleTermMiner}
+     */
+    public static Builder builder(Executor executor) {
+        return new Builder(executor);
+    }
+
+    private static TermMinerException asTermMinerException(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+        if (cause instanceof TermMinerException) {
+            return (TermMinerException) cause;
+        } else if (cause instanceof CancellationException) {
+            return new TermMinerException("Mining did not finish in time", cause);
+        }
+        return new TermMinerException("Error occurred during mining", cause);
+    }
+
+    @Override
+    public CompletableFuture<Collection<MinedTerm>> doMiningAsync(String query) {
+        if (query == null) {
+            return CompletableFuture.failedFuture(new TermMinerException("Query must not be null"));
+        }
+
+        List<CompletableFuture<Collection<MinedTerm>>> mining = new ArrayList<>(delegates.size());
+        for (Delegate delegate : delegates) {
+            CompletableFuture<Collection<MinedTerm>> future;
+            try {
+                future = delegate.miner.doMiningAsync(query);
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(new TermMinerException("Error occurred during mining", e));
+            }
+            // abort the delegate that misses the deadline. The timer is set on a copy, since the delegate is aborted
+            // by the cancellation, and it is removed as soon as the delegate completes
+            CompletableFuture<Collection<MinedTerm>> pending = future;
+            future.copy().orTimeout(delegate.deadline.toNanos(), TimeUnit.NANOSECONDS)
+                    .whenComplete((terms, throwable) -> {
+                        if (throwable instanceof TimeoutException) {
+                            pending.cancel(true);
+                        }
+                    });
+            mining.add(future);
+        }
+
+        CompletableFuture<Collection<MinedTerm>> result = CompletableFuture.allOf(mining.stream()
+                        .map(future -> future.handle((terms, throwable) -> null))
+                        .toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> merge(mining));
+        result.whenComplete((terms, throwable) -> {
+            if (result.isCancelled()) {
+                mining.forEach(future -> future.cancel(true));
+            }
+        });
+        return result;
+    }
+
+    private Collection<MinedTerm> merge(List<CompletableFuture<Collection<MinedTerm>>> mining) {
+        List<Collection<MinedTerm>> results = new ArrayList<>(mining.size());
+        TermMinerException failure = null;
+        for (int i = 0; i < mining.size(); i++) {
+            try {
+                results.add(mining.get(i).join());
+            } catch (CompletionException | CancellationException e) {
+                TermMinerException tme = asTermMinerException(e);
+                LOGGER.debug("Delegate #{} failed: {}", i, tme.getMessage());
+                if (failure == null) {
+                    failure = tme;
+                } else {
+                    failure.addSuppressed(tme);
+                }
+            }
+        }
+        if (results.isEmpty()) {
+            throw new CompletionException(failure);
+        }
+        if (failure != null) {
+            LOGGER.info("Merging partial results of {}/{} miners", results.size(), mining.size());
+        }
+        return strategy.merge(results);
+    }
+
+    private record Delegate(AsyncTermMiner miner, Duration deadline) {
+    }
+
+    public static final class Builder {
+
+        private final Executor executor;
+
+        private final List<Delegate> delegates = new ArrayList<>();
+
+        private MergeStrategy strategy = MergeStrategy.union();
+
+        private Builder(Executor executor) {
+            this.executor = Objects.requireNonNull(executor, "Executor must not be null");
+        }
+
+        /**
+         * Add a delegate with the {@link #DEFAULT_DEADLINE}.
+         *
+         * @param miner {@link TermMiner} to delegate to
+         * @return this {@link Builder} instance
+         */
+        public Builder add(TermMiner miner) {
+            return add(miner, DEFAULT_DEADLINE);
+        }
+
+        /**
+         * @param miner    {@link TermMiner} to delegate to
+         * @param deadline time given to the <code>miner</code> to deliver the results, measured from the start of the
+         *                 ensemble mining
+         * @return this {@link Builder} instance
+         */
+        public Builder add(TermMiner miner, Duration deadline) {
+            Objects.requireNonNull(miner, "Miner must not be null");
+            if (deadline.isNegative() || deadline.isZero()) {
+                throw new IllegalArgumentException("Deadline must be positive: " + deadline);
+            }
+            delegates.add(new Delegate(TermMiners.async(miner, executor), deadline));
+            return this;
+        }
+
+        /**
+         * @param strategy {@link MergeStrategy} for merging the results of the delegates, {@link MergeStrategy#union()}
+         *                 by default
+         * @return this {@link Builder} instance
+         */
+        public Builder strategy(MergeStrategy strategy) {
+            this.strategy = Objects.requireNonNull(strategy, "Strategy must not be null");
+            return this;
+        }
+
+        /**
+         * @return a new {@link EnsembleTermMiner} instance
+         */
+        public EnsembleTermMiner build() {
+            if (delegates.isEmpty()) {
+                throw new IllegalStateException("At least one miner must be added");
+            }
+            return new EnsembleTermMiner(this);
+        }
+    }
+}
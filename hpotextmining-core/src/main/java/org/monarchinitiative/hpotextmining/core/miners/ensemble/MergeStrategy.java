@@ -0,0 +1,119 @@
+package org.monarchinitiative.hpotextmining.core.miners.ensemble;
+
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+
+import java.util.*;
+
+/**
+ * Strategy for merging the terms mined by the delegates of the {@link EnsembleTermMiner}.
+ * <p>
+ * The overlapping spans of the same term with the same presence, mined by any of the delegates, form a cluster. Each
+ * delegate that mined a span of the cluster casts a vote for the cluster. The clusters with enough votes are reported
+ * as a single {@link MinedTerm} covering all the spans of the cluster.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public final class MergeStrategy {
+
+    private static final MergeStrategy UNION = new MergeStrategy(1, false, "union");
+
+    private static final MergeStrategy INTERSECTION = new MergeStrategy(0, true, "intersection");
+
+    private static final Comparator<MinedTerm> BY_POSITION = Comparator.comparingInt(MinedTerm::getBegin)
+            .thenComparingInt(MinedTerm::getEnd)
+            .thenComparing(MinedTerm::getTermId);
+
+    private final int minVotes;
+
+    private final boolean allVotes;
+
+    private final String name;
+
+    private MergeStrategy(int minVotes, boolean allVotes, String name) {
+        this.minVotes = minVotes;
+        this.allVotes = allVotes;
+        this.name = name;
+    }
+
+    /**
+     * @return strategy reporting the terms mined by any delegate
+     */
+    public static MergeStrategy union() {
+        return UNION;
+    }
+
+    /**
+     * @return strategy reporting the terms mined by all the delegates that delivered their results in time
+     */
+    public static MergeStrategy intersection() {
+        return INTERSECTION;
+    }
+
+    /**
+     * @param k minimum number of delegates that must have mined the term
+     * @return strategy reporting the terms mined by at least <code>k</code> delegates
+     */
+    public static MergeStrategy atLeast(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("Number of votes must be positive: " + k);
+        }
+        return k == 1 ? UNION : new MergeStrategy(k, false, k + "-of-n");
+    }
+
+    /**
+     * @param results terms mined by the delegates that delivered their results in time
+     * @return merged terms ordered by their position
+     */
+    List<MinedTerm> merge(List<Collection<MinedTerm>> results) {
+        int required = allVotes ? results.size() : minVotes;
+
+        // group the spans by term & presence, remembering the delegate that mined the span
+        Map<TermKey, List<Vote>> spans = new HashMap<>();
+        for (int delegate = 0; delegate < results.size(); delegate++) {
+            for (MinedTerm term : results.get(delegate)) {
+                spans.computeIfAbsent(new TermKey(term.getTermId(), term.isPresent()), k -> new ArrayList<>())
+                        .add(new Vote(term.getBegin(), term.getEnd(), delegate));
+            }
+        }
+
+        List<MinedTerm> merged = new ArrayList<>();
+        BitSet voters = new BitSet(results.size());
+        for (Map.Entry<TermKey, List<Vote>> entry : spans.entrySet()) {
+            List<Vote> votes = entry.getValue();
+            votes.sort(Comparator.comparingInt(Vote::begin));
+            int begin = -1, end = -1;
+            for (Vote vote : votes) {
+                if (vote.begin() >= end) { // the span does not overlap the cluster
+                    emit(entry.getKey(), begin, end, voters, required, merged);
+                    voters.clear();
+                    begin = vote.begin();
+                }
+                end = Math.max(end, vote.end());
+                voters.set(vote.delegate());
+            }
+            emit(entry.getKey(), begin, end, voters, required, merged);
+            voters.clear();
+        }
+        merged.sort(BY_POSITION);
+        return merged;
+    }
+
+    private static void emit(TermKey key, int begin, int end, BitSet voters, int required, List<MinedTerm> merged) {
+        if (begin >= 0 && voters.cardinality() >= required) {
+            merged.add(MinedTerm.of(begin, end, key.termId(), key.present()));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MergeStrategy{" + name + '}';
+    }
+
+    private record TermKey(String termId, boolean present) {
+    }
+
+    private record Vote(int begin, int end, int delegate) {
+    }
+}
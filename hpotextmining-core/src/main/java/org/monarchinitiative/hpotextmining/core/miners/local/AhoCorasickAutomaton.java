@@ -0,0 +1,197 @@
+package org.monarchinitiative.hpotextmining.core.miners.local;
+
+import java.util.*;
+
+/**
+ * Aho-Corasick automaton over a dictionary of lower-cased patterns. The automaton is compiled into flat primitive
+ * arrays after construction, so that the matching does not allocate anything but the reported hits.
+ * <p>
+ * Transitions of each state are stored as a sorted slice of {@link #edgeChars} and {@link #edgeTargets}, the slice
+ * of state <code>s</code> spans from <code>edgeStart[s]</code> (inclusive) to <code>edgeStart[s + 1]</code>
+ * (exclusive). The same layout is used for pattern outputs of the states.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+final class AhoCorasickAutomaton {
+
+    private static final int ROOT = 0;
+
+    private final int[] edgeStart;
+
+    private final char[] edgeChars;
+
+    private final int[] edgeTargets;
+
+    private final int[] failure;
+
+    /**
+     * Link to the nearest state reachable via the failure links that has a non-empty output, or <code>-1</code>.
+     */
+    private final int[] outputLink;
+
+    private final int[] outputStart;
+
+    private final int[] outputPatterns;
+
+    private final int[] patternLengths;
+
+    private AhoCorasickAutomaton(int[] edgeStart, char[] edgeChars, int[] edgeTargets,
+                                 int[] failure, int[] outputLink,
+                                 int[] outputStart, int[] outputPatterns,
+                                 int[] patternLengths) {
+        this.edgeStart = edgeStart;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.failure = failure;
+        this.outputLink = outputLink;
+        this.outputStart = outputStart;
+        this.outputPatterns = outputPatterns;
+        this.patternLengths = patternLengths;
+    }
+
+    /**
+     * Normalize a single character of a pattern or of a query. The normalization must not change length of the text,
+     * otherwise the reported coordinates would not match the query.
+     */
+    static char normalize(char c) {
+        return Character.toLowerCase(c);
+    }
+
+    /**
+     * Compile the automaton.
+     *
+     * @param patterns list of patterns, index of the pattern in the list is reported in {@link MatchHandler}
+     * @return compiled automaton
+     */
+    static AhoCorasickAutomaton compile(List<String> patterns) {
+        // build the trie using maps first
+        List<TreeMap<Character, Integer>> goTo = new ArrayList<>();
+        List<List<Integer>> outputs = new ArrayList<>();
+        goTo.add(new TreeMap<>());
+        outputs.add(new ArrayList<>());
+
+        int[] patternLengths = new int[patterns.size()];
+        for (int i = 0; i < patterns.size(); i++) {
+            String pattern = patterns.get(i);
+            patternLengths[i] = pattern.length();
+            int state = ROOT;
+            for (int j = 0; j < pattern.length(); j++) {
+                char c = normalize(pattern.charAt(j));
+                Integer next = goTo.get(state).get(c);
+                if (next == null) {
+                    next = goTo.size();
+                    goTo.get(state).put(c, next);
+                    goTo.add(new TreeMap<>());
+                    outputs.add(new ArrayList<>());
+                }
+                state = next;
+            }
+            outputs.get(state).add(i);
+        }
+
+        int nStates = goTo.size();
+        int nEdges = goTo.stream().mapToInt(Map::size).sum();
+        int[] edgeStart = new int[nStates + 1];
+        char[] edgeChars = new char[nEdges];
+        int[] edgeTargets = new int[nEdges];
+        int e = 0;
+        for (int s = 0; s < nStates; s++) {
+            edgeStart[s] = e;
+            for (Map.Entry<Character, Integer> entry : goTo.get(s).entrySet()) { // TreeMap keeps the chars sorted
+                edgeChars[e] = entry.getKey();
+                edgeTargets[e] = entry.getValue();
+                e++;
+            }
+        }
+        edgeStart[nStates] = e;
+
+        // breadth-first computation of the failure and output links
+        int[] failure = new int[nStates];
+        int[] outputLink = new int[nStates];
+        Arrays.fill(outputLink, -1);
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int i = edgeStart[ROOT]; i < edgeStart[ROOT + 1]; i++) {
+            failure[edgeTargets[i]] = ROOT;
+            queue.add(edgeTargets[i]);
+        }
+        while (!queue.isEmpty()) {
+            int s = queue.poll();
+            for (int i = edgeStart[s]; i < edgeStart[s + 1]; i++) {
+                char c = edgeChars[i];
+                int t = edgeTargets[i];
+                int f = failure[s];
+                int next;
+                while ((next = transition(edgeStart, edgeChars, edgeTargets, f, c)) < 0 && f != ROOT) {
+                    f = failure[f];
+                }
+                failure[t] = next < 0 ? ROOT : next;
+                int ft = failure[t];
+                outputLink[t] = outputs.get(ft).isEmpty() ? outputLink[ft] : ft;
+                queue.add(t);
+            }
+        }
+
+        int nOutputs = outputs.stream().mapToInt(List::size).sum();
+        int[] outputStart = new int[nStates + 1];
+        int[] outputPatterns = new int[nOutputs];
+        int o = 0;
+        for (int s = 0; s < nStates; s++) {
+            outputStart[s] = o;
+            for (Integer pattern : outputs.get(s)) {
+                outputPatterns[o++] = pattern;
+            }
+        }
+        outputStart[nStates] = o;
+
+        return new AhoCorasickAutomaton(edgeStart, edgeChars, edgeTargets, failure, outputLink,
+                outputStart, outputPatterns, patternLengths);
+    }
+
+    private static int transition(int[] edgeStart, char[] edgeChars, int[] edgeTargets, int state, char c) {
+        int idx = Arrays.binarySearch(edgeChars, edgeStart[state], edgeStart[state + 1], c);
+        return idx < 0 ? -1 : edgeTargets[idx];
+    }
+
+    /**
+     * Find all occurrences of the patterns in the <code>text</code> using a single pass over the text.
+     *
+     * @param text    text to search
+     * @param handler receives each match
+     */
+    void search(CharSequence text, MatchHandler handler) {
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            char c = normalize(text.charAt(i));
+            int next;
+            while ((next = transition(edgeStart, edgeChars, edgeTargets, state, c)) < 0 && state != ROOT) {
+                state = failure[state];
+            }
+            state = next < 0 ? ROOT : next;
+
+            int end = i + 1;
+            for (int s = state; s >= 0; s = outputLink[s]) {
+                for (int j = outputStart[s]; j < outputStart[s + 1]; j++) {
+                    int pattern = outputPatterns[j];
+                    handler.onMatch(end - patternLengths[pattern], end, pattern);
+                }
+            }
+        }
+    }
+
+    int stateCount() {
+        return failure.length;
+    }
+
+    @FunctionalInterface
+    interface MatchHandler {
+
+        /**
+         * @param begin   zero-based begin coordinate of the match (included)
+         * @param end     zero-based end coordinate of the match (excluded)
+         * @param pattern index of the matched pattern
+         */
+        void onMatch(int begin, int end, int pattern);
+    }
+}
@@ -0,0 +1,177 @@
+package org.monarchinitiative.hpotextmining.core.miners.local;
+
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTermBuffer;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.TermMinerException;
+import org.monarchinitiative.hpotextmining.core.ontology.OntologySnapshot;
+import org.monarchinitiative.phenol.ontology.data.MinimalOntology;
+import org.monarchinitiative.phenol.ontology.data.Term;
+import org.monarchinitiative.phenol.ontology.data.TermSynonym;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * This {@link TermMiner} performs dictionary-based mining without leaving the JVM. Names and synonyms of all
+ * non-obsolete terms of the {@link MinimalOntology} are compiled into an Aho-Corasick automaton and the query is
+ * mined in a single linear pass.
+ * <p>
+ * The matching is case-insensitive and a hit is reported only if it is not a part of a longer word. Overlapping hits
+ * are all reported, e.g. both <em>Generalized hypotonia</em> and <em>hypotonia</em>. All the terms are reported as
+ * present.
+ * <p>
+ * The instance is immutable and thread-safe once constructed.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class LocalTermMiner implements TermMiner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalTermMiner.class);
+
+    private final AhoCorasickAutomaton automaton;
+
+    /**
+     * Term ids of the patterns, index of the array corresponds to index of the pattern.
+     */
+    private final String[][] patternTermIds;
+
+    /**
+     * Create the miner using names and all non-obsolete synonyms of the ontology terms.
+     *
+     * @param ontology {@link MinimalOntology} to mine the terms from
+     */
+    public LocalTermMiner(MinimalOntology ontology) {
+        this(ontology, true);
+    }
+
+    /**
+     * @param ontology        {@link MinimalOntology} to mine the terms from
+     * @param includeSynonyms use {@link TermSynonym}s in addition to the term names if <code>true</code>
+     */
+    public LocalTermMiner(MinimalOntology ontology, boolean includeSynonyms) {
+        this(labels(ontology, includeSynonyms));
+    }
+
+    /**
+     * Create the miner using the names and synonyms stored in the snapshot, without re-hydrating the terms.
+     *
+     * @param snapshot        {@link OntologySnapshot} to mine the terms from
+     * @param includeSynonyms use the synonyms in addition to the term names if <code>true</code>
+     */
+    public LocalTermMiner(OntologySnapshot snapshot, boolean includeSynonyms) {
+        this(labels(snapshot, includeSynonyms));
+    }
+
+    private LocalTermMiner(Map<String, Set<String>> labelToTermIds) {
+        List<String> patterns = new ArrayList<>(labelToTermIds.size());
+        this.patternTermIds = new String[labelToTermIds.size()][];
+        int i = 0;
+        for (Map.Entry<String, Set<String>> entry : labelToTermIds.entrySet()) {
+            patterns.add(entry.getKey());
+            patternTermIds[i++] = entry.getValue().toArray(String[]::new);
+        }
+        this.automaton = AhoCorasickAutomaton.compile(patterns);
+        LOGGER.debug("Compiled {} labels into automaton with {} states", patterns.size(), automaton.stateCount());
+    }
+
+    private static Map<String, Set<String>> labels(MinimalOntology ontology, boolean includeSynonyms) {
+        Objects.requireNonNull(ontology, "Ontology must not be null");
+        // the same label may be shared by several terms
+        Map<String, Set<String>> labelToTermIds = new LinkedHashMap<>();
+        for (Term term : ontology.getTerms()) {
+            if (term.isObsolete()) {
+                continue;
+            }
+            String termId = term.id().getValue();
+            addLabel(labelToTermIds, term.getName(), termId);
+            if (includeSynonyms) {
+                for (TermSynonym synonym : term.getSynonyms()) {
+                    if (!synonym.isObsoleteSynonym()) {
+                        addLabel(labelToTermIds, synonym.getValue(), termId);
+                    }
+                }
+            }
+        }
+        return labelToTermIds;
+    }
+
+    private static Map<String, Set<String>> labels(OntologySnapshot snapshot, boolean includeSynonyms) {
+        Objects.requireNonNull(snapshot, "Snapshot must not be null");
+        Map<String, Set<String>> labelToTermIds = new LinkedHashMap<>();
+        // the snapshot contains only the non-obsolete terms
+        for (int code = 0; code < snapshot.size(); code++) {
+            String termId = snapshot.termId(code);
+            addLabel(labelToTermIds, snapshot.name(code), termId);
+            if (includeSynonyms) {
+                // the snapshot contains only the non-obsolete synonyms
+                for (String synonym : snapshot.synonyms(code)) {
+                    addLabel(labelToTermIds, synonym, termId);
+                }
+            }
+        }
+        return labelToTermIds;
+    }
+
+    private static void addLabel(Map<String, Set<String>> labelToTermIds, String label, String termId) {
+        if (label == null) {
+            return;
+        }
+        String trimmed = label.trim();
+        if (trimmed.isEmpty()) {
+            return;
+        }
+        StringBuilder normalized = new StringBuilder(trimmed.length());
+        for (int i = 0; i < trimmed.length(); i++) {
+            normalized.append(AhoCorasickAutomaton.normalize(trimmed.charAt(i)));
+        }
+        labelToTermIds.computeIfAbsent(normalized.toString(), k -> new LinkedHashSet<>()).add(termId);
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+
+    /**
+     * Mine the <code>query</code> using the dictionary compiled from the ontology.
+     *
+     * @param query String with text to be mined for HPO terms
+     * @return {@link Set} of {@link MinedTerm}s representing identified HPO terms
+     * @throws TermMinerException if the <code>query</code> is <code>null</code>
+     */
+    @Override
+    public Set<MinedTerm> doMining(String query) throws TermMinerException {
+        Set<MinedTerm> terms = new HashSet<>();
+        search(query, (begin, end, termId, isPresent) -> terms.add(MinedTerm.of(begin, end, termId, isPresent)));
+        return terms;
+    }
+
+    /**
+     * Mine the <code>query</code> directly into the <code>buffer</code>. Each term is reported once per text region.
+     */
+    @Override
+    public void doMining(String query, MinedTermBuffer buffer) throws TermMinerException {
+        Objects.requireNonNull(buffer, "Buffer must not be null");
+        search(query, buffer::add);
+    }
+
+    private void search(String query, MinedTermBuffer.TermConsumer consumer) throws TermMinerException {
+        if (query == null) {
+            throw new TermMinerException("Query must not be null");
+        }
+
+        automaton.search(query, (begin, end, pattern) -> {
+            // report only the hits on word boundaries
+            if (begin > 0 && isWordChar(query.charAt(begin - 1))
+                    || end < query.length() && isWordChar(query.charAt(end))) {
+                return;
+            }
+            for (String termId : patternTermIds[pattern]) {
+                consumer.accept(begin, end, termId, true);
+            }
+        });
+    }
+}
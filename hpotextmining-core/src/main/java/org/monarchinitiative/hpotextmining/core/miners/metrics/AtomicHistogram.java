@@ -0,0 +1,159 @@
+package org.monarchinitiative.hpotextmining.core.miners.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link Histogram} with log-linear buckets, in the fashion of <em>HdrHistogram</em>.
+ * <p>
+ * Values below {@value #LINEAR_LIMIT} are counted exactly. Larger values are counted in buckets of
+ * {@value #SUB_BUCKETS} linear sub-buckets per power of two, hence a reported percentile is within 1% of the recorded
+ * value over the whole <code>long</code> range. Recording is lock-free, it increments a single bucket of an atomic
+ * array. Reading takes a {@link Snapshot} of the buckets, which is consistent enough for monitoring, but not atomic
+ * with respect to the concurrent recording.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class AtomicHistogram implements Histogram {
+
+    static final int SUB_BUCKETS = 128;
+
+    static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+
+    private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+
+    private static final int BUCKET_COUNT = index(Long.MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    private final LongAdder sum = new LongAdder();
+
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @return index of the bucket counting the <code>value</code>
+     */
+    static int index(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    /**
+     * @return the highest value counted by the bucket with given <code>index</code>
+     */
+    static long highestValue(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    @Override
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must not be negative: " + value);
+        }
+        counts.incrementAndGet(index(value));
+        sum.add(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * @return snapshot of the recorded values
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(copy, count, sum.sum(), max.get());
+    }
+
+    /**
+     * Remove all the recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        sum.reset();
+        max.set(0);
+    }
+
+    /**
+     * Distribution of the values recorded until the snapshot was taken.
+     */
+    public static final class Snapshot {
+
+        private final long[] counts;
+
+        private final long count;
+
+        private final long sum;
+
+        private final long max;
+
+        private Snapshot(long[] counts, long count, long sum, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        /**
+         * @return number of the recorded values
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return mean of the recorded values, or <code>0</code> if there are no values
+         */
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * @return the largest recorded value, or <code>0</code> if there are no values
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * @param percentile percentile in <code>[0, 1]</code>, e.g. <code>.999</code>
+         * @return the value that is greater than or equal to the <code>percentile</code> of the recorded values, or
+         * <code>0</code> if there are no values
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (!(percentile >= 0 && percentile <= 1)) {
+                throw new IllegalArgumentException("Percentile must be in [0, 1]: " + percentile);
+            }
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestValue(i), max);
+                }
+            }
+            return max;
+        }
+    }
+}
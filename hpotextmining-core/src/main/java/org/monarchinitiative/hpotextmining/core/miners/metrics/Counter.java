@@ -0,0 +1,21 @@
+package org.monarchinitiative.hpotextmining.core.miners.metrics;
+
+/**
+ * Monotonically increasing count, e.g. number of failures or bytes. Implementations must be thread-safe.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @see MetricsRegistry
+ * @since 0.2.9
+ */
+public interface Counter {
+
+    /**
+     * @param delta non-negative amount to add to the count
+     */
+    void increment(long delta);
+
+    default void increment() {
+        increment(1);
+    }
+}
@@ -0,0 +1,13 @@
+package org.monarchinitiative.hpotextmining.core.miners.metrics;
+
+/**
+ * Management interface of a {@link Counter} published by {@link JmxMetricsRegistry}.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public interface CounterMXBean {
+
+    long getCount();
+}
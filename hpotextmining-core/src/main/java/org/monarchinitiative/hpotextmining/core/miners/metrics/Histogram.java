@@ -0,0 +1,18 @@
+package org.monarchinitiative.hpotextmining.core.miners.metrics;
+
+/**
+ * Distribution of recorded values, e.g. latencies. Implementations must be thread-safe and should not block the
+ * recording thread.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @see MetricsRegistry
+ * @since 0.2.9
+ */
+public interface Histogram {
+
+    /**
+     * @param value non-negative value to record
+     */
+    void record(long value);
+}
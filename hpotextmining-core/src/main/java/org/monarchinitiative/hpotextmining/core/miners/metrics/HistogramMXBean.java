@@ -0,0 +1,29 @@
+package org.monarchinitiative.hpotextmining.core.miners.metrics;
+
+/**
+ * Management interface of a {@link Histogram} published by {@link JmxMetricsRegistry}. The values are in the units
+ * they were recorded in, e.g. nanoseconds for latencies.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public interface HistogramMXBean {
+
+    long getCount();
+
+    double getMean();
+
+    long getMax();
+
+    long getP50();
+
+    long getP99();
+
+    long getP999();
+
+    /**
+     * Remove all the recorded values.
+     */
+    void reset();
+}
@@ -0,0 +1,127 @@
+package org.monarchinitiative.hpotextmining.core.miners.metrics;
+
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.TermMinerException;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link TermMiner} decorator recording the latency, size and failures of the mining into a {@link MetricsRegistry}.
+ * <p>
+ * The following metrics are recorded:
+ * <ul>
+ *     <li><code>mining.latency</code> - histogram of the mining latency in nanoseconds, including the failed mining</li>
+ *     <li><code>mining.bytes.in</code> - counter of the mined query bytes in UTF-8</li>
+ *     <li><code>mining.bytes.out</code> - counter of the bytes of the mined terms, i.e. the term id characters plus
+ *     the coordinates and the presence flag</li>
+ *     <li><code>mining.terms</code> - histogram of the number of terms mined from a query</li>
+ *     <li><code>mining.errors.&lt;cause&gt;</code> - counter of the failures by the simple class name of the cause,
+ *     e.g. <code>mining.errors.UnknownHostException</code>, or <code>mining.errors.TermMinerException</code> if the
+ *     failure has no cause</li>
+ * </ul>
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class InstrumentedTermMiner implements TermMiner {
+
+    static final String LATENCY = "mining.latency";
+
+    static final String BYTES_IN = "mining.bytes.in";
+
+    static final String BYTES_OUT = "mining.bytes.out";
+
+    static final String TERMS = "mining.terms";
+
+    static final String ERRORS = "mining.errors.";
+
+    /**
+     * Bytes of the coordinates and the presence flag of a {@link MinedTerm}.
+     */
+    private static final int TERM_BYTES = 2 * Integer.BYTES + 1;
+
+    private final TermMiner miner;
+
+    private final MetricsRegistry registry;
+
+    private final Histogram latency;
+
+    private final Counter bytesIn;
+
+    private final Counter bytesOut;
+
+    private final Histogram terms;
+
+    private final ConcurrentMap<Class<?>, Counter> errors = new ConcurrentHashMap<>();
+
+    /**
+     * @param miner    {@link TermMiner} to decorate
+     * @param registry {@link MetricsRegistry} to record the metrics to, e.g. {@link JmxMetricsRegistry}
+     */
+    public InstrumentedTermMiner(TermMiner miner, MetricsRegistry registry) {
+        this.miner = Objects.requireNonNull(miner, "Miner must not be null");
+        this.registry = Objects.requireNonNull(registry, "Metrics registry must not be null");
+        this.latency = registry.histogram(LATENCY);
+        this.bytesIn = registry.counter(BYTES_IN);
+        this.bytesOut = registry.counter(BYTES_OUT);
+        this.terms = registry.histogram(TERMS);
+    }
+
+    /**
+     * @return number of bytes of the <code>text</code> encoded in UTF-8
+     */
+    static long utf8Length(CharSequence text) {
+        long bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    @Override
+    public Collection<MinedTerm> doMining(String query) throws TermMinerException {
+        if (query != null) {
+            bytesIn.increment(utf8Length(query));
+        }
+        long start = System.nanoTime();
+        Collection<MinedTerm> mined;
+        try {
+            mined = miner.doMining(query);
+        } catch (TermMinerException | RuntimeException e) {
+            latency.record(System.nanoTime() - start);
+            errorCounter(e).increment();
+            throw e;
+        }
+        latency.record(System.nanoTime() - start);
+
+        long bytes = 0;
+        for (MinedTerm term : mined) {
+            bytes += TERM_BYTES + utf8Length(term.getTermId());
+        }
+        bytesOut.increment(bytes);
+        terms.record(mined.size());
+        return mined;
+    }
+
+    private Counter errorCounter(Exception e) {
+        Class<?> cause = e instanceof TermMinerException && e.getCause() != null
+                ? e.getCause().getClass()
+                : e.getClass();
+        return errors.computeIfAbsent(cause, c -> registry.counter(ERRORS + c.getSimpleName()));
+    }
+}
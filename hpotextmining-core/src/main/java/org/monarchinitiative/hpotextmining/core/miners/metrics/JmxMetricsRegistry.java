@@ -0,0 +1,154 @@
+package org.monarchinitiative.hpotextmining.core.miners.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link MetricsRegistry} publishing each metric as an MBean.
+ * <p>
+ * The metrics are registered under
+ * <code>org.monarchinitiative.hpotextmining:type=TermMiner,scope=&lt;scope&gt;,name=&lt;metric name&gt;</code>, hence
+ * the miners instrumented with registries of distinct scopes can be told apart. The counters implement
+ * {@link CounterMXBean}, the histograms are {@link AtomicHistogram}s implementing {@link HistogramMXBean}.
+ * <p>
+ * Close the registry to unregister the MBeans.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class JmxMetricsRegistry implements MetricsRegistry, AutoCloseable {
+
+    static final String DOMAIN = "org.monarchinitiative.hpotextmining";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JmxMetricsRegistry.class);
+
+    private final MBeanServer server;
+
+    private final String scope;
+
+    private final ConcurrentMap<String, JmxCounter> counters = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, JmxHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * @param scope name distinguishing the metrics of this registry, e.g. <code>scigraph</code>
+     */
+    public JmxMetricsRegistry(String scope) {
+        this(ManagementFactory.getPlatformMBeanServer(), scope);
+    }
+
+    public JmxMetricsRegistry(MBeanServer server, String scope) {
+        this.server = Objects.requireNonNull(server, "MBean server must not be null");
+        this.scope = Objects.requireNonNull(scope, "Scope must not be null");
+    }
+
+    ObjectName objectName(String name) throws MalformedObjectNameException {
+        return new ObjectName(DOMAIN + ":type=TermMiner,scope=" + ObjectName.quote(scope)
+                + ",name=" + ObjectName.quote(name));
+    }
+
+    @Override
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, n -> register(n, new JmxCounter()));
+    }
+
+    @Override
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, n -> register(n, new JmxHistogram()));
+    }
+
+    /**
+     * Register the <code>metric</code>. Failure to register is logged, the metric is still recorded.
+     */
+    private <T> T register(String name, T metric) {
+        try {
+            server.registerMBean(metric, objectName(name));
+        } catch (JMException e) {
+            LOGGER.warn("Unable to register metric '{}' of '{}'", name, scope, e);
+        }
+        return metric;
+    }
+
+    /**
+     * Unregister all the MBeans of this registry.
+     */
+    @Override
+    public void close() {
+        for (String name : counters.keySet()) {
+            unregister(name);
+        }
+        for (String name : histograms.keySet()) {
+            unregister(name);
+        }
+    }
+
+    private void unregister(String name) {
+        try {
+            ObjectName objectName = objectName(name);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            LOGGER.warn("Unable to unregister metric '{}' of '{}'", name, scope, e);
+        }
+    }
+
+    private static final class JmxCounter implements Counter, CounterMXBean {
+
+        private final LongAdder count = new LongAdder();
+
+        @Override
+        public void increment(long delta) {
+            count.add(delta);
+        }
+
+        @Override
+        public long getCount() {
+            return count.sum();
+        }
+    }
+
+    private static final class JmxHistogram extends AtomicHistogram implements HistogramMXBean {
+
+        @Override
+        public long getCount() {
+            return snapshot().getCount();
+        }
+
+        @Override
+        public double getMean() {
+            return snapshot().getMean();
+        }
+
+        @Override
+        public long getMax() {
+            return snapshot().getMax();
+        }
+
+        @Override
+        public long getP50() {
+            return snapshot().getValueAtPercentile(.5);
+        }
+
+        @Override
+        public long getP99() {
+            return snapshot().getValueAtPercentile(.99);
+        }
+
+        @Override
+        public long getP999() {
+            return snapshot().getValueAtPercentile(.999);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package org.monarchinitiative.hpotextmining.core.miners.metrics;
+
+/**
+ * Service provider interface for publishing the metrics recorded by {@link InstrumentedTermMiner}.
+ * <p>
+ * Implement the interface to bridge the metrics to a monitoring system. {@link JmxMetricsRegistry} is the default
+ * implementation, publishing the metrics as JMX MBeans.
+ * <p>
+ * The registry is asked for each metric once, when it is first needed. Implementations must be thread-safe and should
+ * return the same metric for the same name.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public interface MetricsRegistry {
+
+    /**
+     * @param name dot-separated name of the metric, e.g. <code>mining.errors.UnknownHostException</code>
+     * @return {@link Counter} registered under the <code>name</code>
+     */
+    Counter counter(String name);
+
+    /**
+     * @param name dot-separated name of the metric, e.g. <code>mining.latency</code>
+     * @return {@link Histogram} registered under the <code>name</code>
+     */
+    Histogram histogram(String name);
+}
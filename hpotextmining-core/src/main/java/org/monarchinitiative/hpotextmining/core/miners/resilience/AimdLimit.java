@@ -0,0 +1,84 @@
+package org.monarchinitiative.hpotextmining.core.miners.resilience;
+
+/**
+ * Concurrency limit adjusted by <em>additive increase / multiplicative decrease</em>.
+ * <p>
+ * The limit grows by one per limit's worth of successful requests while the requests are using the limit, and it is
+ * multiplied by the backoff ratio when a request fails, or when the round-trip time exceeds the tolerated multiple of
+ * the baseline. The baseline is the lowest recently observed round-trip time, slowly drifting up so that it follows
+ * permanent changes of the server latency.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+class AimdLimit {
+
+    /**
+     * Weight of the round-trip time of a request when the baseline is drifting up.
+     */
+    private static final double BASELINE_DRIFT = .01;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double backoffRatio;
+
+    private final double latencyTolerance;
+
+    // the fields below are guarded by `this`
+
+    private double limit;
+
+    private double baseline = Double.NaN;
+
+    AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, double latencyTolerance) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException(String.format("Limits must satisfy 1 <= min (%d) <= initial (%d) <= max (%d)",
+                    minLimit, initialLimit, maxLimit));
+        }
+        if (!(backoffRatio > 0 && backoffRatio < 1)) {
+            throw new IllegalArgumentException("Backoff ratio must be in (0, 1): " + backoffRatio);
+        }
+        if (!(latencyTolerance > 1)) {
+            throw new IllegalArgumentException("Latency tolerance must be greater than 1: " + latencyTolerance);
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+    }
+
+    synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * @param rtt      round-trip time of the successful request in nanoseconds
+     * @param inFlight number of requests in flight when the request was started
+     */
+    synchronized void onSuccess(long rtt, int inFlight) {
+        if (Double.isNaN(baseline) || rtt < baseline) {
+            baseline = rtt;
+        } else {
+            baseline += BASELINE_DRIFT * (rtt - baseline);
+        }
+
+        if (rtt > latencyTolerance * baseline) {
+            decrease();
+        } else if (inFlight * 2 >= limit) {
+            // increase only if the limit is actually used
+            limit = Math.min(maxLimit, limit + 1. / limit);
+        }
+    }
+
+    synchronized void onFailure() {
+        decrease();
+    }
+
+    private void decrease() {
+        limit = Math.max(minLimit, limit * backoffRatio);
+    }
+}
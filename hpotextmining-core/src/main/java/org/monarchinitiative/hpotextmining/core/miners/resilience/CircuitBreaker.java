@@ -0,0 +1,354 @@
+package org.monarchinitiative.hpotextmining.core.miners.resilience;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker that stops the calls to a failing service.
+ * <p>
+ * The breaker tracks the outcome of the most recent calls. When the rate of the failed calls or of the slow calls
+ * exceeds the threshold, the breaker opens and rejects all the calls. After the open duration elapses, the breaker
+ * half-opens and lets a few probe calls through. The breaker closes if all the probes succeed, or opens again
+ * otherwise.
+ * <p>
+ * The state transitions are reported to the registered {@link StateListener}s.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class CircuitBreaker {
+
+    private static final byte SUCCESS = 0, FAILURE = 1, SLOW = 2;
+
+    private final double failureRateThreshold;
+
+    private final double slowCallRateThreshold;
+
+    private final long slowCallDuration;
+
+    private final int minimumCalls;
+
+    private final long openDuration;
+
+    private final int probes;
+
+    private final LongSupplier nanoTime;
+
+    private final List<StateListener> listeners = new CopyOnWriteArrayList<>();
+
+    // the fields below are guarded by `this`
+
+    /**
+     * Outcomes of the most recent calls in the closed state.
+     */
+    private final byte[] outcomes;
+
+    private int next, calls, failures, slowCalls;
+
+    private State state = State.CLOSED;
+
+    private long openedAt;
+
+    /**
+     * Number of probes let through and succeeded in the half-open state.
+     */
+    private int probesStarted, probesSucceeded;
+
+    private CircuitBreaker(Builder builder, LongSupplier nanoTime) {
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slowCallRateThreshold = builder.slowCallRateThreshold;
+        this.slowCallDuration = builder.slowCallDuration.toNanos();
+        this.minimumCalls = builder.minimumCalls;
+        this.openDuration = builder.openDuration.toNanos();
+        this.probes = builder.probes;
+        this.outcomes = new byte[builder.windowSize];
+        this.nanoTime = nanoTime;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param listener {@link StateListener} to be notified about the state transitions
+     */
+    public void addListener(StateListener listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    public void removeListener(StateListener listener) {
+        listeners.remove(listener);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Ask for a permission to make a call. The caller must report the outcome of the permitted call using
+     * {@link #onSuccess(long)} or {@link #onFailure()}, or give the permission back using {@link #release()} if the
+     * call was cancelled.
+     *
+     * @return <code>true</code> if the call is permitted
+     */
+    public boolean tryAcquire() {
+        State from;
+        synchronized (this) {
+            from = state;
+            switch (state) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (nanoTime.getAsLong() - openedAt < openDuration) {
+                        return false;
+                    }
+                    state = State.HALF_OPEN;
+                    probesStarted = 1;
+                    probesSucceeded = 0;
+                    break;
+                case HALF_OPEN:
+                default:
+                    if (probesStarted >= probes) {
+                        return false;
+                    }
+                    probesStarted++;
+                    return true;
+            }
+        }
+        fire(from, State.HALF_OPEN);
+        return true;
+    }
+
+    /**
+     * Report a successful call.
+     *
+     * @param nanos duration of the call in nanoseconds
+     */
+    public void onSuccess(long nanos) {
+        record(nanos > slowCallDuration ? SLOW : SUCCESS);
+    }
+
+    /**
+     * Report a failed call.
+     */
+    public void onFailure() {
+        record(FAILURE);
+    }
+
+    /**
+     * Give back the permission of a call that was cancelled by the caller, hence its outcome says nothing about the
+     * service. No outcome is recorded, and the probe slot is freed in the half-open state.
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN && probesStarted > 0) {
+            probesStarted--;
+        }
+    }
+
+    private void record(byte outcome) {
+        State from, to;
+        synchronized (this) {
+            from = state;
+            switch (state) {
+                case CLOSED:
+                    if (calls == outcomes.length) {
+                        forget(outcomes[next]);
+                    } else {
+                        calls++;
+                    }
+                    outcomes[next] = outcome;
+                    next = (next + 1) % outcomes.length;
+                    if (outcome == FAILURE) {
+                        failures++;
+                    } else if (outcome == SLOW) {
+                        slowCalls++;
+                    }
+                    if (calls >= minimumCalls
+                            && ((double) failures / calls >= failureRateThreshold
+                            || (double) slowCalls / calls >= slowCallRateThreshold)) {
+                        open();
+                    }
+                    break;
+                case HALF_OPEN:
+                    if (outcome == SUCCESS) {
+                        if (++probesSucceeded >= probes) {
+                            state = State.CLOSED;
+                            reset();
+                        }
+                    } else {
+                        open();
+                    }
+                    break;
+                case OPEN:
+                default:
+                    // outcome of a call permitted before the breaker opened
+                    break;
+            }
+            to = state;
+        }
+        if (from != to) {
+            fire(from, to);
+        }
+    }
+
+    private void forget(byte outcome) {
+        if (outcome == FAILURE) {
+            failures--;
+        } else if (outcome == SLOW) {
+            slowCalls--;
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoTime.getAsLong();
+        reset();
+    }
+
+    private void reset() {
+        next = calls = failures = slowCalls = 0;
+    }
+
+    private void fire(State from, State to) {
+        for (StateListener listener : listeners) {
+            listener.onTransition(from, to);
+        }
+    }
+
+    public enum State {
+        /**
+         * Calls are permitted.
+         */
+        CLOSED,
+        /**
+         * Calls are rejected.
+         */
+        OPEN,
+        /**
+         * A limited number of probe calls is permitted.
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * Listener of the state transitions. The listener is called on the thread that caused the transition.
+     */
+    @FunctionalInterface
+    public interface StateListener {
+
+        void onTransition(State from, State to);
+    }
+
+    public static final class Builder {
+
+        private double failureRateThreshold = .5;
+
+        private double slowCallRateThreshold = 1.;
+
+        private Duration slowCallDuration = Duration.ofSeconds(10);
+
+        private int windowSize = 20;
+
+        private int minimumCalls = 10;
+
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        private int probes = 1;
+
+        private Builder() {
+        }
+
+        /**
+         * @param failureRateThreshold the breaker opens when the rate of failed calls reaches the threshold, 0.5 by
+         *                             default
+         * @return this {@link Builder} instance
+         */
+        public Builder failureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = checkRate(failureRateThreshold);
+            return this;
+        }
+
+        /**
+         * @param slowCallRateThreshold the breaker opens when the rate of slow calls reaches the threshold, 1.0 by
+         *                              default
+         * @return this {@link Builder} instance
+         */
+        public Builder slowCallRateThreshold(double slowCallRateThreshold) {
+            this.slowCallRateThreshold = checkRate(slowCallRateThreshold);
+            return this;
+        }
+
+        /**
+         * @param slowCallDuration the calls taking longer are considered slow, 10s by default
+         * @return this {@link Builder} instance
+         */
+        public Builder slowCallDuration(Duration slowCallDuration) {
+            this.slowCallDuration = Objects.requireNonNull(slowCallDuration);
+            return this;
+        }
+
+        /**
+         * @param windowSize number of the most recent calls to compute the rates from, 20 by default
+         * @return this {@link Builder} instance
+         */
+        public Builder windowSize(int windowSize) {
+            if (windowSize < 1) {
+                throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+            }
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        /**
+         * @param minimumCalls minimum number of calls before the rates are evaluated, 10 by default
+         * @return this {@link Builder} instance
+         */
+        public Builder minimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /**
+         * @param openDuration how long the breaker stays open before probing the service, 30s by default
+         * @return this {@link Builder} instance
+         */
+        public Builder openDuration(Duration openDuration) {
+            this.openDuration = Objects.requireNonNull(openDuration);
+            return this;
+        }
+
+        /**
+         * @param probes number of successful probe calls needed to close the breaker, 1 by default
+         * @return this {@link Builder} instance
+         */
+        public Builder probes(int probes) {
+            if (probes < 1) {
+                throw new IllegalArgumentException("Number of probes must be positive: " + probes);
+            }
+            this.probes = probes;
+            return this;
+        }
+
+        private static double checkRate(double rate) {
+            if (!(rate > 0 && rate <= 1)) {
+                throw new IllegalArgumentException("Rate must be in (0, 1]: " + rate);
+            }
+            return rate;
+        }
+
+        public CircuitBreaker build() {
+            return build(System::nanoTime);
+        }
+
+        CircuitBreaker build(LongSupplier nanoTime) {
+            if (minimumCalls > windowSize) {
+                throw new IllegalArgumentException("Minimum calls " + minimumCalls + " exceed the window size " + windowSize);
+            }
+            return new CircuitBreaker(this, nanoTime);
+        }
+    }
+}
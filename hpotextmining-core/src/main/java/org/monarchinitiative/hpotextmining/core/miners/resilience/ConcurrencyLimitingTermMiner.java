@@ -0,0 +1,258 @@
+package org.monarchinitiative.hpotextmining.core.miners.resilience;
+
+import org.monarchinitiative.hpotextmining.core.miners.AsyncTermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.TermMinerException;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiners;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * {@link TermMiner} decorator limiting the number of the requests in flight by an adaptive limit.
+ * <p>
+ * The limit is adjusted by the <em>AIMD</em> algorithm based on the observed round-trip times and failures: it grows
+ * slowly while the server responds fast, and it is cut down when the latency grows or the requests fail. The
+ * requests exceeding the limit wait in a bounded queue; the requests arriving when the queue is full fail immediately
+ * with {@link TermMinerException} (load shedding).
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class ConcurrencyLimitingTermMiner implements AsyncTermMiner {
+
+    private final AsyncTermMiner miner;
+
+    private final AimdLimit limit;
+
+    private final int maxQueueSize;
+
+    // the fields below are guarded by `this`
+
+    private final Deque<Pending> queue = new ArrayDeque<>();
+
+    private int inFlight;
+
+    private ConcurrencyLimitingTermMiner(Builder builder) {
+        this.miner = TermMiners.async(builder.miner, builder.executor);
+        this.limit = new AimdLimit(builder.initialLimit, builder.minLimit, builder.maxLimit,
+                builder.backoffRatio, builder.latencyTolerance);
+        this.maxQueueSize = builder.maxQueueSize;
+    }
+
+    /**
+     * @param miner    {@link TermMiner} to decorate
+     * @param executor {@link Executor} to run the miner on, if the miner does not implement {@link AsyncTermMiner}
+     * @return builder for configuring the {@link ConcurrencyLimitingTermMiner}
+     */
+    public static Builder builder(TermMiner miner, Executor executor) {
+        return new Builder(miner, executor);
+    }
+
+    /**
+     * @return current limit of the requests in flight
+     */
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    /**
+     * @return number of the requests in flight
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * @return number of the requests waiting in the queue
+     */
+    public synchronized int getQueueDepth() {
+        return queue.size();
+    }
+
+    @Override
+    public CompletableFuture<Collection<MinedTerm>> doMiningAsync(String query) {
+        if (query == null) {
+            return CompletableFuture.failedFuture(new TermMinerException("Query must not be null"));
+        }
+        Pending pending = new Pending(query, new CompletableFuture<>());
+        int started;
+        synchronized (this) {
+            if (inFlight < limit.getLimit()) {
+                started = ++inFlight;
+            } else if (queue.size() < maxQueueSize) {
+                queue.addLast(pending);
+                started = -1;
+            } else {
+                return CompletableFuture.failedFuture(new TermMinerException("Too many requests, the queue is full"));
+            }
+        }
+        if (started > 0) {
+            start(pending, started);
+        } else {
+            pending.result.whenComplete((terms, throwable) -> {
+                if (pending.result.isCancelled()) {
+                    synchronized (this) {
+                        queue.remove(pending);
+                    }
+                }
+            });
+        }
+        return pending.result;
+    }
+
+    private void start(Pending pending, int inFlightAtStart) {
+        long start = System.nanoTime();
+        CompletableFuture<Collection<MinedTerm>> future;
+        try {
+            future = miner.doMiningAsync(pending.query);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(new TermMinerException("Error occurred during mining", e));
+        }
+        CompletableFuture<Collection<MinedTerm>> request = future;
+        pending.result.whenComplete((terms, throwable) -> {
+            if (pending.result.isCancelled()) {
+                request.cancel(true);
+            }
+        });
+        request.whenComplete((terms, throwable) -> {
+            if (throwable == null) {
+                limit.onSuccess(System.nanoTime() - start, inFlightAtStart);
+                pending.result.complete(terms);
+            } else {
+                if (!(throwable instanceof CancellationException)) {
+                    limit.onFailure();
+                }
+                pending.result.completeExceptionally(throwable instanceof CompletionException && throwable.getCause() != null
+                        ? throwable.getCause()
+                        : throwable);
+            }
+            release();
+        });
+    }
+
+    /**
+     * Finish a request and start the queued requests allowed by the current limit.
+     */
+    private void release() {
+        synchronized (this) {
+            inFlight--;
+        }
+        while (true) {
+            Pending next;
+            int started;
+            synchronized (this) {
+                if (inFlight >= limit.getLimit() || queue.isEmpty()) {
+                    return;
+                }
+                next = queue.pollFirst();
+                if (next.result.isDone()) { // cancelled while waiting
+                    continue;
+                }
+                started = ++inFlight;
+            }
+            start(next, started);
+        }
+    }
+
+    private record Pending(String query, CompletableFuture<Collection<MinedTerm>> result) {
+    }
+
+    public static final class Builder {
+
+        private final TermMiner miner;
+
+        private final Executor executor;
+
+        private int initialLimit = 10;
+
+        private int minLimit = 1;
+
+        private int maxLimit = 200;
+
+        private double backoffRatio = .9;
+
+        private double latencyTolerance = 2.;
+
+        private int maxQueueSize = 1000;
+
+        private Builder(TermMiner miner, Executor executor) {
+            this.miner = Objects.requireNonNull(miner, "Miner must not be null");
+            this.executor = Objects.requireNonNull(executor, "Executor must not be null");
+        }
+
+        /**
+         * @param initialLimit initial limit of the requests in flight, 10 by default
+         * @return this {@link Builder} instance
+         */
+        public Builder initialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+            return this;
+        }
+
+        /**
+         * @param minLimit the limit never drops below, 1 by default
+         * @return this {@link Builder} instance
+         */
+        public Builder minLimit(int minLimit) {
+            this.minLimit = minLimit;
+            return this;
+        }
+
+        /**
+         * @param maxLimit the limit never grows above, 200 by default
+         * @return this {@link Builder} instance
+         */
+        public Builder maxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        /**
+         * @param backoffRatio the limit is multiplied by the ratio on failure or high latency, 0.9 by default
+         * @return this {@link Builder} instance
+         */
+        public Builder backoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+            return this;
+        }
+
+        /**
+         * @param latencyTolerance the limit is decreased when the round-trip time exceeds the multiple of the lowest
+         *                         recent round-trip time, 2 by default
+         * @return this {@link Builder} instance
+         */
+        public Builder latencyTolerance(double latencyTolerance) {
+            this.latencyTolerance = latencyTolerance;
+            return this;
+        }
+
+        /**
+         * @param maxQueueSize maximum number of the requests waiting for the limit, 1000 by default. Use
+         *                     <code>0</code> to reject the requests exceeding the limit right away
+         * @return this {@link Builder} instance
+         */
+        public Builder maxQueueSize(int maxQueueSize) {
+            if (maxQueueSize < 0) {
+                throw new IllegalArgumentException("Max queue size must not be negative: " + maxQueueSize);
+            }
+            this.maxQueueSize = maxQueueSize;
+            return this;
+        }
+
+        /**
+         * @return a new {@link ConcurrencyLimitingTermMiner} instance
+         */
+        public ConcurrencyLimitingTermMiner build() {
+            return new ConcurrencyLimitingTermMiner(this);
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package org.monarchinitiative.hpotextmining.core.miners.resilience;
+
+import org.monarchinitiative.hpotextmining.core.miners.AsyncTermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.TermMinerException;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiners;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link TermMiner} decorator sending a duplicate (<em>hedged</em>) request if the response of the primary miner does
+ * not arrive in time.
+ * <p>
+ * The hedged request is sent to the alternate miner (e.g. a miner querying another endpoint) or to the primary miner
+ * again, after the delay given by a percentile of the recent latencies. The first successful response wins and the
+ * other request is cancelled.
+ * <p>
+ * To prevent overloading the server, hedging is limited by a budget: each request earns a
+ * {@link Builder#budget(double) fraction} of a hedge and a hedge is sent only if a whole one has been earned.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class HedgingTermMiner implements AsyncTermMiner {
+
+    /**
+     * Maximum number of hedges that can be saved up during a period of low latency.
+     */
+    private static final double MAX_SAVED_HEDGES = 10.;
+
+    private final AsyncTermMiner primary;
+
+    private final AsyncTermMiner alternate;
+
+    private final Executor executor;
+
+    private final LatencyWindow latencies;
+
+    private final long initialDelay;
+
+    private final long minDelay;
+
+    private final double budget;
+
+    /**
+     * Guarded by `this`.
+     */
+    private double savedHedges;
+
+    private final LongAdder requestCount = new LongAdder();
+
+    private final LongAdder hedgeCount = new LongAdder();
+
+    private HedgingTermMiner(Builder builder) {
+        this.primary = TermMiners.async(builder.primary, builder.executor);
+        this.alternate = builder.alternate == null ? primary : TermMiners.async(builder.alternate, builder.executor);
+        this.executor = builder.executor;
+        this.latencies = new LatencyWindow(builder.windowSize, builder.percentile);
+        this.initialDelay = builder.initialDelay.toNanos();
+        this.minDelay = builder.minDelay.toNanos();
+        this.budget = builder.budget;
+    }
+
+    /**
+     * @param primary  {@link TermMiner} to send the requests to
+     * @param executor {@link Executor} to run the blocking miners on, and to send the hedged requests from
+     * @return builder for configuring the {@link HedgingTermMiner}
+     */
+    public static Builder builder(TermMiner primary, Executor executor) {
+        return new Builder(primary, executor);
+    }
+
+    private synchronized void earnHedge() {
+        savedHedges = Math.min(MAX_SAVED_HEDGES, savedHedges + budget);
+    }
+
+    private synchronized boolean spendHedge() {
+        if (savedHedges >= 1.) {
+            savedHedges -= 1.;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return delay of the hedged request in nanoseconds
+     */
+    long hedgeDelay() {
+        long percentile = latencies.percentile();
+        return percentile < 0 ? initialDelay : Math.max(minDelay, percentile);
+    }
+
+    @Override
+    public CompletableFuture<Collection<MinedTerm>> doMiningAsync(String query) {
+        if (query == null) {
+            return CompletableFuture.failedFuture(new TermMinerException("Query must not be null"));
+        }
+        requestCount.increment();
+        earnHedge();
+
+        CompletableFuture<Collection<MinedTerm>> result = new CompletableFuture<>();
+        // number of requests in flight, the result fails when the last of them fails
+        AtomicInteger pending = new AtomicInteger(1);
+        CompletableFuture<Collection<MinedTerm>> first = start(primary, query, result, pending);
+        CompletableFuture<CompletableFuture<Collection<MinedTerm>>> hedge = new CompletableFuture<>();
+
+        CompletableFuture.delayedExecutor(hedgeDelay(), TimeUnit.NANOSECONDS, executor).execute(() -> {
+            if (!result.isDone() && spendHedge()) {
+                if (pending.getAndUpdate(p -> p == 0 ? 0 : p + 1) > 0) {
+                    hedgeCount.increment();
+                    hedge.complete(start(alternate, query, result, pending));
+                    return;
+                }
+            }
+            hedge.complete(null);
+        });
+
+        // cancel the loser, or both requests if the result is cancelled
+        result.whenComplete((terms, throwable) -> {
+            first.cancel(true);
+            hedge.thenAccept(second -> {
+                if (second != null) {
+                    second.cancel(true);
+                }
+            });
+        });
+        return result;
+    }
+
+    private CompletableFuture<Collection<MinedTerm>> start(AsyncTermMiner miner,
+                                                           String query,
+                                                           CompletableFuture<Collection<MinedTerm>> result,
+                                                           AtomicInteger pending) {
+        long start = System.nanoTime();
+        CompletableFuture<Collection<MinedTerm>> future;
+        try {
+            future = miner.doMiningAsync(query);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(new TermMinerException("Error occurred during mining", e));
+        }
+        future.whenComplete((terms, throwable) -> {
+            if (throwable == null) {
+                latencies.record(System.nanoTime() - start);
+                result.complete(terms);
+            } else if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(throwable instanceof CompletionException ? throwable.getCause() : throwable);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * @return number of the requests
+     */
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * @return number of the hedged requests sent
+     */
+    public long getHedgeCount() {
+        return hedgeCount.sum();
+    }
+
+    public static final class Builder {
+
+        private final TermMiner primary;
+
+        private final Executor executor;
+
+        private TermMiner alternate;
+
+        private double percentile = .95;
+
+        private int windowSize = 1000;
+
+        private Duration initialDelay = Duration.ofSeconds(1);
+
+        private Duration minDelay = Duration.ofMillis(10);
+
+        private double budget = .05;
+
+        private Builder(TermMiner primary, Executor executor) {
+            this.primary = Objects.requireNonNull(primary, "Primary miner must not be null");
+            this.executor = Objects.requireNonNull(executor, "Executor must not be null");
+        }
+
+        /**
+         * @param alternate {@link TermMiner} to send the hedged requests to, the primary miner by default
+         * @return this {@link Builder} instance
+         */
+        public Builder alternate(TermMiner alternate) {
+            this.alternate = alternate;
+            return this;
+        }
+
+        /**
+         * @param percentile percentile of the recent latencies after which the hedged request is sent, 0.95 by default
+         * @return this {@link Builder} instance
+         */
+        public Builder percentile(double percentile) {
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * @param windowSize number of the most recent latencies to compute the percentile from, 1000 by default
+         * @return this {@link Builder} instance
+         */
+        public Builder windowSize(int windowSize) {
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        /**
+         * @param initialDelay delay of the hedged requests until enough latencies are observed, 1s by default
+         * @return this {@link Builder} instance
+         */
+        public Builder initialDelay(Duration initialDelay) {
+            this.initialDelay = Objects.requireNonNull(initialDelay);
+            return this;
+        }
+
+        /**
+         * @param minDelay minimum delay of the hedged requests, 10ms by default
+         * @return this {@link Builder} instance
+         */
+        public Builder minDelay(Duration minDelay) {
+            this.minDelay = Objects.requireNonNull(minDelay);
+            return this;
+        }
+
+        /**
+         * @param budget maximum fraction of the requests that can be hedged, 0.05 by default
+         * @return this {@link Builder} instance
+         */
+        public Builder budget(double budget) {
+            if (!(budget >= 0 && budget <= 1)) {
+                throw new IllegalArgumentException("Budget must be in [0, 1]: " + budget);
+            }
+            this.budget = budget;
+            return this;
+        }
+
+        /**
+         * @return a new {@link HedgingTermMiner} instance
+         */
+        public HedgingTermMiner build() {
+            return new HedgingTermMiner(this);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.monarchinitiative.hpotextmining.core.miners.resilience;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent latency samples and provides their percentile.
+ * <p>
+ * The percentile is recomputed after every {@link #RECOMPUTE_INTERVAL} samples, so that reading it is cheap.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+class LatencyWindow {
+
+    static final int RECOMPUTE_INTERVAL = 16;
+
+    private final long[] samples;
+
+    private final double percentile;
+
+    private final long[] sorted;
+
+    /**
+     * Guarded by `this`.
+     */
+    private int count, next, sinceRecompute;
+
+    private volatile long current = -1;
+
+    /**
+     * @param size       number of the most recent samples to keep
+     * @param percentile percentile in <code>(0, 1)</code>
+     */
+    LatencyWindow(int size, double percentile) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Window size must be positive: " + size);
+        }
+        if (!(percentile > 0 && percentile < 1)) {
+            throw new IllegalArgumentException("Percentile must be in (0, 1): " + percentile);
+        }
+        this.samples = new long[size];
+        this.sorted = new long[size];
+        this.percentile = percentile;
+    }
+
+    synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+        if (++sinceRecompute >= RECOMPUTE_INTERVAL) {
+            sinceRecompute = 0;
+            System.arraycopy(samples, 0, sorted, 0, count);
+            Arrays.sort(sorted, 0, count);
+            current = sorted[(int) Math.min(count - 1, Math.floor(percentile * count))];
+        }
+    }
+
+    /**
+     * @return percentile of the recent latencies in nanoseconds, or <code>-1</code> if there are not enough samples yet
+     */
+    long percentile() {
+        return current;
+    }
+}
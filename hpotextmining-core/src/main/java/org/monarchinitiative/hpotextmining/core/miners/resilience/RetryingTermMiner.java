@@ -0,0 +1,284 @@
+package org.monarchinitiative.hpotextmining.core.miners.resilience;
+
+import org.monarchinitiative.hpotextmining.core.miners.AsyncTermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.TermMinerException;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiners;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+/**
+ * {@link TermMiner} decorator retrying the failed mining, guarded by a {@link CircuitBreaker}.
+ * <p>
+ * The failed mining is retried after a backoff with <em>full jitter</em> - random delay between zero and exponentially
+ * growing limit - until the maximum number of attempts is reached. All the attempts must finish within the total
+ * deadline; the attempt in flight when the deadline passes is cancelled, and no attempt is started if the backoff would
+ * end after the deadline.
+ * <p>
+ * Each attempt asks the {@link CircuitBreaker} for permission first. When the breaker is open, the mining fails fast
+ * with {@link TermMinerException} without contacting the decorated miner. The failed attempts and the attempts in
+ * flight at the deadline are reported to the breaker as failures, while the cancelled attempts are not reported at all,
+ * since e.g. the losers of {@link HedgingTermMiner} are cancelled routinely.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class RetryingTermMiner implements AsyncTermMiner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RetryingTermMiner.class);
+
+    private final AsyncTermMiner miner;
+
+    private final Executor executor;
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final int maxAttempts;
+
+    private final long initialBackoff;
+
+    private final long maxBackoff;
+
+    private final long deadline;
+
+    private final Predicate<? super TermMinerException> retryOn;
+
+    private RetryingTermMiner(Builder builder) {
+        this.miner = TermMiners.async(builder.miner, builder.executor);
+        this.executor = builder.executor;
+        this.circuitBreaker = builder.circuitBreaker;
+        this.maxAttempts = builder.maxAttempts;
+        this.initialBackoff = builder.initialBackoff.toNanos();
+        this.maxBackoff = builder.maxBackoff.toNanos();
+        this.deadline = builder.deadline.toNanos();
+        this.retryOn = builder.retryOn;
+    }
+
+    /**
+     * @param miner    {@link TermMiner} to decorate
+     * @param executor {@link Executor} to run the blocking miner and the delayed attempts on
+     * @return builder for configuring the {@link RetryingTermMiner}
+     */
+    public static Builder builder(TermMiner miner, Executor executor) {
+        return new Builder(miner, executor);
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+    }
+
+    private static TermMinerException asTermMinerException(Throwable throwable) {
+        Throwable cause = unwrap(throwable);
+        if (cause instanceof TermMinerException) {
+            return (TermMinerException) cause;
+        } else if (cause instanceof TimeoutException) {
+            return new TermMinerException("Mining did not finish before the deadline", cause);
+        } else if (cause instanceof CancellationException) {
+            return new TermMinerException("Mining was cancelled", cause);
+        }
+        return new TermMinerException("Error occurred during mining", cause);
+    }
+
+    /**
+     * @return the {@link CircuitBreaker} guarding the decorated miner
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * @param attempt number of the failed attempt, starting at 1
+     * @return random backoff in nanoseconds
+     */
+    long backoff(int attempt) {
+        long limit = initialBackoff << Math.min(attempt - 1, 30);
+        if (limit <= 0 || limit > maxBackoff) {
+            limit = maxBackoff;
+        }
+        return ThreadLocalRandom.current().nextLong(limit + 1);
+    }
+
+    @Override
+    public CompletableFuture<Collection<MinedTerm>> doMiningAsync(String query) {
+        if (query == null) {
+            return CompletableFuture.failedFuture(new TermMinerException("Query must not be null"));
+        }
+        CompletableFuture<Collection<MinedTerm>> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<?>> current = new AtomicReference<>();
+        long expiresAt = System.nanoTime() + deadline;
+
+        result.whenComplete((terms, throwable) -> {
+            CompletableFuture<?> attempt = current.get();
+            if (result.isCancelled() && attempt != null) {
+                attempt.cancel(true);
+            }
+        });
+
+        attempt(query, 1, expiresAt, result, current);
+        return result;
+    }
+
+    private void attempt(String query,
+                         int attempt,
+                         long expiresAt,
+                         CompletableFuture<Collection<MinedTerm>> result,
+                         AtomicReference<CompletableFuture<?>> current) {
+        if (result.isDone()) {
+            return;
+        }
+        if (!circuitBreaker.tryAcquire()) {
+            result.completeExceptionally(new TermMinerException("Circuit breaker is open"));
+            return;
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<Collection<MinedTerm>> future;
+        try {
+            future = miner.doMiningAsync(query);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(new TermMinerException("Error occurred during mining", e));
+        }
+        current.set(future);
+        if (result.isDone()) { // cancelled or expired in between
+            future.cancel(true);
+        }
+
+        // abort the attempt in flight at the deadline, the timer is removed as soon as the attempt completes
+        CompletableFuture<Collection<MinedTerm>> attemptFuture = future;
+        future.copy().orTimeout(expiresAt - start, TimeUnit.NANOSECONDS).whenComplete((terms, throwable) -> {
+            long now = System.nanoTime();
+            if (throwable == null) {
+                circuitBreaker.onSuccess(now - start);
+                result.complete(terms);
+                return;
+            }
+            Throwable cause = unwrap(throwable);
+            if (cause instanceof CancellationException) {
+                // e.g. cancelled by the caller, which says nothing about the service
+                circuitBreaker.release();
+                result.completeExceptionally(asTermMinerException(throwable));
+                return;
+            }
+            boolean expired = cause instanceof TimeoutException;
+            if (expired) {
+                attemptFuture.cancel(true);
+            }
+            circuitBreaker.onFailure();
+            TermMinerException e = asTermMinerException(throwable);
+            if (attempt < maxAttempts && !result.isDone() && !expired && retryOn.test(e)) {
+                long backoff = backoff(attempt);
+                if (now + backoff < expiresAt) {
+                    LOGGER.debug("Attempt #{} failed, retrying in {}ms: {}", attempt, backoff / 1_000_000, e.getMessage());
+                    CompletableFuture.delayedExecutor(backoff, TimeUnit.NANOSECONDS, executor)
+                            .execute(() -> attempt(query, attempt + 1, expiresAt, result, current));
+                    return;
+                }
+            }
+            result.completeExceptionally(e);
+        });
+    }
+
+    public static final class Builder {
+
+        private final TermMiner miner;
+
+        private final Executor executor;
+
+        private CircuitBreaker circuitBreaker;
+
+        private int maxAttempts = 3;
+
+        private Duration initialBackoff = Duration.ofMillis(100);
+
+        private Duration maxBackoff = Duration.ofSeconds(2);
+
+        private Duration deadline = Duration.ofSeconds(10);
+
+        private Predicate<? super TermMinerException> retryOn = e -> true;
+
+        private Builder(TermMiner miner, Executor executor) {
+            this.miner = Objects.requireNonNull(miner, "Miner must not be null");
+            this.executor = Objects.requireNonNull(executor, "Executor must not be null");
+        }
+
+        /**
+         * @param circuitBreaker {@link CircuitBreaker} guarding the decorated miner. A breaker with the default
+         *                       settings is used if not set
+         * @return this {@link Builder} instance
+         */
+        public Builder circuitBreaker(CircuitBreaker circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+            return this;
+        }
+
+        /**
+         * @param maxAttempts maximum number of attempts including the first one, 3 by default
+         * @return this {@link Builder} instance
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("Max attempts must be positive: " + maxAttempts);
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * @param initialBackoff limit of the backoff after the first attempt, doubled after each attempt, 100ms by
+         *                       default
+         * @return this {@link Builder} instance
+         */
+        public Builder initialBackoff(Duration initialBackoff) {
+            this.initialBackoff = Objects.requireNonNull(initialBackoff);
+            return this;
+        }
+
+        /**
+         * @param maxBackoff maximum backoff, 2s by default
+         * @return this {@link Builder} instance
+         */
+        public Builder maxBackoff(Duration maxBackoff) {
+            this.maxBackoff = Objects.requireNonNull(maxBackoff);
+            return this;
+        }
+
+        /**
+         * @param deadline total time given to all the attempts, 10s by default
+         * @return this {@link Builder} instance
+         */
+        public Builder deadline(Duration deadline) {
+            this.deadline = Objects.requireNonNull(deadline);
+            return this;
+        }
+
+        /**
+         * @param retryOn predicate selecting the failures worth retrying, all the failures by default
+         * @return this {@link Builder} instance
+         */
+        public Builder retryOn(Predicate<? super TermMinerException> retryOn) {
+            this.retryOn = Objects.requireNonNull(retryOn);
+            return this;
+        }
+
+        /**
+         * @return a new {@link RetryingTermMiner} instance
+         */
+        public RetryingTermMiner build() {
+            if (circuitBreaker == null) {
+                circuitBreaker = CircuitBreaker.builder().build();
+            }
+            return new RetryingTermMiner(this);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package org.monarchinitiative.hpotextmining.core.miners.scigraph;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Encodes the SciGraph request form <code>includeCat=phenotype&amp;content=...&amp;includeAcronym=true</code> straight
+ * from the query, without building the encoded form as a String.
+ * <p>
+ * The <code>content</code> is percent-encoded like {@link URLEncoder#encode(String, java.nio.charset.Charset)} with
+ * UTF-8, while being read by the HTTP client. The unreserved ASCII characters, which make most of a clinical text, are
+ * copied without any lookup. The form of a short query is encoded into an array of the exact size and sent with
+ * <code>Content-Length</code>. The form of a long query is encoded in the chunks requested by the HTTP client, hence
+ * the allocation per request does not depend on the query size, and the body is sent with chunked transfer encoding.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+final class FormEncoder {
+
+    /**
+     * Queries longer than this are streamed. The form of a shorter query takes at most ~72 kB.
+     */
+    static final int STREAMING_THRESHOLD = 8 * 1024;
+
+    /**
+     * The parameters are in the order the form has always been sent in.
+     */
+    private static final byte[] PREFIX = "includeCat=phenotype&content=".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] SUFFIX = "&includeAcronym=true".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Characters not encoded by {@link URLEncoder}.
+     */
+    private static final boolean[] UNRESERVED = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) UNRESERVED[c] = true;
+        for (char c = 'A'; c <= 'Z'; c++) UNRESERVED[c] = true;
+        for (char c = '0'; c <= '9'; c++) UNRESERVED[c] = true;
+        UNRESERVED['.'] = true;
+        UNRESERVED['-'] = true;
+        UNRESERVED['*'] = true;
+        UNRESERVED['_'] = true;
+    }
+
+    private FormEncoder() {
+        // static utility class
+    }
+
+    /**
+     * @param query text to be mined
+     * @return {@link HttpRequest.BodyPublisher} encoding the form of the <code>query</code>
+     */
+    static HttpRequest.BodyPublisher publisher(String query) {
+        Objects.requireNonNull(query, "Query must not be null");
+        if (query.length() <= STREAMING_THRESHOLD) {
+            return HttpRequest.BodyPublishers.ofByteArray(encode(query));
+        }
+        // unknown length makes the client use chunked transfer encoding
+        return HttpRequest.BodyPublishers.ofInputStream(() -> new FormInputStream(query));
+    }
+
+    /**
+     * @param query text to be mined
+     * @return the form of the <code>query</code>
+     */
+    static byte[] encode(String query) {
+        byte[] form = new byte[(int) length(query)];
+        FormInputStream is = new FormInputStream(query);
+        int n, off = 0;
+        while (off < form.length && (n = is.read(form, off, form.length - off)) > 0) {
+            off += n;
+        }
+        return form;
+    }
+
+    /**
+     * Write the form to the <code>os</code> using a fixed-size buffer.
+     *
+     * @param query text to be mined
+     * @param os    {@link OutputStream} to write the form to
+     * @throws IOException if the writing fails
+     */
+    static void writeTo(String query, OutputStream os) throws IOException {
+        new FormInputStream(query).transferTo(os);
+    }
+
+    /**
+     * @param query text to be mined
+     * @return size of the form in bytes
+     */
+    static long length(String query) {
+        long length = PREFIX.length + SUFFIX.length;
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (c < 0x80) {
+                length += UNRESERVED[c] || c == ' ' ? 1 : 3;
+            } else if (c < 0x800) {
+                length += 6;
+            } else if (Character.isHighSurrogate(c) && i + 1 < query.length() && Character.isLowSurrogate(query.charAt(i + 1))) {
+                length += 12;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length += 3; // malformed, encoded as '?'
+            } else {
+                length += 9;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Percent-encodes the form while being read.
+     */
+    static final class FormInputStream extends InputStream {
+
+        private static final int PREFIX_STAGE = 0, CONTENT_STAGE = 1, SUFFIX_STAGE = 2;
+
+        private final String query;
+
+        private int stage = PREFIX_STAGE;
+
+        /**
+         * Position in the prefix or in the suffix.
+         */
+        private int position;
+
+        /**
+         * Index of the next char of the query.
+         */
+        private int index;
+
+        /**
+         * Encoded bytes of the last char, which did not fit into the destination.
+         */
+        private final byte[] pending = new byte[12];
+
+        private int pendingStart, pendingEnd;
+
+        FormInputStream(String query) {
+            this.query = query;
+        }
+
+        @Override
+        public int read() {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (len == 0) {
+                return 0;
+            }
+            int start = off, end = off + len;
+
+            if (stage == PREFIX_STAGE) {
+                off = copy(PREFIX, b, off, end);
+                if (position < PREFIX.length) {
+                    return off - start;
+                }
+                stage = CONTENT_STAGE;
+                position = 0;
+            }
+            if (stage == CONTENT_STAGE) {
+                // the rest of the last char
+                while (pendingStart < pendingEnd && off < end) {
+                    b[off++] = pending[pendingStart++];
+                }
+                int length = query.length();
+                while (index < length && off < end) {
+                    char c = query.charAt(index);
+                    if (c < 0x80 && UNRESERVED[c]) {
+                        // ASCII fast path
+                        b[off++] = (byte) c;
+                        index++;
+                        continue;
+                    }
+                    int n = encodeChar(c, pending);
+                    index++;
+                    int copied = Math.min(n, end - off);
+                    System.arraycopy(pending, 0, b, off, copied);
+                    off += copied;
+                    pendingStart = copied;
+                    pendingEnd = n;
+                }
+                if (index < length || pendingStart < pendingEnd) {
+                    return off - start;
+                }
+                stage = SUFFIX_STAGE;
+            }
+            off = copy(SUFFIX, b, off, end);
+            return off == start ? -1 : off - start;
+        }
+
+        private int copy(byte[] src, byte[] b, int off, int end) {
+            int n = Math.min(src.length - position, end - off);
+            System.arraycopy(src, position, b, off, n);
+            position += n;
+            return off + n;
+        }
+
+        /**
+         * Encode the char at {@link #index} (and the following low surrogate, if any) into <code>dst</code>.
+         *
+         * @return number of the encoded bytes
+         */
+        private int encodeChar(char c, byte[] dst) {
+            if (c == ' ') {
+                dst[0] = '+';
+                return 1;
+            }
+            int codePoint;
+            if (Character.isHighSurrogate(c) && index + 1 < query.length() && Character.isLowSurrogate(query.charAt(index + 1))) {
+                codePoint = Character.toCodePoint(c, query.charAt(++index));
+            } else if (Character.isSurrogate(c)) {
+                codePoint = '?'; // like the replacement of the UTF-8 encoder
+            } else {
+                codePoint = c;
+            }
+
+            if (codePoint < 0x80) {
+                return percent(codePoint, dst, 0);
+            } else if (codePoint < 0x800) {
+                percent(0xC0 | codePoint >> 6, dst, 0);
+                return percent(0x80 | codePoint & 0x3F, dst, 3);
+            } else if (codePoint < 0x10000) {
+                percent(0xE0 | codePoint >> 12, dst, 0);
+                percent(0x80 | codePoint >> 6 & 0x3F, dst, 3);
+                return percent(0x80 | codePoint & 0x3F, dst, 6);
+            } else {
+                percent(0xF0 | codePoint >> 18, dst, 0);
+                percent(0x80 | codePoint >> 12 & 0x3F, dst, 3);
+                percent(0x80 | codePoint >> 6 & 0x3F, dst, 6);
+                return percent(0x80 | codePoint & 0x3F, dst, 9);
+            }
+        }
+
+        private static int percent(int b, byte[] dst, int offset) {
+            dst[offset] = '%';
+            dst[offset + 1] = HEX[b >> 4 & 0xF];
+            dst[offset + 2] = HEX[b & 0xF];
+            return offset + 3;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package org.monarchinitiative.hpotextmining.core.miners.scigraph;
+
+import java.io.*;
+import java.net.http.HttpHeaders;
+import java.util.Locale;
+import java.util.zip.*;
+
+/**
+ * Streaming <code>gzip</code> and <code>deflate</code> content coding of the HTTP bodies.
+ * <p>
+ * The request body is compressed while being read by the HTTP client, and the response body is decompressed while
+ * being read by the JSON decoder, hence neither the compressed nor the decompressed body is materialized.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+final class HttpCompression {
+
+    static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    static final String GZIP = "gzip";
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+
+    private static final byte[] GZIP_HEADER = {
+            (byte) GZIP_MAGIC, (byte) (GZIP_MAGIC >> 8), Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private HttpCompression() {
+        // static utility class
+    }
+
+    /**
+     * @param source {@link InputStream} with the data to compress
+     * @return {@link InputStream} with the <code>gzip</code> compressed <code>source</code>
+     */
+    static InputStream gzip(InputStream source) {
+        CRC32 crc = new CRC32();
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        CheckedInputStream checked = new CheckedInputStream(source, crc);
+        InputStream trailer = new InputStream() {
+
+            private byte[] bytes;
+
+            private int position;
+
+            @Override
+            public int read() {
+                if (bytes == null) {
+                    // the source has been read till the end
+                    bytes = new byte[8];
+                    writeInt(bytes, 0, (int) crc.getValue());
+                    writeInt(bytes, 4, (int) deflater.getBytesRead());
+                    deflater.end();
+                }
+                return position < bytes.length ? bytes[position++] & 0xff : -1;
+            }
+        };
+        return new SequenceInputStream(new SequenceInputStream(
+                new ByteArrayInputStream(GZIP_HEADER), new DeflaterInputStream(checked, deflater, 8192)), trailer);
+    }
+
+    private static void writeInt(byte[] bytes, int offset, int value) {
+        // little endian
+        bytes[offset] = (byte) value;
+        bytes[offset + 1] = (byte) (value >> 8);
+        bytes[offset + 2] = (byte) (value >> 16);
+        bytes[offset + 3] = (byte) (value >> 24);
+    }
+
+    /**
+     * Decode the response body according to its <code>Content-Encoding</code>. The decoding starts on the first read,
+     * so the method does not block.
+     *
+     * @param body    {@link InputStream} with the response body
+     * @param headers {@link HttpHeaders} of the response
+     * @return {@link InputStream} with the decoded body
+     */
+    static InputStream decode(InputStream body, HttpHeaders headers) {
+        String encoding = headers.firstValue("Content-Encoding").orElse("identity").trim().toLowerCase(Locale.ROOT);
+        switch (encoding) {
+            case "identity":
+            case "":
+                return body;
+            case "gzip":
+            case "x-gzip":
+                return new LazyInputStream(() -> new GZIPInputStream(body, 8192), body);
+            case "deflate":
+                return new LazyInputStream(() -> inflate(body), body);
+            default:
+                return new LazyInputStream(() -> {
+                    throw new IOException("Unsupported content encoding '" + encoding + "'");
+                }, body);
+        }
+    }
+
+    /**
+     * <code>deflate</code> should be zlib-wrapped, but some servers send the raw deflate data.
+     */
+    private static InputStream inflate(InputStream body) throws IOException {
+        PushbackInputStream is = new PushbackInputStream(body, 2);
+        int cmf = is.read(), flg = is.read();
+        if (flg >= 0) {
+            is.unread(flg);
+        }
+        if (cmf >= 0) {
+            is.unread(cmf);
+        }
+        boolean zlib = cmf >= 0 && flg >= 0 && (cmf & 0x0f) == Deflater.DEFLATED && ((cmf << 8) | flg) % 31 == 0;
+        return new InflaterInputStream(is, new Inflater(!zlib), 8192);
+    }
+
+    @FunctionalInterface
+    private interface StreamSupplier {
+
+        InputStream get() throws IOException;
+    }
+
+    /**
+     * Creates the decoding stream on the first read, since the decoders read the header in their constructors.
+     */
+    private static final class LazyInputStream extends InputStream {
+
+        private final StreamSupplier supplier;
+
+        private final InputStream body;
+
+        private InputStream delegate;
+
+        private LazyInputStream(StreamSupplier supplier, InputStream body) {
+            this.supplier = supplier;
+            this.body = body;
+        }
+
+        private InputStream delegate() throws IOException {
+            if (delegate == null) {
+                delegate = supplier.get();
+            }
+            return delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return delegate().read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return delegate().read(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (delegate != null) {
+                delegate.close();
+            } else {
+                body.close();
+            }
+        }
+    }
+}
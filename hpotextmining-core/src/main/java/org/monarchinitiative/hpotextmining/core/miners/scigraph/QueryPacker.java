@@ -0,0 +1,142 @@
+package org.monarchinitiative.hpotextmining.core.miners.scigraph;
+
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Packs short queries into a single query for SciGraph, and splits the mined terms back to the source queries.
+ * <p>
+ * The queries are joined with the {@link #SEPARATOR} - blank lines around a line of dashes - that does not match any
+ * term and prevents SciGraph from matching a phrase across two queries. The terms that do not lie entirely within
+ * a single query, e.g. the terms straddling the separator, are discarded.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+class QueryPacker {
+
+    static final String SEPARATOR = "\n\n-----\n\n";
+
+    private final int maxQueries;
+
+    private final int maxBytes;
+
+    /**
+     * @param maxQueries maximum number of queries in a pack
+     * @param maxBytes   maximum length of the packed query in UTF-8 bytes. A longer query is sent alone
+     */
+    QueryPacker(int maxQueries, int maxBytes) {
+        if (maxQueries < 1) {
+            throw new IllegalArgumentException("Max queries must be positive: " + maxQueries);
+        }
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("Max bytes must be positive: " + maxBytes);
+        }
+        this.maxQueries = maxQueries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return number of bytes of the <code>text</code> encoded in UTF-8
+     */
+    static int utf8Length(CharSequence text) {
+        int bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * @param queries queries to pack
+     * @param <K>     type of the query id
+     * @return packs with the queries, in the order of the <code>queries</code>
+     */
+    <K> List<Pack<K>> pack(Map<K, String> queries) {
+        int separatorBytes = utf8Length(SEPARATOR);
+        List<Pack<K>> packs = new ArrayList<>();
+        List<K> keys = new ArrayList<>();
+        List<Integer> offsets = new ArrayList<>();
+        StringBuilder content = new StringBuilder();
+        int bytes = 0;
+        for (Map.Entry<K, String> entry : queries.entrySet()) {
+            String query = entry.getValue();
+            int queryBytes = utf8Length(query);
+            if (!keys.isEmpty() && (keys.size() >= maxQueries || bytes + separatorBytes + queryBytes > maxBytes)) {
+                packs.add(new Pack<>(keys, offsets, content.toString()));
+                keys = new ArrayList<>();
+                offsets = new ArrayList<>();
+                content.setLength(0);
+                bytes = 0;
+            }
+            if (!keys.isEmpty()) {
+                content.append(SEPARATOR);
+                bytes += separatorBytes;
+            }
+            keys.add(entry.getKey());
+            offsets.add(content.length());
+            content.append(query);
+            bytes += queryBytes;
+        }
+        if (!keys.isEmpty()) {
+            packs.add(new Pack<>(keys, offsets, content.toString()));
+        }
+        return packs;
+    }
+
+    /**
+     * Packed queries.
+     *
+     * @param keys    ids of the packed queries
+     * @param offsets offset of each query in the <code>content</code>
+     * @param content the packed query
+     */
+    record Pack<K>(List<K> keys, List<Integer> offsets, String content) {
+
+        /**
+         * Assign the <code>terms</code> mined from the {@link #content()} to the source queries, in the local
+         * coordinates of the queries.
+         *
+         * @param terms   {@link MinedTerm}s mined from the {@link #content()}
+         * @param queries the source queries
+         * @return mined terms of each query
+         */
+        Map<K, Collection<MinedTerm>> split(Collection<MinedTerm> terms, Map<K, String> queries) {
+            Map<K, Collection<MinedTerm>> results = new LinkedHashMap<>();
+            int[] begins = new int[keys.size()];
+            for (int i = 0; i < keys.size(); i++) {
+                begins[i] = offsets.get(i);
+                results.put(keys.get(i), new HashSet<>());
+            }
+            for (MinedTerm term : terms) {
+                int i = Arrays.binarySearch(begins, term.getBegin());
+                if (i < 0) {
+                    i = -i - 2; // the query starting before the term
+                }
+                if (i < 0) {
+                    continue;
+                }
+                int begin = begins[i];
+                int end = begin + queries.get(keys.get(i)).length();
+                if (term.getEnd() <= end) {
+                    results.get(keys.get(i)).add(MinedTerm.of(term.getBegin() - begin, term.getEnd() - begin, term.getTermId(), term.isPresent()));
+                }
+                // otherwise the term straddles the separator
+            }
+            return results;
+        }
+    }
+}
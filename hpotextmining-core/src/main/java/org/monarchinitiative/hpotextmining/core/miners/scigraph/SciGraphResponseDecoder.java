@@ -0,0 +1,150 @@
+package org.monarchinitiative.hpotextmining.core.miners.scigraph;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTermBuffer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Decodes the JSON response of the SciGraph <code>annotations/complete</code> endpoint directly into
+ * {@link MinedTerm}s.
+ * <p>
+ * The response is an array of objects like <code>{"token":{"id":"HP:0001290", ...},"start":414,"end":436}</code>. We
+ * use the streaming {@link JsonParser} to pull only <code>token.id</code>, <code>start</code> and <code>end</code>,
+ * hence neither the whole response nor the {@link SciGraphResult} and {@link SciGraphToken} objects are materialized.
+ * All the other fields are skipped.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+final class SciGraphResponseDecoder {
+
+    /**
+     * {@link JsonFactory} is thread safe and the parsers created by a shared instance reuse the symbol tables and
+     * buffers. The parsers do not close the response stream, the caller does.
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory().disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+    private SciGraphResponseDecoder() {
+        // static utility class
+    }
+
+    /**
+     * Decode the response. The <code>is</code> is read till the end of the JSON array, but it is not closed.
+     *
+     * @param is {@link InputStream} with the response body
+     * @return {@link Set} of {@link MinedTerm}s
+     * @throws IOException if the response cannot be read or if it is not a valid SciGraph response
+     */
+    static Set<MinedTerm> decode(InputStream is) throws IOException {
+        Set<MinedTerm> terms = new HashSet<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(is)) {
+            decode(parser, (begin, end, termId, isPresent) -> terms.add(MinedTerm.of(begin, end, termId, isPresent)));
+        }
+        return terms;
+    }
+
+    /**
+     * Decode the response into the <code>buffer</code>. The <code>is</code> is read till the end of the JSON array,
+     * but it is not closed.
+     *
+     * @param is     {@link InputStream} with the response body
+     * @param buffer {@link MinedTermBuffer} to add the {@link MinedTerm}s to
+     * @throws IOException if the response cannot be read or if it is not a valid SciGraph response
+     */
+    static void decode(InputStream is, MinedTermBuffer buffer) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(is)) {
+            decode(parser, buffer::add);
+        }
+    }
+
+    /**
+     * Decode the response.
+     *
+     * @param content array with the response body
+     * @return {@link Set} of {@link MinedTerm}s
+     * @throws IOException if the response is not a valid SciGraph response
+     */
+    static Set<MinedTerm> decode(byte[] content) throws IOException {
+        Set<MinedTerm> terms = new HashSet<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(content)) {
+            decode(parser, (begin, end, termId, isPresent) -> terms.add(MinedTerm.of(begin, end, termId, isPresent)));
+        }
+        return terms;
+    }
+
+    private static void decode(JsonParser parser, MinedTermBuffer.TermConsumer consumer) throws IOException {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "Expected array of SciGraph results");
+        }
+
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+            decodeResult(parser, consumer);
+        }
+        if (token != JsonToken.END_ARRAY) {
+            throw new JsonParseException(parser, "Expected SciGraph result object but got " + token);
+        }
+    }
+
+    /**
+     * Decode a single result object and pass it to the <code>consumer</code>, unless the result has no
+     * <code>token.id</code>. The parser must be positioned at the {@link JsonToken#START_OBJECT} and it is left at the
+     * corresponding {@link JsonToken#END_OBJECT}.
+     */
+    private static void decodeResult(JsonParser parser, MinedTermBuffer.TermConsumer consumer) throws IOException {
+        String id = null;
+        int start = -1, end = -1;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "start":
+                    start = parser.getValueAsInt(-1);
+                    break;
+                case "end":
+                    end = parser.getValueAsInt(-1);
+                    break;
+                case "token":
+                    if (value == JsonToken.START_OBJECT) {
+                        id = decodeTokenId(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        if (id == null) {
+            return;
+        }
+        if (start < 0 || end < start) {
+            throw new JsonParseException(parser, String.format("Invalid coordinates [%d, %d) of %s", start, end, id));
+        }
+        consumer.accept(start, end, id, true);
+    }
+
+    private static String decodeTokenId(JsonParser parser) throws IOException {
+        String id = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (field.equals("id")) {
+                id = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return id;
+    }
+}
@@ -1,185 +1,657 @@
 package org.monarchinitiative.hpotextmining.core.miners.scigraph;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.monarchinitiative.hpotextmining.core.miners.AsyncTermMiner;
 import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
-import org.monarchinitiative.hpotextmining.core.miners.TermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTermBuffer;
 import org.monarchinitiative.hpotextmining.core.miners.TermMinerException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.net.ssl.HttpsURLConnection;
 import java.io.*;
 import java.net.*;
-import java.nio.charset.StandardCharsets;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.UnresolvedAddressException;
+import java.time.Duration;
 import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 
 
 /**
  * This class allows using Monarch SciGraph Server for text mining.
+ * <p>
+ * The requests are sent using {@link HttpClient} which keeps the connections alive and reuses them for subsequent
+ * requests, and which negotiates HTTP/2 if the server supports it. By default, a single client is shared by all the
+ * miners. Use {@link #builder(URL)} to configure the client and timeouts.
+ * <p>
+ * Besides the blocking {@link #doMining(String)}, the miner supports non-blocking mining via
+ * {@link #doMiningAsync(String)}. No thread is occupied while waiting for the server response in the latter case.
+ * The blocking mining decodes the response while it is being received. The non-blocking mining receives the whole
+ * response first, unless an executor for decoding the streamed responses is set, see
+ * {@link Builder#decodingExecutor(Executor)}.
+ * Batches of short queries can be packed into a single request, see {@link Builder#packing(int, int)}, and the
+ * request and response bodies can be compressed, see {@link Builder#compression(boolean)}.
  * TODO: take out the server configuration parameters to generalize it (and merge it to AskTudorServer) if necessary
  *
  * @author <a href="mailto:aaron.zhang@jax.org">Aaron Zhang</a>
- * @version 0.2.3
+ * @version 0.2.9
  * @since 0.2.2
  */
-public class SciGraphTermMiner implements TermMiner {
+public class SciGraphTermMiner implements AsyncTermMiner {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SciGraphTermMiner.class);
 
-    private final ObjectMapper objectMapper;
-
     private final ConnectionFactory connectionFactory;
 
+    /**
+     * Packs the short queries of a batch, <code>null</code> if packing is disabled.
+     */
+    private final QueryPacker packer;
+
+    /**
+     * Decodes the streamed responses of the non-blocking mining, <code>null</code> if the responses are buffered.
+     */
+    private final Executor decodingExecutor;
+
     public SciGraphTermMiner(URL server) {
         this(new ConnectionFactory(server));
     }
 
     /**
-     * @param factory {@link ConnectionFactory} for making {@link URLConnection}s
+     * @param factory {@link ConnectionFactory} for sending the requests
      */
     SciGraphTermMiner(ConnectionFactory factory) {
-        this.connectionFactory = factory; // the factory makes possible to mock & test. We need to do that because class `URL` is final
-        this.objectMapper = new ObjectMapper();
+        this(factory, null);
     }
 
-    private static String getParamsString(Map<String, String> params) throws UnsupportedEncodingException {
-        StringBuilder result = new StringBuilder();
-
-        for (Map.Entry<String, String> entry : params.entrySet()) {
-            result.append(URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8));
-            result.append("=");
-            result.append(URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8));
-            result.append("&");
-        }
-
-        String resultString = result.toString();
-        return resultString.length() > 0
-                ? resultString.substring(0, resultString.length() - 1)
-                : resultString;
+    SciGraphTermMiner(ConnectionFactory factory, QueryPacker packer) {
+        this(factory, packer, null);
     }
 
+    SciGraphTermMiner(ConnectionFactory factory, QueryPacker packer, Executor decodingExecutor) {
+        this.connectionFactory = factory; // the factory makes possible to mock & test without a server
+        this.packer = packer;
+        this.decodingExecutor = decodingExecutor;
+    }
 
     /**
-     * @return {@link Function} mapping {@link SciGraphResult} to {@link MinedTerm}
+     * @param server {@link URL} of the SciGraph <code>annotations/complete</code> endpoint
+     * @return builder for configuring the {@link SciGraphTermMiner}
+     * @since 0.2.9
      */
-    private static Function<SciGraphResult, MinedTerm> toMinedTerm() {
-        return sgr -> MinedTerm.of(sgr.getStart(), sgr.getEnd(), sgr.getToken().getId(), true);
+    public static Builder builder(URL server) {
+        return new Builder(server);
     }
 
-
     /**
      * Performs mining of the provided text using SciGraph service; <code>query</code> String is sent to the SciGraph
-     * API and the Thread is blocked until a <em>JSON</em> response is received. The response is then decoded into
-     * {@link MinedTerm}s.
+     * API and the Thread is blocked until a <em>JSON</em> response is received. The response is decoded into
+     * {@link MinedTerm}s while being read from the connection.
      *
      * @param query String with text to be mined for HPO terms
-     * @return {@link Set} of {@link MinedTerm}s representing identified HPO terms. The set is empty, if I/O error
-     * occurs or if URL/query are invalid
+     * @return {@link Set} of {@link MinedTerm}s representing identified HPO terms
+     * @throws TermMinerException if the query is invalid, or if the request or parsing of the response fails
      */
     @Override
     public Set<MinedTerm> doMining(String query) throws TermMinerException {
+        return send(query, SciGraphResponseDecoder::decode);
+    }
+
+    /**
+     * Performs mining of the provided text like {@link #doMining(String)}, but the response is decoded directly into
+     * the <code>buffer</code>. Unlike {@link #doMining(String)}, duplicate results are retained, unless the
+     * <code>buffer</code> is distinct.
+     *
+     * @param query  String with text to be mined for HPO terms
+     * @param buffer {@link MinedTermBuffer} to add the identified HPO terms to
+     * @throws TermMinerException if the query is invalid, or if the request or parsing of the response fails
+     */
+    @Override
+    public void doMining(String query, MinedTermBuffer buffer) throws TermMinerException {
+        Objects.requireNonNull(buffer, "Buffer must not be null");
+        send(query, is -> {
+            SciGraphResponseDecoder.decode(is, buffer);
+            return null;
+        });
+    }
+
+    private <T> T send(String query, ResponseDecoder<T> decoder) throws TermMinerException {
         if (query == null) {
             throw new TermMinerException("Query must not be null");
         }
 
-        StringBuilder jsonStringBuilder = new StringBuilder();
         try {
-            HashMap<String, String> parameters = new HashMap<>();
-            parameters.put("content", query);
-            parameters.put("includeCat", "phenotype"); //only retrieve phenotypes
-            parameters.put("includeAcronym", "true");
-
+            HttpResponse<InputStream> response = connectionFactory.send(query);
+            try (InputStream is = response.body()) {
+                if (response.statusCode() != HttpURLConnection.HTTP_OK) {
+                    throw new TermMinerException("Server responded with status " + response.statusCode());
+                }
+                // decode the response as it arrives
+                return decodeResponse(is, decoder);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TermMinerException("Interrupted while waiting for the server response", e);
+        } catch (IOException e) {
+            throw asTermMinerException(e);
+        }
+    }
 
-            URLConnection connection = connectionFactory.getConnection();
-            String protocol = connection.getURL().getProtocol();
+    private static <T> T decodeResponse(InputStream is, ResponseDecoder<T> decoder) throws TermMinerException {
+        try {
+            return decoder.decode(is);
+        } catch (JsonProcessingException e) {
+            throw new TermMinerException("Error occurred during parsing response from the server", e);
+        } catch (IOException e) {
+            throw asTermMinerException(e);
+        }
+    }
 
-            try (OutputStreamWriter writer = new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8)) {
-                writer.write(getParamsString(parameters));
-            }
+    /**
+     * Performs non-blocking mining of the provided text using SciGraph service. No thread is blocked while waiting for
+     * the response. Cancelling the returned future aborts the request.
+     * <p>
+     * By default, the whole response is received into memory and then decoded on the thread of the {@link HttpClient}.
+     * If {@link Builder#decodingExecutor(Executor)} is set, the response is decoded on the executor as it arrives,
+     * hence the response is not buffered, but an executor thread is occupied while the response body is received.
+     *
+     * @param query String with text to be mined for HPO terms
+     * @return {@link CompletableFuture} with {@link Set} of {@link MinedTerm}s representing identified HPO terms, or
+     * completed exceptionally with {@link TermMinerException} if the query is invalid or the request fails
+     */
+    @Override
+    public CompletableFuture<Collection<MinedTerm>> doMiningAsync(String query) {
+        if (query == null) {
+            return CompletableFuture.failedFuture(new TermMinerException("Query must not be null"));
+        }
 
-            try (BufferedReader br = new BufferedReader(new InputStreamReader(connection.getInputStream()))) {
-                String line;
-                while ((line = br.readLine()) != null) {
-                    jsonStringBuilder.append(line);
+        CompletableFuture<HttpResponse<InputStream>> response = connectionFactory.sendAsync(query);
+
+        CompletableFuture<Collection<MinedTerm>> result = new CompletableFuture<>();
+        response.whenComplete((resp, throwable) -> {
+            if (throwable != null) {
+                result.completeExceptionally(asTermMinerException(throwable));
+            } else if (resp.statusCode() != HttpURLConnection.HTTP_OK) {
+                closeQuietly(resp.body());
+                result.completeExceptionally(new TermMinerException("Server responded with status " + resp.statusCode()));
+            } else if (decodingExecutor == null) {
+                decodeAsync(resp.body(), result);
+            } else {
+                // the streamed body is read by blocking, hence not on the thread of the client
+                try {
+                    decodingExecutor.execute(() -> decodeAsync(resp.body(), result));
+                } catch (RejectedExecutionException e) {
+                    closeQuietly(resp.body());
+                    result.completeExceptionally(new TermMinerException("Decoding of the response was rejected", e));
                 }
             }
+        });
+        // propagate cancellation to the pending request
+        result.whenComplete((terms, throwable) -> {
+            if (result.isCancelled()) {
+                response.cancel(true);
+            }
+        });
+        return result;
+    }
 
-            if (protocol.equals("http")) {
-                ((HttpURLConnection) connection).disconnect();
-            } else if (protocol.equals("https")) {
-                ((HttpsURLConnection) connection).disconnect();
+    private static void decodeAsync(InputStream body, CompletableFuture<Collection<MinedTerm>> result) {
+        try (InputStream is = body) {
+            if (!result.isDone()) { // e.g. cancelled
+                result.complete(decodeResponse(is, SciGraphResponseDecoder::decode));
             }
+        } catch (TermMinerException e) {
+            result.completeExceptionally(e);
+        } catch (IOException e) {
+            result.completeExceptionally(asTermMinerException(e));
+        }
+    }
 
-        } catch (ProtocolException e) {
-            LOGGER.warn("Protocol exception", e);
-            throw new TermMinerException("Protocol exception", e);
-        } catch (UnsupportedEncodingException e) {
-            LOGGER.warn("Unsupported encoding", e);
-            throw new TermMinerException("Unsupported encoding", e);
-        } catch (UnknownHostException e) { // this happens if you are offline
-            LOGGER.warn("Unable to connect to host '{}'", e.getMessage(), e);
-            throw new TermMinerException("Unable to connect to host " + e.getMessage(), e);
+    private static void closeQuietly(InputStream is) {
+        try {
+            is.close();
         } catch (IOException e) {
-            LOGGER.warn("I/O error occured", e);
-            throw new TermMinerException("I/O error occured", e);
+            LOGGER.debug("Error closing the response body", e);
         }
+    }
 
+    /**
+     * Mine the batch. If packing is enabled, the short queries are joined into a single request and the mined terms
+     * are split back to the queries. Failure of a packed request is reported for each of its queries.
+     */
+    @Override
+    public <K> Map<K, Collection<MinedTerm>> doMiningBatch(Map<K, String> queries,
+                                                           Executor executor,
+                                                           int maxConcurrency,
+                                                           BiConsumer<? super K, ? super TermMinerException> onFailure) {
+        if (packer == null) {
+            return AsyncTermMiner.super.doMiningBatch(queries, executor, maxConcurrency, onFailure);
+        }
+        Objects.requireNonNull(queries, "Queries must not be null");
+        Objects.requireNonNull(onFailure, "Failure handler must not be null");
 
-        //map json result into SciGraphResult objects and then to MinedTerm objects
-        try {
-            final SciGraphResult[] sciGraphResults = objectMapper.readValue(jsonStringBuilder.toString(), SciGraphResult[].class);
+        List<QueryPacker.Pack<K>> packs = packer.pack(queries);
+        Map<Integer, String> packed = new LinkedHashMap<>();
+        for (int i = 0; i < packs.size(); i++) {
+            packed.put(i, packs.get(i).content());
+        }
+        Map<Integer, TermMinerException> failures = new HashMap<>();
+        Map<Integer, Collection<MinedTerm>> mined = AsyncTermMiner.super.doMiningBatch(packed, executor, maxConcurrency, failures::put);
 
-            return Arrays.stream(sciGraphResults)
-                    .map(toMinedTerm())
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toSet());
-        } catch (IOException e) {
-            throw new TermMinerException("Error occurred during parsing response from the server", e);
+        Map<K, Collection<MinedTerm>> results = new HashMap<>();
+        for (Map.Entry<Integer, Collection<MinedTerm>> entry : mined.entrySet()) {
+            results.putAll(packs.get(entry.getKey()).split(entry.getValue(), queries));
         }
 
+        // report in the order of the queries, like the other implementations
+        Map<K, TermMinerException> failed = new HashMap<>();
+        failures.forEach((i, e) -> packs.get(i).keys().forEach(key -> failed.put(key, e)));
+        Map<K, Collection<MinedTerm>> ordered = new LinkedHashMap<>();
+        for (K key : queries.keySet()) {
+            Collection<MinedTerm> terms = results.get(key);
+            if (terms != null) {
+                ordered.put(key, terms);
+            } else {
+                onFailure.accept(key, failed.getOrDefault(key, new TermMinerException("Batch mining was interrupted")));
+            }
+        }
+        return ordered;
+    }
+
+    private static TermMinerException asTermMinerException(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+        if (cause instanceof TermMinerException) {
+            return (TermMinerException) cause;
+        } else if (cause instanceof ConnectException
+                && (cause.getCause() instanceof UnresolvedAddressException || cause.getCause() instanceof UnknownHostException)) {
+            // this happens if you are offline
+            LOGGER.warn("Unable to connect to host '{}'", cause.getMessage(), cause);
+            UnknownHostException unknownHost = new UnknownHostException(cause.getMessage());
+            unknownHost.initCause(cause);
+            return new TermMinerException("Unable to connect to host " + cause.getMessage(), unknownHost);
+        } else if (cause instanceof IOException) {
+            LOGGER.warn("I/O error occured", cause);
+            return new TermMinerException("I/O error occured", cause);
+        }
+        return new TermMinerException("Error occurred during mining", cause);
+    }
+
+    @FunctionalInterface
+    private interface ResponseDecoder<T> {
+
+        T decode(InputStream is) throws IOException;
     }
 
     /**
-     * Each time the text mining is requested we send the query to the server using a new connection.
+     * Builder for {@link SciGraphTermMiner}.
+     *
+     * @since 0.2.9
+     */
+    public static final class Builder {
+
+        private final URL server;
+
+        private HttpClient httpClient;
+
+        private Duration connectTimeout;
+
+        private Duration readTimeout = ConnectionFactory.DEFAULT_READ_TIMEOUT;
+
+        private QueryPacker packer;
+
+        private boolean compression;
+
+        private Executor decodingExecutor;
+
+        private Builder(URL server) {
+            this.server = Objects.requireNonNull(server, "Server URL must not be null");
+        }
+
+        /**
+         * @param httpClient {@link HttpClient} to use for sending the requests. The client is shared by all the
+         *                   miners by default
+         * @return this {@link Builder} instance
+         */
+        public Builder httpClient(HttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        /**
+         * @param connectTimeout fail if the connection is not established within the timeout (5s by default). Setting
+         *                       the timeout creates a new {@link HttpClient}, it is ignored if a client is provided via
+         *                       {@link #httpClient(HttpClient)}
+         * @return this {@link Builder} instance
+         */
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        /**
+         * @param readTimeout fail if the response is not received within the timeout (30s by default)
+         * @return this {@link Builder} instance
+         */
+        public Builder readTimeout(Duration readTimeout) {
+            this.readTimeout = Objects.requireNonNull(readTimeout, "Read timeout must not be null");
+            return this;
+        }
+
+        /**
+         * Enable packing of the short queries in {@link #doMiningBatch(Map, Executor, int, BiConsumer)}. The queries
+         * are joined into a single request while the number of queries and the request size are within the limits.
+         *
+         * @param maxQueries maximum number of queries packed into a request
+         * @param maxBytes   maximum size of the packed text in UTF-8 bytes
+         * @return this {@link Builder} instance
+         */
+        public Builder packing(int maxQueries, int maxBytes) {
+            this.packer = new QueryPacker(maxQueries, maxBytes);
+            return this;
+        }
+
+        /**
+         * Enable <code>gzip</code>/<code>deflate</code> compression of the responses and <code>gzip</code> compression
+         * of the requests of the long queries. The miner falls back to uncompressed requests if the server does not
+         * accept the compressed ones, and the server is free to send uncompressed responses. Disabled by default.
+         *
+         * @param compression <code>true</code> to enable the compression
+         * @return this {@link Builder} instance
+         */
+        public Builder compression(boolean compression) {
+            this.compression = compression;
+            return this;
+        }
+
+        /**
+         * Decode the responses of {@link #doMiningAsync(String)} on the <code>executor</code> while they are being
+         * received. By default, the whole response is received into memory first, which does not occupy any thread
+         * while waiting for the response body, but which buffers the entire response.
+         *
+         * @param decodingExecutor {@link Executor} to decode the streamed responses on, or <code>null</code> to
+         *                         buffer the responses
+         * @return this {@link Builder} instance
+         */
+        public Builder decodingExecutor(Executor decodingExecutor) {
+            this.decodingExecutor = decodingExecutor;
+            return this;
+        }
+
+        /**
+         * @return a new {@link SciGraphTermMiner} instance
+         */
+        public SciGraphTermMiner build() {
+            HttpClient client;
+            if (httpClient != null) {
+                client = httpClient;
+            } else if (connectTimeout != null) {
+                client = ConnectionFactory.newHttpClient(connectTimeout);
+            } else {
+                client = ConnectionFactory.sharedHttpClient();
+            }
+            ConnectionFactory factory = new ConnectionFactory(server, client, readTimeout, compression, decodingExecutor != null);
+            return new SciGraphTermMiner(factory, packer, decodingExecutor);
+        }
+    }
+
+    /**
+     * Each time the text mining is requested we send the query to the server using the {@link HttpClient}. The client
+     * maintains a pool of keep-alive connections, hence the connection is reused if possible.
+     * <p>
+     * If compression is enabled, the factory asks for a <code>gzip</code> or <code>deflate</code> compressed response,
+     * and it compresses the requests of the long queries with <code>gzip</code>. A server which rejects the compressed
+     * request with <code>415</code> (or with <code>400</code> before accepting any compressed request) is remembered,
+     * the request is repeated uncompressed, and the next requests to the server are sent uncompressed.
      */
     public static class ConnectionFactory {
 
+        static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(5);
+
+        static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(30);
+
+        /**
+         * Requests of shorter queries are not worth compressing.
+         */
+        static final int MIN_COMPRESSED_QUERY_LENGTH = 1024;
+
+        /**
+         * Whether the servers, keyed by scheme and authority, accept compressed requests. Missing if not known yet.
+         */
+        private static final Map<String, Boolean> REQUEST_COMPRESSION = new ConcurrentHashMap<>();
+
+        private static HttpClient sharedHttpClient;
+
         private final URL url;
 
+        private final HttpClient httpClient;
+
+        private final Duration readTimeout;
+
+        private final boolean compression;
+
+        /**
+         * Whether the bodies of the asynchronous responses are streamed rather than buffered.
+         */
+        private final boolean streaming;
+
         public ConnectionFactory(URL url) {
+            this(url, sharedHttpClient(), DEFAULT_READ_TIMEOUT);
+        }
+
+        public ConnectionFactory(URL url, HttpClient httpClient, Duration readTimeout) {
+            this(url, httpClient, readTimeout, false);
+        }
+
+        /**
+         * @param compression compress the requests and ask for the compressed responses if <code>true</code>
+         * @since 0.2.9
+         */
+        public ConnectionFactory(URL url, HttpClient httpClient, Duration readTimeout, boolean compression) {
+            this(url, httpClient, readTimeout, compression, false);
+        }
+
+        /**
+         * @param compression compress the requests and ask for the compressed responses if <code>true</code>
+         * @param streaming   complete the futures of {@link #sendAsync(String)} once the response headers are received,
+         *                    with the body to be read as it arrives, rather than once the whole body is received
+         * @since 0.2.9
+         */
+        public ConnectionFactory(URL url, HttpClient httpClient, Duration readTimeout, boolean compression, boolean streaming) {
             this.url = url;
+            this.httpClient = httpClient;
+            this.readTimeout = readTimeout;
+            this.compression = compression;
+            this.streaming = streaming;
+        }
+
+        /**
+         * @return {@link HttpClient} shared by the remote miners, unless configured otherwise
+         * @since 0.2.9
+         */
+        public static synchronized HttpClient sharedHttpClient() {
+            if (sharedHttpClient == null) {
+                sharedHttpClient = newHttpClient(DEFAULT_CONNECT_TIMEOUT);
+            }
+            return sharedHttpClient;
+        }
+
+        /**
+         * @param connectTimeout fail if the connection is not established within the timeout
+         * @return a new {@link HttpClient} with the settings of the shared client, except for the timeout
+         * @since 0.2.9
+         */
+        public static HttpClient newHttpClient(Duration connectTimeout) {
+            return HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2) // falls back to HTTP/1.1 if not supported by the server
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .connectTimeout(connectTimeout)
+                    .build();
+        }
+
+        private String serverKey() {
+            return url.getProtocol() + "://" + url.getAuthority();
+        }
+
+        /**
+         * @return <code>true</code> if the request of the <code>query</code> should be compressed
+         */
+        private boolean compressRequest(String query) {
+            return compression
+                    && query.length() >= MIN_COMPRESSED_QUERY_LENGTH
+                    && REQUEST_COMPRESSION.getOrDefault(serverKey(), true);
         }
 
         /**
-         * Set up the connection.
+         * Learn from the response to a compressed request whether the server accepts the compressed requests.
          *
-         * @return {@link URLConnection} prepared to use
-         * @throws IOException in case of I/O error
-         */
-        URLConnection getConnection() throws IOException {
-            URLConnection connection = url.openConnection();
-            final String protocol = url.getProtocol();
-            switch (protocol) {
-                case "http":
-                    ((HttpURLConnection) connection).setRequestMethod("POST");
-                    break;
-                case "https":
-                    ((HttpsURLConnection) connection).setRequestMethod("POST");
-                    break;
-                default:
-                    break;
+         * @return <code>true</code> if the request should be repeated uncompressed
+         */
+        private boolean rejectedCompression(int status) {
+            String key = serverKey();
+            if (status == 415 || status == HttpURLConnection.HTTP_BAD_REQUEST && REQUEST_COMPRESSION.get(key) == null) {
+                LOGGER.info("Server {} rejected compressed request with status {}, sending uncompressed requests", key, status);
+                REQUEST_COMPRESSION.put(key, false);
+                return true;
+            }
+            if (status == HttpURLConnection.HTTP_OK) {
+                REQUEST_COMPRESSION.putIfAbsent(key, true);
             }
+            return false;
+        }
+
+        /**
+         * Set up the request. The query is URL-encoded into the form while being sent, see {@link FormEncoder}.
+         *
+         * @param query    text to be mined
+         * @param compress compress the request body with <code>gzip</code> if <code>true</code>
+         * @return {@link HttpRequest} prepared to use
+         */
+        private HttpRequest getRequest(String query, boolean compress) {
+            URI uri;
+            try {
+                uri = url.toURI();
+            } catch (URISyntaxException e) {
+                throw new IllegalArgumentException("Invalid server URL " + url, e);
+            }
+            HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                    .timeout(readTimeout) //fail if no response in 30s
+                    .header("Accept", "application/json")
+                    .header("Content-Type", "application/x-www-form-urlencoded; charset=UTF-8");
+            if (compression) {
+                builder.header("Accept-Encoding", HttpCompression.ACCEPT_ENCODING);
+            }
+            if (compress) {
+                builder.header("Content-Encoding", HttpCompression.GZIP)
+                        .POST(HttpRequest.BodyPublishers.ofInputStream(() -> HttpCompression.gzip(new FormEncoder.FormInputStream(query))));
+            } else {
+                builder.POST(FormEncoder.publisher(query));
+            }
+            return builder.build();
+        }
 
-            //
-            connection.setDoInput(true);
-            connection.setDoOutput(true);
-            connection.setRequestProperty("Accept", "application/json");
-            connection.setConnectTimeout(5000); //fail if no connection for 5s
-            connection.setReadTimeout(30000); //fail if no read for 30s
-            connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded; charset=UTF-8");
-            return connection;
+        /**
+         * @return handler decoding the body according to the <code>Content-Encoding</code>
+         */
+        private static HttpResponse.BodyHandler<InputStream> decoding(HttpResponse.BodyHandler<InputStream> handler) {
+            return info -> HttpResponse.BodySubscribers.mapping(handler.apply(info),
+                    body -> HttpCompression.decode(body, info.headers()));
+        }
+
+        /**
+         * Send the <code>query</code> to the server and block until the response headers are received.
+         *
+         * @param query text to be mined
+         * @return {@link HttpResponse} with the body to be read, decompressed if necessary
+         * @throws IOException          in case of I/O error
+         * @throws InterruptedException if interrupted while waiting for the response
+         */
+        HttpResponse<InputStream> send(String query) throws IOException, InterruptedException {
+            HttpResponse.BodyHandler<InputStream> handler = decoding(HttpResponse.BodyHandlers.ofInputStream());
+            if (compressRequest(query)) {
+                HttpResponse<InputStream> response = httpClient.send(getRequest(query, true), handler);
+                if (!rejectedCompression(response.statusCode())) {
+                    return response;
+                }
+                response.body().close();
+            }
+            return httpClient.send(getRequest(query, false), handler);
+        }
+
+        /**
+         * Send the <code>query</code> to the server without blocking. The response body is received as a whole before
+         * the future completes, unless the factory is <code>streaming</code>.
+         *
+         * @param query text to be mined
+         * @return {@link CompletableFuture} with the response
+         */
+        CompletableFuture<HttpResponse<InputStream>> sendAsync(String query) {
+            HttpResponse.BodyHandler<InputStream> handler = decoding(streaming
+                    ? HttpResponse.BodyHandlers.ofInputStream()
+                    : info -> HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(), ByteArrayInputStream::new));
+            try {
+                if (compressRequest(query)) {
+                    return sendAsyncCompressed(query, handler);
+                }
+                return httpClient.sendAsync(getRequest(query, false), handler);
+            } catch (IllegalArgumentException e) {
+                return CompletableFuture.failedFuture(new TermMinerException(e.getMessage(), e));
+            }
+        }
+
+        /**
+         * Send the compressed request, and repeat it uncompressed if the server rejects the compression. Cancelling the
+         * returned future cancels the exchange in progress, which a dependent future such as
+         * {@link CompletableFuture#thenCompose} would not do.
+         */
+        private CompletableFuture<HttpResponse<InputStream>> sendAsyncCompressed(String query,
+                                                                                HttpResponse.BodyHandler<InputStream> handler) {
+            CompletableFuture<HttpResponse<InputStream>> result = new CompletableFuture<>();
+            CompletableFuture<HttpResponse<InputStream>> compressed = httpClient.sendAsync(getRequest(query, true), handler);
+            AtomicReference<CompletableFuture<HttpResponse<InputStream>>> pending = new AtomicReference<>(compressed);
+            compressed.whenComplete((response, throwable) -> {
+                if (throwable != null) {
+                    result.completeExceptionally(throwable);
+                } else if (!rejectedCompression(response.statusCode())) {
+                    result.complete(response);
+                } else if (!result.isDone()) {
+                    closeQuietly(response.body());
+                    CompletableFuture<HttpResponse<InputStream>> uncompressed;
+                    try {
+                        uncompressed = httpClient.sendAsync(getRequest(query, false), handler);
+                    } catch (IllegalArgumentException e) {
+                        result.completeExceptionally(new TermMinerException(e.getMessage(), e));
+                        return;
+                    }
+                    pending.set(uncompressed);
+                    uncompressed.whenComplete((r, t) -> {
+                        if (t != null) {
+                            result.completeExceptionally(t);
+                        } else {
+                            result.complete(r);
+                        }
+                    });
+                    // cancelled before the uncompressed request was registered
+                    if (result.isCancelled()) {
+                        uncompressed.cancel(true);
+                    }
+                }
+            });
+            result.whenComplete((response, throwable) -> {
+                if (result.isCancelled()) {
+                    pending.get().cancel(true);
+                }
+            });
+            return result;
         }
     }
 }
@@ -0,0 +1,297 @@
+package org.monarchinitiative.hpotextmining.core.ontology;
+
+import org.monarchinitiative.hpotextmining.core.miners.TermIdCodec;
+import org.monarchinitiative.phenol.ontology.data.MinimalOntology;
+import org.monarchinitiative.phenol.ontology.data.Term;
+import org.monarchinitiative.phenol.ontology.data.TermId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * Precomputed ancestors of all non-obsolete terms of an ontology, answering "is <em>a</em> an ancestor of
+ * <em>b</em>" with a single bit lookup.
+ * <p>
+ * The terms are assigned dense <code>int</code> codes in a topological order, the parents get lower codes than their
+ * children. Hence all ancestors of the term with code <code>c</code> have codes lower than <code>c</code>, and the
+ * ancestor bitset of the term needs only <code>ceil(c / 64)</code> words. The bitsets of all terms are stored in a
+ * single <code>long</code> array, which takes ~18 MB for the complete HPO. The term ids, including the alternative
+ * ids, are looked up by their {@link TermIdCodec} codes.
+ * <p>
+ * The instance is immutable and thread-safe.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public final class AncestorIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AncestorIndex.class);
+
+    /**
+     * Sorted {@link TermIdCodec} codes of the primary and of the alternative term ids.
+     */
+    private final long[] termIdCodes;
+
+    /**
+     * Dense code of the term id at the same index of {@link #termIdCodes}.
+     */
+    private final int[] denseCodes;
+
+    /**
+     * Primary term ids, index of the array corresponds to the dense code.
+     */
+    private final String[] termIds;
+
+    /**
+     * Start of the ancestor bitset of the term with dense code <code>c</code> is at <code>offsets[c]</code>, the
+     * bitset ends at <code>offsets[c + 1]</code>.
+     */
+    private final int[] offsets;
+
+    private final long[] ancestors;
+
+    private AncestorIndex(long[] termIdCodes, int[] denseCodes, String[] termIds, int[] offsets, long[] ancestors) {
+        this.termIdCodes = termIdCodes;
+        this.denseCodes = denseCodes;
+        this.termIds = termIds;
+        this.offsets = offsets;
+        this.ancestors = ancestors;
+    }
+
+    /**
+     * Build the index from the <em>is_a</em> hierarchy of the <code>ontology</code>.
+     *
+     * @param ontology {@link MinimalOntology} to index
+     * @return the index
+     * @throws IllegalArgumentException if the hierarchy contains a cycle
+     */
+    public static AncestorIndex of(MinimalOntology ontology) {
+        Objects.requireNonNull(ontology, "Ontology must not be null");
+        Map<TermId, Integer> indices = new LinkedHashMap<>();
+        List<Term> terms = new ArrayList<>();
+        for (Term term : ontology.getTerms()) {
+            if (!term.isObsolete() && indices.putIfAbsent(term.id(), terms.size()) == null) {
+                terms.add(term);
+            }
+        }
+
+        int n = terms.size();
+        String[] termIds = new String[n];
+        int[][] parents = new int[n][];
+        List<List<String>> altTermIds = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Term term = terms.get(i);
+            termIds[i] = term.id().getValue();
+            // parents restricted to the indexed terms
+            parents[i] = ontology.graph().getParentsStream(term.id())
+                    .map(indices::get)
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            altTermIds.add(term.getAltTermIds().stream().map(TermId::getValue).toList());
+        }
+        return build(termIds, parents, altTermIds);
+    }
+
+    /**
+     * Build the index from the <em>is_a</em> hierarchy of the <code>snapshot</code>, without re-hydrating the terms.
+     *
+     * @param snapshot {@link OntologySnapshot} to index
+     * @return the index
+     * @throws IllegalArgumentException if the hierarchy contains a cycle
+     */
+    public static AncestorIndex of(OntologySnapshot snapshot) {
+        Objects.requireNonNull(snapshot, "Snapshot must not be null");
+        int n = snapshot.size();
+        String[] termIds = new String[n];
+        int[][] parents = new int[n][];
+        List<List<String>> altTermIds = new ArrayList<>(n);
+        for (int code = 0; code < n; code++) {
+            // the snapshot contains only the non-obsolete terms
+            termIds[code] = snapshot.termId(code);
+            parents[code] = snapshot.parents(code);
+            altTermIds.add(snapshot.altTermIds(code));
+        }
+        return build(termIds, parents, altTermIds);
+    }
+
+    /**
+     * @param termIds    primary ids of the terms
+     * @param parents    indices of the parents of the terms
+     * @param altTermIds alternative ids of the terms
+     * @throws IllegalArgumentException if the hierarchy contains a cycle
+     */
+    static AncestorIndex build(String[] termIds, int[][] parents, List<List<String>> altTermIds) {
+        int n = termIds.length;
+        int[] parentCounts = new int[n];
+        List<List<Integer>> children = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            children.add(new ArrayList<>());
+        }
+        for (int i = 0; i < n; i++) {
+            parentCounts[i] = parents[i].length;
+            for (int parent : parents[i]) {
+                children.get(parent).add(i);
+            }
+        }
+
+        // Kahn's algorithm, the parents are assigned lower codes than their children
+        int[] order = new int[n];
+        int[] codes = new int[n];
+        int assigned = 0;
+        Deque<Integer> ready = new ArrayDeque<>();
+        for (int i = 0; i < n; i++) {
+            if (parentCounts[i] == 0) {
+                ready.add(i);
+            }
+        }
+        while (!ready.isEmpty()) {
+            int i = ready.poll();
+            codes[i] = assigned;
+            order[assigned++] = i;
+            for (int child : children.get(i)) {
+                if (--parentCounts[child] == 0) {
+                    ready.add(child);
+                }
+            }
+        }
+        if (assigned != n) {
+            throw new IllegalArgumentException("The ontology hierarchy contains a cycle involving "
+                    + (n - assigned) + " terms");
+        }
+
+        // the triangular bitset matrix
+        int[] offsets = new int[n + 1];
+        for (int code = 0; code < n; code++) {
+            offsets[code + 1] = Math.addExact(offsets[code], words(code));
+        }
+        long[] ancestors = new long[offsets[n]];
+        String[] sortedTermIds = new String[n];
+        for (int code = 0; code < n; code++) {
+            sortedTermIds[code] = termIds[order[code]];
+            int start = offsets[code];
+            for (int parent : parents[order[code]]) {
+                int p = codes[parent];
+                // ancestors of the parent and the parent itself
+                int parentStart = offsets[p], parentWords = offsets[p + 1] - parentStart;
+                for (int w = 0; w < parentWords; w++) {
+                    ancestors[start + w] |= ancestors[parentStart + w];
+                }
+                ancestors[start + (p >>> 6)] |= 1L << p;
+            }
+        }
+
+        // lookup of the primary and of the alternative ids
+        Map<Long, Integer> lookup = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            lookup.put(TermIdCodec.encode(termIds[i]), codes[i]);
+        }
+        for (int i = 0; i < n; i++) {
+            for (String altTermId : altTermIds.get(i)) {
+                lookup.putIfAbsent(TermIdCodec.encode(altTermId), codes[i]);
+            }
+        }
+        long[] termIdCodes = lookup.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        int[] denseCodes = new int[termIdCodes.length];
+        for (int i = 0; i < termIdCodes.length; i++) {
+            denseCodes[i] = lookup.get(termIdCodes[i]);
+        }
+
+        LOGGER.debug("Indexed ancestors of {} terms into {} words", n, ancestors.length);
+        return new AncestorIndex(termIdCodes, denseCodes, sortedTermIds, offsets, ancestors);
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    /**
+     * @return number of the indexed terms
+     */
+    public int size() {
+        return termIds.length;
+    }
+
+    /**
+     * @param termIdCode {@link TermIdCodec} code of a primary or an alternative term id
+     * @return dense code of the term or <code>-1</code> if the term is not indexed
+     */
+    public int code(long termIdCode) {
+        int i = Arrays.binarySearch(termIdCodes, termIdCode);
+        return i < 0 ? -1 : denseCodes[i];
+    }
+
+    /**
+     * @param termId primary or alternative term id, e.g. <code>HP:0001250</code>
+     * @return dense code of the term or <code>-1</code> if the term is not indexed
+     */
+    public int code(String termId) {
+        return code(TermIdCodec.encode(termId));
+    }
+
+    /**
+     * @param code dense code of a term
+     * @return primary id of the term
+     */
+    public String termId(int code) {
+        return termIds[code];
+    }
+
+    /**
+     * @param ancestor   dense code of the putative ancestor
+     * @param descendant dense code of the putative descendant
+     * @return <code>true</code> if <code>ancestor</code> is a proper ancestor of <code>descendant</code>
+     */
+    public boolean isAncestor(int ancestor, int descendant) {
+        Objects.checkIndex(ancestor, termIds.length);
+        Objects.checkIndex(descendant, termIds.length);
+        // the ancestors have lower codes
+        return ancestor < descendant && (ancestors[offsets[descendant] + (ancestor >>> 6)] & 1L << ancestor) != 0;
+    }
+
+    /**
+     * @param code dense code of a term
+     * @return dense codes of all proper ancestors of the term, in ascending order
+     */
+    public int[] ancestors(int code) {
+        Objects.checkIndex(code, termIds.length);
+        int start = offsets[code], end = offsets[code + 1];
+        int count = 0;
+        for (int w = start; w < end; w++) {
+            count += Long.bitCount(ancestors[w]);
+        }
+        int[] result = new int[count];
+        int i = 0;
+        for (int w = start; w < end; w++) {
+            long word = ancestors[w];
+            while (word != 0) {
+                result[i++] = ((w - start) << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Set the bits of all proper ancestors of the term in the <code>bitset</code>.
+     *
+     * @param code   dense code of a term
+     * @param bitset words of a bitset over the dense codes, at least <code>ceil(size() / 64)</code> words long
+     */
+    void orAncestors(int code, long[] bitset) {
+        int start = offsets[code], words = offsets[code + 1] - start;
+        for (int w = 0; w < words; w++) {
+            bitset[w] |= ancestors[start + w];
+        }
+    }
+
+    /**
+     * @return number of words of a bitset over all dense codes
+     */
+    int bitsetWords() {
+        return words(termIds.length);
+    }
+}
@@ -0,0 +1,62 @@
+package org.monarchinitiative.hpotextmining.core.ontology;
+
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Removes the mined terms that are implied by a more specific mined term, e.g. <em>Abnormality of the eye</em> is
+ * removed if <em>Cataract</em> has been mined from the same text.
+ * <p>
+ * Only the terms mined as present are pruned, since an absent descendant does not make the ancestor redundant. All
+ * occurrences of a retained term are retained, and the terms that are not in the {@link AncestorIndex} are retained
+ * as well. The ancestors of all present terms are collected into a single bitset, hence pruning of <code>n</code>
+ * terms takes <code>O(n * size / 64)</code> word operations instead of the graph traversals.
+ * <p>
+ * The instance is thread-safe.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public final class MostSpecificTermPruner {
+
+    private final AncestorIndex index;
+
+    /**
+     * @param index {@link AncestorIndex} of the ontology the terms are mined from
+     */
+    public MostSpecificTermPruner(AncestorIndex index) {
+        this.index = Objects.requireNonNull(index, "Index must not be null");
+    }
+
+    /**
+     * @param terms mined terms to prune
+     * @return {@link Set} with the most specific terms, in the iteration order of the <code>terms</code>
+     */
+    public Set<MinedTerm> prune(Collection<? extends MinedTerm> terms) {
+        int[] codes = new int[terms.size()];
+        long[] implied = new long[index.bitsetWords()];
+        int i = 0;
+        for (MinedTerm term : terms) {
+            int code = index.code(term.getTermIdCode());
+            codes[i++] = code;
+            if (code >= 0 && term.isPresent()) {
+                index.orAncestors(code, implied);
+            }
+        }
+
+        Set<MinedTerm> result = new LinkedHashSet<>();
+        i = 0;
+        for (MinedTerm term : terms) {
+            int code = codes[i++];
+            if (code < 0 || !term.isPresent() || (implied[code >>> 6] & 1L << code) == 0) {
+                result.add(term);
+            }
+        }
+        return result;
+    }
+}
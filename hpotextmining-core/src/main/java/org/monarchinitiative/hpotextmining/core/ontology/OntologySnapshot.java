@@ -0,0 +1,696 @@
+package org.monarchinitiative.hpotextmining.core.ontology;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.monarchinitiative.phenol.ontology.data.*;
+import org.monarchinitiative.phenol.ontology.data.impl.SimpleMinimalOntology;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ontology compiled into a compact binary file, which is memory-mapped instead of parsing <code>hp.json</code>.
+ * <p>
+ * The file contains a table of the distinct UTF-8 strings, a fixed-size record per term (id, name and definition), the <em>is_a</em> parents and children of the terms in CSR arrays (offsets per term followed by the
+ * values), the synonyms, and the alternative ids sorted for the lookup. The terms are sorted by their ids, hence a
+ * term is looked up by a binary search over the mapped file, and the opening takes only the time to map the file.
+ * <p>
+ * The snapshot is keyed by the ontology version, see {@link #open(Path, String)} and {@link #resolve(Path, String)}.
+ * The phenol {@link Term}s are re-hydrated on the first request and cached, the names, synonyms and the hierarchy
+ * can be used without creating them at all. Only the non-obsolete terms and synonyms are stored, regardless of whether
+ * {@link MinimalOntology#getTerms()} of the phenol version in use includes the obsolete terms.
+ * <p>
+ * The instance is immutable and thread-safe.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public final class OntologySnapshot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OntologySnapshot.class);
+
+    private static final int MAGIC = 0x48504F53;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_BYTES = 64;
+
+    private static final int TERM_RECORD_BYTES = 12;
+
+    /**
+     * Index of a missing string.
+     */
+    private static final int NONE = -1;
+
+    private static final String SUFFIX = ".snapshot";
+
+    private final ByteBuffer buffer;
+
+    private final String version;
+
+    private final int size;
+
+    private final int termsOffset, parentsOffset, childrenOffset, synonymsOffset, altIdsOffset;
+
+    private final int altLookupOffset, altLookupCount;
+
+    private final int stringsOffset, stringCount, blobOffset;
+
+    private final AtomicReferenceArray<Term> terms;
+
+    private OntologySnapshot(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not an ontology snapshot");
+        }
+        int format = buffer.getInt(4);
+        if (format != FORMAT_VERSION) {
+            throw new IOException("Unsupported snapshot format " + format);
+        }
+        this.size = buffer.getInt(8);
+        this.stringCount = buffer.getInt(12);
+        this.termsOffset = buffer.getInt(20);
+        this.parentsOffset = buffer.getInt(24);
+        this.childrenOffset = buffer.getInt(28);
+        this.synonymsOffset = buffer.getInt(32);
+        this.altIdsOffset = buffer.getInt(36);
+        this.altLookupOffset = buffer.getInt(40);
+        this.altLookupCount = buffer.getInt(44);
+        this.stringsOffset = buffer.getInt(48);
+        this.blobOffset = buffer.getInt(52);
+
+        // a truncated or corrupted file must be reported as such, not by an IndexOutOfBoundsException later
+        if (size < 0 || stringCount < 0 || altLookupCount < 0) {
+            throw new IOException("Corrupted snapshot header");
+        }
+        checkSection(termsOffset, (long) size * TERM_RECORD_BYTES);
+        checkCsr(parentsOffset, 1);
+        checkCsr(childrenOffset, 1);
+        checkCsr(synonymsOffset, 2);
+        checkCsr(altIdsOffset, 1);
+        checkSection(altLookupOffset, 8L * altLookupCount);
+        checkSection(stringsOffset, 4L * (stringCount + 1));
+        checkSection(blobOffset, buffer.getInt(stringsOffset + 4 * stringCount));
+        int versionString = buffer.getInt(16);
+        if (versionString < 0 || versionString >= stringCount) {
+            throw new IOException("Corrupted snapshot header");
+        }
+        this.version = string(versionString);
+        this.terms = new AtomicReferenceArray<>(size);
+    }
+
+    private void checkSection(long offset, long bytes) throws IOException {
+        if (offset < HEADER_BYTES || bytes < 0 || offset + bytes > buffer.capacity()) {
+            throw new IOException("Corrupted snapshot, section at " + offset + " exceeds the file of "
+                    + buffer.capacity() + " bytes");
+        }
+    }
+
+    /**
+     * Check the offsets of a CSR section and the values of <code>width</code> ints each.
+     */
+    private void checkCsr(int offset, int width) throws IOException {
+        checkSection(offset, 4L * (size + 1));
+        int values = buffer.getInt(offset + 4 * size);
+        checkSection(offset + 4L * (size + 1), 4L * width * values);
+    }
+
+    /**
+     * Memory-map the snapshot.
+     *
+     * @param path path to the snapshot file
+     * @return the snapshot
+     * @throws IOException if the file cannot be read or if it is not a snapshot of a supported format
+     */
+    public static OntologySnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // the mapping remains valid after the channel is closed
+            OntologySnapshot snapshot = new OntologySnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            LOGGER.debug("Opened snapshot of ontology {} with {} terms at {}", snapshot.version, snapshot.size, path);
+            return snapshot;
+        }
+    }
+
+    /**
+     * Memory-map the snapshot of the ontology <code>version</code>.
+     *
+     * @param path    path to the snapshot file
+     * @param version ontology version the snapshot is expected to have
+     * @return the snapshot or an empty optional if the file does not exist, it is not a valid snapshot, or if the
+     * snapshot has a different version
+     */
+    public static Optional<OntologySnapshot> open(Path path, String version) {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try {
+            OntologySnapshot snapshot = open(path);
+            if (snapshot.version().equals(version)) {
+                return Optional.of(snapshot);
+            }
+            LOGGER.debug("Snapshot at {} has version {}, {} is required", path, snapshot.version(), version);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to open snapshot at {}: {}", path, e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @param path path to a file
+     * @return <code>true</code> if the file starts like an ontology snapshot
+     * @throws IOException if the file cannot be read
+     */
+    public static boolean isSnapshot(Path path) throws IOException {
+        try (DataInputStream is = new DataInputStream(Files.newInputStream(path))) {
+            return is.readInt() == MAGIC;
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @param directory directory with the snapshots
+     * @param version   ontology version
+     * @return path of the snapshot of the ontology <code>version</code> in the <code>directory</code>
+     */
+    public static Path resolve(Path directory, String version) {
+        return directory.resolve("hp-" + version.replaceAll("[^A-Za-z0-9._-]+", "_") + SUFFIX);
+    }
+
+    /**
+     * Read the version of an ontology in the obographs JSON format (e.g. <code>hp.json</code>). The version is usually
+     * stored at the beginning of the file, before the terms, hence only the beginning of the file is parsed.
+     *
+     * @param json {@link InputStream} with the ontology JSON
+     * @return <code>meta.version</code> of the first graph, the <code>owl:versionInfo</code> property if the version
+     * is missing, or <code>null</code> if the JSON contains neither
+     * @throws IOException if the JSON cannot be parsed
+     */
+    public static String jsonVersion(InputStream json) throws IOException {
+        try (JsonParser parser = new JsonFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if (field.equals("graphs") && token == JsonToken.START_ARRAY) {
+                    return parser.nextToken() == JsonToken.START_OBJECT ? graphVersion(parser) : null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+
+    private static String graphVersion(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if (field.equals("meta") && token == JsonToken.START_OBJECT) {
+                String version = null, versionInfo = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String metaField = parser.getCurrentName();
+                    token = parser.nextToken();
+                    if (metaField.equals("version") && token == JsonToken.VALUE_STRING) {
+                        version = parser.getText();
+                    } else if (metaField.equals("basicPropertyValues") && token == JsonToken.START_ARRAY) {
+                        versionInfo = versionInfo(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                return version != null ? version : versionInfo;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    private static String versionInfo(JsonParser parser) throws IOException {
+        String versionInfo = null;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String pred = null, val = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if (field.equals("pred")) {
+                    pred = parser.getText();
+                } else if (field.equals("val")) {
+                    val = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if ("http://www.w3.org/2002/07/owl#versionInfo".equals(pred)) {
+                versionInfo = val;
+            }
+        }
+        return versionInfo;
+    }
+
+    /**
+     * Compile the <code>ontology</code> into a snapshot. The file is replaced atomically, hence a concurrent
+     * {@link #open(Path)} never sees a partially written snapshot.
+     *
+     * @param ontology {@link MinimalOntology} to compile
+     * @param version  ontology version to store in the snapshot
+     * @param path     path of the snapshot file
+     * @throws IOException if the snapshot cannot be written
+     */
+    public static void write(MinimalOntology ontology, String version, Path path) throws IOException {
+        Objects.requireNonNull(ontology, "Ontology must not be null");
+        Objects.requireNonNull(version, "Version must not be null");
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path tmp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream os = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+                new Writer(ontology, version).write(os);
+            }
+            Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * @return version of the ontology
+     */
+    public String version() {
+        return version;
+    }
+
+    /**
+     * @return number of the terms. The terms have codes <code>0</code> to
+     * <code>size() - 1</code>
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param termId primary or alternative term id, e.g. <code>HP:0001250</code>
+     * @return code of the term or <code>-1</code> if the snapshot does not contain the term
+     */
+    public int code(String termId) {
+        byte[] key = termId.getBytes(StandardCharsets.UTF_8);
+        int low = 0, high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(buffer.getInt(termsOffset + mid * TERM_RECORD_BYTES), key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        low = 0;
+        high = altLookupCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(buffer.getInt(altLookupOffset + mid * 8), key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return buffer.getInt(altLookupOffset + mid * 8 + 4);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param code code of a term
+     * @return primary id of the term
+     */
+    public String termId(int code) {
+        return string(record(code, 0));
+    }
+
+    /**
+     * @param code code of a term
+     * @return name of the term
+     */
+    public String name(int code) {
+        return string(record(code, 4));
+    }
+
+    /**
+     * @param code code of a term
+     * @return definition of the term or <code>null</code> if the term has no definition
+     */
+    public String definition(int code) {
+        return string(record(code, 8));
+    }
+
+    /**
+     * @param code code of a term
+     * @return codes of the <em>is_a</em> parents of the term
+     */
+    public int[] parents(int code) {
+        return csr(parentsOffset, code);
+    }
+
+    /**
+     * @param code code of a term
+     * @return codes of the <em>is_a</em> children of the term
+     */
+    public int[] children(int code) {
+        return csr(childrenOffset, code);
+    }
+
+    /**
+     * @param code code of a term
+     * @return alternative ids of the term
+     */
+    public List<String> altTermIds(int code) {
+        int[] strings = csr(altIdsOffset, code);
+        List<String> altTermIds = new ArrayList<>(strings.length);
+        for (int string : strings) {
+            altTermIds.add(string(string));
+        }
+        return altTermIds;
+    }
+
+    /**
+     * @param code code of a term
+     * @return values of the non-obsolete synonyms of the term
+     */
+    public List<String> synonyms(int code) {
+        int start = synonymStart(code), end = synonymStart(code + 1);
+        int values = synonymsOffset + 4 * (size + 1);
+        List<String> synonyms = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            synonyms.add(string(buffer.getInt(values + 8 * i)));
+        }
+        return synonyms;
+    }
+
+    /**
+     * @param code code of a term
+     * @return the phenol {@link Term}, created on the first request
+     */
+    public Term term(int code) {
+        Term term = terms.get(code);
+        if (term == null) {
+            term = rehydrate(code);
+            if (!terms.compareAndSet(code, null, term)) {
+                term = terms.get(code);
+            }
+        }
+        return term;
+    }
+
+    /**
+     * @param termId primary or alternative term id
+     * @return the phenol {@link Term} or an empty optional if the snapshot does not contain the term
+     */
+    public Optional<Term> termForTermId(TermId termId) {
+        int code = code(termId.getValue());
+        return code < 0 ? Optional.empty() : Optional.of(term(code));
+    }
+
+    /**
+     * Re-hydrate all terms into a phenol {@link MinimalOntology}, e.g. for the code requiring the phenol API. This is
+     * considerably faster than parsing the JSON, but it is not lazy.
+     *
+     * @return the {@link MinimalOntology}
+     */
+    public MinimalOntology toMinimalOntology() {
+        List<Term> allTerms = new ArrayList<>(size);
+        List<Relationship> relationships = new ArrayList<>();
+        for (int code = 0; code < size; code++) {
+            Term term = term(code);
+            allTerms.add(term);
+            for (int parent : parents(code)) {
+                relationships.add(new Relationship(term.id(), TermId.of(termId(parent)), relationships.size() + 1,
+                        RelationshipType.IS_A));
+            }
+        }
+        return SimpleMinimalOntology.builder()
+                .terms(allTerms)
+                .relationships(relationships)
+                .build();
+    }
+
+    private Term rehydrate(int code) {
+        int start = synonymStart(code), end = synonymStart(code + 1);
+        int values = synonymsOffset + 4 * (size + 1);
+        List<TermSynonym> synonyms = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            String scope = string(buffer.getInt(values + 8 * i + 4));
+            synonyms.add(new TermSynonym(string(buffer.getInt(values + 8 * i)),
+                    scope == null ? null : TermSynonymScope.valueOf(scope), null, List.of(), null));
+        }
+        String definition = definition(code);
+        return Term.builder(TermId.of(termId(code)))
+                .name(name(code))
+                .definition(definition == null ? "" : definition)
+                .synonyms(synonyms)
+                .altTermIds(altTermIds(code).stream().map(TermId::of).toList())
+                .build();
+    }
+
+    private int record(int code, int field) {
+        Objects.checkIndex(code, size);
+        return buffer.getInt(termsOffset + code * TERM_RECORD_BYTES + field);
+    }
+
+    private int synonymStart(int code) {
+        return buffer.getInt(synonymsOffset + 4 * code);
+    }
+
+    private int[] csr(int section, int code) {
+        Objects.checkIndex(code, size);
+        int start = buffer.getInt(section + 4 * code), end = buffer.getInt(section + 4 * (code + 1));
+        int values = section + 4 * (size + 1);
+        int[] result = new int[end - start];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = buffer.getInt(values + 4 * (start + i));
+        }
+        return result;
+    }
+
+    private String string(int index) {
+        if (index == NONE) {
+            return null;
+        }
+        Objects.checkIndex(index, stringCount);
+        int start = buffer.getInt(stringsOffset + 4 * index), end = buffer.getInt(stringsOffset + 4 * (index + 1));
+        byte[] bytes = new byte[end - start];
+        buffer.get(blobOffset + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compare the UTF-8 bytes of the string with the <code>key</code> without decoding the string.
+     */
+    private int compare(int index, byte[] key) {
+        int start = blobOffset + buffer.getInt(stringsOffset + 4 * index);
+        int length = blobOffset + buffer.getInt(stringsOffset + 4 * (index + 1)) - start;
+        int n = Math.min(length, key.length);
+        for (int i = 0; i < n; i++) {
+            int cmp = Byte.compareUnsigned(buffer.get(start + i), key[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(length, key.length);
+    }
+
+    /**
+     * Lays out the snapshot in memory and writes it at once.
+     */
+    private static final class Writer {
+
+        private final Map<String, Integer> stringIndices = new HashMap<>();
+
+        private final List<byte[]> strings = new ArrayList<>();
+
+        private final int version;
+
+        private final int[] termRecords;
+
+        private final int[][] parents, children, synonyms, altIds;
+
+        private final int[] altLookup;
+
+        private Writer(MinimalOntology ontology, String version) {
+            this.version = string(version);
+            Map<TermId, Term> unique = new LinkedHashMap<>();
+            for (Term term : ontology.getTerms()) {
+                // phenol 2.0 includes the obsolete terms
+                if (!term.isObsolete()) {
+                    unique.putIfAbsent(term.id(), term);
+                }
+            }
+            // sorted by the UTF-8 bytes of the ids, as compared by the lookup
+            List<Term> sorted = new ArrayList<>(unique.values());
+            sorted.sort((a, b) -> Arrays.compareUnsigned(utf8(a.id().getValue()), utf8(b.id().getValue())));
+            int n = sorted.size();
+            Map<TermId, Integer> codes = new HashMap<>();
+            for (int code = 0; code < n; code++) {
+                codes.put(sorted.get(code).id(), code);
+            }
+
+            termRecords = new int[3 * n];
+            parents = new int[n][];
+            synonyms = new int[n][];
+            altIds = new int[n][];
+            List<List<Integer>> childLists = new ArrayList<>(n);
+            for (int code = 0; code < n; code++) {
+                childLists.add(new ArrayList<>());
+            }
+            List<Map.Entry<String, Integer>> alternatives = new ArrayList<>();
+            for (int code = 0; code < n; code++) {
+                Term term = sorted.get(code);
+                String definition = term.getDefinition();
+                termRecords[3 * code] = string(term.id().getValue());
+                termRecords[3 * code + 1] = string(term.getName());
+                termRecords[3 * code + 2] = definition == null || definition.isEmpty() ? NONE : string(definition);
+
+                parents[code] = ontology.graph().getParentsStream(term.id())
+                        .map(codes::get)
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+                for (int parent : parents[code]) {
+                    childLists.get(parent).add(code);
+                }
+
+                List<Integer> termSynonyms = new ArrayList<>();
+                for (TermSynonym synonym : term.getSynonyms()) {
+                    if (!synonym.isObsoleteSynonym() && synonym.getValue() != null) {
+                        termSynonyms.add(string(synonym.getValue()));
+                        termSynonyms.add(synonym.getScope() == null ? NONE : string(synonym.getScope().name()));
+                    }
+                }
+                synonyms[code] = termSynonyms.stream().mapToInt(Integer::intValue).toArray();
+
+                altIds[code] = new int[term.getAltTermIds().size()];
+                for (int i = 0; i < altIds[code].length; i++) {
+                    String altId = term.getAltTermIds().get(i).getValue();
+                    altIds[code][i] = string(altId);
+                    alternatives.add(Map.entry(altId, code));
+                }
+            }
+            children = new int[n][];
+            for (int code = 0; code < n; code++) {
+                children[code] = childLists.get(code).stream().mapToInt(Integer::intValue).toArray();
+            }
+
+            alternatives.sort((a, b) -> Arrays.compareUnsigned(utf8(a.getKey()), utf8(b.getKey())));
+            altLookup = new int[2 * alternatives.size()];
+            for (int i = 0; i < alternatives.size(); i++) {
+                altLookup[2 * i] = string(alternatives.get(i).getKey());
+                altLookup[2 * i + 1] = alternatives.get(i).getValue();
+            }
+        }
+
+        private static byte[] utf8(String value) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        private int string(String value) {
+            Integer index = stringIndices.get(value);
+            if (index == null) {
+                index = strings.size();
+                stringIndices.put(value, index);
+                strings.add(utf8(value));
+            }
+            return index;
+        }
+
+        private static int csrBytes(int[][] rows, int width) {
+            int values = 0;
+            for (int[] row : rows) {
+                values += row.length / width;
+            }
+            return 4 * (rows.length + 1) + 4 * width * values;
+        }
+
+        private void write(DataOutputStream os) throws IOException {
+            int n = parents.length;
+            int termsOffset = HEADER_BYTES;
+            int parentsOffset = termsOffset + 4 * termRecords.length;
+            int childrenOffset = parentsOffset + csrBytes(parents, 1);
+            int synonymsOffset = childrenOffset + csrBytes(children, 1);
+            int altIdsOffset = synonymsOffset + csrBytes(synonyms, 2);
+            int altLookupOffset = altIdsOffset + csrBytes(altIds, 1);
+            int stringsOffset = altLookupOffset + 4 * altLookup.length;
+            int blobOffset = stringsOffset + 4 * (strings.size() + 1);
+            long blobBytes = 0;
+            for (byte[] string : strings) {
+                blobBytes += string.length;
+            }
+            if (blobOffset + blobBytes > Integer.MAX_VALUE) {
+                throw new IOException("The snapshot would exceed 2 GB");
+            }
+
+            os.writeInt(MAGIC);
+            os.writeInt(FORMAT_VERSION);
+            os.writeInt(n);
+            os.writeInt(strings.size());
+            os.writeInt(version);
+            os.writeInt(termsOffset);
+            os.writeInt(parentsOffset);
+            os.writeInt(childrenOffset);
+            os.writeInt(synonymsOffset);
+            os.writeInt(altIdsOffset);
+            os.writeInt(altLookupOffset);
+            os.writeInt(altLookup.length / 2);
+            os.writeInt(stringsOffset);
+            os.writeInt(blobOffset);
+            os.write(new byte[HEADER_BYTES - 14 * 4]);
+
+            writeInts(os, termRecords);
+            writeCsr(os, parents, 1);
+            writeCsr(os, children, 1);
+            writeCsr(os, synonyms, 2);
+            writeCsr(os, altIds, 1);
+            writeInts(os, altLookup);
+
+            int offset = 0;
+            os.writeInt(offset);
+            for (byte[] string : strings) {
+                offset += string.length;
+                os.writeInt(offset);
+            }
+            for (byte[] string : strings) {
+                os.write(string);
+            }
+        }
+
+        private static void writeCsr(DataOutputStream os, int[][] rows, int width) throws IOException {
+            int offset = 0;
+            os.writeInt(offset);
+            for (int[] row : rows) {
+                offset += row.length / width;
+                os.writeInt(offset);
+            }
+            for (int[] row : rows) {
+                writeInts(os, row);
+            }
+        }
+
+        private static void writeInts(DataOutputStream os, int[] values) throws IOException {
+            for (int value : values) {
+                os.writeInt(value);
+            }
+        }
+    }
+}
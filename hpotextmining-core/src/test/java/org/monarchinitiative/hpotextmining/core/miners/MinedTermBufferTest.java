@@ -0,0 +1,100 @@
+package org.monarchinitiative.hpotextmining.core.miners;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class MinedTermBufferTest {
+
+    @Test
+    public void termsAreStoredInOrderOfAddition() {
+        MinedTermBuffer buffer = new MinedTermBuffer();
+        buffer.add(0, 9, "HP:0001252", true);
+        buffer.add(14, 21, "HP:0001250", false);
+        buffer.add(0, 9, "HP:0001252", true);
+
+        assertThat(buffer.size(), is(3));
+        assertThat(buffer.getBegin(1), is(14));
+        assertThat(buffer.getEnd(1), is(21));
+        assertThat(buffer.getTermId(1), is("HP:0001250"));
+        assertThat(buffer.isPresent(1), is(false));
+        assertThat(new ArrayList<>(buffer), is(List.of(
+                MinedTerm.of(0, 9, "HP:0001252", true),
+                MinedTerm.of(14, 21, "HP:0001250", false),
+                MinedTerm.of(0, 9, "HP:0001252", true))));
+    }
+
+    @Test
+    public void viewsAreEqualToMinedTerms() {
+        MinedTermBuffer buffer = new MinedTermBuffer();
+        buffer.add(0, 9, "HP:0001252", true);
+        MinedTerm term = MinedTerm.of(0, 9, "HP:0001252", true);
+
+        assertThat(buffer.get(0), is(term));
+        assertThat(term.equals(buffer.get(0)), is(true));
+        assertThat(buffer.get(0).hashCode(), is(term.hashCode()));
+        assertThat(buffer.contains(term), is(true));
+        assertThat(buffer.contains(MinedTerm.of(0, 9, "HP:0001252", false)), is(false));
+        assertThat(new HashSet<>(buffer), is(Set.of(term)));
+    }
+
+    @Test
+    public void distinctBufferIgnoresDuplicates() {
+        MinedTermBuffer buffer = MinedTermBuffer.distinct();
+        for (int i = 0; i < 1000; i++) {
+            assertThat(buffer.add(i, i + 1, "HP:" + (i % 7), i % 2 == 0), is(true));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertThat(buffer.add(MinedTerm.of(i, i + 1, "HP:" + (i % 7), i % 2 == 0)), is(false));
+        }
+
+        assertThat(buffer.size(), is(1000));
+        assertThat(buffer.contains(MinedTerm.of(999, 1000, "HP:5", false)), is(true));
+        assertThat(buffer.contains(MinedTerm.of(999, 1000, "HP:5", true)), is(false));
+    }
+
+    @Test
+    public void clearedBufferIsReused() {
+        MinedTermBuffer buffer = MinedTermBuffer.distinct();
+        buffer.add(0, 9, "HP:0001252", true);
+        buffer.clear();
+
+        assertThat(buffer.isEmpty(), is(true));
+        assertThat(buffer.add(0, 9, "HP:0001252", false), is(true));
+        assertThat(buffer.isPresent(0), is(false));
+    }
+
+    @Test
+    public void forEachVisitsAllTerms() {
+        MinedTermBuffer buffer = new MinedTermBuffer(0, false);
+        for (int i = 0; i < 100; i++) {
+            buffer.add(i, i + 2, "HP:0001252", i % 3 == 0);
+        }
+
+        List<MinedTerm> visited = new ArrayList<>();
+        buffer.forEach((begin, end, termId, isPresent) -> visited.add(MinedTerm.of(begin, end, termId, isPresent)));
+
+        assertThat(visited, is(new ArrayList<>(buffer)));
+    }
+
+    @Test
+    public void defaultMiningIntoBufferCopiesTheResult() throws Exception {
+        TermMiner miner = query -> Set.of(MinedTerm.of(0, query.length(), "HP:0000001", true));
+        MinedTermBuffer buffer = new MinedTermBuffer();
+
+        miner.doMining("hypotonia", buffer);
+
+        assertThat(new ArrayList<>(buffer), is(List.of(MinedTerm.of(0, 9, "HP:0000001", true))));
+    }
+}
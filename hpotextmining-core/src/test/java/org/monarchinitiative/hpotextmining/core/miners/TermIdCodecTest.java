@@ -0,0 +1,67 @@
+package org.monarchinitiative.hpotextmining.core.miners;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class TermIdCodecTest {
+
+    @Test
+    public void hpoTermIdIsPacked() {
+        long code = TermIdCodec.encode("HP:0001250");
+
+        assertThat(TermIdCodec.isNumeric(code), is(true));
+        assertThat(TermIdCodec.isHpo(code), is(true));
+        assertThat(TermIdCodec.prefixCode(code), is(TermIdCodec.HP_PREFIX));
+        assertThat(TermIdCodec.localId(code), is(1250L));
+        assertThat(TermIdCodec.decode(code), is("HP:0001250"));
+    }
+
+    @Test
+    public void leadingZerosAreRetained() {
+        assertThat(TermIdCodec.encode("HP:1250"), is(not(TermIdCodec.encode("HP:0001250"))));
+        assertThat(TermIdCodec.decode(TermIdCodec.encode("HP:1250")), is("HP:1250"));
+        assertThat(TermIdCodec.decode(TermIdCodec.encode("HP:0000000")), is("HP:0000000"));
+    }
+
+    @Test
+    public void otherTermIdsRoundTrip() {
+        List<String> termIds = List.of("MP:0000001", "UBERON:0002107", "CHEBI:foo", "NCBITaxon:9606",
+                "HP:12345678901234", "HP:", ":0001250", "HP0001250", "");
+        for (String termId : termIds) {
+            long code = TermIdCodec.encode(termId);
+            assertThat(termId, TermIdCodec.decode(code), is(termId));
+            assertThat(termId, TermIdCodec.encode(termId), is(code));
+            assertThat(termId, TermIdCodec.isHpo(code), is(false));
+        }
+        assertThat(TermIdCodec.isNumeric(TermIdCodec.encode("MP:0000001")), is(true));
+        assertThat(TermIdCodec.isNumeric(TermIdCodec.encode("CHEBI:foo")), is(false));
+    }
+
+    @Test
+    public void termsWithEqualIdsAreEqualRegardlessOfTheIdInstance() {
+        MinedTerm term = MinedTerm.of(0, 9, "HP:0001252", true);
+        MinedTerm other = MinedTerm.of(0, 9, new String("HP:0001252"), true);
+
+        assertThat(term.getTermIdCode(), is(TermIdCodec.encode("HP:0001252")));
+        assertThat(term.isHpoTerm(), is(true));
+        assertThat(other, is(term));
+        assertThat(other.hashCode(), is(term.hashCode()));
+        assertThat(MinedTerm.of(0, 9, "MP:0001252", true), is(not(term)));
+    }
+
+    @Test
+    public void unknownCodeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> TermIdCodec.decode(Long.MIN_VALUE | Integer.MAX_VALUE));
+    }
+}
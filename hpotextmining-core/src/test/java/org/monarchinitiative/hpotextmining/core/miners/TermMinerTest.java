@@ -0,0 +1,137 @@
+package org.monarchinitiative.hpotextmining.core.miners;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Tests of the default methods of {@link TermMiner}.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class TermMinerTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(16);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void batchReportsFailuresPerDocument() {
+        TermMiner miner = query -> {
+            if (query.equals("bad")) {
+                throw new TermMinerException("Bad query");
+            }
+            return Set.of(MinedTerm.of(0, query.length(), "HP:0000001", true));
+        };
+        Map<Integer, String> queries = new LinkedHashMap<>();
+        queries.put(1, "first");
+        queries.put(2, "bad");
+        queries.put(3, "third");
+
+        Map<Integer, TermMinerException> failures = new HashMap<>();
+        Map<Integer, Collection<MinedTerm>> results = miner.doMiningBatch(queries, executor, 2, failures::put);
+
+        assertThat(new ArrayList<>(results.keySet()), is(List.of(1, 3)));
+        assertThat(results.get(3), hasItem(MinedTerm.of(0, 5, "HP:0000001", true)));
+        assertThat(failures.keySet(), is(Set.of(2)));
+        assertThat(failures.get(2).getMessage(), is("Bad query"));
+    }
+
+    @Test
+    public void batchRespectsConcurrencyLimit() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        TermMiner miner = query -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return Set.of();
+        };
+        Map<Integer, String> queries = new HashMap<>();
+        for (int i = 0; i < 50; i++) {
+            queries.put(i, "query " + i);
+        }
+
+        Map<Integer, Collection<MinedTerm>> results = miner.doMiningBatch(queries, executor, 3, (k, e) -> {
+        });
+
+        assertThat(results.size(), is(50));
+        assertThat(maxRunning.get(), lessThanOrEqualTo(3));
+    }
+
+    @Test
+    public void asyncBatchReportsFailuresPerDocument() {
+        AsyncTermMiner miner = TermMiners.async(query -> {
+            if (query.equals("bad")) {
+                throw new TermMinerException("Bad query");
+            }
+            return Set.of(MinedTerm.of(0, query.length(), "HP:0000001", true));
+        }, executor);
+        AsyncTermMiner nonBlocking = miner::doMiningAsync;
+        Map<Integer, String> queries = new LinkedHashMap<>();
+        queries.put(1, "first");
+        queries.put(2, "bad");
+
+        Map<Integer, TermMinerException> failures = new HashMap<>();
+        Map<Integer, Collection<MinedTerm>> results = nonBlocking.doMiningBatch(queries, Runnable::run, 2, failures::put);
+
+        assertThat(results.keySet(), is(Set.of(1)));
+        assertThat(failures.get(2).getMessage(), is("Bad query"));
+    }
+
+    @Test
+    public void asyncBatchReportsNullResultAsFailure() {
+        AsyncTermMiner miner = query -> CompletableFuture.completedFuture(query.equals("null")
+                ? null
+                : Set.of(MinedTerm.of(0, query.length(), "HP:0000001", true)));
+        Map<Integer, String> queries = new LinkedHashMap<>();
+        queries.put(1, "null");
+        queries.put(2, "second");
+        queries.put(3, "null");
+
+        Map<Integer, TermMinerException> failures = new HashMap<>();
+        Map<Integer, Collection<MinedTerm>> results = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> miner.doMiningBatch(queries, Runnable::run, 1, failures::put));
+
+        assertThat(results.keySet(), is(Set.of(2)));
+        assertThat(failures.keySet(), is(Set.of(1, 3)));
+        assertThat(failures.get(1).getMessage(), is("Mining returned null"));
+    }
+
+    @Test
+    public void batchWithRuntimeFailure() {
+        TermMiner miner = query -> {
+            throw new IllegalStateException("Oops");
+        };
+
+        Map<String, Collection<MinedTerm>> results = miner.doMiningBatch(Map.of("a", "query"), executor);
+
+        assertThat(results.isEmpty(), is(true));
+    }
+}
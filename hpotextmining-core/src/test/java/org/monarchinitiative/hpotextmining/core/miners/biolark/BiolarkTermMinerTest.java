@@ -1,45 +1,51 @@
 package org.monarchinitiative.hpotextmining.core.miners.biolark;
 
 import org.junit.jupiter.api.BeforeAll;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
-import org.mockito.Mockito;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTermBuffer;
+import org.monarchinitiative.hpotextmining.core.miners.TermMinerException;
+import org.monarchinitiative.hpotextmining.core.testing.BiolarkStandInServer;
+import org.monarchinitiative.hpotextmining.core.testing.LatencyDistribution;
 
 import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.net.URL;
-import java.net.URLConnection;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.Objects;
-import java.util.Set;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
 import java.util.stream.Collectors;
 
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
 /**
- * This class doesn't really test anything at the moment (hence Ignored). Use it to send query text to the server and
- * receive corresponding {@link MinedTerm}s.
+ * Exercise {@link BiolarkTermMiner} over real sockets using {@link BiolarkStandInServer}.
  *
  * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
- * @version 0.2.0
+ * @version 0.2.9
  * @since 0.2
  */
 public class BiolarkTermMinerTest {
 
+    private static final Map<String, String> PHRASES = Map.of(
+            "hypotonia", "HP:0001252",
+            "seizure", "HP:0001250");
+
     private static String payload;
 
     private static String biolarkJsonResponse;
 
     private static URL textMiningUrl;
 
-    public URLConnection connection;
-
     @BeforeAll
     public static void beforeClassSetUp() throws Exception {
         textMiningUrl = new URL("http://phenotyper.monarchinitiative.org:5678/cr/annotate");
-//        textMiningUrl = new URL(new URL(base), path);
         try (BufferedReader reader = Files.newBufferedReader(Paths.get(BiolarkTermMinerTest.class.getResource("/payload.txt").toURI()))) {
             payload = reader.lines().collect(Collectors.joining("\n"));
         }
@@ -49,30 +55,116 @@ public class BiolarkTermMinerTest {
         }
     }
 
-    @BeforeEach
-    public void setUp() {
-        connection = Mockito.mock(URLConnection.class);
+    @Test
+    public void responseIsDecodedIntoMinedTerms() throws Exception {
+        try (BiolarkStandInServer server = BiolarkStandInServer.builder()
+                .cannedResponse(biolarkJsonResponse)
+                .start()) {
+            BiolarkTermMiner miner = new BiolarkTermMiner(server.url());
+
+            Set<MinedTerm> terms = miner.doMining(payload);
+
+            assertThat(terms.size(), is(33));
+            assertThat(terms.stream().filter(term -> !term.isPresent()).count(), is(2L));
+            assertThat(terms, hasItem(MinedTerm.of(823, 841, "HP:0001373", false)));
+            assertThat(terms, hasItem(MinedTerm.of(2767, 2790, "HP:0007269", true)));
+        }
     }
 
     @Test
-    @Disabled // ignored until Biolark functionality will be reimplemented.
-    public void mineHpoTermsFromLargePayload() throws Exception {
-        URL mockUrl = new URL("file://some/path/to/file");
-        Mockito.when(connection.getURL()).thenReturn(mockUrl);
+    @SuppressWarnings("removal")
+    public void deprecatedConstructorUsesConnectionUrl() throws Exception {
+        try (BiolarkStandInServer server = BiolarkStandInServer.builder()
+                .responder(BiolarkStandInServer.dictionary(PHRASES))
+                .start()) {
+            BiolarkTermMiner miner = new BiolarkTermMiner(server.url().openConnection());
+
+            // the connection is not used, hence the miner serves more than one query
+            assertThat(miner.doMining("hypotonia").size(), is(1));
+            assertThat(miner.doMining("seizure").size(), is(1));
+        }
+    }
 
-        ByteArrayOutputStream os = new ByteArrayOutputStream();
-        Mockito.when(connection.getOutputStream()).thenReturn(os);
+    @Test
+    public void responseIsDecodedIntoBuffer() throws Exception {
+        try (BiolarkStandInServer server = BiolarkStandInServer.builder()
+                .responder(BiolarkStandInServer.dictionary(PHRASES))
+                .start()) {
+            BiolarkTermMiner miner = BiolarkTermMiner.builder(server.url()).build();
+            MinedTermBuffer buffer = new MinedTermBuffer();
+
+            miner.doMining("Hypotonia, no seizure.", buffer);
+
+            assertThat(new HashSet<>(buffer), is(Set.of(
+                    MinedTerm.of(0, 9, "HP:0001252", true),
+                    MinedTerm.of(14, 21, "HP:0001250", false))));
+        }
+    }
 
-        ByteArrayInputStream is = new ByteArrayInputStream(biolarkJsonResponse.getBytes());
-        Mockito.when(connection.getInputStream()).thenReturn(is);
+    @Test
+    public void malformedResponseFailsTheMining() throws Exception {
+        try (BiolarkStandInServer server = BiolarkStandInServer.builder()
+                .cannedResponse("{\"start_offset\":0}")
+                .start()) {
+            BiolarkTermMiner miner = new BiolarkTermMiner(server.url());
+
+            TermMinerException e = assertThrows(TermMinerException.class, () -> miner.doMining("Hypotonia"));
+            assertThat(e.getMessage(), is("Error occurred during parsing response from the server"));
+        }
+    }
 
-        BiolarkTermMiner instance = new BiolarkTermMiner(connection);
-        final Set<MinedTerm> minedTerms = instance.doMining(payload);
-        System.out.println("The terms");
-        minedTerms.forEach(System.out::println);
+    @Test
+    public void purlIsConvertedToCurie() {
+        assertThat(BiolarkResponseDecoder.toCurie("http://purl.obolibrary.org/obo/HP_0001373"), is("HP:0001373"));
+        assertThat(BiolarkResponseDecoder.toCurie("HP:0001373"), is("HP:0001373"));
+    }
 
-        System.out.println("Output stream content:");
-        System.out.println(os.toString());
+    /**
+     * A single miner instance is shared by many threads, each query must get its own results.
+     */
+    @Test
+    public void minerIsSharedByConcurrentThreads() throws Exception {
+        int threads = 16, queriesPerThread = 40;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (BiolarkStandInServer server = BiolarkStandInServer.builder()
+                .responder(BiolarkStandInServer.dictionary(PHRASES))
+                .latency(LatencyDistribution.uniform(Duration.ofMillis(1), Duration.ofMillis(3)))
+                .start()) {
+            BiolarkTermMiner miner = new BiolarkTermMiner(server.url());
+            CountDownLatch start = new CountDownLatch(1);
+
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int mismatches = 0;
+                    for (int i = 0; i < queriesPerThread; i++) {
+                        // the padding makes the coordinates unique to the query
+                        int padding = thread * queriesPerThread + i;
+                        String query = " ".repeat(padding) + "Hypotonia, no seizure.";
+                        Set<MinedTerm> expected = Set.of(
+                                MinedTerm.of(padding, padding + 9, "HP:0001252", true),
+                                MinedTerm.of(padding + 14, padding + 21, "HP:0001250", false));
+                        if (!miner.doMining(query).equals(expected)) {
+                            mismatches++;
+                        }
+                    }
+                    return mismatches;
+                }));
+            }
+            start.countDown();
+
+            int mismatches = 0;
+            for (Future<Integer> future : futures) {
+                mismatches += future.get(1, TimeUnit.MINUTES);
+            }
+            assertThat(mismatches, is(0));
+            assertThat(server.requestCount(), is(threads * queriesPerThread));
+            assertThat(server.maxConcurrentRequests(), greaterThan(1));
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
     /**
@@ -81,11 +173,11 @@ public class BiolarkTermMinerTest {
      * @throws Exception bla
      */
     @Test
-    @Disabled
+    @Disabled // the Biolark server is not running
     public void getResponseFromBiolark() throws Exception {
         BiolarkTermMiner instance = new BiolarkTermMiner(textMiningUrl);
         final Set<MinedTerm> minedTerms = instance.doMining(payload);
         String allTerms = minedTerms.stream().map(Objects::toString).collect(Collectors.joining("\n", "Identified terms", ""));
         System.out.println(allTerms);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,109 @@
+package org.monarchinitiative.hpotextmining.core.miners.cache;
+
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.TermMinerException;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiners;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class CachingTermMinerTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final TermMiner miner = query -> {
+        calls.incrementAndGet();
+        if (query.equals("bad")) {
+            throw new TermMinerException("Bad query");
+        }
+        return Set.of(MinedTerm.of(0, query.length(), "HP:0000001", true));
+    };
+
+    @Test
+    public void repeatedQueryIsAnsweredFromCache() throws Exception {
+        CachingTermMiner cached = TermMiners.cached(miner, CacheSpec.defaultSpec());
+
+        Collection<MinedTerm> first = cached.doMining("Hypotonia");
+        Collection<MinedTerm> second = cached.doMining("Hypotonia");
+
+        assertThat(second, is(first));
+        assertThat(calls.get(), is(1));
+        CacheStats stats = cached.stats();
+        assertThat(stats.hitCount(), is(1L));
+        assertThat(stats.missCount(), is(1L));
+        assertThat(stats.size(), is(1L));
+        assertThat(stats.weight(), is(CachingTermMiner.weigh(first)));
+    }
+
+    @Test
+    public void failuresAreNotCached() {
+        CachingTermMiner cached = TermMiners.cached(miner, CacheSpec.defaultSpec());
+
+        assertThrows(TermMinerException.class, () -> cached.doMining("bad"));
+        assertThrows(TermMinerException.class, () -> cached.doMining("bad"));
+
+        assertThat(calls.get(), is(2));
+        assertThat(cached.stats().size(), is(0L));
+    }
+
+    @Test
+    public void leastRecentlyUsedResultIsEvicted() throws Exception {
+        long entryWeight = CachingTermMiner.weigh(List.of(MinedTerm.of(0, 1, "HP:0000001", true)));
+        CachingTermMiner cached = TermMiners.cached(miner, CacheSpec.builder().maximumWeight(2 * entryWeight).build());
+
+        cached.doMining("a");
+        cached.doMining("b");
+        cached.doMining("a"); // "b" is the least recently used now
+        cached.doMining("c");
+        assertThat(calls.get(), is(3));
+
+        cached.doMining("a");
+        assertThat(calls.get(), is(3));
+        cached.doMining("b");
+        assertThat(calls.get(), is(4));
+
+        CacheStats stats = cached.stats();
+        assertThat(stats.evictionCount(), is(2L));
+        assertThat(stats.size(), is(2L));
+        assertThat(stats.weight(), lessThanOrEqualTo(2 * entryWeight));
+    }
+
+    @Test
+    public void concurrentMining() throws Exception {
+        CachingTermMiner cached = TermMiners.cached(miner, CacheSpec.builder().maximumWeight(20 * 1024).build());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Collection<MinedTerm>>> futures = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                String query = "query " + (i % 300);
+                futures.add(executor.submit(() -> cached.doMining(query)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                String query = "query " + (i % 300);
+                assertThat(futures.get(i).get(), is(List.of(MinedTerm.of(0, query.length(), "HP:0000001", true))));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        CacheStats stats = cached.stats();
+        assertThat(stats.hitCount() + stats.missCount(), is(2000L));
+        assertThat(stats.missCount(), is((long) calls.get()));
+        assertThat(stats.weight(), lessThanOrEqualTo(20 * 1024L));
+    }
+}
@@ -0,0 +1,116 @@
+package org.monarchinitiative.hpotextmining.core.miners.cache;
+
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.hpotextmining.core.miners.AsyncTermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.TermMinerException;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiners;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class CoalescingTermMinerTest {
+
+    private static final Set<MinedTerm> TERMS = Set.of(MinedTerm.of(0, 9, "HP:0001252", true));
+
+    /**
+     * Requests started by the decorated miner, keyed by the query.
+     */
+    private final Map<String, List<CompletableFuture<Collection<MinedTerm>>>> requests = new HashMap<>();
+
+    private final AsyncTermMiner miner = query -> {
+        CompletableFuture<Collection<MinedTerm>> request = new CompletableFuture<>();
+        requests.computeIfAbsent(query, q -> new ArrayList<>()).add(request);
+        return request;
+    };
+
+    @Test
+    public void identicalQueriesInFlightShareTheRequest() throws Exception {
+        CoalescingTermMiner coalescing = TermMiners.coalescing(miner, Runnable::run);
+
+        CompletableFuture<Collection<MinedTerm>> first = coalescing.doMiningAsync("Hypotonia");
+        CompletableFuture<Collection<MinedTerm>> second = coalescing.doMiningAsync("Hypotonia");
+        CompletableFuture<Collection<MinedTerm>> other = coalescing.doMiningAsync("Myopathy");
+
+        assertThat(requests.get("Hypotonia").size(), is(1));
+        assertThat(requests.get("Myopathy").size(), is(1));
+        assertThat(coalescing.getCoalescedCount(), is(1L));
+
+        requests.get("Hypotonia").get(0).complete(TERMS);
+        assertThat(first.get(), is(TERMS));
+        assertThat(second.get(), is(TERMS));
+        assertThat(other.isDone(), is(false));
+
+        // the finished request is not shared anymore
+        coalescing.doMiningAsync("Hypotonia");
+        assertThat(requests.get("Hypotonia").size(), is(2));
+    }
+
+    @Test
+    public void sharedResultCannotBeModified() throws Exception {
+        CoalescingTermMiner coalescing = TermMiners.coalescing(miner, Runnable::run);
+
+        CompletableFuture<Collection<MinedTerm>> first = coalescing.doMiningAsync("Hypotonia");
+        CompletableFuture<Collection<MinedTerm>> second = coalescing.doMiningAsync("Hypotonia");
+        requests.get("Hypotonia").get(0).complete(new HashSet<>(TERMS));
+
+        assertThrows(UnsupportedOperationException.class, () -> first.get().removeIf(MinedTerm::isPresent));
+        assertThat(second.get(), is(TERMS));
+        assertThat(first.get() == second.get(), is(true));
+    }
+
+    @Test
+    public void waitersAreCancelledIndependently() throws Exception {
+        CoalescingTermMiner coalescing = TermMiners.coalescing(miner, Runnable::run);
+
+        CompletableFuture<Collection<MinedTerm>> first = coalescing.doMiningAsync("Hypotonia");
+        CompletableFuture<Collection<MinedTerm>> second = coalescing.doMiningAsync("Hypotonia");
+        CompletableFuture<Collection<MinedTerm>> request = requests.get("Hypotonia").get(0);
+
+        first.cancel(true);
+        assertThat(request.isCancelled(), is(false));
+
+        request.complete(TERMS);
+        assertThat(second.get(), is(TERMS));
+    }
+
+    @Test
+    public void requestIsCancelledWhenAllWaitersGiveUp() {
+        CoalescingTermMiner coalescing = TermMiners.coalescing(miner, Runnable::run);
+
+        CompletableFuture<Collection<MinedTerm>> first = coalescing.doMiningAsync("Hypotonia");
+        CompletableFuture<Collection<MinedTerm>> second = coalescing.doMiningAsync("Hypotonia");
+        first.cancel(true);
+        second.cancel(true);
+
+        assertThat(requests.get("Hypotonia").get(0).isCancelled(), is(true));
+
+        // a new caller starts a new request
+        coalescing.doMiningAsync("Hypotonia");
+        assertThat(requests.get("Hypotonia").size(), is(2));
+    }
+
+    @Test
+    public void failureIsSharedByTheWaiters() {
+        CoalescingTermMiner coalescing = TermMiners.coalescing(miner, Runnable::run);
+
+        CompletableFuture<Collection<MinedTerm>> first = coalescing.doMiningAsync("Hypotonia");
+        CompletableFuture<Collection<MinedTerm>> second = coalescing.doMiningAsync("Hypotonia");
+        requests.get("Hypotonia").get(0).completeExceptionally(new TermMinerException("Service unavailable"));
+
+        for (CompletableFuture<Collection<MinedTerm>> waiter : List.of(first, second)) {
+            ExecutionException e = assertThrows(ExecutionException.class, waiter::get);
+            assertThat(e.getCause().getMessage(), is("Service unavailable"));
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package org.monarchinitiative.hpotextmining.core.miners.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiners;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class DiskCacheTest {
+
+    private static final List<MinedTerm> TERMS = List.of(
+            MinedTerm.of(0, 9, "HP:0001252", true),
+            MinedTerm.of(300, 308, "HP:0003198", false),
+            MinedTerm.of(100_000, 100_020, "MP:0000751", true));
+
+    @TempDir
+    public Path directory;
+
+    @Test
+    public void resultsArePersisted() throws Exception {
+        try (DiskCache cache = DiskCache.builder(directory).versionTag("v1").open()) {
+            cache.put("Hypotonia and myopathy", TERMS);
+            cache.put("Nothing", List.of());
+
+            assertThat(cache.get("Hypotonia and myopathy"), is(TERMS));
+            assertThat(cache.get("Something else"), is(nullValue()));
+        }
+
+        try (DiskCache cache = DiskCache.builder(directory).versionTag("v1").open()) {
+            assertThat(cache.size(), is(2));
+            assertThat(cache.get("Hypotonia and myopathy"), is(TERMS));
+            assertThat(cache.get("Nothing"), is(List.of()));
+        }
+    }
+
+    @Test
+    public void resultsWithDifferentVersionTagAreIgnored() throws Exception {
+        try (DiskCache cache = DiskCache.builder(directory).versionTag("v1").open()) {
+            cache.put("Hypotonia and myopathy", TERMS);
+        }
+
+        try (DiskCache reader = DiskCache.builder(directory).versionTag("v2").readOnly(true).open()) {
+            assertThat(reader.get("Hypotonia and myopathy"), is(nullValue()));
+        }
+        try (DiskCache cache = DiskCache.builder(directory).versionTag("v2").open()) {
+            assertThat(cache.size(), is(0));
+        }
+    }
+
+    @Test
+    public void readerSeesResultsOfTheWriter() throws Exception {
+        try (DiskCache writer = DiskCache.builder(directory).open();
+             DiskCache reader = DiskCache.builder(directory).readOnly(true).open()) {
+            assertThat(reader.get("Hypotonia and myopathy"), is(nullValue()));
+
+            writer.put("Hypotonia and myopathy", TERMS);
+
+            assertThat(reader.get("Hypotonia and myopathy"), is(TERMS));
+
+            // written into the space the writer has already mapped
+            writer.put("Nothing", List.of());
+
+            assertThat(reader.get("Nothing"), is(List.of()));
+            assertThat(reader.get("Something else"), is(nullValue()));
+            assertThrows(IOException.class, () -> reader.put("Query", TERMS));
+        }
+    }
+
+    @Test
+    public void onlyOneWriterIsAllowed() throws Exception {
+        DiskCache writer = DiskCache.builder(directory).open();
+        try {
+            assertThrows(IOException.class, () -> DiskCache.builder(directory).open());
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Test
+    public void logIsCompactedWhenExceedingMaximumSize() throws Exception {
+        try (DiskCache writer = DiskCache.builder(directory).maximumSize(4096).open();
+             DiskCache reader = DiskCache.builder(directory).readOnly(true).open()) {
+            for (int i = 0; i < 200; i++) {
+                writer.put("query " + i, TERMS);
+                assertThat(writer.sizeInBytes(), lessThanOrEqualTo(4096L));
+            }
+
+            assertThat(writer.get("query 199"), is(TERMS));
+            assertThat(writer.get("query 0"), is(nullValue()));
+            assertThat(reader.get("query 199"), is(TERMS));
+        }
+    }
+
+    @Test
+    public void truncatedRecordIsIgnored() throws Exception {
+        long size;
+        try (DiskCache cache = DiskCache.builder(directory).open()) {
+            cache.put("first", TERMS);
+            cache.put("second", TERMS);
+            size = cache.sizeInBytes();
+        }
+        // the log is zero-filled past the last record
+        Path log = directory.resolve("results.log");
+        assertThat(Files.size(log) > size, is(true));
+        try (var channel = Files.newByteChannel(log, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 3);
+        }
+
+        try (DiskCache cache = DiskCache.builder(directory).open()) {
+            assertThat(cache.get("first"), is(TERMS));
+            assertThat(cache.get("second"), is(nullValue()));
+            cache.put("second", TERMS);
+            assertThat(cache.get("second"), is(TERMS));
+        }
+    }
+
+    @Test
+    public void minerResultsAreCachedOnDisk() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        TermMiner miner = query -> {
+            calls.incrementAndGet();
+            return Set.copyOf(TERMS);
+        };
+
+        try (DiskCache cache = DiskCache.builder(directory).open()) {
+            TermMiner cached = TermMiners.cached(miner, cache);
+            cached.doMining("Hypotonia and myopathy");
+            assertThat(Set.copyOf(cached.doMining("Hypotonia and myopathy")), is(Set.copyOf(TERMS)));
+        }
+        assertThat(calls.get(), is(1));
+    }
+}
@@ -0,0 +1,139 @@
+package org.monarchinitiative.hpotextmining.core.miners.chunking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.TermMinerException;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class ChunkingTermMinerTest {
+
+    private static final String[] SENTENCES = {
+            "The proband presented with generalized hypotonia.",
+            "Myopathy was noted at the age of 3 years!",
+            "There was no evidence of seizures; the EEG was normal.",
+            "Mother reports oligohydramnios and breech presentation during the pregnancy.",
+            "\n\nFamily history is unremarkable?"
+    };
+
+    private static final Map<String, String> KEYWORDS = Map.of(
+            "generalized hypotonia", "HP:0001290",
+            "myopathy", "HP:0003198",
+            "seizures", "HP:0001250",
+            "oligohydramnios", "HP:0001562",
+            "breech presentation", "HP:0001623");
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    /**
+     * Finds all occurrences of the {@link #KEYWORDS} in the query.
+     */
+    private final TermMiner keywordMiner = query -> {
+        calls.incrementAndGet();
+        String lower = query.toLowerCase();
+        Set<MinedTerm> terms = new HashSet<>();
+        for (Map.Entry<String, String> keyword : KEYWORDS.entrySet()) {
+            int begin = -1;
+            while ((begin = lower.indexOf(keyword.getKey(), begin + 1)) >= 0) {
+                terms.add(MinedTerm.of(begin, begin + keyword.getKey().length(), keyword.getValue(), true));
+            }
+        }
+        return terms;
+    };
+
+    private ExecutorService executor;
+
+    private static String document(int sentences) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < sentences; i++) {
+            builder.append(SENTENCES[i % SENTENCES.length]).append(' ');
+        }
+        return builder.toString();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void chunkedMiningFindsTheSameTermsAsWholeDocumentMining() throws Exception {
+        String document = document(200);
+        TermMiner chunking = ChunkingTermMiner.builder(keywordMiner, executor)
+                .maxChunkLength(500)
+                .overlap(100)
+                .build();
+
+        Collection<MinedTerm> chunked = chunking.doMining(document);
+        assertThat(calls.get(), greaterThan(20));
+
+        assertThat(chunked.size(), is(keywordMiner.doMining(document).size()));
+        assertThat(new HashSet<>(chunked), is(keywordMiner.doMining(document)));
+    }
+
+    @Test
+    public void shortQueryIsNotSplit() throws Exception {
+        TermMiner chunking = ChunkingTermMiner.builder(keywordMiner, executor).maxChunkLength(500).build();
+
+        chunking.doMining(document(3));
+
+        assertThat(calls.get(), is(1));
+    }
+
+    @Test
+    public void failureOfChunkFailsTheMining() {
+        TermMiner failing = query -> {
+            if (query.contains("EEG")) {
+                throw new TermMinerException("Bad chunk");
+            }
+            return Set.of();
+        };
+        TermMiner chunking = ChunkingTermMiner.builder(failing, executor).maxChunkLength(200).overlap(50).build();
+
+        TermMinerException e = assertThrows(TermMinerException.class, () -> chunking.doMining(document(20)));
+        assertThat(e.getMessage(), is("Bad chunk"));
+    }
+
+    @Test
+    public void chunksCoverTheText() {
+        String text = document(50) + "x".repeat(700) + " " + document(10);
+        TextChunker chunker = new TextChunker(300, 60);
+
+        List<TextChunker.Chunk> chunks = chunker.split(text);
+
+        assertThat(chunks.get(0).start(), is(0));
+        assertThat(chunks.get(chunks.size() - 1).end(), is(text.length()));
+        for (int i = 0; i < chunks.size(); i++) {
+            TextChunker.Chunk chunk = chunks.get(i);
+            assertThat(chunk.end() - chunk.start(), lessThanOrEqualTo(300));
+            if (i > 0) {
+                TextChunker.Chunk previous = chunks.get(i - 1);
+                assertThat(chunk.start(), greaterThan(previous.start()));
+                assertThat(chunk.start(), lessThanOrEqualTo(previous.end()));
+                assertThat(previous.end() - chunk.start(), lessThanOrEqualTo(60));
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.monarchinitiative.hpotextmining.core.miners.ensemble;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.hpotextmining.core.miners.AsyncTermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.TermMinerException;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class EnsembleTermMinerTest {
+
+    private static final MinedTerm HYPOTONIA = MinedTerm.of(0, 9, "HP:0001252", true);
+
+    private static final MinedTerm GENERALIZED_HYPOTONIA = MinedTerm.of(0, 21, "HP:0001290", true);
+
+    private static final MinedTerm MYOPATHY = MinedTerm.of(30, 38, "HP:0003198", true);
+
+    private static final MinedTerm NO_SEIZURES = MinedTerm.of(50, 58, "HP:0001250", false);
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static TermMiner returning(MinedTerm... terms) {
+        return query -> Set.of(terms);
+    }
+
+    @Test
+    public void strategies() throws Exception {
+        TermMiner first = returning(HYPOTONIA, MYOPATHY);
+        TermMiner second = returning(MinedTerm.of(4, 9, "HP:0001252", true), GENERALIZED_HYPOTONIA, NO_SEIZURES);
+        TermMiner third = returning(MYOPATHY, MinedTerm.of(51, 58, "HP:0001250", true));
+
+        Collection<MinedTerm> union = ensemble(MergeStrategy.union(), first, second, third).doMining("query");
+        assertThat(union, is(List.of(HYPOTONIA, GENERALIZED_HYPOTONIA, MYOPATHY, NO_SEIZURES, MinedTerm.of(51, 58, "HP:0001250", true))));
+
+        Collection<MinedTerm> twoOfThree = ensemble(MergeStrategy.atLeast(2), first, second, third).doMining("query");
+        assertThat(twoOfThree, is(List.of(HYPOTONIA, MYOPATHY)));
+
+        Collection<MinedTerm> intersection = ensemble(MergeStrategy.intersection(), first, second).doMining("query");
+        assertThat(intersection, is(List.of(HYPOTONIA)));
+    }
+
+    @Test
+    public void partialResultsAreReturnedIfDelegateMissesTheDeadline() throws Exception {
+        CompletableFuture<Collection<MinedTerm>> never = new CompletableFuture<>();
+        AsyncTermMiner slow = query -> never;
+        TermMiner failing = query -> {
+            throw new TermMinerException("Service unavailable");
+        };
+
+        EnsembleTermMiner ensemble = EnsembleTermMiner.builder(executor)
+                .add(returning(HYPOTONIA))
+                .add(slow, Duration.ofMillis(50))
+                .add(failing)
+                .strategy(MergeStrategy.intersection())
+                .build();
+
+        long start = System.nanoTime();
+        Collection<MinedTerm> terms = ensemble.doMining("query");
+
+        assertThat(terms, is(List.of(HYPOTONIA)));
+        assertThat(never.isCancelled(), is(true));
+        assertThat(System.nanoTime() - start, lessThan(Duration.ofSeconds(5).toNanos()));
+    }
+
+    @Test
+    public void miningFailsIfAllDelegatesFail() {
+        TermMiner failing = query -> {
+            throw new TermMinerException("Service unavailable");
+        };
+        EnsembleTermMiner ensemble = ensemble(MergeStrategy.union(), failing, failing);
+
+        TermMinerException e = assertThrows(TermMinerException.class, () -> ensemble.doMining("query"));
+        assertThat(e.getMessage(), is("Service unavailable"));
+        assertThat(e.getSuppressed().length, is(1));
+    }
+
+    private EnsembleTermMiner ensemble(MergeStrategy strategy, TermMiner... miners) {
+        EnsembleTermMiner.Builder builder = EnsembleTermMiner.builder(executor).strategy(strategy);
+        for (TermMiner miner : miners) {
+            builder.add(miner);
+        }
+        return builder.build();
+    }
+}
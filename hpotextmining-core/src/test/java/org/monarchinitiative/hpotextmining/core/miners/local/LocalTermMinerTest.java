@@ -0,0 +1,105 @@
+package org.monarchinitiative.hpotextmining.core.miners.local;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.TermMinerException;
+import org.monarchinitiative.phenol.ontology.data.*;
+import org.monarchinitiative.phenol.ontology.data.impl.SimpleMinimalOntology;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class LocalTermMinerTest {
+
+    private static MinimalOntology ontology;
+
+    @BeforeAll
+    public static void beforeAll() {
+        TermId root = TermId.of("HP:0000001");
+        TermId phenotypicAbnormality = TermId.of("HP:0000118");
+        TermId hypotonia = TermId.of("HP:0001252");
+        TermId generalizedHypotonia = TermId.of("HP:0001290");
+        TermId myopathy = TermId.of("HP:0003198");
+        TermId obsolete = TermId.of("HP:0000000");
+
+        List<Term> terms = List.of(
+                Term.of(root, "All"),
+                Term.of(phenotypicAbnormality, "Phenotypic abnormality"),
+                Term.builder(hypotonia).name("Hypotonia")
+                        .synonyms(List.of(new TermSynonym("Low muscle tone", TermSynonymScope.EXACT, null, List.of(), null)))
+                        .build(),
+                Term.of(generalizedHypotonia, "Generalized hypotonia"),
+                Term.of(myopathy, "Myopathy"),
+                Term.builder(obsolete).name("Obsolete term").obsolete(true).build());
+        List<Relationship> relationships = new ArrayList<>();
+        relationships.add(new Relationship(phenotypicAbnormality, root, 1, RelationshipType.IS_A));
+        relationships.add(new Relationship(hypotonia, phenotypicAbnormality, 2, RelationshipType.IS_A));
+        relationships.add(new Relationship(generalizedHypotonia, hypotonia, 3, RelationshipType.IS_A));
+        relationships.add(new Relationship(myopathy, phenotypicAbnormality, 4, RelationshipType.IS_A));
+
+        ontology = SimpleMinimalOntology.builder()
+                .terms(terms)
+                .relationships(relationships)
+                .build();
+    }
+
+    @Test
+    public void mineNamesAndSynonyms() throws Exception {
+        LocalTermMiner miner = new LocalTermMiner(ontology);
+        String query = "The girl had MYOPATHY with generalized hypotonia. Low muscle tone was noted.";
+
+        Set<MinedTerm> terms = miner.doMining(query);
+
+        assertThat(terms.size(), is(4));
+        assertThat(terms, hasItems(
+                MinedTerm.of(13, 21, "HP:0003198", true),
+                MinedTerm.of(27, 48, "HP:0001290", true),
+                MinedTerm.of(39, 48, "HP:0001252", true),
+                MinedTerm.of(50, 65, "HP:0001252", true)));
+        assertThat(query.substring(50, 65), is("Low muscle tone"));
+    }
+
+    @Test
+    public void ignoreHitsInsideLongerWords() throws Exception {
+        LocalTermMiner miner = new LocalTermMiner(ontology);
+
+        assertThat(miner.doMining("myopathyish, hypotonias, cardiomyopathy").isEmpty(), is(true));
+        assertThat(miner.doMining("(myopathy)"), hasItem(MinedTerm.of(1, 9, "HP:0003198", true)));
+    }
+
+    @Test
+    public void ignoreSynonymsAndObsoleteTerms() throws Exception {
+        LocalTermMiner miner = new LocalTermMiner(ontology, false);
+
+        assertThat(miner.doMining("Low muscle tone, obsolete term").isEmpty(), is(true));
+    }
+
+    @Test
+    public void overlappingPatterns() {
+        AhoCorasickAutomaton automaton = AhoCorasickAutomaton.compile(List.of("he", "she", "his", "hers"));
+        List<String> hits = new ArrayList<>();
+        automaton.search("ushers", (begin, end, pattern) -> hits.add(begin + "-" + end + ":" + pattern));
+
+        assertThat(hits, is(List.of("1-4:1", "2-4:0", "2-6:3")));
+    }
+
+    @Test
+    public void nullQuery() {
+        LocalTermMiner miner = new LocalTermMiner(ontology);
+
+        assertThrows(TermMinerException.class, () -> miner.doMining(null));
+    }
+}
@@ -0,0 +1,49 @@
+package org.monarchinitiative.hpotextmining.core.miners.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+
+/**
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class AtomicHistogramTest {
+
+    @Test
+    public void bucketsCoverTheValueRange() {
+        for (long value : new long[]{0, 1, 255, 256, 257, 511, 512, 1_000_000, Long.MAX_VALUE}) {
+            int index = AtomicHistogram.index(value);
+            assertThat(AtomicHistogram.highestValue(index) >= value, is(true));
+            assertThat(index == 0 || AtomicHistogram.highestValue(index - 1) < value, is(true));
+        }
+    }
+
+    @Test
+    public void percentilesAreWithinOnePercent() {
+        AtomicHistogram histogram = new AtomicHistogram();
+        for (long i = 1; i <= 100_000; i++) {
+            histogram.record(i * 1_000);
+        }
+
+        AtomicHistogram.Snapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.getCount(), is(100_000L));
+        assertThat(snapshot.getMax(), is(100_000_000L));
+        assertThat(snapshot.getMean(), closeTo(50_000_500., 1.));
+        assertThat((double) snapshot.getValueAtPercentile(.5), closeTo(50_000_000., 500_000.));
+        assertThat((double) snapshot.getValueAtPercentile(.99), closeTo(99_000_000., 990_000.));
+        assertThat((double) snapshot.getValueAtPercentile(.999), closeTo(99_900_000., 999_000.));
+        assertThat(snapshot.getValueAtPercentile(1.), is(100_000_000L));
+    }
+
+    @Test
+    public void emptyHistogram() {
+        AtomicHistogram.Snapshot snapshot = new AtomicHistogram().snapshot();
+
+        assertThat(snapshot.getCount(), is(0L));
+        assertThat(snapshot.getValueAtPercentile(.99), is(0L));
+    }
+}
@@ -0,0 +1,91 @@
+package org.monarchinitiative.hpotextmining.core.miners.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.TermMinerException;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import java.net.UnknownHostException;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class InstrumentedTermMinerTest {
+
+    private static final Set<MinedTerm> TERMS = Set.of(
+            MinedTerm.of(0, 9, "HP:0001252", true),
+            MinedTerm.of(14, 22, "HP:0001250", false));
+
+    private MBeanServer server;
+
+    private JmxMetricsRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        server = MBeanServerFactory.newMBeanServer();
+        registry = new JmxMetricsRegistry(server, "test");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        registry.close();
+    }
+
+    private Object attribute(String metric, String attribute) throws Exception {
+        return server.getAttribute(registry.objectName(metric), attribute);
+    }
+
+    @Test
+    public void successfulMiningIsRecorded() throws Exception {
+        InstrumentedTermMiner miner = new InstrumentedTermMiner(query -> TERMS, registry);
+
+        miner.doMining("Hypotonia and seizures");
+        miner.doMining("Hypotonía");
+
+        assertThat(attribute(InstrumentedTermMiner.LATENCY, "Count"), is(2L));
+        assertThat(attribute(InstrumentedTermMiner.BYTES_IN, "Count"), is(22L + 10L));
+        assertThat(attribute(InstrumentedTermMiner.BYTES_OUT, "Count"), is(2 * 2 * (9L + 10L)));
+        assertThat(attribute(InstrumentedTermMiner.TERMS, "Max"), is(2L));
+    }
+
+    @Test
+    public void failuresAreCountedByCause() throws Exception {
+        TermMiner offline = query -> {
+            throw new TermMinerException("Unable to connect", new UnknownHostException("scigraph"));
+        };
+        TermMiner broken = query -> {
+            throw new TermMinerException("Invalid query");
+        };
+        InstrumentedTermMiner offlineMiner = new InstrumentedTermMiner(offline, registry);
+        InstrumentedTermMiner brokenMiner = new InstrumentedTermMiner(broken, registry);
+
+        assertThrows(TermMinerException.class, () -> offlineMiner.doMining("query"));
+        assertThrows(TermMinerException.class, () -> offlineMiner.doMining("query"));
+        assertThrows(TermMinerException.class, () -> brokenMiner.doMining("query"));
+
+        assertThat(attribute("mining.errors.UnknownHostException", "Count"), is(2L));
+        assertThat(attribute("mining.errors.TermMinerException", "Count"), is(1L));
+        assertThat(attribute(InstrumentedTermMiner.LATENCY, "Count"), is(3L));
+    }
+
+    @Test
+    public void closedRegistryUnregistersTheMetrics() throws Exception {
+        new InstrumentedTermMiner(query -> TERMS, registry).doMining("query");
+        assertThat(server.isRegistered(registry.objectName(InstrumentedTermMiner.LATENCY)), is(true));
+
+        registry.close();
+
+        assertThat(server.isRegistered(registry.objectName(InstrumentedTermMiner.LATENCY)), is(false));
+    }
+}
@@ -0,0 +1,124 @@
+package org.monarchinitiative.hpotextmining.core.miners.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final List<String> transitions = new ArrayList<>();
+
+    private CircuitBreaker breaker(int probes) {
+        CircuitBreaker breaker = CircuitBreaker.builder()
+                .windowSize(10)
+                .minimumCalls(4)
+                .failureRateThreshold(.5)
+                .slowCallDuration(Duration.ofMillis(100))
+                .slowCallRateThreshold(.75)
+                .openDuration(Duration.ofSeconds(1))
+                .probes(probes)
+                .build(clock::get);
+        breaker.addListener((from, to) -> transitions.add(from + "->" + to));
+        return breaker;
+    }
+
+    @Test
+    public void breakerOpensOnFailuresAndClosesAfterSuccessfulProbes() {
+        CircuitBreaker breaker = breaker(2);
+
+        breaker.onSuccess(1);
+        breaker.onFailure();
+        breaker.onSuccess(1);
+        assertThat(breaker.getState(), is(CircuitBreaker.State.CLOSED));
+        breaker.onFailure(); // 2 of 4 calls failed
+        assertThat(breaker.getState(), is(CircuitBreaker.State.OPEN));
+        assertThat(breaker.tryAcquire(), is(false));
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(breaker.tryAcquire(), is(true));
+        assertThat(breaker.tryAcquire(), is(true));
+        assertThat(breaker.tryAcquire(), is(false)); // only 2 probes
+        assertThat(breaker.getState(), is(CircuitBreaker.State.HALF_OPEN));
+
+        breaker.onSuccess(1);
+        breaker.onSuccess(1);
+        assertThat(breaker.getState(), is(CircuitBreaker.State.CLOSED));
+        assertThat(transitions, is(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED")));
+    }
+
+    @Test
+    public void failedProbeOpensTheBreakerAgain() {
+        CircuitBreaker breaker = breaker(1);
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure();
+        }
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+
+        assertThat(breaker.tryAcquire(), is(true));
+        breaker.onFailure();
+
+        assertThat(breaker.getState(), is(CircuitBreaker.State.OPEN));
+        assertThat(breaker.tryAcquire(), is(false));
+        assertThat(transitions, is(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->OPEN")));
+    }
+
+    @Test
+    public void releasedProbeIsNotRecorded() {
+        CircuitBreaker breaker = breaker(1);
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure();
+        }
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+
+        assertThat(breaker.tryAcquire(), is(true));
+        assertThat(breaker.tryAcquire(), is(false));
+        breaker.release();
+
+        assertThat(breaker.getState(), is(CircuitBreaker.State.HALF_OPEN));
+        assertThat(breaker.tryAcquire(), is(true));
+        breaker.onSuccess(1);
+        assertThat(breaker.getState(), is(CircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    public void breakerOpensOnSlowCalls() {
+        CircuitBreaker breaker = breaker(1);
+        long slow = Duration.ofMillis(200).toNanos();
+
+        breaker.onSuccess(slow);
+        breaker.onSuccess(slow);
+        breaker.onSuccess(1);
+        breaker.onSuccess(slow);
+        assertThat(breaker.getState(), is(CircuitBreaker.State.OPEN));
+    }
+
+    @Test
+    public void oldOutcomesLeaveTheWindow() {
+        CircuitBreaker breaker = breaker(1);
+        breaker.onFailure();
+        for (int i = 0; i < 10; i++) {
+            breaker.onSuccess(1);
+        }
+        // the first failure left the window
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure();
+        }
+        // the window contains 6 successes and 4 failures
+        assertThat(breaker.getState(), is(CircuitBreaker.State.CLOSED));
+        breaker.onFailure();
+        assertThat(breaker.getState(), is(CircuitBreaker.State.OPEN));
+    }
+}
@@ -0,0 +1,109 @@
+package org.monarchinitiative.hpotextmining.core.miners.resilience;
+
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.hpotextmining.core.miners.AsyncTermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.TermMinerException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class ConcurrencyLimitingTermMinerTest {
+
+    private static final Set<MinedTerm> TERMS = Set.of(MinedTerm.of(0, 9, "HP:0001252", true));
+
+    private final List<CompletableFuture<Collection<MinedTerm>>> requests = new ArrayList<>();
+
+    private final AsyncTermMiner miner = query -> {
+        CompletableFuture<Collection<MinedTerm>> request = new CompletableFuture<>();
+        requests.add(request);
+        return request;
+    };
+
+    @Test
+    public void requestsOverTheLimitAreQueuedOrShed() throws Exception {
+        ConcurrencyLimitingTermMiner limiting = ConcurrencyLimitingTermMiner.builder(miner, Runnable::run)
+                .initialLimit(2)
+                .maxQueueSize(2)
+                .build();
+
+        List<CompletableFuture<Collection<MinedTerm>>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(limiting.doMiningAsync("query " + i));
+        }
+        assertThat(requests.size(), is(2));
+        assertThat(limiting.getInFlight(), is(2));
+        assertThat(limiting.getQueueDepth(), is(2));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> limiting.doMiningAsync("query 4").get());
+        assertThat(e.getCause(), instanceOf(TermMinerException.class));
+
+        // the cancelled request leaves the queue
+        results.get(2).cancel(true);
+        assertThat(limiting.getQueueDepth(), is(1));
+
+        requests.get(0).complete(TERMS);
+        assertThat(results.get(0).get(), is(TERMS));
+        assertThat(requests.size(), is(3));
+        assertThat(limiting.getQueueDepth(), is(0));
+
+        requests.get(1).complete(TERMS);
+        requests.get(2).complete(TERMS);
+        assertThat(results.get(3).get(), is(TERMS));
+        assertThat(limiting.getInFlight(), is(0));
+    }
+
+    @Test
+    public void limitDecreasesOnFailures() {
+        ConcurrencyLimitingTermMiner limiting = ConcurrencyLimitingTermMiner.builder(miner, Runnable::run)
+                .initialLimit(10)
+                .backoffRatio(.5)
+                .build();
+
+        for (int i = 0; i < 3; i++) {
+            limiting.doMiningAsync("query");
+            requests.get(i).completeExceptionally(new TermMinerException("Service unavailable"));
+        }
+
+        assertThat(limiting.getLimit(), is(1));
+    }
+
+    @Test
+    public void aimdLimit() {
+        AimdLimit limit = new AimdLimit(10, 2, 12, .5, 2.);
+
+        // fast responses while using the limit increase the limit
+        for (int i = 0; i < 30; i++) {
+            limit.onSuccess(1_000, 10);
+        }
+        assertThat(limit.getLimit(), is(12));
+
+        // idle limit does not grow
+        limit.onFailure();
+        for (int i = 0; i < 30; i++) {
+            limit.onSuccess(1_000, 1);
+        }
+        assertThat(limit.getLimit(), is(6));
+
+        // high latency decreases the limit
+        limit.onSuccess(10_000, 6);
+        assertThat(limit.getLimit(), lessThan(6));
+        assertThat(limit.getLimit(), greaterThan(1));
+    }
+}
@@ -0,0 +1,105 @@
+package org.monarchinitiative.hpotextmining.core.miners.resilience;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.hpotextmining.core.miners.AsyncTermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.TermMinerException;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class HedgingTermMinerTest {
+
+    private static final Set<MinedTerm> TERMS = Set.of(MinedTerm.of(0, 9, "HP:0001252", true));
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void slowPrimaryIsHedgedAndCancelled() throws Exception {
+        CompletableFuture<Collection<MinedTerm>> slow = new CompletableFuture<>();
+        AsyncTermMiner primary = query -> slow;
+        AsyncTermMiner alternate = query -> CompletableFuture.completedFuture(TERMS);
+
+        HedgingTermMiner miner = HedgingTermMiner.builder(primary, executor)
+                .alternate(alternate)
+                .initialDelay(Duration.ofMillis(20))
+                .budget(1.)
+                .build();
+
+        assertThat(miner.doMining("query"), is(TERMS));
+        assertThat(slow.isCancelled(), is(true));
+        assertThat(miner.getHedgeCount(), is(1L));
+    }
+
+    @Test
+    public void hedgingIsLimitedByBudget() throws Exception {
+        AsyncTermMiner primary = query -> CompletableFuture.supplyAsync(() -> TERMS,
+                CompletableFuture.delayedExecutor(30, TimeUnit.MILLISECONDS, executor));
+        HedgingTermMiner miner = HedgingTermMiner.builder(primary, executor)
+                .initialDelay(Duration.ofMillis(1))
+                .budget(.25)
+                .build();
+
+        for (int i = 0; i < 8; i++) {
+            assertThat(miner.doMining("query"), is(TERMS));
+        }
+
+        assertThat(miner.getRequestCount(), is(8L));
+        assertThat(miner.getHedgeCount(), is(2L));
+    }
+
+    @Test
+    public void failureIsReportedWhenAllRequestsFail() {
+        AsyncTermMiner failing = query -> CompletableFuture.failedFuture(new TermMinerException("Service unavailable"));
+        HedgingTermMiner miner = HedgingTermMiner.builder(failing, executor).initialDelay(Duration.ofSeconds(10)).build();
+
+        TermMinerException e = assertThrows(TermMinerException.class, () -> miner.doMining("query"));
+        assertThat(e.getMessage(), is("Service unavailable"));
+    }
+
+    @Test
+    public void hedgeDelayFollowsPercentileOfLatencies() {
+        HedgingTermMiner miner = HedgingTermMiner.builder(query -> TERMS, executor)
+                .percentile(.9)
+                .windowSize(100)
+                .initialDelay(Duration.ofSeconds(1))
+                .minDelay(Duration.ofNanos(1))
+                .build();
+        assertThat(miner.hedgeDelay(), is(Duration.ofSeconds(1).toNanos()));
+
+        LatencyWindow window = new LatencyWindow(100, .9);
+        for (int i = 1; i <= 15; i++) {
+            window.record(i);
+        }
+        assertThat(window.percentile(), is(-1L)); // not recomputed yet
+
+        for (int i = 16; i <= 160; i++) {
+            window.record(i);
+        }
+        // the window contains 61..160
+        assertThat(window.percentile(), is(151L));
+    }
+}
@@ -0,0 +1,163 @@
+package org.monarchinitiative.hpotextmining.core.miners.resilience;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.hpotextmining.core.miners.AsyncTermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.TermMinerException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class RetryingTermMinerTest {
+
+    private static final Set<MinedTerm> TERMS = Set.of(MinedTerm.of(0, 9, "HP:0001252", true));
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private TermMiner failingTimes(int failures) {
+        return query -> {
+            if (calls.incrementAndGet() <= failures) {
+                throw new TermMinerException("Service unavailable");
+            }
+            return TERMS;
+        };
+    }
+
+    @Test
+    public void failedMiningIsRetried() throws Exception {
+        RetryingTermMiner miner = RetryingTermMiner.builder(failingTimes(2), executor)
+                .initialBackoff(Duration.ofMillis(5))
+                .build();
+
+        assertThat(miner.doMining("query"), is(TERMS));
+        assertThat(calls.get(), is(3));
+    }
+
+    @Test
+    public void miningFailsAfterMaxAttempts() {
+        RetryingTermMiner miner = RetryingTermMiner.builder(failingTimes(10), executor)
+                .maxAttempts(2)
+                .initialBackoff(Duration.ofMillis(5))
+                .build();
+
+        TermMinerException e = assertThrows(TermMinerException.class, () -> miner.doMining("query"));
+        assertThat(e.getMessage(), is("Service unavailable"));
+        assertThat(calls.get(), is(2));
+    }
+
+    @Test
+    public void attemptIsCancelledAtTheDeadline() {
+        CompletableFuture<Collection<MinedTerm>> never = new CompletableFuture<>();
+        AsyncTermMiner hanging = query -> never;
+        RetryingTermMiner miner = RetryingTermMiner.builder(hanging, executor)
+                .deadline(Duration.ofMillis(50))
+                .build();
+
+        TermMinerException e = assertThrows(TermMinerException.class, () -> miner.doMining("query"));
+        assertThat(e.getMessage(), is("Mining did not finish before the deadline"));
+        assertThat(never.isCancelled(), is(true));
+    }
+
+    @Test
+    public void openBreakerFailsFast() {
+        CircuitBreaker breaker = CircuitBreaker.builder()
+                .windowSize(4)
+                .minimumCalls(4)
+                .openDuration(Duration.ofMinutes(1))
+                .build();
+        RetryingTermMiner miner = RetryingTermMiner.builder(failingTimes(100), executor)
+                .maxAttempts(1)
+                .circuitBreaker(breaker)
+                .build();
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(TermMinerException.class, () -> miner.doMining("query"));
+        }
+        assertThat(breaker.getState(), is(CircuitBreaker.State.OPEN));
+
+        TermMinerException e = assertThrows(TermMinerException.class, () -> miner.doMining("query"));
+        assertThat(e.getMessage(), is("Circuit breaker is open"));
+        assertThat(calls.get(), is(4));
+    }
+
+    @Test
+    public void cancelledMiningIsNotReportedAsFailure() {
+        CircuitBreaker breaker = CircuitBreaker.builder()
+                .windowSize(4)
+                .minimumCalls(4)
+                .openDuration(Duration.ofMinutes(1))
+                .build();
+        List<CompletableFuture<Collection<MinedTerm>>> attempts = new ArrayList<>();
+        AsyncTermMiner hanging = query -> {
+            CompletableFuture<Collection<MinedTerm>> attempt = new CompletableFuture<>();
+            attempts.add(attempt);
+            return attempt;
+        };
+        RetryingTermMiner miner = RetryingTermMiner.builder(hanging, executor)
+                .circuitBreaker(breaker)
+                .build();
+
+        for (int i = 0; i < 10; i++) {
+            miner.doMiningAsync("query").cancel(true);
+        }
+
+        assertThat(attempts.size(), is(10));
+        assertThat(attempts.stream().allMatch(CompletableFuture::isCancelled), is(true));
+        assertThat(breaker.getState(), is(CircuitBreaker.State.CLOSED));
+
+        // while the expired attempts are failures
+        RetryingTermMiner expiring = RetryingTermMiner.builder(hanging, executor)
+                .circuitBreaker(breaker)
+                .deadline(Duration.ofMillis(1))
+                .build();
+        for (int i = 0; i < 4; i++) {
+            assertThrows(TermMinerException.class, () -> expiring.doMining("query"));
+        }
+        assertThat(breaker.getState(), is(CircuitBreaker.State.OPEN));
+    }
+
+    @Test
+    public void backoffIsBounded() {
+        RetryingTermMiner miner = RetryingTermMiner.builder(failingTimes(0), executor)
+                .initialBackoff(Duration.ofMillis(100))
+                .maxBackoff(Duration.ofMillis(300))
+                .build();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(miner.backoff(1), lessThanOrEqualTo(Duration.ofMillis(100).toNanos()));
+            assertThat(miner.backoff(40), lessThanOrEqualTo(Duration.ofMillis(300).toNanos()));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.monarchinitiative.hpotextmining.core.miners.scigraph;
+
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.testing.SciGraphStandInServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class FormEncoderTest {
+
+    private static final List<String> QUERIES = List.of(
+            "",
+            "Hypotonia since birth, first seizure at 2 years.",
+            "a+b=c & d/e?f %20 ~!*'()._-",
+            "Café, naïve, Ünter, μ-opioid, 日本語, emoji 😀 end",
+            "unpaired \uD83D surrogate \uDE00 here\uD83D");
+
+    /**
+     * The form used to be built by joining the {@link URLEncoder}-encoded parameters.
+     */
+    private static String urlEncoderForm(String query) {
+        return "includeCat=phenotype&content=" + URLEncoder.encode(query, StandardCharsets.UTF_8) + "&includeAcronym=true";
+    }
+
+    @Test
+    public void formIsEqualToUrlEncoderForm() {
+        for (String query : QUERIES) {
+            String expected = urlEncoderForm(query);
+
+            assertThat(query, new String(FormEncoder.encode(query), StandardCharsets.US_ASCII), is(expected));
+            assertThat(query, FormEncoder.length(query), is((long) expected.length()));
+        }
+    }
+
+    @Test
+    public void formIsEncodedInArbitraryChunks() throws Exception {
+        for (String query : QUERIES) {
+            byte[] expected = urlEncoderForm(query).getBytes(StandardCharsets.US_ASCII);
+            for (int chunk = 1; chunk <= 13; chunk++) {
+                ByteArrayOutputStream os = new ByteArrayOutputStream();
+                byte[] buffer = new byte[chunk];
+                try (InputStream is = new FormEncoder.FormInputStream(query)) {
+                    int n;
+                    while ((n = is.read(buffer, 0, chunk)) >= 0) {
+                        os.write(buffer, 0, n);
+                    }
+                }
+                assertThat(query + " in chunks of " + chunk, os.toByteArray(), is(expected));
+            }
+        }
+    }
+
+    @Test
+    public void longQueryIsStreamed() {
+        String shortQuery = "x".repeat(FormEncoder.STREAMING_THRESHOLD);
+        String longQuery = "x".repeat(FormEncoder.STREAMING_THRESHOLD + 1);
+
+        assertThat(FormEncoder.publisher(shortQuery).contentLength(), is(FormEncoder.length(shortQuery)));
+        // unknown length, sent with chunked transfer encoding
+        assertThat(FormEncoder.publisher(longQuery).contentLength(), is(-1L));
+    }
+
+    @Test
+    public void longQueryIsMined() throws Exception {
+        String sentence = "Hypotonia since birth, first seizure at 2 years. ";
+        String query = sentence.repeat(20_000); // ~1 MB
+        try (SciGraphStandInServer server = SciGraphStandInServer.builder()
+                .responder(SciGraphStandInServer.dictionary(Map.of("hypotonia", "HP:0001252")))
+                .start()) {
+            Collection<MinedTerm> terms = SciGraphTermMiner.builder(server.url()).build().doMining(query);
+
+            assertThat(terms.size(), is(20_000));
+            assertThat(terms.contains(MinedTerm.of(sentence.length(), sentence.length() + 9, "HP:0001252", true)), is(true));
+        }
+    }
+}
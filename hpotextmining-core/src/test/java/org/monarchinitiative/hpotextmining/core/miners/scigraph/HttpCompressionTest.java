@@ -0,0 +1,249 @@
+package org.monarchinitiative.hpotextmining.core.miners.scigraph;
+
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.testing.LatencyDistribution;
+import org.monarchinitiative.hpotextmining.core.testing.SciGraphStandInServer;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class HttpCompressionTest {
+
+    private static final Map<String, String> PHRASES = Map.of("hypotonia", "HP:0001252");
+
+    private static final String SENTENCE = "Hypotonia since birth, first seizure at 2 years. ";
+
+    private static final byte[] TEXT = SENTENCE.repeat(2_000).getBytes(StandardCharsets.UTF_8);
+
+    private static HttpHeaders headers(String contentEncoding) {
+        return HttpHeaders.of(Map.of("Content-Encoding", List.of(contentEncoding)), (name, value) -> true);
+    }
+
+    private static byte[] deflate(byte[] data, boolean nowrap) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (DeflaterOutputStream os = new DeflaterOutputStream(baos, new Deflater(Deflater.DEFAULT_COMPRESSION, nowrap))) {
+            os.write(data);
+        }
+        return baos.toByteArray();
+    }
+
+    @Test
+    public void gzipStreamIsDecodedByJdk() throws Exception {
+        byte[] compressed = HttpCompression.gzip(new ByteArrayInputStream(TEXT)).readAllBytes();
+
+        assertThat(compressed.length, lessThan(TEXT.length / 20));
+        try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(is.readAllBytes(), is(TEXT));
+        }
+        // the round trip
+        InputStream decoded = HttpCompression.decode(new ByteArrayInputStream(compressed), headers("gzip"));
+        assertThat(decoded.readAllBytes(), is(TEXT));
+    }
+
+    @Test
+    public void deflateResponseIsDecoded() throws Exception {
+        for (boolean nowrap : new boolean[]{false, true}) {
+            InputStream decoded = HttpCompression.decode(new ByteArrayInputStream(deflate(TEXT, nowrap)), headers("deflate"));
+
+            assertThat(decoded.readAllBytes(), is(TEXT));
+        }
+    }
+
+    @Test
+    public void identityAndUnsupportedEncodings() throws Exception {
+        InputStream body = new ByteArrayInputStream(TEXT);
+        assertThat(HttpCompression.decode(body, HttpHeaders.of(Map.of(), (name, value) -> true)) == body, is(true));
+
+        InputStream unsupported = HttpCompression.decode(new ByteArrayInputStream(TEXT), headers("br"));
+        assertThrows(IOException.class, unsupported::read);
+    }
+
+    @Test
+    public void requestAndResponseAreCompressed() throws Exception {
+        String query = SENTENCE.repeat(100);
+        try (SciGraphStandInServer server = SciGraphStandInServer.builder()
+                .responder(SciGraphStandInServer.dictionary(PHRASES))
+                .compression(true)
+                .start()) {
+            SciGraphTermMiner miner = SciGraphTermMiner.builder(server.url()).compression(true).build();
+
+            assertThat(miner.doMining(query).size(), is(100));
+            assertThat(miner.doMiningAsync(query).get().size(), is(100));
+            assertThat(server.requestCount(), is(2));
+            assertThat(server.compressedRequestCount(), is(2));
+            assertThat(server.compressedResponseCount(), is(2));
+
+            // the short queries are not worth compressing
+            assertThat(miner.doMining(SENTENCE), is(Set.of(MinedTerm.of(0, 9, "HP:0001252", true))));
+            assertThat(server.compressedRequestCount(), is(2));
+            assertThat(server.compressedResponseCount(), is(3));
+        }
+    }
+
+    @Test
+    public void uncompressedRequestsAreSentIfServerRejectsCompression() throws Exception {
+        String query = SENTENCE.repeat(100);
+        try (SciGraphStandInServer server = SciGraphStandInServer.builder()
+                .responder(SciGraphStandInServer.dictionary(PHRASES))
+                .start()) {
+            SciGraphTermMiner miner = SciGraphTermMiner.builder(server.url()).compression(true).build();
+
+            Collection<MinedTerm> terms = miner.doMining(query);
+            assertThat(terms.size(), is(100));
+            // rejected compressed request and the uncompressed one
+            assertThat(server.requestCount(), is(2));
+
+            // the server is remembered
+            SciGraphTermMiner other = SciGraphTermMiner.builder(server.url()).compression(true).build();
+            assertThat(other.doMining(query).size(), is(100));
+            assertThat(other.doMiningAsync(query).get().size(), is(100));
+            assertThat(server.requestCount(), is(4));
+            assertThat(server.compressedRequestCount(), is(0));
+            assertThat(server.compressedResponseCount(), is(0));
+        }
+    }
+
+    @Test
+    public void cancellingAsyncMiningCancelsTheCompressedExchange() throws Exception {
+        String query = SENTENCE.repeat(100);
+        // the compressed request, and the uncompressed request sent after the compression was rejected
+        for (boolean serverCompression : new boolean[]{true, false}) {
+            try (SciGraphStandInServer server = SciGraphStandInServer.builder()
+                    .responder(SciGraphStandInServer.dictionary(PHRASES))
+                    .compression(serverCompression)
+                    .latency(LatencyDistribution.fixed(Duration.ofSeconds(30)))
+                    .start()) {
+                RecordingHttpClient client = new RecordingHttpClient(SciGraphTermMiner.ConnectionFactory.newHttpClient(Duration.ofSeconds(5)));
+                SciGraphTermMiner miner = new SciGraphTermMiner(
+                        new SciGraphTermMiner.ConnectionFactory(server.url(), client, Duration.ofSeconds(60), true));
+
+                CompletableFuture<Collection<MinedTerm>> result = miner.doMiningAsync(query);
+                int exchanges = serverCompression ? 1 : 2;
+                long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+                while (client.exchanges.size() < exchanges && System.nanoTime() < deadline) {
+                    Thread.sleep(10);
+                }
+                assertThat(client.exchanges.size(), is(exchanges));
+                result.cancel(true);
+
+                // the uncompressed exchange might be cancelled by the thread which has just started it, and the
+                // client might abort the exchange with CancellationException rather than leave the future cancelled
+                Throwable failure = client.exchanges.get(exchanges - 1)
+                        .handle((response, throwable) -> throwable)
+                        .get(5, TimeUnit.SECONDS);
+                assertThat(failure instanceof CancellationException
+                        || failure != null && failure.getCause() instanceof CancellationException, is(true));
+            }
+        }
+    }
+
+    /**
+     * Delegates to an {@link HttpClient} and records the futures of the asynchronous exchanges.
+     */
+    private static class RecordingHttpClient extends HttpClient {
+
+        private final HttpClient client;
+
+        private final List<CompletableFuture<?>> exchanges = new CopyOnWriteArrayList<>();
+
+        private RecordingHttpClient(HttpClient client) {
+            this.client = client;
+        }
+
+        @Override
+        public Optional<CookieHandler> cookieHandler() {
+            return client.cookieHandler();
+        }
+
+        @Override
+        public Optional<Duration> connectTimeout() {
+            return client.connectTimeout();
+        }
+
+        @Override
+        public Redirect followRedirects() {
+            return client.followRedirects();
+        }
+
+        @Override
+        public Optional<ProxySelector> proxy() {
+            return client.proxy();
+        }
+
+        @Override
+        public SSLContext sslContext() {
+            return client.sslContext();
+        }
+
+        @Override
+        public SSLParameters sslParameters() {
+            return client.sslParameters();
+        }
+
+        @Override
+        public Optional<Authenticator> authenticator() {
+            return client.authenticator();
+        }
+
+        @Override
+        public Version version() {
+            return client.version();
+        }
+
+        @Override
+        public Optional<Executor> executor() {
+            return client.executor();
+        }
+
+        @Override
+        public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) throws IOException, InterruptedException {
+            return client.send(request, handler);
+        }
+
+        @Override
+        public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+            return sendAsync(request, handler, null);
+        }
+
+        @Override
+        public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> handler,
+                                                                HttpResponse.PushPromiseHandler<T> pushPromiseHandler) {
+            CompletableFuture<HttpResponse<T>> exchange = client.sendAsync(request, handler, pushPromiseHandler);
+            exchanges.add(exchange);
+            return exchange;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.monarchinitiative.hpotextmining.core.miners.scigraph;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTermBuffer;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class SciGraphResponseDecoderTest {
+
+    @Test
+    public void decodeIsConsistentWithObjectMapping() throws Exception {
+        byte[] response;
+        try (InputStream is = SciGraphResponseDecoderTest.class.getResourceAsStream("sciGraphJsonResponse.json")) {
+            response = is.readAllBytes();
+        }
+        Set<MinedTerm> expected = Arrays.stream(new ObjectMapper().readValue(response, SciGraphResult[].class))
+                .map(sgr -> MinedTerm.of(sgr.getStart(), sgr.getEnd(), sgr.getToken().getId(), true))
+                .collect(Collectors.toSet());
+
+        assertThat(SciGraphResponseDecoder.decode(new ByteArrayInputStream(response)), is(expected));
+        assertThat(SciGraphResponseDecoder.decode(response), is(expected));
+
+        MinedTermBuffer buffer = MinedTermBuffer.distinct();
+        SciGraphResponseDecoder.decode(new ByteArrayInputStream(response), buffer);
+        assertThat(buffer.size(), is(expected.size()));
+        assertThat(new HashSet<>(buffer), is(expected));
+    }
+
+    @Test
+    public void unknownFieldsAreSkipped() throws Exception {
+        String response = "[{\"extra\":{\"a\":[1,2]},\"end\":8,\"token\":{\"terms\":[\"x\"],\"id\":\"HP:0003198\",\"more\":null},\"start\":0}," +
+                "{\"start\":1,\"end\":2}]";
+
+        Set<MinedTerm> terms = SciGraphResponseDecoder.decode(response.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(terms, is(Set.of(MinedTerm.of(0, 8, "HP:0003198", true))));
+    }
+
+    @Test
+    public void emptyResponse() throws Exception {
+        assertThat(SciGraphResponseDecoder.decode("[]".getBytes(StandardCharsets.UTF_8)).isEmpty(), is(true));
+    }
+
+    @Test
+    public void responseStreamIsNotClosed() throws Exception {
+        boolean[] closed = {false};
+        InputStream is = new ByteArrayInputStream("[{\"token\":{\"id\":\"HP:0001252\"},\"start\":0,\"end\":9}]".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        assertThat(SciGraphResponseDecoder.decode(is), is(Set.of(MinedTerm.of(0, 9, "HP:0001252", true))));
+        assertThat(closed[0], is(false));
+    }
+
+    @Test
+    public void malformedResponse() {
+        assertThrows(JsonProcessingException.class, () -> SciGraphResponseDecoder.decode("{\"start\":1}".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(JsonProcessingException.class, () -> SciGraphResponseDecoder.decode("[{\"start\":1".getBytes(StandardCharsets.UTF_8)));
+    }
+}
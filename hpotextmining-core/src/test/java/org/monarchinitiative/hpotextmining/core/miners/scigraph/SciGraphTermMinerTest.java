@@ -5,21 +5,26 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URL;
-import java.net.URLConnection;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * This class tests connection to Monarch text annotation services connection. Use it to send query text to the connection and
@@ -27,7 +32,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
  *
  * @author <a href="mailto:aaron.zhang@jax.org">Aaron Zhang</a>
  * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
- * @version 0.2.2
+ * @version 0.2.9
  * @since 0.2.2
  */
 public class SciGraphTermMinerTest {
@@ -38,8 +43,6 @@ public class SciGraphTermMinerTest {
 
     private static String scigraphJsonResponse;
 
-    public URLConnection connection;
-
     public SciGraphTermMiner.ConnectionFactory factory;
 
     @BeforeAll
@@ -58,22 +61,18 @@ public class SciGraphTermMinerTest {
 
     @BeforeEach
     public void setUp() {
-        connection = Mockito.mock(URLConnection.class);
         factory = Mockito.mock(SciGraphTermMiner.ConnectionFactory.class);
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     public void mineHpoTermsFromLargePayload() throws Exception {
-        URL mockUrl = new URL("file:/some/path/to/file");
-        Mockito.when(connection.getURL()).thenReturn(mockUrl);
-
-        ByteArrayOutputStream os = new ByteArrayOutputStream();
-        Mockito.when(connection.getOutputStream()).thenReturn(os);
+        HttpResponse<InputStream> response = Mockito.mock(HttpResponse.class);
+        Mockito.when(response.statusCode()).thenReturn(200);
+        Mockito.when(response.body()).thenReturn(new ByteArrayInputStream(scigraphJsonResponse.getBytes()));
 
-        ByteArrayInputStream is = new ByteArrayInputStream(scigraphJsonResponse.getBytes());
-        Mockito.when(connection.getInputStream()).thenReturn(is);
-
-        Mockito.when(factory.getConnection()).thenReturn(connection);
+        ArgumentCaptor<String> query = ArgumentCaptor.forClass(String.class);
+        Mockito.when(factory.send(query.capture())).thenReturn(response);
         SciGraphTermMiner instance = new SciGraphTermMiner(factory);
         final Set<MinedTerm> minedTerms = instance.doMining(payload);
 
@@ -87,10 +86,85 @@ public class SciGraphTermMinerTest {
 
 
         // test that we query the server in a consistent way
-        assertThat(os.toString().length(), is(4055));
-        assertThat(os.toString().hashCode(), is(-478580216));
+        String form = new String(FormEncoder.encode(query.getValue()), StandardCharsets.US_ASCII);
+        assertThat(form.length(), is(4055));
+        assertThat(form.hashCode(), is(-478580216));
+    }
+
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void mineHpoTermsAsync() throws Exception {
+        HttpResponse<InputStream> response = Mockito.mock(HttpResponse.class);
+        Mockito.when(response.statusCode()).thenReturn(200);
+        Mockito.when(response.body()).thenReturn(new ByteArrayInputStream(scigraphJsonResponse.getBytes()));
+        Mockito.when(factory.sendAsync(Mockito.anyString())).thenReturn(CompletableFuture.completedFuture(response));
+
+        SciGraphTermMiner instance = new SciGraphTermMiner(factory);
+        Collection<MinedTerm> minedTerms = instance.doMiningAsync(payload).get();
+
+        assertThat(minedTerms.size(), is(66));
+        assertThat(minedTerms, hasItem(MinedTerm.of(1635, 1643, "HP:0001762", true)));
+        assertThat(minedTerms, hasItem(MinedTerm.of(414, 436, "HP:0001290", true)));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void mineHpoTermsAsyncWithServerError() throws Exception {
+        HttpResponse<InputStream> response = Mockito.mock(HttpResponse.class);
+        Mockito.when(response.statusCode()).thenReturn(500);
+        Mockito.when(factory.sendAsync(Mockito.anyString())).thenReturn(CompletableFuture.completedFuture(response));
+
+        SciGraphTermMiner instance = new SciGraphTermMiner(factory);
+        ExecutionException e = assertThrows(ExecutionException.class, () -> instance.doMiningAsync(payload).get());
+
+        assertThat(e.getCause().getMessage(), is("Server responded with status 500"));
+    }
+
+    @Test
+    public void cancellingAsyncMiningCancelsTheRequest() throws Exception {
+        CompletableFuture<HttpResponse<InputStream>> pending = new CompletableFuture<>();
+        Mockito.when(factory.sendAsync(Mockito.anyString())).thenReturn(pending);
+
+        SciGraphTermMiner instance = new SciGraphTermMiner(factory);
+        instance.doMiningAsync(payload).cancel(true);
+
+        assertThat(pending.isCancelled(), is(true));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void packedBatchIsSplitBackToQueries() throws Exception {
+        List<String> contents = new ArrayList<>();
+        Mockito.when(factory.sendAsync(Mockito.anyString())).thenAnswer(invocation -> {
+            String content = invocation.getArgument(0);
+            contents.add(content);
+            // "hypotonia" terms, and a term spanning the whole content which straddles the separators
+            StringBuilder json = new StringBuilder("[");
+            int begin = -1;
+            while ((begin = content.indexOf("hypotonia", begin + 1)) >= 0) {
+                json.append(String.format("{\"token\":{\"id\":\"HP:0001252\"},\"start\":%d,\"end\":%d},", begin, begin + 9));
+            }
+            json.append(String.format("{\"token\":{\"id\":\"HP:0000001\"},\"start\":0,\"end\":%d}]", content.length()));
+
+            HttpResponse<InputStream> response = Mockito.mock(HttpResponse.class);
+            Mockito.when(response.statusCode()).thenReturn(200);
+            Mockito.when(response.body()).thenReturn(new ByteArrayInputStream(json.toString().getBytes(StandardCharsets.UTF_8)));
+            return CompletableFuture.completedFuture(response);
+        });
+
+        SciGraphTermMiner instance = new SciGraphTermMiner(factory, new QueryPacker(2, 1000));
+        Map<String, String> queries = new LinkedHashMap<>();
+        queries.put("a", "Mild hypotonia.");
+        queries.put("b", "No findings");
+        queries.put("c", "hypotonia");
+        Map<String, Collection<MinedTerm>> results = instance.doMiningBatch(queries, Runnable::run);
+
+        assertThat(contents, is(List.of("Mild hypotonia." + QueryPacker.SEPARATOR + "No findings", "hypotonia")));
+        assertThat(results.get("a"), is(Set.of(MinedTerm.of(5, 14, "HP:0001252", true))));
+        assertThat(results.get("b"), is(Set.of()));
+        assertThat(results.get("c"), is(Set.of(MinedTerm.of(0, 9, "HP:0001252", true), MinedTerm.of(0, 9, "HP:0000001", true))));
+    }
 
     /**
      * Read query text, send it to the connection and print received response to STDOUT.
@@ -0,0 +1,140 @@
+package org.monarchinitiative.hpotextmining.core.ontology;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.phenol.ontology.data.*;
+import org.monarchinitiative.phenol.ontology.data.impl.SimpleMinimalOntology;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class AncestorIndexTest {
+
+    static final TermId ROOT = TermId.of("HP:0000001");
+    static final TermId PHENOTYPIC_ABNORMALITY = TermId.of("HP:0000118");
+    static final TermId EYE = TermId.of("HP:0000478");
+    static final TermId LENS = TermId.of("HP:0000517");
+    static final TermId CATARACT = TermId.of("HP:0000518");
+    static final TermId NERVOUS_SYSTEM = TermId.of("HP:0000707");
+    static final TermId HYPOTONIA = TermId.of("HP:0001252");
+    static final TermId OBSOLETE = TermId.of("HP:0000000");
+
+    private static AncestorIndex index;
+
+    /**
+     * Cataract has an alternative id. Hypotonia has two parents, and its parent Nervous system is listed after it.
+     */
+    static MinimalOntology ontology() {
+        List<Term> terms = List.of(
+                Term.of(ROOT, "All"),
+                Term.of(PHENOTYPIC_ABNORMALITY, "Phenotypic abnormality"),
+                Term.of(HYPOTONIA, "Hypotonia"),
+                Term.of(EYE, "Abnormality of the eye"),
+                Term.of(LENS, "Abnormality of the lens"),
+                Term.builder(CATARACT).name("Cataract").altTermIds(List.of(TermId.of("HP:0001095"))).build(),
+                Term.of(NERVOUS_SYSTEM, "Abnormality of the nervous system"),
+                Term.builder(OBSOLETE).name("Obsolete term").obsolete(true).build());
+        List<Relationship> relationships = List.of(
+                new Relationship(PHENOTYPIC_ABNORMALITY, ROOT, 1, RelationshipType.IS_A),
+                new Relationship(EYE, PHENOTYPIC_ABNORMALITY, 2, RelationshipType.IS_A),
+                new Relationship(LENS, EYE, 3, RelationshipType.IS_A),
+                new Relationship(CATARACT, LENS, 4, RelationshipType.IS_A),
+                new Relationship(NERVOUS_SYSTEM, PHENOTYPIC_ABNORMALITY, 5, RelationshipType.IS_A),
+                new Relationship(HYPOTONIA, NERVOUS_SYSTEM, 6, RelationshipType.IS_A),
+                new Relationship(HYPOTONIA, PHENOTYPIC_ABNORMALITY, 7, RelationshipType.IS_A));
+        return SimpleMinimalOntology.builder()
+                .terms(terms)
+                .relationships(relationships)
+                .build();
+    }
+
+    @BeforeAll
+    public static void beforeAll() {
+        index = AncestorIndex.of(ontology());
+    }
+
+    private static int code(TermId termId) {
+        return index.code(termId.getValue());
+    }
+
+    @Test
+    public void parentsHaveLowerCodes() {
+        assertThat(index.size(), is(7));
+        assertThat(code(ROOT), is(0));
+        assertThat(code(NERVOUS_SYSTEM) < code(HYPOTONIA), is(true));
+        assertThat(index.termId(code(CATARACT)), is("HP:0000518"));
+    }
+
+    @Test
+    public void ancestorsAreClosed() {
+        assertThat(index.ancestors(code(CATARACT)), is(new int[]{
+                code(ROOT), code(PHENOTYPIC_ABNORMALITY), code(EYE), code(LENS)}));
+        assertThat(index.ancestors(code(ROOT)), is(new int[0]));
+
+        assertThat(index.isAncestor(code(EYE), code(CATARACT)), is(true));
+        assertThat(index.isAncestor(code(NERVOUS_SYSTEM), code(HYPOTONIA)), is(true));
+        assertThat(index.isAncestor(code(CATARACT), code(EYE)), is(false));
+        assertThat(index.isAncestor(code(CATARACT), code(CATARACT)), is(false));
+        assertThat(index.isAncestor(code(EYE), code(HYPOTONIA)), is(false));
+    }
+
+    @Test
+    public void alternativeIdsAndUnknownIds() {
+        assertThat(index.code("HP:0001095"), is(code(CATARACT)));
+        assertThat(index.code("HP:0000000"), is(-1));
+        assertThat(index.code("HP:9999999"), is(-1));
+    }
+
+    /**
+     * The cycle is not built through phenol, which does not accept the cyclic ontologies.
+     */
+    @Test
+    public void cycleIsRejected() {
+        String[] termIds = {"HP:0000001", "HP:0000478", "HP:0000517"};
+        // All <- Eye <- Lens <- Eye
+        int[][] parents = {{}, {0, 2}, {1}};
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> AncestorIndex.build(termIds, parents, List.of(List.of(), List.of(), List.of())));
+        assertThat(e.getMessage(), is("The ontology hierarchy contains a cycle involving 2 terms"));
+    }
+
+    /**
+     * A deep and wide hierarchy spanning many bitset words.
+     */
+    @Test
+    public void largeHierarchy() {
+        int n = 1_000;
+        List<Term> terms = new ArrayList<>();
+        List<Relationship> relationships = new ArrayList<>();
+        for (int i = 1; i <= n; i++) {
+            TermId termId = TermId.of(String.format("HP:%07d", i));
+            terms.add(Term.of(termId, "Term " + i));
+            if (i > 1) {
+                // the parent is at i / 2, like in a binary heap
+                relationships.add(new Relationship(termId, TermId.of(String.format("HP:%07d", i / 2)), i, RelationshipType.IS_A));
+            }
+        }
+        AncestorIndex large = AncestorIndex.of(SimpleMinimalOntology.builder().terms(terms).relationships(relationships).build());
+
+        for (int i = 1; i <= n; i++) {
+            int descendant = large.code(String.format("HP:%07d", i));
+            for (int j = 1; j <= n; j += 7) {
+                boolean expected = false;
+                for (int k = i / 2; k >= 1; k /= 2) {
+                    expected |= k == j;
+                }
+                assertThat(large.isAncestor(large.code(String.format("HP:%07d", j)), descendant), is(expected));
+            }
+        }
+    }
+}
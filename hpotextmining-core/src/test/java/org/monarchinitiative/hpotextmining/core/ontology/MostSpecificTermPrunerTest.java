@@ -0,0 +1,64 @@
+package org.monarchinitiative.hpotextmining.core.ontology;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTermBuffer;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class MostSpecificTermPrunerTest {
+
+    private static MostSpecificTermPruner pruner;
+
+    @BeforeAll
+    public static void beforeAll() {
+        pruner = new MostSpecificTermPruner(AncestorIndex.of(AncestorIndexTest.ontology()));
+    }
+
+    @Test
+    public void ancestorsOfPresentTermsArePruned() {
+        MinedTerm eye = MinedTerm.of(0, 22, "HP:0000478", true);
+        MinedTerm cataract = MinedTerm.of(30, 38, "HP:0000518", true);
+        MinedTerm hypotonia = MinedTerm.of(40, 49, "HP:0001252", true);
+        MinedTerm nervousSystem = MinedTerm.of(60, 93, "HP:0000707", true);
+        MinedTerm cataractAgain = MinedTerm.of(100, 108, "HP:0000518", true);
+
+        Set<MinedTerm> pruned = pruner.prune(List.of(eye, cataract, hypotonia, nervousSystem, cataractAgain));
+
+        assertThat(pruned, is(Set.of(cataract, hypotonia, cataractAgain)));
+        assertThat(List.copyOf(pruned), is(List.of(cataract, hypotonia, cataractAgain)));
+    }
+
+    @Test
+    public void absentAndUnknownTermsAreRetained() {
+        MinedTerm eye = MinedTerm.of(0, 22, "HP:0000478", true);
+        MinedTerm noCataract = MinedTerm.of(30, 38, "HP:0000518", false);
+        MinedTerm noLens = MinedTerm.of(40, 63, "HP:0000517", false);
+        MinedTerm cataractByAltId = MinedTerm.of(70, 78, "HP:0001095", true);
+        MinedTerm unknown = MinedTerm.of(80, 90, "HP:9999999", true);
+
+        assertThat(pruner.prune(List.of(eye, noCataract, noLens)), is(Set.of(eye, noCataract, noLens)));
+        // the alternative id is resolved to the primary term
+        assertThat(pruner.prune(List.of(eye, noLens, cataractByAltId, unknown)), is(Set.of(noLens, cataractByAltId, unknown)));
+    }
+
+    @Test
+    public void bufferIsPruned() {
+        MinedTermBuffer buffer = new MinedTermBuffer();
+        buffer.add(0, 22, "HP:0000478", true);
+        buffer.add(30, 38, "HP:0000518", true);
+
+        assertThat(pruner.prune(buffer), is(Set.of(MinedTerm.of(30, 38, "HP:0000518", true))));
+        assertThat(pruner.prune(List.of()).isEmpty(), is(true));
+    }
+}
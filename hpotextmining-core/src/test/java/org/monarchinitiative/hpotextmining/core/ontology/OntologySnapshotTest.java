@@ -0,0 +1,197 @@
+package org.monarchinitiative.hpotextmining.core.ontology;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.local.LocalTermMiner;
+import org.monarchinitiative.phenol.ontology.data.*;
+import org.monarchinitiative.phenol.ontology.data.impl.SimpleMinimalOntology;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class OntologySnapshotTest {
+
+    private static final String VERSION = "hp/releases/2024-06-25";
+
+    private static final TermId ROOT = TermId.of("HP:0000001");
+    private static final TermId PHENOTYPIC_ABNORMALITY = TermId.of("HP:0000118");
+    private static final TermId HYPOTONIA = TermId.of("HP:0001252");
+    private static final TermId GENERALIZED_HYPOTONIA = TermId.of("HP:0001290");
+    private static final TermId CAFE_AU_LAIT = TermId.of("HP:0000957");
+    private static final TermId OBSOLETE = TermId.of("HP:0000000");
+
+    private static MinimalOntology ontology;
+
+    @TempDir
+    public Path tmp;
+
+    @BeforeAll
+    public static void beforeAll() {
+        List<Term> terms = List.of(
+                Term.of(ROOT, "All"),
+                Term.of(PHENOTYPIC_ABNORMALITY, "Phenotypic abnormality"),
+                Term.builder(HYPOTONIA).name("Hypotonia")
+                        .definition("Hypotonia is an abnormally low muscle tone.")
+                        .synonyms(List.of(new TermSynonym("Low muscle tone", TermSynonymScope.EXACT, null, List.of(), null)))
+                        .altTermIds(List.of(TermId.of("HP:0001290000"), TermId.of("HP:0008936")))
+                        .build(),
+                Term.of(GENERALIZED_HYPOTONIA, "Generalized hypotonia"),
+                Term.builder(CAFE_AU_LAIT).name("Café-au-lait spot").build(),
+                Term.builder(OBSOLETE).name("Obsolete term").obsolete(true).build());
+        List<Relationship> relationships = List.of(
+                new Relationship(PHENOTYPIC_ABNORMALITY, ROOT, 1, RelationshipType.IS_A),
+                new Relationship(HYPOTONIA, PHENOTYPIC_ABNORMALITY, 2, RelationshipType.IS_A),
+                new Relationship(GENERALIZED_HYPOTONIA, HYPOTONIA, 3, RelationshipType.IS_A),
+                new Relationship(CAFE_AU_LAIT, PHENOTYPIC_ABNORMALITY, 4, RelationshipType.IS_A));
+        ontology = SimpleMinimalOntology.builder()
+                .terms(terms)
+                .relationships(relationships)
+                .build();
+    }
+
+    private OntologySnapshot snapshot() throws IOException {
+        Path path = OntologySnapshot.resolve(tmp, VERSION);
+        OntologySnapshot.write(ontology, VERSION, path);
+        return OntologySnapshot.open(path);
+    }
+
+    @Test
+    public void termsAndHierarchyAreStored() throws Exception {
+        OntologySnapshot snapshot = snapshot();
+
+        assertThat(snapshot.version(), is(VERSION));
+        assertThat(snapshot.size(), is(5));
+        int hypotonia = snapshot.code("HP:0001252");
+        assertThat(snapshot.termId(hypotonia), is("HP:0001252"));
+        assertThat(snapshot.name(hypotonia), is("Hypotonia"));
+        assertThat(snapshot.definition(hypotonia), is("Hypotonia is an abnormally low muscle tone."));
+        assertThat(snapshot.synonyms(hypotonia), is(List.of("Low muscle tone")));
+        assertThat(snapshot.altTermIds(hypotonia), is(List.of("HP:0001290000", "HP:0008936")));
+        assertThat(snapshot.parents(hypotonia), is(new int[]{snapshot.code("HP:0000118")}));
+        assertThat(snapshot.children(hypotonia), is(new int[]{snapshot.code("HP:0001290")}));
+        assertThat(snapshot.name(snapshot.code("HP:0000957")), is("Café-au-lait spot"));
+        assertThat(snapshot.definition(snapshot.code("HP:0000957")) == null, is(true));
+        // the obsolete terms are not stored
+        assertThat(snapshot.code("HP:0000000"), is(-1));
+    }
+
+    @Test
+    public void termsAreLookedUpByPrimaryAndAlternativeIds() throws Exception {
+        OntologySnapshot snapshot = snapshot();
+
+        assertThat(snapshot.code("HP:0008936"), is(snapshot.code("HP:0001252")));
+        assertThat(snapshot.code("HP:0001290000"), is(snapshot.code("HP:0001252")));
+        assertThat(snapshot.code("HP:0001290"), is(snapshot.code(GENERALIZED_HYPOTONIA.getValue())));
+        assertThat(snapshot.code("HP:9999999"), is(-1));
+        assertThat(snapshot.code(""), is(-1));
+    }
+
+    @Test
+    public void termsAreRehydratedOnce() throws Exception {
+        OntologySnapshot snapshot = snapshot();
+
+        Term term = snapshot.termForTermId(TermId.of("HP:0008936")).orElseThrow();
+        assertThat(term.id(), is(HYPOTONIA));
+        assertThat(term.getName(), is("Hypotonia"));
+        assertThat(term.getSynonyms().get(0).getValue(), is("Low muscle tone"));
+        assertThat(term.getSynonyms().get(0).getScope(), is(TermSynonymScope.EXACT));
+        assertThat(term.getAltTermIds(), is(List.of(TermId.of("HP:0001290000"), TermId.of("HP:0008936"))));
+        assertThat(snapshot.term(snapshot.code("HP:0001252")) == term, is(true));
+        assertThat(snapshot.termForTermId(TermId.of("HP:9999999")), is(Optional.empty()));
+
+        MinimalOntology rehydrated = snapshot.toMinimalOntology();
+        assertThat(rehydrated.getTerms().size(), is(5));
+        assertThat(rehydrated.graph().getParentsStream(GENERALIZED_HYPOTONIA).toList(), is(List.of(HYPOTONIA)));
+    }
+
+    @Test
+    public void snapshotIsKeyedByVersion() throws Exception {
+        Path path = OntologySnapshot.resolve(tmp, VERSION);
+        assertThat(path.getFileName().toString(), is("hp-hp_releases_2024-06-25.snapshot"));
+        assertThat(OntologySnapshot.open(path, VERSION), is(Optional.empty()));
+
+        OntologySnapshot.write(ontology, VERSION, path);
+
+        assertThat(OntologySnapshot.isSnapshot(path), is(true));
+        assertThat(OntologySnapshot.open(path, VERSION).isPresent(), is(true));
+        assertThat(OntologySnapshot.open(path, "hp/releases/2024-08-13"), is(Optional.empty()));
+    }
+
+    @Test
+    public void invalidFileIsRejected() throws Exception {
+        Path path = tmp.resolve("hp.json");
+        Files.writeString(path, "{\"graphs\": []}");
+
+        assertThat(OntologySnapshot.isSnapshot(path), is(false));
+        assertThat(OntologySnapshot.open(path, VERSION), is(Optional.empty()));
+        assertThrows(IOException.class, () -> OntologySnapshot.open(path));
+    }
+
+    @Test
+    public void truncatedFileIsRejected() throws Exception {
+        Path path = OntologySnapshot.resolve(tmp, VERSION);
+        OntologySnapshot.write(ontology, VERSION, path);
+        byte[] bytes = Files.readAllBytes(path);
+
+        Path truncated = tmp.resolve("truncated.snapshot");
+        for (int length = 0; length < bytes.length; length++) {
+            Files.write(truncated, Arrays.copyOf(bytes, length));
+
+            assertThrows(IOException.class, () -> OntologySnapshot.open(truncated));
+            assertThat(OntologySnapshot.open(truncated, VERSION), is(Optional.empty()));
+        }
+    }
+
+    @Test
+    public void indexAndMinerAreBuiltWithoutRehydration() throws Exception {
+        OntologySnapshot snapshot = snapshot();
+
+        AncestorIndex index = AncestorIndex.of(snapshot);
+        assertThat(index.size(), is(5));
+        assertThat(index.isAncestor(index.code("HP:0000118"), index.code("HP:0001290")), is(true));
+        assertThat(index.code("HP:0008936"), is(index.code("HP:0001252")));
+
+        Set<MinedTerm> terms = new LocalTermMiner(snapshot, true).doMining("Low muscle tone and generalized hypotonia.");
+        assertThat(terms, is(Set.of(
+                MinedTerm.of(0, 15, "HP:0001252", true),
+                MinedTerm.of(20, 41, "HP:0001290", true),
+                MinedTerm.of(32, 41, "HP:0001252", true))));
+        assertThat(new LocalTermMiner(snapshot, true).doMining("Low muscle tone and generalized hypotonia."),
+                is(new LocalTermMiner(ontology, true).doMining("Low muscle tone and generalized hypotonia.")));
+    }
+
+    @Test
+    public void versionIsReadFromTheJsonHeader() throws Exception {
+        String json = "{\"graphs\": [{\"id\": \"http://purl.obolibrary.org/obo/hp.json\","
+                + "\"meta\": {\"basicPropertyValues\": [{\"pred\": \"http://www.w3.org/2002/07/owl#versionInfo\", \"val\": \"2024-06-25\"}],"
+                + "\"version\": \"http://purl.obolibrary.org/obo/hp/releases/2024-06-25/hp.json\"},"
+                + "\"nodes\": [";
+        String versionInfoOnly = "{\"graphs\": [{\"meta\": {\"basicPropertyValues\": ["
+                + "{\"pred\": \"http://www.w3.org/2002/07/owl#versionInfo\", \"val\": \"2024-06-25\"}]}, \"nodes\": []}]}";
+
+        // the truncated JSON shows that the terms are not parsed
+        assertThat(OntologySnapshot.jsonVersion(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))),
+                is("http://purl.obolibrary.org/obo/hp/releases/2024-06-25/hp.json"));
+        assertThat(OntologySnapshot.jsonVersion(new ByteArrayInputStream(versionInfoOnly.getBytes(StandardCharsets.UTF_8))),
+                is("2024-06-25"));
+        assertThat(OntologySnapshot.jsonVersion(new ByteArrayInputStream("{\"graphs\": []}".getBytes(StandardCharsets.UTF_8))) == null, is(true));
+    }
+}
@@ -0,0 +1,227 @@
+package org.monarchinitiative.hpotextmining.core.testing;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * Local HTTP server implementing the contract of the Biolark <code>annotate</code> endpoint, for testing the
+ * {@link org.monarchinitiative.hpotextmining.core.miners.biolark.BiolarkTermMiner} under real socket load without
+ * network access.
+ * <p>
+ * The server accepts the text to annotate as the body of a <code>POST</code> request and responds with a JSON array of
+ * annotations, either canned or generated by matching a dictionary of phrases in the text. Each request is served by
+ * its own thread.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @see SciGraphStandInServer
+ * @since 0.2.9
+ */
+public class BiolarkStandInServer implements AutoCloseable {
+
+    public static final String PATH = "/cr/annotate";
+
+    static {
+        // see SciGraphStandInServer
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+
+    private final ExecutorService executor;
+
+    private final UnaryOperator<String> responder;
+
+    private final LatencyDistribution latency;
+
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private BiolarkStandInServer(Builder builder) throws IOException {
+        this.responder = builder.responder;
+        this.latency = builder.latency;
+
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "biolark-stand-in");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 128);
+        server.createContext(PATH, this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Generate the response by finding all the case-insensitive occurrences of the <code>phrases</code> in the text. An
+     * occurrence preceded by <em>no</em> is reported as negated.
+     *
+     * @param phrases map of phrase to term id, e.g. <code>hypotonia -&gt; HP:0001252</code>
+     * @return responder generating a Biolark JSON response
+     */
+    public static UnaryOperator<String> dictionary(Map<String, String> phrases) {
+        Map<String, String> lowerCased = new LinkedHashMap<>();
+        phrases.forEach((phrase, termId) -> lowerCased.put(phrase.toLowerCase(Locale.ROOT), termId));
+        return content -> {
+            String text = content.toLowerCase(Locale.ROOT);
+            StringJoiner annotations = new StringJoiner(",", "[", "]");
+            for (Map.Entry<String, String> entry : lowerCased.entrySet()) {
+                int start = text.indexOf(entry.getKey());
+                while (start >= 0) {
+                    int end = start + entry.getKey().length();
+                    boolean negated = start >= 3 && text.startsWith("no ", start - 3);
+                    annotations.add(annotation(entry.getValue(), content.substring(start, end), start, end, negated));
+                    start = text.indexOf(entry.getKey(), start + 1);
+                }
+            }
+            return annotations.toString();
+        };
+    }
+
+    private static String annotation(String termId, String text, int start, int end, boolean negated) {
+        return String.format("{\"start_offset\":%d,\"end_offset\":%d,\"length\":%d,\"original_text\":\"%s\",\"source\":\"HPO\"," +
+                        "\"termId\":{\"uri\":\"%s\",\"preferredLabel\":\"%s\",\"synonyms\":[]},\"negated\":%b}",
+                start, end, end - start, text.replace("\\", "\\\\").replace("\"", "\\\""), termId, termId, negated);
+    }
+
+    /**
+     * @return URL of the <code>annotate</code> endpoint
+     */
+    public URL url() {
+        try {
+            return new URL("http", "127.0.0.1", server.getAddress().getPort(), PATH);
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return number of the requests received so far
+     */
+    public int requestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * @return the largest number of requests being served at once
+     */
+    public int maxConcurrentRequests() {
+        return maxInFlight.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                respond(exchange, 405, "Method not allowed");
+                return;
+            }
+            String text;
+            try (InputStream is = exchange.getRequestBody()) {
+                text = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            long nanos = latency.nextNanos(ThreadLocalRandom.current());
+            if (nanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(nanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while simulating latency", e);
+                }
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            respond(exchange, 200, responder.apply(text));
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    /**
+     * Stop the server, the requests in flight are aborted.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public static final class Builder {
+
+        private UnaryOperator<String> responder = text -> "[]";
+
+        private LatencyDistribution latency = LatencyDistribution.none();
+
+        private Builder() {
+        }
+
+        /**
+         * @param json canned JSON response sent to each request
+         * @return this {@link Builder} instance
+         */
+        public Builder cannedResponse(String json) {
+            Objects.requireNonNull(json, "Response must not be null");
+            this.responder = text -> json;
+            return this;
+        }
+
+        /**
+         * @param responder function generating the JSON response from the request body, e.g. {@link #dictionary(Map)}
+         * @return this {@link Builder} instance
+         */
+        public Builder responder(UnaryOperator<String> responder) {
+            this.responder = Objects.requireNonNull(responder, "Responder must not be null");
+            return this;
+        }
+
+        /**
+         * @param latency distribution of the delay before the response is sent
+         * @return this {@link Builder} instance
+         */
+        public Builder latency(LatencyDistribution latency) {
+            this.latency = Objects.requireNonNull(latency, "Latency must not be null");
+            return this;
+        }
+
+        /**
+         * @return a started server listening on a free port of the loopback interface
+         * @throws IOException if the server cannot be started
+         */
+        public BiolarkStandInServer start() throws IOException {
+            return new BiolarkStandInServer(this);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.monarchinitiative.hpotextmining.core.testing;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Distribution of the response latency simulated by {@link SciGraphStandInServer}.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    /**
+     * @param random source of randomness, not shared with the other threads
+     * @return next latency in nanoseconds
+     */
+    long nextNanos(Random random);
+
+    static LatencyDistribution none() {
+        return random -> 0;
+    }
+
+    static LatencyDistribution fixed(Duration latency) {
+        long nanos = latency.toNanos();
+        return random -> nanos;
+    }
+
+    /**
+     * @return latency uniformly distributed between <code>min</code> and <code>max</code>
+     */
+    static LatencyDistribution uniform(Duration min, Duration max) {
+        long lower = min.toNanos(), range = max.toNanos() - lower;
+        if (range < 0) {
+            throw new IllegalArgumentException("Max latency must not be less than min latency");
+        }
+        return random -> lower + (long) (random.nextDouble() * range);
+    }
+
+    /**
+     * Log-normal distribution is a good approximation of a service latency, the majority of the responses is fast,
+     * while there is a long tail of the slow ones.
+     *
+     * @param median latency of the median response
+     * @param sigma  standard deviation of the latency logarithm, the larger the longer the tail, e.g. <code>.5</code>
+     * @return log-normally distributed latency
+     */
+    static LatencyDistribution logNormal(Duration median, double sigma) {
+        double mu = Math.log(median.toNanos());
+        return random -> (long) Math.exp(mu + sigma * random.nextGaussian());
+    }
+}
@@ -0,0 +1,125 @@
+package org.monarchinitiative.hpotextmining.core.testing;
+
+import org.monarchinitiative.hpotextmining.core.miners.TermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.TermMinerException;
+import org.monarchinitiative.hpotextmining.core.miners.metrics.AtomicHistogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load generator for {@link TermMiner}s. A fixed number of workers mine the queries in round-robin
+ * fashion, each worker starts the next mining as soon as the previous one finishes.
+ * <p>
+ * The driver reports the throughput and percentiles of the mining latency, e.g. to compare the miners running against
+ * {@link SciGraphStandInServer}.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class LoadDriver {
+
+    private final TermMiner miner;
+
+    private final List<String> queries;
+
+    private final int concurrency;
+
+    /**
+     * @param miner       {@link TermMiner} to load
+     * @param queries     queries to mine in round-robin fashion
+     * @param concurrency number of the workers mining at once
+     */
+    public LoadDriver(TermMiner miner, List<String> queries, int concurrency) {
+        this.miner = Objects.requireNonNull(miner, "Miner must not be null");
+        this.queries = List.copyOf(queries);
+        if (this.queries.isEmpty()) {
+            throw new IllegalArgumentException("Queries must not be empty");
+        }
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be positive: " + concurrency);
+        }
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Mine <code>requests</code> queries and block until all of them finish.
+     *
+     * @param requests total number of the mining requests
+     * @return {@link Report} of the run
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public Report run(int requests) throws InterruptedException {
+        AtomicHistogram latencies = new AtomicHistogram();
+        LongAdder failures = new LongAdder();
+        LongAdder terms = new LongAdder();
+        AtomicInteger next = new AtomicInteger();
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<?>> futures = new ArrayList<>(concurrency);
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(workers.submit(() -> {
+                    int request;
+                    while ((request = next.getAndIncrement()) < requests) {
+                        String query = queries.get(request % queries.size());
+                        long begin = System.nanoTime();
+                        try {
+                            terms.add(miner.doMining(query).size());
+                        } catch (TermMinerException | RuntimeException e) {
+                            failures.increment();
+                        }
+                        latencies.record(System.nanoTime() - begin);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Worker failed", e.getCause());
+                }
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        return new Report(requests, failures.sum(), terms.sum(), elapsed, latencies.snapshot());
+    }
+
+    /**
+     * Outcome of a {@link LoadDriver} run.
+     *
+     * @param requests  number of the mining requests
+     * @param failures  number of the failed mining requests
+     * @param terms     total number of the mined terms
+     * @param elapsed   duration of the run
+     * @param latencies latencies of the requests in nanoseconds, including the failed ones
+     */
+    public record Report(long requests, long failures, long terms, Duration elapsed, AtomicHistogram.Snapshot latencies) {
+
+        /**
+         * @return number of the requests finished per second
+         */
+        public double throughput() {
+            return requests / (elapsed.toNanos() / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requests (%d failed) in %d ms: %.1f req/s, latency p50=%.2f ms p99=%.2f ms p999=%.2f ms max=%.2f ms",
+                    requests, failures, elapsed.toMillis(), throughput(),
+                    latencies.getValueAtPercentile(.5) / 1e6,
+                    latencies.getValueAtPercentile(.99) / 1e6,
+                    latencies.getValueAtPercentile(.999) / 1e6,
+                    latencies.getMax() / 1e6);
+        }
+    }
+}
@@ -0,0 +1,420 @@
+package org.monarchinitiative.hpotextmining.core.testing;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Local HTTP server implementing the contract of the SciGraph <code>annotations/complete</code> endpoint, for testing
+ * the remote miners under real socket load without network access.
+ * <p>
+ * The server accepts the <code>content</code> parameter either in an URL-encoded form body of a <code>POST</code>
+ * request, or in the query string of a <code>GET</code> request, and responds with a JSON array of annotations. The
+ * response is either canned, or generated by matching a dictionary of phrases in the content. The latency of the
+ * responses, rate of the errors, and the speed of the body transfer are configurable.
+ * <p>
+ * Each request is served by its own thread, hence the simulated latency does not limit the throughput. Use
+ * {@link #maxConcurrentRequests()} to learn how many requests a client had in flight.
+ * <p>
+ * The server rejects the compressed requests with <code>415</code> unless the compression is enabled by
+ * {@link Builder#compression(boolean)}. Then, it accepts <code>gzip</code> and <code>deflate</code> requests and it
+ * compresses the successful responses with <code>gzip</code> if the client accepts it.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class SciGraphStandInServer implements AutoCloseable {
+
+    public static final String PATH = "/scigraph/annotations/complete";
+
+    static {
+        // without TCP_NODELAY, Nagle's algorithm and delayed ACKs add ~40ms to each response of the JDK server.
+        // The property is read once, when the first server is created
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+
+    private final ExecutorService executor;
+
+    private final UnaryOperator<String> responder;
+
+    private final LatencyDistribution latency;
+
+    private final double errorRate;
+
+    private final int errorStatus;
+
+    private final int dripBytes;
+
+    private final long dripIntervalNanos;
+
+    private final boolean compression;
+
+    private final AtomicInteger compressedRequestCount = new AtomicInteger();
+
+    private final AtomicInteger compressedResponseCount = new AtomicInteger();
+
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    private final AtomicInteger errorCount = new AtomicInteger();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private SciGraphStandInServer(Builder builder) throws IOException {
+        this.responder = builder.responder;
+        this.latency = builder.latency;
+        this.errorRate = builder.errorRate;
+        this.errorStatus = builder.errorStatus;
+        this.dripBytes = builder.dripBytes;
+        this.dripIntervalNanos = builder.dripInterval.toNanos();
+        this.compression = builder.compression;
+
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "scigraph-stand-in");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), builder.backlog);
+        server.createContext(PATH, this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Generate the response by finding all the case-insensitive occurrences of the <code>phrases</code> in the content.
+     *
+     * @param phrases map of phrase to term id, e.g. <code>hypotonia -&gt; HP:0001252</code>
+     * @return responder generating a SciGraph JSON response
+     */
+    public static UnaryOperator<String> dictionary(Map<String, String> phrases) {
+        Map<String, String> lowerCased = new LinkedHashMap<>();
+        phrases.forEach((phrase, termId) -> lowerCased.put(phrase.toLowerCase(Locale.ROOT), termId));
+        return content -> {
+            String text = content.toLowerCase(Locale.ROOT);
+            StringJoiner annotations = new StringJoiner(",", "[", "]");
+            for (Map.Entry<String, String> entry : lowerCased.entrySet()) {
+                int start = text.indexOf(entry.getKey());
+                while (start >= 0) {
+                    int end = start + entry.getKey().length();
+                    annotations.add(annotation(entry.getValue(), content.substring(start, end), start, end));
+                    start = text.indexOf(entry.getKey(), start + 1);
+                }
+            }
+            return annotations.toString();
+        };
+    }
+
+    private static String annotation(String termId, String term, int start, int end) {
+        return String.format("{\"token\":{\"id\":\"%s\",\"categories\":[\"Phenotype\"],\"terms\":[\"%s\"]},\"start\":%d,\"end\":%d}",
+                termId, term.replace("\\", "\\\\").replace("\"", "\\\""), start, end);
+    }
+
+    /**
+     * Decode the <code>content</code> parameter of an URL-encoded form.
+     *
+     * @return the content or <code>null</code> if the parameter is missing
+     */
+    static String content(String form) {
+        if (form == null) {
+            return null;
+        }
+        for (String param : form.split("&")) {
+            int eq = param.indexOf('=');
+            if (eq > 0 && param.substring(0, eq).equals("content")) {
+                return URLDecoder.decode(param.substring(eq + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return URL of the <code>annotations/complete</code> endpoint
+     */
+    public URL url() {
+        try {
+            return new URL("http", "127.0.0.1", server.getAddress().getPort(), PATH);
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return number of the requests received so far
+     */
+    public int requestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * @return number of the requests answered by the simulated error
+     */
+    public int errorCount() {
+        return errorCount.get();
+    }
+
+    /**
+     * @return number of the compressed requests accepted by the server
+     */
+    public int compressedRequestCount() {
+        return compressedRequestCount.get();
+    }
+
+    /**
+     * @return number of the responses compressed by the server
+     */
+    public int compressedResponseCount() {
+        return compressedResponseCount.get();
+    }
+
+    /**
+     * @return the largest number of requests being served at once
+     */
+    public int maxConcurrentRequests() {
+        return maxInFlight.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try (exchange) {
+            String form;
+            if (exchange.getRequestMethod().equals("POST")) {
+                String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+                if (encoding != null && !encoding.equals("identity")) {
+                    if (!compression || !(encoding.equals("gzip") || encoding.equals("deflate"))) {
+                        respond(exchange, 415, "Unsupported content encoding");
+                        return;
+                    }
+                    compressedRequestCount.incrementAndGet();
+                }
+                try (InputStream is = decode(exchange.getRequestBody(), encoding)) {
+                    form = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+                }
+            } else if (exchange.getRequestMethod().equals("GET")) {
+                form = exchange.getRequestURI().getRawQuery();
+            } else {
+                respond(exchange, 405, "Method not allowed");
+                return;
+            }
+            if (!exchange.getRequestURI().getPath().equals(PATH)) {
+                respond(exchange, 404, "Not found");
+                return;
+            }
+
+            Random random = ThreadLocalRandom.current();
+            sleep(latency.nextNanos(random));
+            if (random.nextDouble() < errorRate) {
+                errorCount.incrementAndGet();
+                respond(exchange, errorStatus, "Service unavailable");
+                return;
+            }
+            String content = content(form);
+            if (content == null) {
+                respond(exchange, 400, "Missing content parameter");
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            respond(exchange, 200, responder.apply(content));
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static InputStream decode(InputStream body, String encoding) throws IOException {
+        if (encoding == null) {
+            return body;
+        }
+        switch (encoding) {
+            case "gzip":
+                return new GZIPInputStream(body);
+            case "deflate":
+                return new InflaterInputStream(body);
+            default:
+                return body;
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        String accepted = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (compression && status == 200 && accepted != null && accepted.contains("gzip")) {
+            compressedResponseCount.incrementAndGet();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(status, 0);
+            try (OutputStream os = new GZIPOutputStream(exchange.getResponseBody())) {
+                os.write(bytes);
+            }
+            return;
+        }
+        if (dripBytes <= 0 || status != 200) {
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(bytes);
+            }
+            return;
+        }
+        // slow drip: chunked transfer of small pieces with pauses
+        exchange.sendResponseHeaders(status, 0);
+        try (OutputStream os = exchange.getResponseBody()) {
+            for (int offset = 0; offset < bytes.length; offset += dripBytes) {
+                os.write(bytes, offset, Math.min(dripBytes, bytes.length - offset));
+                os.flush();
+                sleep(dripIntervalNanos);
+            }
+        }
+    }
+
+    private static void sleep(long nanos) throws IOException {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while simulating latency", e);
+        }
+    }
+
+    /**
+     * Stop the server, the requests in flight are aborted.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public static final class Builder {
+
+        private UnaryOperator<String> responder = content -> "[]";
+
+        private LatencyDistribution latency = LatencyDistribution.none();
+
+        private double errorRate;
+
+        private int errorStatus = 503;
+
+        private int dripBytes;
+
+        private Duration dripInterval = Duration.ZERO;
+
+        private int backlog = 128;
+
+        private boolean compression;
+
+        private Builder() {
+        }
+
+        /**
+         * @param json canned JSON response sent to each request
+         * @return this {@link Builder} instance
+         */
+        public Builder cannedResponse(String json) {
+            Objects.requireNonNull(json, "Response must not be null");
+            this.responder = content -> json;
+            return this;
+        }
+
+        /**
+         * @param responder function generating the JSON response from the decoded <code>content</code> parameter,
+         *                  e.g. {@link #dictionary(Map)}
+         * @return this {@link Builder} instance
+         */
+        public Builder responder(UnaryOperator<String> responder) {
+            this.responder = Objects.requireNonNull(responder, "Responder must not be null");
+            return this;
+        }
+
+        /**
+         * @param latency distribution of the delay before the response is sent
+         * @return this {@link Builder} instance
+         */
+        public Builder latency(LatencyDistribution latency) {
+            this.latency = Objects.requireNonNull(latency, "Latency must not be null");
+            return this;
+        }
+
+        /**
+         * @param errorRate   ratio of the requests answered by an error, in <code>[0, 1]</code>
+         * @param errorStatus HTTP status of the error, e.g. <code>503</code>
+         * @return this {@link Builder} instance
+         */
+        public Builder errors(double errorRate, int errorStatus) {
+            if (!(errorRate >= 0 && errorRate <= 1)) {
+                throw new IllegalArgumentException("Error rate must be in [0, 1]: " + errorRate);
+            }
+            this.errorRate = errorRate;
+            this.errorStatus = errorStatus;
+            return this;
+        }
+
+        /**
+         * Send the successful responses slowly, in chunks of <code>bytes</code> separated by the <code>interval</code>.
+         *
+         * @param bytes    size of a chunk
+         * @param interval pause after each chunk
+         * @return this {@link Builder} instance
+         */
+        public Builder slowDrip(int bytes, Duration interval) {
+            if (bytes < 1) {
+                throw new IllegalArgumentException("Drip size must be positive: " + bytes);
+            }
+            this.dripBytes = bytes;
+            this.dripInterval = Objects.requireNonNull(interval, "Interval must not be null");
+            return this;
+        }
+
+        /**
+         * @param backlog maximum number of the connections waiting to be accepted
+         * @return this {@link Builder} instance
+         */
+        public Builder backlog(int backlog) {
+            this.backlog = backlog;
+            return this;
+        }
+
+        /**
+         * @param compression accept the compressed requests and compress the responses if <code>true</code>
+         * @return this {@link Builder} instance
+         */
+        public Builder compression(boolean compression) {
+            this.compression = compression;
+            return this;
+        }
+
+        /**
+         * @return a started server listening on a free port of the loopback interface
+         * @throws IOException if the server cannot be started
+         */
+        public SciGraphStandInServer start() throws IOException {
+            return new SciGraphStandInServer(this);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package org.monarchinitiative.hpotextmining.core.testing;
+
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.TermMinerException;
+import org.monarchinitiative.hpotextmining.core.miners.resilience.ConcurrencyLimitingTermMiner;
+import org.monarchinitiative.hpotextmining.core.miners.scigraph.SciGraphTermMiner;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Exercise {@link SciGraphTermMiner} over real sockets using {@link SciGraphStandInServer} and {@link LoadDriver}.
+ *
+ * @author <a href="mailto:daniel.danis@jax.org">Daniel Danis</a>
+ * @version 0.2.9
+ * @since 0.2.9
+ */
+public class SciGraphStandInServerTest {
+
+    private static final Map<String, String> PHRASES = Map.of(
+            "hypotonia", "HP:0001252",
+            "seizure", "HP:0001250");
+
+    private static final String QUERY = "Hypotonia since birth, first seizure at 2 years, no seizure since.";
+
+    @Test
+    public void generatedResponseIsMined() throws Exception {
+        try (SciGraphStandInServer server = SciGraphStandInServer.builder()
+                .responder(SciGraphStandInServer.dictionary(PHRASES))
+                .start()) {
+            TermMiner miner = SciGraphTermMiner.builder(server.url()).build();
+
+            assertThat(miner.doMining(QUERY), is(Set.of(
+                    MinedTerm.of(0, 9, "HP:0001252", true),
+                    MinedTerm.of(29, 36, "HP:0001250", true),
+                    MinedTerm.of(52, 59, "HP:0001250", true))));
+            assertThat(server.requestCount(), is(1));
+        }
+    }
+
+    @Test
+    public void slowDripResponseIsMined() throws Exception {
+        try (SciGraphStandInServer server = SciGraphStandInServer.builder()
+                .responder(SciGraphStandInServer.dictionary(PHRASES))
+                .slowDrip(16, Duration.ofMillis(2))
+                .start()) {
+            TermMiner miner = SciGraphTermMiner.builder(server.url()).build();
+
+            assertThat(miner.doMining(QUERY).size(), is(3));
+        }
+    }
+
+    @Test
+    public void slowDripResponseIsDecodedOnTheDecodingExecutor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AtomicInteger decoded = new AtomicInteger();
+        try (SciGraphStandInServer server = SciGraphStandInServer.builder()
+                .responder(SciGraphStandInServer.dictionary(PHRASES))
+                .slowDrip(16, Duration.ofMillis(2))
+                .start()) {
+            SciGraphTermMiner miner = SciGraphTermMiner.builder(server.url())
+                    .decodingExecutor(command -> {
+                        decoded.incrementAndGet();
+                        executor.execute(command);
+                    })
+                    .build();
+
+            assertThat(miner.doMiningAsync(QUERY).get(5, TimeUnit.SECONDS).size(), is(3));
+            assertThat(decoded.get(), is(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void serverErrorFailsTheMining() throws Exception {
+        try (SciGraphStandInServer server = SciGraphStandInServer.builder()
+                .errors(1., 503)
+                .start()) {
+            TermMiner miner = SciGraphTermMiner.builder(server.url()).build();
+
+            TermMinerException e = assertThrows(TermMinerException.class, () -> miner.doMining(QUERY));
+            assertThat(e.getMessage(), is("Server responded with status 503"));
+            assertThat(server.errorCount(), is(1));
+        }
+    }
+
+    @Test
+    public void loadDriverReportsFailures() throws Exception {
+        try (SciGraphStandInServer server = SciGraphStandInServer.builder()
+                .responder(SciGraphStandInServer.dictionary(PHRASES))
+                .latency(LatencyDistribution.uniform(Duration.ofMillis(1), Duration.ofMillis(5)))
+                .errors(.2, 500)
+                .start()) {
+            TermMiner miner = SciGraphTermMiner.builder(server.url()).build();
+
+            LoadDriver.Report report = new LoadDriver(miner, List.of(QUERY), 8).run(200);
+
+            assertThat(report.requests(), is(200L));
+            assertThat(report.failures(), is((long) server.errorCount()));
+            assertThat(report.terms(), is(3 * (200L - report.failures())));
+            assertThat(report.latencies().getCount(), is(200L));
+            assertThat(report.throughput(), greaterThan(0.));
+        }
+    }
+
+    @Test
+    public void concurrencyLimitBoundsRequestsInFlight() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try (SciGraphStandInServer server = SciGraphStandInServer.builder()
+                .latency(LatencyDistribution.logNormal(Duration.ofMillis(5), .5))
+                .start()) {
+            TermMiner miner = ConcurrencyLimitingTermMiner.builder(SciGraphTermMiner.builder(server.url()).build(), executor)
+                    .initialLimit(4)
+                    .maxLimit(4)
+                    .maxQueueSize(64)
+                    .build();
+
+            LoadDriver.Report report = new LoadDriver(miner, List.of(QUERY), 16).run(160);
+
+            assertThat(report.failures(), is(0L));
+            assertThat(server.maxConcurrentRequests(), lessThanOrEqualTo(4));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
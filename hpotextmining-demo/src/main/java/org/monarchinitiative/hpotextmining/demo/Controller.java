@@ -45,6 +45,7 @@ public class Controller {
                     .withOntology(ontology)
                     .withExecutorService(executorService)
                     .withPhenotypeTerms(new HashSet<>()) // maybe you want to display some terms from the beginning
+                    .withMostSpecificTermsOnly(true) // hide e.g. 'Abnormality of the eye' if 'Cataract' was mined
                     .build();
 
             // show the text mining analysis dialog in the new stage/window
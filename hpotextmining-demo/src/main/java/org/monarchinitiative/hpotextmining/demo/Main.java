@@ -5,12 +5,17 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
+import org.monarchinitiative.hpotextmining.core.ontology.OntologySnapshot;
 import org.monarchinitiative.phenol.io.MinimalOntologyLoader;
 import org.monarchinitiative.phenol.ontology.data.MinimalOntology;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.nio.file.Path;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -29,6 +34,11 @@ public class Main extends Application {
 
     private static final String HPO_JSON_PATH = "/hp.v2024-06-25.json";
 
+    /**
+     * The ontology is compiled into a snapshot here on the first start.
+     */
+    private static final Path SNAPSHOT_DIRECTORY = Path.of(System.getProperty("java.io.tmpdir"), "hpotextmining");
+
     private final URL scigraphUrl;
 
     private final MinimalOntology ontology;
@@ -36,11 +46,48 @@ public class Main extends Application {
     private final ExecutorService executorService;
 
     public Main() throws Exception {
-        ontology = MinimalOntologyLoader.loadOntology(Main.class.getResourceAsStream(HPO_JSON_PATH));
+        ontology = loadOntology();
         scigraphUrl = new URL(SCIGRAPH_URL_STRING);
         executorService = Executors.newSingleThreadExecutor();
     }
 
+    /**
+     * Load the ontology from the snapshot of the bundled ontology version, the JSON is parsed only if the snapshot
+     * does not exist yet.
+     */
+    private static MinimalOntology loadOntology() throws IOException {
+        String version;
+        try (InputStream is = Main.class.getResourceAsStream(HPO_JSON_PATH)) {
+            version = OntologySnapshot.jsonVersion(is);
+        }
+        if (version == null) {
+            LOGGER.warn("Unknown version of the ontology, not using the snapshot");
+            return parseOntology();
+        }
+
+        Path path = OntologySnapshot.resolve(SNAPSHOT_DIRECTORY, version);
+        Optional<OntologySnapshot> snapshot = OntologySnapshot.open(path, version);
+        if (snapshot.isPresent()) {
+            LOGGER.info("Loading ontology {} from snapshot {}", version, path);
+            return snapshot.get().toMinimalOntology();
+        }
+
+        MinimalOntology ontology = parseOntology();
+        try {
+            OntologySnapshot.write(ontology, version, path);
+            LOGGER.info("Compiled ontology {} into snapshot {}", version, path);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to write the ontology snapshot to {}: {}", path, e.getMessage());
+        }
+        return ontology;
+    }
+
+    private static MinimalOntology parseOntology() throws IOException {
+        try (InputStream is = Main.class.getResourceAsStream(HPO_JSON_PATH)) {
+            return MinimalOntologyLoader.loadOntology(is);
+        }
+    }
+
 
     public static void main(String[] args) {
         launch(args);
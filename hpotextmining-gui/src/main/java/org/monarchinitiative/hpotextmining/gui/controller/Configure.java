@@ -1,8 +1,10 @@
 package org.monarchinitiative.hpotextmining.gui.controller;
 
+import org.monarchinitiative.hpotextmining.core.miners.AsyncTermMiner;
 import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
 import org.monarchinitiative.hpotextmining.core.miners.TermMiner;
-import javafx.concurrent.Task;
+import org.monarchinitiative.hpotextmining.core.miners.TermMiners;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.TextArea;
@@ -10,10 +12,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.UnknownHostException;
-import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 
@@ -31,9 +33,7 @@ public class Configure {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Configure.class);
 
-    private final TermMiner miner;
-
-    private final ExecutorService executorService;
+    private final AsyncTermMiner miner;
 
     private final Consumer<Main.Signal> signal;
 
@@ -53,8 +53,8 @@ public class Configure {
 
 
     Configure(TermMiner miner, ExecutorService executorService, Consumer<Main.Signal> signal) {
-        this.miner = miner;
-        this.executorService = executorService;
+        // blocking miners are run on the executor service so that mining will not cause freezing of the GUI
+        this.miner = TermMiners.async(miner, executorService);
         this.signal = signal;
     }
 
@@ -68,43 +68,33 @@ public class Configure {
     }
 
     /**
-     * Run analysis task. Configure behavior of the task and run in separate thread.
+     * Run analysis task. The results are processed on the JavaFX Application Thread once the mining completes.
      */
     @FXML
     void analyzeButtonClicked() {
         final String query = getQuery();
 
-        // wrap into the Task so that mining will not cause freezing of the GUI
-        Task<Collection<MinedTerm>> task = new Task<Collection<MinedTerm>>() {
-            @Override
-            protected Collection<MinedTerm> call() throws Exception {
-                return miner.doMining(query);
-            }
-        };
-
-        task.setOnSucceeded(e -> {
-            try {
+        miner.doMiningAsync(query).whenComplete((minedTerms, throwable) -> Platform.runLater(() -> {
+            if (throwable == null) {
                 terms.clear();
-                terms.addAll(task.get());
+                terms.addAll(minedTerms);
                 signal.accept(Main.Signal.DONE); // results are ready, notify top-level controller
-            } catch (InterruptedException | ExecutionException ex) {
-                LOGGER.warn(ex.getMessage());
+            } else if (throwable instanceof CancellationException) {
+                signal.accept(Main.Signal.CANCELLED);
+            } else {
+                Throwable failure = throwable instanceof CompletionException && throwable.getCause() != null
+                        ? throwable.getCause()
+                        : throwable;
+                Throwable cause = failure.getCause() == null ? failure : failure.getCause();
+                String msg = failure.getMessage();
+                if (cause instanceof UnknownHostException) { // this should happen if you're offline
+                    msg = String.format("Unable to connect to %s. Is your internet connection working?", cause.getMessage());
+                }
+                LOGGER.warn(failure.getMessage());
+                PopUps.showThrowableDialog("HPO text mining", "Text mining failed", msg, cause);
                 signal.accept(Main.Signal.FAILED);
             }
-        });
-
-        task.setOnFailed(e -> {
-                    String msg = e.getSource().getMessage();
-                    if (e.getSource().getException().getCause() instanceof UnknownHostException) { // this should happen if you're offline
-                        msg = String.format("Unable to connect to %s. Is your internet connection working?", e.getSource().getException().getCause().getMessage());
-                    }
-                    PopUps.showThrowableDialog("HPO text mining", "Text mining failed", msg, e.getSource().getException().getCause());
-                    signal.accept(Main.Signal.FAILED);
-                }
-        );
-        task.setOnCancelled(e -> signal.accept(Main.Signal.CANCELLED));
-
-        executorService.submit(task);
+        }));
     }
 
 
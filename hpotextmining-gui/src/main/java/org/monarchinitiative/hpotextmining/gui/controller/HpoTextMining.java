@@ -1,12 +1,15 @@
 package org.monarchinitiative.hpotextmining.gui.controller;
 
 import org.monarchinitiative.hpotextmining.core.miners.MinedTerm;
+import org.monarchinitiative.hpotextmining.core.miners.TermIdCodec;
 import org.monarchinitiative.hpotextmining.core.miners.TermMiner;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.util.Callback;
 import org.monarchinitiative.hpotextmining.core.miners.TermMiners;
+import org.monarchinitiative.hpotextmining.core.ontology.AncestorIndex;
+import org.monarchinitiative.hpotextmining.core.ontology.MostSpecificTermPruner;
 import org.monarchinitiative.phenol.ontology.data.MinimalOntology;
 import org.monarchinitiative.phenol.ontology.data.Ontology;
 import org.monarchinitiative.phenol.ontology.data.Term;
@@ -16,6 +19,8 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Optional;
@@ -25,6 +30,7 @@ import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Driver class/API for JavaFX presentation of HPO text mining.
@@ -73,21 +79,28 @@ public class HpoTextMining {
      * @param executorService {@link ExecutorService} to use for asynchronous tasks
      * @param presentTerms    {@link Set} of {@link Main.PhenotypeTerm}s
      *                        to display in the widget from the beginning
+     * @param pruner          {@link MostSpecificTermPruner} to apply to the mined terms or <code>null</code>
      * @throws IOException if the building process fails
      */
     private HpoTextMining(
             MinimalOntology ontology,
             TermMiner miner,
             ExecutorService executorService,
-            Set<Main.PhenotypeTerm> presentTerms
+            Set<Main.PhenotypeTerm> presentTerms,
+            MostSpecificTermPruner pruner
     ) throws IOException {
         main = new Main();
+        Function<MinedTerm, Main.PhenotypeTerm> toPhenotypeTerm = minedTermToPhenotypeTerm(ontology);
         // Set up "Configure" part of the screen
         Consumer<Main.Signal> configureSignal = signal -> {
             switch (signal) {
                 case DONE:
-                    Set<Main.PhenotypeTerm> phenotypeTerms = configure.getTerms().stream()
-                            .map(minedTermToPhenotypeTerm(ontology))
+                    Set<MinedTerm> minedTerms = configure.getTerms();
+                    if (pruner != null) {
+                        minedTerms = pruner.prune(minedTerms);
+                    }
+                    Set<Main.PhenotypeTerm> phenotypeTerms = minedTerms.stream()
+                            .map(toPhenotypeTerm)
                             .filter(Objects::nonNull)
                             .collect(Collectors.toSet());
                     present.setResults(phenotypeTerms, configure.getQuery());
@@ -175,17 +188,37 @@ public class HpoTextMining {
      * @return {@link Function} for mapping {@link MinedTerm} to {@link Main.PhenotypeTerm}. The function returns <code>null</code>
      * if the String representation of term ID is invalid or if there is not matching {@link Term} in the <code>ontology</code>
      */
-    private static Function<MinedTerm, Main.PhenotypeTerm> minedTermToPhenotypeTerm(MinimalOntology ontology) {
+    static Function<MinedTerm, Main.PhenotypeTerm> minedTermToPhenotypeTerm(MinimalOntology ontology) {
+        // index the terms by the sorted term id codes, so that the mined term ids do not need to be parsed
+        Term[] unsortedTerms = ontology.getTerms().toArray(new Term[0]);
+        long[] unsortedCodes = new long[unsortedTerms.length];
+        for (int i = 0; i < unsortedTerms.length; i++) {
+            unsortedCodes[i] = TermIdCodec.encode(unsortedTerms[i].id().getValue());
+        }
+        int[] order = IntStream.range(0, unsortedCodes.length).boxed()
+                .sorted(Comparator.comparingLong(i -> unsortedCodes[i]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        long[] codes = new long[order.length];
+        Term[] terms = new Term[order.length];
+        for (int i = 0; i < order.length; i++) {
+            codes[i] = unsortedCodes[order[i]];
+            terms[i] = unsortedTerms[order[i]];
+        }
         return mt -> {
-            TermId termId = TermId.of(mt.getTermId());
-            if (!termId.getValue().startsWith("HP")) { // we are only working with HPO
+            if (!mt.isHpoTerm()) { // we are only working with HPO
                 return null;
             }
-            Optional<Term> term = ontology.termForTermId(termId);
-            if (term.isPresent()) {
-                return new Main.PhenotypeTerm(term.get(), mt);
+            int i = Arrays.binarySearch(codes, mt.getTermIdCode());
+            Term term = i < 0 ? null : terms[i];
+            if (term == null) {
+                // e.g. an alternative id
+                term = ontology.termForTermId(TermId.of(mt.getTermId())).orElse(null);
+            }
+            if (term != null) {
+                return new Main.PhenotypeTerm(term, mt);
             } else {
-                LOGGER.warn("There is not a term with id '{}' in the currently used ontology", termId.getValue());
+                LOGGER.warn("There is not a term with id '{}' in the currently used ontology", mt.getTermId());
                 return null;
             }
         };
@@ -228,6 +261,8 @@ public class HpoTextMining {
 
         private final Set<Main.PhenotypeTerm> terms = new HashSet<>();
 
+        private boolean mostSpecificTermsOnly;
+
         private HpoTextMiningBuilder() {
             // no-op
         }
@@ -291,10 +326,26 @@ public class HpoTextMining {
         }
 
         /**
+         * @param mostSpecificTermsOnly if <code>true</code>, the mined terms implied by a more specific mined term
+         *                              (e.g. <em>Abnormality of the eye</em> along with <em>Cataract</em>) are not
+         *                              presented (see {@link MostSpecificTermPruner}). <code>false</code> by default
+         * @return this {@link HpoTextMiningBuilder} instance
+         */
+        public HpoTextMiningBuilder withMostSpecificTermsOnly(boolean mostSpecificTermsOnly) {
+            this.mostSpecificTermsOnly = mostSpecificTermsOnly;
+            return this;
+        }
+
+        /**
+         * Build the widget. If neither {@link TermMiner} nor any URL is specified, the terms are mined locally using
+         * names and synonyms of the ontology terms (see {@link TermMiners#local(MinimalOntology)}).
+         *
          * @return a new {@link HpoTextMining} instance
          * @throws IOException in case if the building fails
          */
         public HpoTextMining build() throws IOException {
+            Objects.requireNonNull(ontology, "Ontology must not be null");
+
             TermMiner usedMiner;
             if (this.miner != null) {
                 usedMiner = miner;
@@ -306,18 +357,21 @@ public class HpoTextMining {
                     if (biolarkServerUrl != null) {
                         usedMiner = TermMiners.biolark(biolarkServerUrl);
                     } else {
-                        throw new NullPointerException("Neither SciGraph not Biolark URL was specified");
+                        LOGGER.info("Neither SciGraph nor Biolark URL was specified, mining terms locally");
+                        usedMiner = TermMiners.local(ontology);
                     }
                 }
             }
 
-            Objects.requireNonNull(ontology, "Ontology must not be null");
-
             if (executorService == null) {
                 executorService = Executors.newSingleThreadExecutor();
             }
 
-            return new HpoTextMining(ontology, usedMiner, executorService, terms);
+            MostSpecificTermPruner pruner = mostSpecificTermsOnly
+                    ? new MostSpecificTermPruner(AncestorIndex.of(ontology))
+                    : null;
+
+            return new HpoTextMining(ontology, usedMiner, executorService, terms, pruner);
         }
     }
 }
@@ -176,7 +176,7 @@ public class Present {
      *
      * @author Aaron Zhang
      */
-    private String colorizeHTML4ciGraph(Collection<Main.PhenotypeTerm> terms, String query) {
+    static String colorizeHTML4ciGraph(Collection<Main.PhenotypeTerm> terms, String query) {
         StringBuilder htmlBuilder = new StringBuilder();
         htmlBuilder.append(HTML_HEAD);
         htmlBuilder.append(HTML_BODY_BEGIN);
@@ -227,7 +227,7 @@ public class Present {
      * @return {@link List} of {@link Main.PhenotypeTerm} that
      * represent unique {@link Term}s.
      */
-    private static List<Main.PhenotypeTerm> deduplicate(Collection<Main.PhenotypeTerm> terms) {
+    static List<Main.PhenotypeTerm> deduplicate(Collection<Main.PhenotypeTerm> terms) {
         Set<String> ids = new HashSet<>();
         List<Main.PhenotypeTerm> deduplicated = new ArrayList<>();
         for (Main.PhenotypeTerm term : terms) {
@@ -2,8 +2,18 @@ module org.monarchinitiative.hpotextmining.core {
     requires com.fasterxml.jackson.core;
     requires com.fasterxml.jackson.annotation;
     requires com.fasterxml.jackson.databind;
+    requires java.management;
+    requires java.net.http;
     requires org.slf4j;
+    requires phenol.core;
 
     exports org.monarchinitiative.hpotextmining.core.miners;
+    exports org.monarchinitiative.hpotextmining.core.miners.cache;
+    exports org.monarchinitiative.hpotextmining.core.miners.chunking;
+    exports org.monarchinitiative.hpotextmining.core.miners.ensemble;
+    exports org.monarchinitiative.hpotextmining.core.miners.local;
+    exports org.monarchinitiative.hpotextmining.core.miners.metrics;
+    exports org.monarchinitiative.hpotextmining.core.miners.resilience;
+    exports org.monarchinitiative.hpotextmining.core.ontology;
     exports org.monarchinitiative.hpotextmining.core.miners.scigraph to com.fasterxml.jackson.databind;
 }
\ No newline at end of file